@@ -5,9 +5,16 @@ import com.axine.pokercasino.model.player.Event;
 import com.axine.pokercasino.model.player.Player;
 import com.axine.pokercasino.model.player.PlayerAction;
 import com.axine.pokercasino.model.player.players.HumanPlayer;
+import com.axine.pokercasino.service.DeckSupplyService;
 import com.axine.pokercasino.service.GameService;
 import com.axine.pokercasino.model.game.Combination;
 import com.axine.pokercasino.model.game.EvaluationCombination;
+import com.axine.pokercasino.model.game.equity.EquityResult;
+import com.axine.pokercasino.model.game.evaluation.Draw;
+import com.axine.pokercasino.model.game.evaluation.HandState;
+import com.axine.pokercasino.model.game.pacing.TableEvent;
+import com.axine.pokercasino.model.game.pacing.TableSnapshot;
+import com.axine.pokercasino.model.game.replay.HandRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,6 +34,9 @@ public class GameController {
     @Autowired
     private GameService gameService;
 
+    @Autowired
+    private DeckSupplyService deckSupply;
+
     @GetMapping("/")
     public String home(Model model) {
         if (!gameService.isGameStarted()) {
@@ -59,141 +69,240 @@ public class GameController {
     }
 
     @GetMapping("/api/state")
-    public ResponseEntity<Map<String, Object>> getState() {
+    public ResponseEntity<Map<String, Object>> getState(@RequestParam(name = "after", defaultValue = "0") long after) {
         try {
             if (!gameService.isGameStarted()) {
                 return ResponseEntity.badRequest().body(Map.of("success", false, "error", "Игра не начата"));
             }
 
-            // Продвигаем игру (как у тебя было)
-            gameService.advanceGame(null);
+            // Чтение без побочных эффектов: стол ведёт водитель, здесь только снимок
+            Map<String, Object> state = gameService.snapshot(() -> buildState(after));
+            return ResponseEntity.ok(state);
+        } catch (Exception e) {
+            String errorMessage = e.getMessage() != null ? e.getMessage() : "Неизвестная ошибка при получении состояния: " + e.getClass().getSimpleName();
+            logger.error("Ошибка получения состояния: {}", errorMessage, e);
+            return ResponseEntity.status(500).body(Map.of("success", false, "error", errorMessage));
+        }
+    }
 
-            Map<String, Object> state = new HashMap<>();
-            state.put("pot", gameService.getPot());
+    private Map<String, Object> buildState(long after) {
+        Map<String, Object> state = new HashMap<>();
+        // пока действия ботов выпускаются, банк, стол и фишки — те, что были после последнего показанного действия
+        TableSnapshot shown = gameService.getShownTable();
+        state.put("pot", shown != null ? shown.getPot() : gameService.getPot());
 
-            // community cards -> JSON-friendly list
-            List<Map<String, String>> communityJson = new ArrayList<>();
-            List<Card> community = gameService.getCommunityCards();
-            if (community != null) {
-                for (Card c : community) {
-                    communityJson.add(Map.of("suit", c.getSuit().getShortName(), "rank", c.getRank().getShortName()));
-                }
+        // community cards -> JSON-friendly list
+        List<Map<String, String>> communityJson = new ArrayList<>();
+        List<Card> community = shown != null ? shown.getCommunityCards() : gameService.getCommunityCards();
+        if (community != null) {
+            for (Card c : community) {
+                communityJson.add(Map.of("suit", c.getSuit().getShortName(), "rank", c.getRank().getShortName()));
             }
-            state.put("communityCards", communityJson);
-
-            // players - создаём изменяемый список карт
-            List<Map<String, Object>> playersList = new ArrayList<>();
-            if (gameService.getPlayers() != null) {
-                for (Player p : gameService.getPlayers()) {
-                    Map<String, Object> pMap = new HashMap<>();
-                    pMap.put("name", p.getName());
+        }
+        state.put("communityCards", communityJson);
+
+        // players - создаём изменяемый список карт
+        List<Map<String, Object>> playersList = new ArrayList<>();
+        if (gameService.getPlayers() != null) {
+            List<Player> players = gameService.getPlayers();
+            for (int seat = 0; seat < players.size(); seat++) {
+                Player p = players.get(seat);
+                Map<String, Object> pMap = new HashMap<>();
+                pMap.put("name", p.getName());
+                if (shown != null && seat < shown.getSeats()) {
+                    pMap.put("chips", shown.getChips(seat));
+                    pMap.put("bet", shown.getBet(seat));
+                    pMap.put("folded", shown.isFolded(seat));
+                } else {
                     pMap.put("chips", p.getChips());
                     pMap.put("bet", gameService.getPlayersBets().getOrDefault(p, 0));
                     pMap.put("folded", p.isFolded());
-                    // не добавляем hand/ combo сейчас — сделаем это ниже, если раунд закончился
-                    playersList.add(pMap);
                 }
+                EquityResult allIn = gameService.getAllInEquity().get(p);
+                if (allIn != null && shown == null && p.getHand() != null) {
+                    // олл-ин: карты открываются, показываем точное эквити
+                    List<Map<String, String>> handJson = new ArrayList<>();
+                    for (Card c : p.getHand()) {
+                        handJson.add(Map.of("suit", c.getSuit().getShortName(), "rank", c.getRank().getShortName()));
+                    }
+                    pMap.put("hand", handJson);
+                    pMap.put("equity", allIn.getEquity());
+                }
+                // не добавляем hand/ combo сейчас — сделаем это ниже, если раунд закончился
+                playersList.add(pMap);
             }
-            state.put("players", playersList);
+        }
+        state.put("players", playersList);
 
-            // твоя рука
-            List<Map<String, String>> myHandJson = new ArrayList<>();
-            if (gameService.getHumanPlayer() != null && gameService.getHumanPlayer().getHand() != null) {
-                for (Card c : gameService.getHumanPlayer().getHand()) {
-                    myHandJson.add(Map.of("suit", c.getSuit().getShortName(), "rank", c.getRank().getShortName()));
-                }
+        // твоя рука
+        List<Map<String, String>> myHandJson = new ArrayList<>();
+        if (gameService.getHumanPlayer() != null && gameService.getHumanPlayer().getHand() != null) {
+            for (Card c : gameService.getHumanPlayer().getHand()) {
+                myHandJson.add(Map.of("suit", c.getSuit().getShortName(), "rank", c.getRank().getShortName()));
+            }
+        }
+        state.put("hand", myHandJson);
+
+        // подсказка по руке из состояния, обновляемого при раздаче
+        // состояние руки уже знает карты стола, которые клиенту ещё не показаны
+        HandState myState = shown == null ? gameService.getHandState(gameService.getHumanPlayer()) : null;
+        List<String> myDraws = new ArrayList<>();
+        if (myState != null) {
+            for (Draw draw : Draw.values()) {
+                if (myState.hasDraw(draw)) myDraws.add(draw.name());
             }
-            state.put("hand", myHandJson);
+        }
+        state.put("yourCombo", myState != null && myState.isMade() ? myState.getCombination().getName() : "");
+        state.put("yourDraws", myDraws);
 
-            // баланс игрока
-            state.put("yourChips", gameService.getHumanPlayer() != null ? gameService.getHumanPlayer().getChips() : 0);
+        // баланс игрока
+        Player human = gameService.getHumanPlayer();
+        int humanSeat = human != null ? gameService.getPlayers().indexOf(human) : -1;
+        state.put("yourChips", human == null ? 0
+                : shown != null && humanSeat >= 0 && humanSeat < shown.getSeats() ? shown.getChips(humanSeat) : human.getChips());
 
-            // твой ход?
-            state.put("yourTurn", gameService.getCurrentPlayer() != null
-                    && gameService.getCurrentPlayer() instanceof HumanPlayer
-                    && !gameService.isBettingComplete());
+        // твой ход? — только когда клиенту показаны все действия ботов
+        state.put("yourTurn", gameService.getCurrentPlayer() != null
+                && gameService.getCurrentPlayer() instanceof HumanPlayer
+                && !gameService.isBettingComplete()
+                && !gameService.isDriving()
+                && gameService.isPacingIdle());
+        state.put("driving", gameService.isDriving());
+        state.put("pacing", !gameService.isPacingIdle());
 
-            state.put("message", gameService.getMessage() != null ? gameService.getMessage() : "");
+        // действия, выпущенные планировщиком в темпе анимации
+        List<Map<String, Object>> events = new ArrayList<>();
+        for (TableEvent event : gameService.getEvents(after)) {
+            events.add(Map.of("seq", event.getSequence(), "player", event.getPlayerName(),
+                    "action", event.getEvent(), "amount", event.getAmount(), "pot", event.getPot()));
+        }
+        state.put("events", events);
 
-            boolean roundEnded = gameService.checkRoundCompletion();
-            state.put("roundEnded", roundEnded);
+        state.put("message", gameService.getMessage() != null ? gameService.getMessage() : "");
 
-            // winners names (если есть)
-            List<String> winnerNames = new ArrayList<>();
-            if (roundEnded && gameService.getWinners() != null) {
-                for (Player w : gameService.getWinners()) {
-                    winnerNames.add(w.getName());
-                }
+        // вскрытие и победители — после того, как клиенту показано последнее действие
+        boolean roundEnded = shown == null && gameService.checkRoundCompletion();
+        state.put("roundEnded", roundEnded);
+
+        // winners names (если есть)
+        List<String> winnerNames = new ArrayList<>();
+        if (roundEnded && gameService.getWinners() != null) {
+            for (Player w : gameService.getWinners()) {
+                winnerNames.add(w.getName());
             }
-            state.put("winners", winnerNames);
-
-            state.put("currentBet", gameService.getCurrentBet());
-            int humanBet = gameService.getPlayersBets().getOrDefault(gameService.getHumanPlayer(), 0);
-            state.put("toCall", gameService.getCurrentBet() - humanBet);
-            state.put("success", true);
-
-            // Если раунд завершён — дополняем игроков их картами и комбинацией
-            if (roundEnded) {
-                // Обход именно playersList (тот же объект, что в state)
-                for (Map<String, Object> pMap : playersList) {
-                    String name = (String) pMap.get("name");
-                    // Находим соответствующий Player по имени
-                    Player realPlayer = null;
-                    if (gameService.getPlayers() != null) {
-                        for (Player pp : gameService.getPlayers()) {
-                            if (pp.getName().equals(name)) {
-                                realPlayer = pp;
-                                break;
-                            }
+        }
+        state.put("winners", winnerNames);
+
+        state.put("fairness", gameService.getFairness());
+        state.put("currentBet", gameService.getCurrentBet());
+        int humanBet = gameService.getPlayersBets().getOrDefault(gameService.getHumanPlayer(), 0);
+        state.put("toCall", gameService.getCurrentBet() - humanBet);
+        state.put("success", true);
+
+        // Если раунд завершён — дополняем игроков их картами и комбинацией
+        if (roundEnded) {
+            // Обход именно playersList (тот же объект, что в state)
+            for (Map<String, Object> pMap : playersList) {
+                String name = (String) pMap.get("name");
+                // Находим соответствующий Player по имени
+                Player realPlayer = null;
+                if (gameService.getPlayers() != null) {
+                    for (Player pp : gameService.getPlayers()) {
+                        if (pp.getName().equals(name)) {
+                            realPlayer = pp;
+                            break;
                         }
                     }
+                }
 
-                    if (realPlayer == null) continue;
+                if (realPlayer == null) continue;
 
-                    // Добавляем hand (даже если игрок фолднул — можно не показывать, но здесь показываем только если не фолд)
-                    if (realPlayer.getHand() != null && !realPlayer.isFolded()) {
-                        List<Map<String, String>> handJson = new ArrayList<>();
-                        for (Card c : realPlayer.getHand()) {
-                            handJson.add(Map.of("suit", c.getSuit().getShortName(), "rank", c.getRank().getShortName()));
-                        }
-                        pMap.put("hand", handJson);
-
-                        // Составляем allCards = hand + community и считаем комбинацию, только если >=5 карт
-                        List<Card> allCards = new ArrayList<>(realPlayer.getHand());
-                        if (community != null) allCards.addAll(community);
-
-                        if (allCards.size() >= 5) {
-                            try {
-                                int power = EvaluationCombination.getHandPower(allCards);
-                                Combination combo = EvaluationCombination.getCombinationFromPower(power);
-                                pMap.put("combo", combo.getName());
-                            } catch (Exception ex) {
-                                // Если вдруг EvaluationCombination кидает исключение — не ломаем JSON, просто не ставим combo
-                                pMap.put("combo", "");
-                            }
-                        } else {
-                            pMap.put("combo", ""); // недостаточно карт для полной оценки
-                        }
+                // Добавляем hand (даже если игрок фолднул — можно не показывать, но здесь показываем только если не фолд)
+                if (realPlayer.getHand() != null && !realPlayer.isFolded()) {
+                    List<Map<String, String>> handJson = new ArrayList<>();
+                    for (Card c : realPlayer.getHand()) {
+                        handJson.add(Map.of("suit", c.getSuit().getShortName(), "rank", c.getRank().getShortName()));
                     }
+                    pMap.put("hand", handJson);
+
+                    // Комбинация уже посчитана в состоянии руки по правилам игры; иначе hand + community, если >=5 карт
+                    HandState handState = gameService.getHandState(realPlayer);
+                    List<Card> allCards = new ArrayList<>(realPlayer.getHand());
+                    if (community != null) allCards.addAll(community);
 
-                    // Помечаем победителя (если есть)
-                    boolean isWinner = false;
-                    for (String wn : winnerNames) {
-                        if (wn.equals(name)) { isWinner = true; break; }
+                    if (handState != null && handState.isMade()) {
+                        pMap.put("combo", handState.getCombination().getName());
+                    } else if (allCards.size() >= 5) {
+                        try {
+                            int power = EvaluationCombination.getHandPower(allCards);
+                            Combination combo = EvaluationCombination.getCombinationFromPower(power);
+                            pMap.put("combo", combo.getName());
+                        } catch (Exception ex) {
+                            // Если вдруг EvaluationCombination кидает исключение — не ломаем JSON, просто не ставим combo
+                            pMap.put("combo", "");
+                        }
+                    } else {
+                        pMap.put("combo", ""); // недостаточно карт для полной оценки
                     }
-                    pMap.put("winner", isWinner);
                 }
-                // state уже содержит playersList (мы модифицировали его), поэтому ничего дополнительно put делать не нужно
+
+                // Помечаем победителя (если есть)
+                boolean isWinner = false;
+                for (String wn : winnerNames) {
+                    if (wn.equals(name)) { isWinner = true; break; }
+                }
+                pMap.put("winner", isWinner);
             }
+            // state уже содержит playersList (мы модифицировали его), поэтому ничего дополнительно put делать не нужно
+        }
+        return state;
+    }
 
-            return ResponseEntity.ok(state);
+    @GetMapping("/api/odds")
+    public ResponseEntity<Map<String, Object>> getOdds() {
+        try {
+            if (!gameService.isGameStarted()) {
+                return ResponseEntity.badRequest().body(Map.of("success", false, "error", "Игра не начата"));
+            }
+            EquityResult odds = gameService.getHumanEquity();
+            if (odds == null) {
+                return ResponseEntity.ok(Map.of("success", true, "available", false));
+            }
+            return ResponseEntity.ok(Map.of(
+                    "success", true,
+                    "available", true,
+                    "win", odds.getWin(),
+                    "tie", odds.getTie(),
+                    "lose", odds.getLose(),
+                    "equity", odds.getEquity(),
+                    "samples", odds.getSamples()));
         } catch (Exception e) {
-            String errorMessage = e.getMessage() != null ? e.getMessage() : "Неизвестная ошибка при получении состояния: " + e.getClass().getSimpleName();
-            logger.error("Ошибка получения состояния: {}", errorMessage, e);
+            String errorMessage = e.getMessage() != null ? e.getMessage() : "Неизвестная ошибка при расчёте шансов: " + e.getClass().getSimpleName();
+            logger.error("Ошибка расчёта шансов: {}", errorMessage, e);
             return ResponseEntity.status(500).body(Map.of("success", false, "error", errorMessage));
         }
     }
 
+    @GetMapping("/api/deck-pool")
+    public ResponseEntity<Map<String, Object>> getDeckPool() {
+        return ResponseEntity.ok(deckSupply.getMetrics());
+    }
+
+    /** Хэш колоды до раздачи и зерно после неё; проверяются FairnessVerifier */
+    @GetMapping("/api/fairness")
+    public ResponseEntity<Map<String, Object>> getFairness() {
+        return ResponseEntity.ok(gameService.getFairness());
+    }
+
+    /** Записи последних раздач (base64) для воспроизведения через ReplayEngine */
+    @GetMapping("/api/hands")
+    public ResponseEntity<Map<String, Object>> getHands() {
+        List<String> hands = new ArrayList<>();
+        for (HandRecord record : gameService.getHandHistory()) {
+            hands.add(Base64.getEncoder().encodeToString(record.toBytes()));
+        }
+        return ResponseEntity.ok(Map.of("success", true, "hands", hands));
+    }
 
     @PostMapping("/api/action")
     public ResponseEntity<Map<String, Object>> action(@RequestBody Map<String, String> payload) {
@@ -3,13 +3,50 @@ package com.axine.pokercasino.model.deck;
 import com.axine.pokercasino.model.deck.card.Rank;
 import com.axine.pokercasino.model.deck.card.Suit;
 
-public class Card {
-    private Suit suit;
-    private Rank rank;
+/**
+ * Карта — неизменяемый флайвес: на всё приложение 52 экземпляра, по одному на код
+ * (масть * 13 + ранг от двойки). Карты можно сравнивать по ссылке, а бит карты
+ * в {@link CardSet} вычислен заранее.
+ */
+public final class Card {
 
-    public Card(Suit suit, Rank rank){
+    public static final int COUNT = 52;
+
+    private static final Card[] CARDS = new Card[COUNT];
+
+    static {
+        for (Suit suit : Suit.values()) {
+            for (Rank rank : Rank.values()) {
+                int code = code(suit, rank);
+                CARDS[code] = new Card(suit, rank, code);
+            }
+        }
+    }
+
+    private final Suit suit;
+    private final Rank rank;
+    private final int code;
+    private final long mask;
+
+    private Card(Suit suit, Rank rank, int code) {
         this.suit = suit;
         this.rank = rank;
+        this.code = code;
+        this.mask = CardSet.bit(suit.ordinal(), rank.ordinal());
+    }
+
+    public static Card of(Suit suit, Rank rank) {
+        if (suit == null || rank == null) throw new IllegalArgumentException("Suit or rank cannot be null");
+        return CARDS[code(suit, rank)];
+    }
+
+    public static Card of(int code) {
+        if (code < 0 || code >= COUNT) throw new IllegalArgumentException("Card code out of range: " + code);
+        return CARDS[code];
+    }
+
+    public static int code(Suit suit, Rank rank) {
+        return suit.ordinal() * 13 + rank.ordinal();
     }
 
     public Rank getRank() {
@@ -19,4 +56,18 @@ public class Card {
     public Suit getSuit(){
         return suit;
     }
-}
\ No newline at end of file
+
+    public int getCode() {
+        return code;
+    }
+
+    /** Бит карты в маске {@link CardSet} */
+    public long getMask() {
+        return mask;
+    }
+
+    @Override
+    public String toString() {
+        return rank.getShortName() + suit.getShortName();
+    }
+}
@@ -0,0 +1,133 @@
+package com.axine.pokercasino.model.deck;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * Набор карт в одном long: масть занимает 16 бит (13 используются), ранг — позицию
+ * внутри масти; раскладка совпадает с масками оценщика рук. Объединение, проверка
+ * вхождения и размер — одна битовая операция. Статические методы работают с голыми
+ * масками и ничего не выделяют — для горячих путей оценки и эквити.
+ */
+public final class CardSet {
+
+    public static final int SUIT_SHIFT = 16;
+    public static final CardSet EMPTY = new CardSet(0L);
+
+    private static final long VALID = 0x1FFF_1FFF_1FFF_1FFFL;
+
+    private final long mask;
+
+    private CardSet(long mask) {
+        this.mask = mask;
+    }
+
+    public static CardSet of(long mask) {
+        if ((mask & ~VALID) != 0) throw new IllegalArgumentException("Invalid card mask: " + Long.toHexString(mask));
+        return mask == 0 ? EMPTY : new CardSet(mask);
+    }
+
+    /** Набор карт списка, например {@code Player.getHand()} или {@code Round.getCommunityCards()} */
+    public static CardSet of(List<Card> cards) {
+        return of(mask(cards));
+    }
+
+    public static CardSet of(Card... cards) {
+        long mask = 0L;
+        for (Card card : cards) {
+            mask |= card.getMask();
+        }
+        return of(mask);
+    }
+
+    /** Маска списка карт без копирования списка */
+    public static long mask(List<Card> cards) {
+        long mask = 0L;
+        for (int i = 0; i < cards.size(); i++) {
+            mask |= cards.get(i).getMask();
+        }
+        return mask;
+    }
+
+    /** Карта по младшему биту маски */
+    public static Card lowest(long mask) {
+        if (mask == 0) throw new IllegalArgumentException("Card mask is empty");
+        int bit = Long.numberOfTrailingZeros(mask);
+        return Card.of(bit / SUIT_SHIFT * 13 + bit % SUIT_SHIFT);
+    }
+
+    static long bit(int suit, int rank) {
+        return 1L << (suit * SUIT_SHIFT + rank);
+    }
+
+    public long mask() {
+        return mask;
+    }
+
+    public int size() {
+        return Long.bitCount(mask);
+    }
+
+    public boolean isEmpty() {
+        return mask == 0;
+    }
+
+    public boolean contains(Card card) {
+        return (mask & card.getMask()) != 0;
+    }
+
+    public boolean containsAll(CardSet other) {
+        return (other.mask & ~mask) == 0;
+    }
+
+    public boolean intersects(CardSet other) {
+        return (mask & other.mask) != 0;
+    }
+
+    public CardSet union(CardSet other) {
+        return of(mask | other.mask);
+    }
+
+    public CardSet with(Card card) {
+        return of(mask | card.getMask());
+    }
+
+    public CardSet without(CardSet other) {
+        return of(mask & ~other.mask);
+    }
+
+    /** Список-представление набора (по возрастанию мастей и рангов) без копирования карт */
+    public List<Card> asList() {
+        return new AbstractList<>() {
+            @Override
+            public Card get(int index) {
+                if (index < 0 || index >= size()) throw new IndexOutOfBoundsException(index);
+                long rest = mask;
+                for (int i = 0; i < index; i++) {
+                    rest &= rest - 1;
+                }
+                return lowest(rest);
+            }
+
+            @Override
+            public int size() {
+                return Long.bitCount(mask);
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof CardSet other && other.mask == mask;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(mask);
+    }
+
+    @Override
+    public String toString() {
+        return asList().toString();
+    }
+}
@@ -1,11 +1,41 @@
 package com.axine.pokercasino.model.deck;
 
+import com.axine.pokercasino.model.deck.decks.ArrayDeck;
+import com.axine.pokercasino.model.deck.pool.DeckOrderSource;
+import com.axine.pokercasino.model.deck.random.DeckRandom;
+import com.axine.pokercasino.model.deck.random.SecureDeckRandom;
+
 import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 public abstract class DeckFactory {
 
+    /** Генератор на каждую новую колоду: сами генераторы не потокобезопасны */
+    private final Supplier<DeckRandom> randomSource;
+
+    /** Запас готовых порядков для новых колод; null — тасовать на месте */
+    private final DeckOrderSource orderSource;
+
+    protected DeckFactory() {
+        this(SecureDeckRandom::new, null);
+    }
+
+    protected DeckFactory(Supplier<DeckRandom> randomSource, DeckOrderSource orderSource) {
+        if (randomSource == null) throw new IllegalArgumentException("Random source cannot be null");
+        this.randomSource = randomSource;
+        this.orderSource = orderSource;
+    }
+
     public abstract Deck createDeck();
 
+    /** Собирает колоду: свой генератор и общий запас порядков */
+    protected <D extends ArrayDeck> D prepare(Function<DeckRandom, D> constructor) {
+        D deck = constructor.apply(randomSource.get());
+        deck.setOrderSource(orderSource);
+        return deck;
+    }
+
     public void shuffleDeck(Deck deck) {
         if (deck == null) throw new IllegalArgumentException("Deck cannot be null");
         deck.shuffle();
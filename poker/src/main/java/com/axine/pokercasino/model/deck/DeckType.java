@@ -0,0 +1,33 @@
+package com.axine.pokercasino.model.deck;
+
+import com.axine.pokercasino.model.deck.card.Rank;
+import com.axine.pokercasino.model.deck.decks.ShortenedDeck;
+
+public enum DeckType {
+    STANDARD("standard", Rank.TWO),
+    SHORTENED("shortened", Rank.SIX);
+
+    private final String shortName;
+    private final Rank lowestRank;
+
+    DeckType(String shortName, Rank lowestRank) {
+        this.shortName = shortName;
+        this.lowestRank = lowestRank;
+    }
+
+    public String getShortName() {
+        return shortName;
+    }
+
+    public Rank getLowestRank() {
+        return lowestRank;
+    }
+
+    public int getCardsCount() {
+        return (Rank.ACE.getValue() - lowestRank.getValue() + 1) * 4;
+    }
+
+    public static DeckType of(Deck deck) {
+        return deck instanceof ShortenedDeck ? SHORTENED : STANDARD;
+    }
+}
@@ -3,11 +3,26 @@ package com.axine.pokercasino.model.deck.deckFactory;
 import com.axine.pokercasino.model.deck.Deck;
 import com.axine.pokercasino.model.deck.DeckFactory;
 import com.axine.pokercasino.model.deck.decks.ShortenedDeck;
+import com.axine.pokercasino.model.deck.pool.DeckOrderSource;
+import com.axine.pokercasino.model.deck.random.DeckRandom;
+
+import java.util.function.Supplier;
 
 public class ShortenedDeckFactory extends DeckFactory {
 
+    public ShortenedDeckFactory() {
+    }
+
+    public ShortenedDeckFactory(Supplier<DeckRandom> randomSource) {
+        super(randomSource, null);
+    }
+
+    public ShortenedDeckFactory(Supplier<DeckRandom> randomSource, DeckOrderSource orderSource) {
+        super(randomSource, orderSource);
+    }
+
     @Override
     public Deck createDeck() {
-        return new ShortenedDeck();
+        return prepare(ShortenedDeck::new);
     }
 }
\ No newline at end of file
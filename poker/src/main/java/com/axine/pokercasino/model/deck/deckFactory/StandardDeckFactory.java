@@ -3,11 +3,26 @@ package com.axine.pokercasino.model.deck.deckFactory;
 import com.axine.pokercasino.model.deck.Deck;
 import com.axine.pokercasino.model.deck.DeckFactory;
 import com.axine.pokercasino.model.deck.decks.StandardDeck;
+import com.axine.pokercasino.model.deck.pool.DeckOrderSource;
+import com.axine.pokercasino.model.deck.random.DeckRandom;
+
+import java.util.function.Supplier;
 
 public class StandardDeckFactory extends DeckFactory {
 
+    public StandardDeckFactory() {
+    }
+
+    public StandardDeckFactory(Supplier<DeckRandom> randomSource) {
+        super(randomSource, null);
+    }
+
+    public StandardDeckFactory(Supplier<DeckRandom> randomSource, DeckOrderSource orderSource) {
+        super(randomSource, orderSource);
+    }
+
     @Override
     public Deck createDeck() {
-        return new StandardDeck();
+        return prepare(StandardDeck::new);
     }
 }
\ No newline at end of file
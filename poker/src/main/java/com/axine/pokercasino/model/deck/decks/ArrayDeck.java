@@ -0,0 +1,164 @@
+package com.axine.pokercasino.model.deck.decks;
+
+import com.axine.pokercasino.model.deck.Card;
+import com.axine.pokercasino.model.deck.Deck;
+import com.axine.pokercasino.model.deck.card.Rank;
+import com.axine.pokercasino.model.deck.card.Suit;
+import com.axine.pokercasino.model.deck.fair.ShuffleCommitment;
+import com.axine.pokercasino.model.deck.pool.DeckOrderSource;
+import com.axine.pokercasino.model.deck.random.DeckRandom;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Колода на массиве кодов карт {@link Card#getCode()}: initialize копирует исходный
+ * порядок, shuffle — тасование Фишера–Йетса на месте, раздача в буферы вызывающего
+ * ничего не выделяет. Источник случайности задаётся извне; если подключён
+ * {@link DeckOrderSource}, shuffle сначала берёт готовый порядок из него.
+ * Каждое тасование детерминировано зерном ({@link #getSeed()}): та же колода,
+ * перетасованная {@link #shuffle(byte[])} с тем же зерном, даёт тот же порядок.
+ * Обязательство {@link ShuffleCommitment} приходит из запаса готовым; при тасовании
+ * на месте считается при первом запросе.
+ */
+public abstract class ArrayDeck implements Deck {
+    private final byte[] initial;
+    private final byte[] order;
+    private final DeckRandom random;
+    private DeckOrderSource orderSource;
+    private byte[] seed;
+    private ShuffleCommitment commitment;
+    private int currentIndex;
+
+    protected ArrayDeck(byte[] codes, DeckRandom random) {
+        if (random == null) throw new IllegalArgumentException("Random cannot be null");
+        this.initial = codes.clone();
+        this.order = codes.clone();
+        this.random = random;
+        this.currentIndex = 0;
+    }
+
+    @Override
+    public void initialize() {
+        System.arraycopy(initial, 0, order, 0, order.length);
+        currentIndex = 0;
+    }
+
+    /** Подключает запас готовых порядков; null — всегда тасовать на месте */
+    public void setOrderSource(DeckOrderSource orderSource) {
+        if (orderSource != null && orderSource.getDeckSize() != order.length) {
+            throw new IllegalArgumentException("Order source is for a deck of " + orderSource.getDeckSize() + " cards");
+        }
+        this.orderSource = orderSource;
+    }
+
+    @Override
+    public void shuffle() {
+        currentIndex = 0;
+        ShuffleCommitment pooled = orderSource != null ? orderSource.take(order) : null;
+        if (pooled != null) {
+            seed = pooled.getSeed();
+            commitment = pooled;
+            return;
+        }
+        shuffle(random.nextSeed());
+    }
+
+    /** Полная колода в порядке, который однозначно задаётся зерном */
+    public void shuffle(byte[] seed) {
+        DeckRandom seeded = DeckRandom.fromSeed(seed);
+        initialize();
+        for (int i = order.length - 1; i > 0; i--) {
+            int j = seeded.nextInt(i + 1);
+            byte code = order[i];
+            order[i] = order[j];
+            order[j] = code;
+        }
+        this.seed = seed.clone();
+        this.commitment = null;
+    }
+
+    /** Обязательство по последнему тасованию; null — колода ещё не тасовалась */
+    public ShuffleCommitment getCommitment() {
+        if (commitment == null && seed != null) commitment = ShuffleCommitment.of(seed, order);
+        return commitment;
+    }
+
+    /** Зерно последнего тасования; null — колода ещё не тасовалась */
+    public byte[] getSeed() {
+        return seed == null ? null : seed.clone();
+    }
+
+    @Override
+    public Card getCard() {
+        if (currentIndex >= order.length) {
+            throw new IllegalStateException("Not enough cards in deck");
+        }
+        return Card.of(order[currentIndex++]);
+    }
+
+    @Override
+    public List<Card> getCards(int num) {
+        checkAvailable(num);
+        List<Card> result = new ArrayList<>(num);
+        for (int i = 0; i < num; i++) {
+            result.add(Card.of(order[currentIndex++]));
+        }
+        return result;
+    }
+
+    /** Сдаёт num карт в out начиная с offset */
+    public void deal(Card[] out, int offset, int num) {
+        checkAvailable(num);
+        for (int i = 0; i < num; i++) {
+            out[offset + i] = Card.of(order[currentIndex++]);
+        }
+    }
+
+    /** Сдаёт num кодов карт в out начиная с offset */
+    public void dealCodes(byte[] out, int offset, int num) {
+        checkAvailable(num);
+        System.arraycopy(order, currentIndex, out, offset, num);
+        currentIndex += num;
+    }
+
+    /** Сдаёт num карт маской {@link com.axine.pokercasino.model.deck.CardSet} */
+    public long dealMask(int num) {
+        checkAvailable(num);
+        long mask = 0L;
+        for (int i = 0; i < num; i++) {
+            mask |= Card.of(order[currentIndex++]).getMask();
+        }
+        return mask;
+    }
+
+    @Override
+    public int getCardsCount() {
+        return order.length - currentIndex;
+    }
+
+    /** Размер полной колоды */
+    public int size() {
+        return order.length;
+    }
+
+    /** Коды карт колоды от ранга lowest и выше, по мастям */
+    protected static byte[] codes(Rank lowest) {
+        byte[] codes = new byte[Suit.values().length * (Rank.values().length - lowest.ordinal())];
+        int i = 0;
+        for (Suit suit : Suit.values()) {
+            for (Rank rank : Rank.values()) {
+                if (rank.getValue() < lowest.getValue()) continue;
+                codes[i++] = (byte) Card.code(suit, rank);
+            }
+        }
+        return codes;
+    }
+
+    private void checkAvailable(int num) {
+        if (num < 0) throw new IllegalArgumentException("Number of cards cannot be negative");
+        if (currentIndex + num > order.length) {
+            throw new IllegalStateException("Not enough cards in deck: requested " + num + ", available " + (order.length - currentIndex));
+        }
+    }
+}
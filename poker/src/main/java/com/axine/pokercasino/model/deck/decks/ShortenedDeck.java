@@ -1,65 +1,16 @@
 package com.axine.pokercasino.model.deck.decks;
 
-import com.axine.pokercasino.model.deck.Card;
-import com.axine.pokercasino.model.deck.Deck;
-import com.axine.pokercasino.model.deck.card.Rank;
-import com.axine.pokercasino.model.deck.card.Suit;
+import com.axine.pokercasino.model.deck.DeckType;
+import com.axine.pokercasino.model.deck.random.DeckRandom;
+import com.axine.pokercasino.model.deck.random.SecureDeckRandom;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-
-public class ShortenedDeck implements Deck {
-    private final List<Card> cards;
-    private int currentIndex;
+public class ShortenedDeck extends ArrayDeck {
 
     public ShortenedDeck() {
-        cards = new ArrayList<>();
-        currentIndex = 0;
-        initialize();
-    }
-
-    @Override
-    public void initialize() {
-        cards.clear();
-        currentIndex = 0;
-        for (Suit suit : Suit.values()) {
-            for (Rank rank : Rank.values()) {
-                if (rank.getValue() < 6) continue;
-                cards.add(new Card(suit, rank));
-            }
-        }
-    }
-
-    @Override
-    public void shuffle() {
-        Collections.shuffle(cards);
-        currentIndex = 0;
-    }
-
-    @Override
-    public Card getCard() {
-        if (currentIndex >= cards.size()) {
-            throw new IllegalStateException("Not enough cards in deck");
-        }
-        return cards.get(currentIndex++);
-    }
-
-    @Override
-    public List<Card> getCards(int num) {
-        if (num < 0) throw new IllegalArgumentException("Number of cards cannot be negative");
-        if (currentIndex + num > cards.size()) {
-            throw new IllegalStateException("Not enough cards in deck: requested " + num + ", available " + (cards.size() - currentIndex));
-        }
-        List<Card> result = new ArrayList<>();
-        for (int i = 0; i < num; i++) {
-            result.add(cards.get(currentIndex++));
-        }
-        return result;
+        this(new SecureDeckRandom());
     }
 
-    @Override
-    public int getCardsCount() {
-        return cards.size() - currentIndex;
+    public ShortenedDeck(DeckRandom random) {
+        super(codes(DeckType.SHORTENED.getLowestRank()), random);
     }
-}
\ No newline at end of file
+}
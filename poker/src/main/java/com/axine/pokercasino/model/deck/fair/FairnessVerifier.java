@@ -0,0 +1,64 @@
+package com.axine.pokercasino.model.deck.fair;
+
+import com.axine.pokercasino.model.deck.Card;
+import com.axine.pokercasino.model.deck.DeckType;
+import com.axine.pokercasino.model.deck.decks.ArrayDeck;
+import com.axine.pokercasino.model.deck.decks.ShortenedDeck;
+import com.axine.pokercasino.model.deck.decks.StandardDeck;
+import com.axine.pokercasino.model.deck.random.SplittableDeckRandom;
+
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * Независимая проверка тасования: по раскрытому зерну восстанавливает порядок колоды
+ * тем же алгоритмом, что и сервер, и сверяет опубликованный до раздачи хэш.
+ * Запуск: {@code java -cp target/classes com.axine.pokercasino.model.deck.fair.FairnessVerifier standard <зерно hex> <хэш hex>}.
+ */
+public final class FairnessVerifier {
+
+    private FairnessVerifier() {
+    }
+
+    /** Порядок кодов карт, который даёт зерно */
+    public static byte[] order(DeckType deckType, byte[] seed) {
+        if (deckType == null) throw new IllegalArgumentException("Deck type cannot be null");
+        ArrayDeck deck = deckType == DeckType.SHORTENED
+                ? new ShortenedDeck(new SplittableDeckRandom())
+                : new StandardDeck(new SplittableDeckRandom());
+        deck.shuffle(seed);
+        byte[] order = new byte[deck.size()];
+        deck.dealCodes(order, 0, order.length);
+        return order;
+    }
+
+    /** true, если зерно даёт колоду, хэш которой был опубликован */
+    public static boolean verify(DeckType deckType, byte[] seed, byte[] hash) {
+        if (seed == null || seed.length == 0 || seed.length > 255 || hash == null) return false;
+        return MessageDigest.isEqual(ShuffleCommitment.hash(seed, order(deckType, seed)), hash);
+    }
+
+    public static boolean verify(DeckType deckType, String seedHex, String hashHex) {
+        HexFormat hex = HexFormat.of();
+        return verify(deckType, hex.parseHex(seedHex.trim()), hex.parseHex(hashHex.trim()));
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 3) {
+            System.err.println("Usage: FairnessVerifier <standard|shortened> <seed hex> <commitment hex>");
+            System.exit(2);
+        }
+        DeckType deckType = DeckType.valueOf(args[0].toUpperCase(Locale.ROOT));
+        byte[] seed = HexFormat.of().parseHex(args[1].trim());
+        StringBuilder cards = new StringBuilder();
+        for (byte code : order(deckType, seed)) {
+            if (!cards.isEmpty()) cards.append(' ');
+            cards.append(Card.of(code));
+        }
+        System.out.println("Deck: " + cards);
+        boolean valid = verify(deckType, args[1], args[2]);
+        System.out.println(valid ? "OK: commitment matches the revealed seed" : "FAIL: commitment does not match");
+        System.exit(valid ? 0 : 1);
+    }
+}
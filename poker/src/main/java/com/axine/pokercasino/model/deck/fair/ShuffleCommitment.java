@@ -0,0 +1,62 @@
+package com.axine.pokercasino.model.deck.fair;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Обязательство по тасованию: SHA-256(длина зерна ‖ зерно ‖ порядок колоды).
+ * Хэш публикуется до раздачи, зерно раскрывается после раздачи банка; по зерну
+ * {@link FairnessVerifier} восстанавливает порядок и сверяет хэш. Зерно — секрет
+ * до раскрытия, наружу отдаётся только через {@link #getSeed()}.
+ */
+public final class ShuffleCommitment {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final byte[] seed;
+    private final byte[] hash;
+
+    private ShuffleCommitment(byte[] seed, byte[] hash) {
+        this.seed = seed;
+        this.hash = hash;
+    }
+
+    /** Считает обязательство для зерна и порядка кодов карт, которые оно даёт */
+    public static ShuffleCommitment of(byte[] seed, byte[] order) {
+        if (seed == null || seed.length == 0 || seed.length > 255) throw new IllegalArgumentException("Invalid seed");
+        if (order == null) throw new IllegalArgumentException("Order cannot be null");
+        return new ShuffleCommitment(seed.clone(), hash(seed, order));
+    }
+
+    /** Хэш, который публикуется до раздачи */
+    public byte[] getHash() {
+        return hash.clone();
+    }
+
+    public String getHashHex() {
+        return HEX.formatHex(hash);
+    }
+
+    /** Зерно тасования; раскрывать только после раздачи банка */
+    public byte[] getSeed() {
+        return seed.clone();
+    }
+
+    public String getSeedHex() {
+        return HEX.formatHex(seed);
+    }
+
+    static byte[] hash(byte[] seed, byte[] order) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        digest.update((byte) seed.length);
+        digest.update(seed);
+        digest.update(order);
+        return digest.digest();
+    }
+}
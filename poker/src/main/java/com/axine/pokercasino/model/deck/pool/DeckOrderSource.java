@@ -0,0 +1,16 @@
+package com.axine.pokercasino.model.deck.pool;
+
+import com.axine.pokercasino.model.deck.fair.ShuffleCommitment;
+
+/** Источник готовых перетасованных порядков колоды (кодов {@link com.axine.pokercasino.model.deck.Card#getCode()}) */
+public interface DeckOrderSource {
+
+    /** Размер колоды, для которой выдаются порядки */
+    int getDeckSize();
+
+    /**
+     * Копирует готовый порядок в order и возвращает обязательство по нему (с зерном);
+     * null — готовых нет, тасовать придётся самому
+     */
+    ShuffleCommitment take(byte[] order);
+}
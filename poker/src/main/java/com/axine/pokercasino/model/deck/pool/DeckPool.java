@@ -0,0 +1,165 @@
+package com.axine.pokercasino.model.deck.pool;
+
+import com.axine.pokercasino.model.deck.DeckType;
+import com.axine.pokercasino.model.deck.decks.ArrayDeck;
+import com.axine.pokercasino.model.deck.decks.ShortenedDeck;
+import com.axine.pokercasino.model.deck.decks.StandardDeck;
+import com.axine.pokercasino.model.deck.fair.ShuffleCommitment;
+import com.axine.pokercasino.model.deck.random.DeckRandom;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Запас заранее перетасованных колод одного типа. Фоновый поток тасует в свободные
+ * буферы и кладёт их в неблокирующую очередь; раздающий поток забирает порядок за O(1)
+ * и возвращает буфер на повторное использование. Когда запас полон, производитель
+ * паркуется на 100 мс (обратное давление) и после пробуждения доливает запас, как только
+ * в нём есть место; раздача будит его раньше, если запас опустился до половины. Если запас
+ * пуст, {@link #take(byte[])} возвращает null, и колода тасуется на месте. Вместе
+ * с порядком хранится обязательство {@link ShuffleCommitment}: хэш считается здесь же,
+ * в фоне, и не ложится на поток запроса.
+ */
+public class DeckPool implements DeckOrderSource, AutoCloseable {
+
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final DeckType deckType;
+    private final int capacity;
+    private final int deckSize;
+    private final ArrayDeck shuffler;
+
+    private final ConcurrentLinkedQueue<Shuffled> ready = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Shuffled> free = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final LongAdder produced = new LongAdder();
+    private final LongAdder taken = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private volatile boolean running;
+    private volatile Thread producer;
+
+    public DeckPool(DeckType deckType, int capacity, DeckRandom random) {
+        if (deckType == null || random == null) throw new IllegalArgumentException("Deck type or random cannot be null");
+        if (capacity < 1) throw new IllegalArgumentException("Capacity must be positive");
+        this.deckType = deckType;
+        this.capacity = capacity;
+        this.shuffler = deckType == DeckType.SHORTENED ? new ShortenedDeck(random) : new StandardDeck(random);
+        this.deckSize = shuffler.size();
+    }
+
+    /** Заполняет запас в текущем потоке и запускает фонового производителя */
+    public synchronized void start() {
+        if (running) return;
+        while (size.get() < capacity) {
+            produceOne();
+        }
+        running = true;
+        Thread thread = new Thread(this::produce, "deck-pool-" + deckType.getShortName());
+        thread.setDaemon(true);
+        producer = thread;
+        thread.start();
+    }
+
+    @Override
+    public int getDeckSize() {
+        return deckSize;
+    }
+
+    @Override
+    public ShuffleCommitment take(byte[] order) {
+        if (order.length != deckSize) throw new IllegalArgumentException("Order size " + order.length + " != deck size " + deckSize);
+        Shuffled buffer = ready.poll();
+        if (buffer == null) {
+            misses.increment();
+            LockSupport.unpark(producer);
+            return null;
+        }
+        int left = size.decrementAndGet();
+        System.arraycopy(buffer.order, 0, order, 0, deckSize);
+        ShuffleCommitment commitment = buffer.commitment;
+        free.offer(buffer);
+        taken.increment();
+        if (left <= capacity / 2) LockSupport.unpark(producer);
+        return commitment;
+    }
+
+    @Override
+    public void close() {
+        Thread thread;
+        synchronized (this) {
+            running = false;
+            thread = producer;
+            producer = null;
+        }
+        if (thread == null) return;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public DeckType getDeckType() {
+        return deckType;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /** Сколько готовых колод в запасе */
+    public int getSize() {
+        return size.get();
+    }
+
+    public long getProduced() {
+        return produced.sum();
+    }
+
+    public long getTaken() {
+        return taken.sum();
+    }
+
+    /** Сколько раз запас был пуст и колоду тасовали на месте */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private void produce() {
+        while (running) {
+            if (size.get() >= capacity) {
+                LockSupport.parkNanos(this, IDLE_NANOS);
+                continue;
+            }
+            produceOne();
+        }
+    }
+
+    /** Вызывается только одним потоком: при старте — запускающим, потом — производителем */
+    private void produceOne() {
+        Shuffled buffer = free.poll();
+        if (buffer == null) buffer = new Shuffled(new byte[deckSize]);
+        shuffler.shuffle();
+        shuffler.dealCodes(buffer.order, 0, deckSize);
+        buffer.commitment = ShuffleCommitment.of(shuffler.getSeed(), buffer.order);
+        ready.offer(buffer);
+        size.incrementAndGet();
+        produced.increment();
+    }
+
+    /** Буфер порядка колоды и обязательство по нему */
+    private static final class Shuffled {
+        final byte[] order;
+        ShuffleCommitment commitment;
+
+        Shuffled(byte[] order) {
+            this.order = order;
+        }
+    }
+}
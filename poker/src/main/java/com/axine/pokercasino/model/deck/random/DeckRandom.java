@@ -0,0 +1,22 @@
+package com.axine.pokercasino.model.deck.random;
+
+/**
+ * Источник случайности для тасования колоды; реализации не обязаны быть потокобезопасными.
+ * Колода тасуется детерминированно по зерну ({@link #fromSeed(byte[])}), поэтому по
+ * записанному зерну раздачу можно повторить карта в карту.
+ */
+public interface DeckRandom {
+
+    /** Равномерное число от 0 (включительно) до bound (исключительно) */
+    int nextInt(int bound);
+
+    /** Новое зерно для очередного тасования */
+    byte[] nextSeed();
+
+    /** Детерминированный генератор по зерну: 8 байт — SplittableRandom, иначе SHA-256 */
+    static DeckRandom fromSeed(byte[] seed) {
+        if (seed == null || seed.length == 0) throw new IllegalArgumentException("Seed cannot be empty");
+        if (seed.length == Long.BYTES) return new SplittableDeckRandom(SplittableDeckRandom.toLong(seed));
+        return new HashDeckRandom(seed);
+    }
+}
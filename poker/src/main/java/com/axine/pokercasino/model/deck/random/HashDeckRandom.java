@@ -0,0 +1,68 @@
+package com.axine.pokercasino.model.deck.random;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Детерминированный генератор на SHA-256 в режиме счётчика: блок i = SHA-256(зерно ‖ i).
+ * С 32-байтным криптостойким зерном даёт тасование с полной энтропией, которое
+ * воспроизводится и проверяется по зерну.
+ */
+public class HashDeckRandom implements DeckRandom {
+
+    private final MessageDigest digest;
+    private final byte[] seed;
+    private byte[] block = new byte[0];
+    private int position;
+    private long counter;
+
+    public HashDeckRandom(byte[] seed) {
+        if (seed == null || seed.length == 0) throw new IllegalArgumentException("Seed cannot be empty");
+        this.seed = seed.clone();
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        if (bound <= 0) throw new IllegalArgumentException("Bound must be positive");
+        int bits;
+        int value;
+        do {
+            bits = nextBits() >>> 1;
+            value = bits % bound;
+        } while (bits - value + (bound - 1) < 0);
+        return value;
+    }
+
+    @Override
+    public byte[] nextSeed() {
+        byte[] next = new byte[seed.length];
+        for (int i = 0; i < next.length; i += 4) {
+            int bits = nextBits();
+            for (int j = 0; j < 4 && i + j < next.length; j++) {
+                next[i + j] = (byte) (bits >>> (3 - j) * 8);
+            }
+        }
+        return next;
+    }
+
+    private int nextBits() {
+        if (position + 4 > block.length) {
+            digest.update(seed);
+            for (int i = 7; i >= 0; i--) {
+                digest.update((byte) (counter >>> i * 8));
+            }
+            counter++;
+            block = digest.digest();
+            position = 0;
+        }
+        int bits = (block[position] & 0xFF) << 24 | (block[position + 1] & 0xFF) << 16
+                | (block[position + 2] & 0xFF) << 8 | block[position + 3] & 0xFF;
+        position += 4;
+        return bits;
+    }
+}
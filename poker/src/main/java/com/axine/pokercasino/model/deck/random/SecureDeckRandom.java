@@ -0,0 +1,65 @@
+package com.axine.pokercasino.model.deck.random;
+
+import java.security.SecureRandom;
+
+/**
+ * Криптостойкий генератор для столов на реальные деньги. Байты берутся у SecureRandom
+ * блоками, чтобы не обращаться к нему на каждую карту; число в диапазоне получается
+ * отбрасыванием, без смещения в сторону младших значений. Зерно — 32 байта,
+ * колода по нему тасуется через {@link HashDeckRandom}.
+ */
+public class SecureDeckRandom implements DeckRandom {
+
+    public static final int SEED_BYTES = 32;
+
+    private static final int BUFFER_SIZE = 512;
+
+    private final SecureRandom random;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position = BUFFER_SIZE;
+
+    public SecureDeckRandom() {
+        this(new SecureRandom());
+    }
+
+    public SecureDeckRandom(SecureRandom random) {
+        if (random == null) throw new IllegalArgumentException("Random cannot be null");
+        this.random = random;
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        if (bound <= 0) throw new IllegalArgumentException("Bound must be positive");
+        int bits;
+        int value;
+        do {
+            bits = nextBits() >>> 1;
+            value = bits % bound;
+        } while (bits - value + (bound - 1) < 0);
+        return value;
+    }
+
+    @Override
+    public byte[] nextSeed() {
+        byte[] seed = new byte[SEED_BYTES];
+        for (int i = 0; i < SEED_BYTES; i += 4) {
+            int bits = nextBits();
+            seed[i] = (byte) (bits >>> 24);
+            seed[i + 1] = (byte) (bits >>> 16);
+            seed[i + 2] = (byte) (bits >>> 8);
+            seed[i + 3] = (byte) bits;
+        }
+        return seed;
+    }
+
+    private int nextBits() {
+        if (position + 4 > BUFFER_SIZE) {
+            random.nextBytes(buffer);
+            position = 0;
+        }
+        int bits = (buffer[position] & 0xFF) << 24 | (buffer[position + 1] & 0xFF) << 16
+                | (buffer[position + 2] & 0xFF) << 8 | buffer[position + 3] & 0xFF;
+        position += 4;
+        return bits;
+    }
+}
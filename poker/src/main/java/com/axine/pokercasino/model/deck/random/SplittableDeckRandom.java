@@ -0,0 +1,45 @@
+package com.axine.pokercasino.model.deck.random;
+
+import java.util.SplittableRandom;
+
+/** Быстрый генератор для симуляций и воспроизводимых раздач; зерно — 8 байт */
+public class SplittableDeckRandom implements DeckRandom {
+
+    private final SplittableRandom random;
+
+    public SplittableDeckRandom() {
+        this(new SplittableRandom());
+    }
+
+    public SplittableDeckRandom(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    public SplittableDeckRandom(SplittableRandom random) {
+        if (random == null) throw new IllegalArgumentException("Random cannot be null");
+        this.random = random;
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    @Override
+    public byte[] nextSeed() {
+        long seed = random.nextLong();
+        byte[] bytes = new byte[Long.BYTES];
+        for (int i = 0; i < Long.BYTES; i++) {
+            bytes[i] = (byte) (seed >>> (Long.BYTES - 1 - i) * 8);
+        }
+        return bytes;
+    }
+
+    static long toLong(byte[] seed) {
+        long value = 0L;
+        for (byte b : seed) {
+            value = value << 8 | b & 0xFF;
+        }
+        return value;
+    }
+}
@@ -1,6 +1,9 @@
 package com.axine.pokercasino.model.game;
 
 import com.axine.pokercasino.model.deck.Card;
+import com.axine.pokercasino.model.deck.CardSet;
+import com.axine.pokercasino.model.deck.DeckType;
+import com.axine.pokercasino.model.game.evaluation.HandState;
 import com.axine.pokercasino.model.player.Player;
 import com.axine.pokercasino.model.player.PlayerAction;
 
@@ -31,6 +34,9 @@ public interface Round {
 
     List<Card> getCommunityCards();
 
+    /** Карты стола маской {@link CardSet}, без копирования списка */
+    long getCommunityMask();
+
     Stage getStage();
 
     int getPot();
@@ -41,6 +47,27 @@ public interface Round {
 
     Map<Player, Integer> getPlayersBets();
 
+    /** Номер места игрока за столом; -1 — игрок не за этим столом */
+    int getSeat(Player player);
+
+    /** Ставка места на текущей улице */
+    int getBet(int seat);
+
+    /** Сколько игроков ещё не сбросили карты */
+    int getActiveCount();
+
+    /** Маска мест, уже походивших на текущей улице (бит i — место i) */
+    long getActedMask();
+
+    int getSmallBlind();
+
+    int getBigBlind();
+
+    /** Колода, из которой сдаётся раунд */
+    DeckType getDeckType();
+
+    HandState getHandState(Player player);
+
     Player getCurrentPlayer();
 
     boolean isBettingComplete();
@@ -49,6 +76,11 @@ public interface Round {
 
     void submitHumanAction(PlayerAction action);
 
+    /** Применяет действие за текущего игрока, кем бы он ни был, без задержек (воспроизведение, симуляции) */
+    void applyAction(PlayerAction action);
+
+    void addListener(RoundListener listener);
+
     int getDealerPos();
 
     void setDealerPos(int pos);
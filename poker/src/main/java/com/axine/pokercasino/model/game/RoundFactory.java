@@ -2,6 +2,7 @@ package com.axine.pokercasino.model.game;
 
 import com.axine.pokercasino.model.deck.Card;
 import com.axine.pokercasino.model.deck.Deck;
+import com.axine.pokercasino.model.game.evaluation.HandState;
 import com.axine.pokercasino.model.player.Player;
 import com.axine.pokercasino.model.player.PlayerAction;
 import com.axine.pokercasino.model.player.players.HumanPlayer;
@@ -43,6 +44,16 @@ public abstract class RoundFactory {
         round.submitHumanAction(action);
     }
 
+    public void applyAction(Round round, PlayerAction action) {
+        if (round == null || action == null) throw new IllegalArgumentException("Round or action cannot be null");
+        round.applyAction(action);
+    }
+
+    public void addListener(Round round, RoundListener listener) {
+        if (round == null) throw new IllegalArgumentException("Round cannot be null");
+        round.addListener(listener);
+    }
+
     public void manageBettingRound(Round round, PlayerAction humanAction) {
         if (round == null) return;
         int maxAttempts = round.getPlayers().size() * 10; // Increased to handle raises
@@ -109,6 +120,11 @@ public abstract class RoundFactory {
         return round.getCommunityCards();
     }
 
+    public long getCommunityMask(Round round) {
+        if (round == null) return 0L;
+        return round.getCommunityMask();
+    }
+
     public Stage getStage(Round round) {
         if (round == null) return Stage.PREFLOP;
         return round.getStage();
@@ -134,6 +150,11 @@ public abstract class RoundFactory {
         return round.getPlayersBets();
     }
 
+    public HandState getHandState(Player player, Round round) {
+        if (round == null || player == null) return null;
+        return round.getHandState(player);
+    }
+
     public Player getCurrentPlayer(Round round) {
         if (round == null) return null;
         return round.getCurrentPlayer();
@@ -0,0 +1,20 @@
+package com.axine.pokercasino.model.game;
+
+import com.axine.pokercasino.model.player.PlayerAction;
+
+import java.util.List;
+
+/** Наблюдатель за ходом раунда: начало раздачи, каждое применённое действие и раздача банка */
+public interface RoundListener {
+
+    /** Вызывается в startRound, когда колоды хватает на раздачу, до тасования и блайндов */
+    default void onRoundStart(Round round) {
+    }
+
+    /** Действие игрока на месте seat применено к раунду; toCall — сколько месту нужно было доплатить до действия */
+    void onAction(Round round, int seat, PlayerAction action, int toCall);
+
+    /** Банк разделён между победителями */
+    default void onPotDistributed(Round round, List<Integer> winnerSeats) {
+    }
+}
@@ -0,0 +1,123 @@
+package com.axine.pokercasino.model.game.cfr;
+
+import com.axine.pokercasino.model.game.Stage;
+
+/**
+ * Абстракция действий и ситуаций для игры один на один. Действия: фолд, колл/чек,
+ * ставка в полбанка, в банк и олл-ин; все они — обычные {@link com.axine.pokercasino.model.player.Event}.
+ * Информационное множество задаётся только наблюдаемым: улица, корзина карт, баттон ли,
+ * размер банка в больших блайндах, доля банка к уплате и отношение эффективного стека
+ * к банку. Поэтому обучение на {@link com.axine.pokercasino.model.game.compact.CompactTable}
+ * и игра за настоящим столом получают один и тот же номер без истории торговли.
+ */
+public final class BettingAbstraction {
+
+    public static final int FOLD = 0;
+    public static final int CALL = 1;
+    public static final int BET_HALF_POT = 2;
+    public static final int BET_POT = 3;
+    public static final int ALL_IN = 4;
+    public static final int ACTIONS = 5;
+
+    /** Ставок одного игрока за улицу при обучении, чтобы дерево оставалось конечным */
+    public static final int MAX_RAISES = 3;
+
+    private static final int POT_LEVELS = 12;
+    private static final int CALL_LEVELS = 7;
+    private static final int SPR_LEVELS = 8;
+    private static final int SITUATIONS = 2 * POT_LEVELS * CALL_LEVELS * SPR_LEVELS;
+    private static final Stage[] STREETS = {Stage.PREFLOP, Stage.FLOP, Stage.TURN, Stage.RIVER};
+
+    private BettingAbstraction() {
+    }
+
+    /** Число информационных множеств при абстракции карт cards */
+    public static int infosets(CardAbstraction cards) {
+        int buckets = 0;
+        for (Stage street : STREETS) {
+            buckets += cards.buckets(street);
+        }
+        return buckets * SITUATIONS;
+    }
+
+    /** Номер информационного множества; все суммы — в фишках */
+    public static int infoset(CardAbstraction cards, Stage stage, int bucket, boolean dealer, int pot, int toCall,
+                              int effectiveStack, int bigBlind) {
+        int offset = 0;
+        for (int street = 0; street < stage.ordinal(); street++) {
+            offset += cards.buckets(STREETS[street]);
+        }
+        int situation = ((dealer ? 1 : 0) * POT_LEVELS + potLevel(pot, bigBlind)) * CALL_LEVELS + callLevel(pot, toCall);
+        return (offset + bucket) * SITUATIONS + situation * SPR_LEVELS + sprLevel(pot, effectiveStack);
+    }
+
+    /**
+     * Маска допустимых действий (бит i — действие i). Ставки нужны только если есть чем
+     * повышать и соперник ещё может ответить; размеры, которые упираются в стек, сливаются с олл-ином
+     */
+    public static int legalActions(int pot, int currentBet, int bet, int stack, int bigBlind,
+                                   boolean opponentCanAct, boolean raiseAllowed) {
+        int toCall = Math.max(0, currentBet - bet);
+        int legal = 1 << CALL;
+        if (toCall > 0) legal |= 1 << FOLD;
+        if (!raiseAllowed || !opponentCanAct || stack <= toCall) return legal;
+        legal |= 1 << ALL_IN;
+        for (int action = BET_HALF_POT; action < ALL_IN; action++) {
+            if (betTotal(action, pot, currentBet, bet, stack, bigBlind) - bet < stack) legal |= 1 << action;
+        }
+        return legal;
+    }
+
+    /** Итоговая ставка улицы для действия-ставки: повышение не меньше большого блайнда, не больше стека */
+    public static int betTotal(int action, int pot, int currentBet, int bet, int stack, int bigBlind) {
+        int toCall = Math.max(0, currentBet - bet);
+        int raise;
+        switch (action) {
+            case BET_HALF_POT:
+                raise = Math.max(bigBlind, (pot + toCall) / 2);
+                break;
+            case BET_POT:
+                raise = Math.max(bigBlind, pot + toCall);
+                break;
+            case ALL_IN:
+                return bet + stack;
+            default:
+                throw new IllegalArgumentException("Not a bet action: " + action);
+        }
+        return Math.min(currentBet + raise, bet + stack);
+    }
+
+    // ================== ВСПОМОГАТЕЛЬНЫЕ ==================
+
+    /** Банк в полублайндах по степеням двойки: 1.5 бб — уровень 1, дальше удвоения */
+    private static int potLevel(int pot, int bigBlind) {
+        long halves = Math.max(1L, 2L * pot / Math.max(1, bigBlind));
+        return Math.min(POT_LEVELS - 1, 63 - Long.numberOfLeadingZeros(halves));
+    }
+
+    /** Доля банка к уплате: 0 — платить нечего, дальше до четверти, половины, трёх четвертей, банка, двух банков и больше */
+    private static int callLevel(int pot, int toCall) {
+        if (toCall <= 0) return 0;
+        long quarters = 4L * toCall;
+        long base = Math.max(1, pot);
+        if (quarters <= base) return 1;
+        if (quarters <= 2 * base) return 2;
+        if (quarters <= 3 * base) return 3;
+        if (quarters <= 4 * base) return 4;
+        if (quarters <= 8 * base) return 5;
+        return 6;
+    }
+
+    /** Эффективный стек к банку: 0 — кто-то уже олл-ин, дальше по удвоениям от половины банка */
+    private static int sprLevel(int pot, int effectiveStack) {
+        if (effectiveStack <= 0) return 0;
+        long doubled = 2L * effectiveStack;
+        long base = Math.max(1, pot);
+        int level = 1;
+        while (level < SPR_LEVELS - 1 && doubled > base) {
+            base *= 2;
+            level++;
+        }
+        return level;
+    }
+}
@@ -0,0 +1,186 @@
+package com.axine.pokercasino.model.game.cfr;
+
+import com.axine.pokercasino.model.deck.Card;
+import com.axine.pokercasino.model.deck.CardSet;
+import com.axine.pokercasino.model.game.Stage;
+import com.axine.pokercasino.model.game.evaluation.SuitIsomorphism;
+
+/**
+ * Плотная нумерация ситуаций улицы для таблиц корзин. Стол приводится к канонической
+ * форме {@link SuitIsomorphism#canonicalBoard} и получает плотный номер класса, рука
+ * переводится в ту же перестановку мастей и нумеруется как пара из 52 карт. Клетка
+ * таблицы — номер стола * {@value #HOLES} + номер пары: часть клеток дублирует
+ * изоморфные руки, зато поиск — две перестановки мастей и одно чтение массива.
+ * Номера столов терна и ривера строятся при первом обращении к улице.
+ */
+final class BoardIndex {
+
+    static final int HOLES = Card.COUNT * (Card.COUNT - 1) / 2;
+
+    private static final int[][] BINOMIAL = new int[Card.COUNT + 1][6];
+    private static final long[] PAIRS = new long[HOLES];
+
+    static {
+        for (int high = 1; high < Card.COUNT; high++) {
+            for (int low = 0; low < high; low++) {
+                PAIRS[high * (high - 1) / 2 + low] = Card.of(high).getMask() | Card.of(low).getMask();
+            }
+        }
+        for (int n = 0; n <= Card.COUNT; n++) {
+            BINOMIAL[n][0] = 1;
+            for (int k = 1; k <= Math.min(n, 5); k++) {
+                BINOMIAL[n][k] = BINOMIAL[n - 1][k - 1] + BINOMIAL[n - 1][k];
+            }
+        }
+    }
+
+    private BoardIndex() {
+    }
+
+    /** Число карт на столе улицы */
+    static int boardCards(Stage stage) {
+        switch (stage) {
+            case PREFLOP:
+                return 0;
+            case FLOP:
+                return 3;
+            case TURN:
+                return 4;
+            case RIVER:
+                return 5;
+            default:
+                throw new IllegalArgumentException("No decisions at " + stage);
+        }
+    }
+
+    /** Число классов стола улицы с точностью до мастей */
+    static int boards(Stage stage) {
+        return street(stage).representatives.length;
+    }
+
+    /** Канонический стол класса number */
+    static long representative(Stage stage, int number) {
+        return street(stage).representatives[number];
+    }
+
+    /** Клетка таблицы для руки hole при столе board (маски {@link CardSet}) */
+    static int slot(Stage stage, long hole, long board) {
+        if (Long.bitCount(hole) != 2) throw new IllegalArgumentException("Hand must have 2 cards");
+        if (Long.bitCount(board) != boardCards(stage)) {
+            throw new IllegalArgumentException(stage + " board must have " + boardCards(stage) + " cards");
+        }
+        if ((hole & board) != 0) throw new IllegalArgumentException("Hand and board share a card");
+        Street street = street(stage);
+        return street.ids[colex(SuitIsomorphism.canonicalBoard(board))] * HOLES
+                + pair(SuitIsomorphism.inBoardFrame(hole, board));
+    }
+
+    /** Номер пары карт 0..{@value #HOLES}-1 */
+    static int pair(long hole) {
+        int low = code(Long.numberOfTrailingZeros(hole));
+        int high = code(63 - Long.numberOfLeadingZeros(hole));
+        return high * (high - 1) / 2 + low;
+    }
+
+    /** Пара карт по номеру */
+    static long pairMask(int pair) {
+        return PAIRS[pair];
+    }
+
+    // ================== ВСПОМОГАТЕЛЬНЫЕ ==================
+
+    private static Street street(Stage stage) {
+        switch (stage) {
+            case PREFLOP:
+                return Preflop.STREET;
+            case FLOP:
+                return Flop.STREET;
+            case TURN:
+                return Turn.STREET;
+            case RIVER:
+                return River.STREET;
+            default:
+                throw new IllegalArgumentException("No decisions at " + stage);
+        }
+    }
+
+    private static int code(int bit) {
+        return bit / CardSet.SUIT_SHIFT * 13 + bit % CardSet.SUIT_SHIFT;
+    }
+
+    /** colex-номер набора карт по кодам {@link Card#getCode()} */
+    private static int colex(long cards) {
+        int index = 0;
+        for (int k = 1; cards != 0; k++) {
+            index += BINOMIAL[code(Long.numberOfTrailingZeros(cards))][k];
+            cards &= cards - 1;
+        }
+        return index;
+    }
+
+    /** Номера классов всех столов из n карт; перебор Госпера идёт ровно в colex-порядке */
+    private static final class Street {
+        final int[] ids;
+        final long[] representatives;
+
+        Street(int cards) {
+            int count = BINOMIAL[Card.COUNT][cards];
+            int[] canonical = new int[count];
+            boolean[] seen = new boolean[count];
+            long codes = (1L << cards) - 1;
+            for (int index = 0; index < count; index++) {
+                long board = 0L;
+                for (long rest = codes; rest != 0; rest &= rest - 1) {
+                    board |= Card.of(Long.numberOfTrailingZeros(rest)).getMask();
+                }
+                canonical[index] = colex(SuitIsomorphism.canonicalBoard(board));
+                seen[canonical[index]] = true;
+                if (codes != 0) {
+                    long lowest = codes & -codes;
+                    long ripple = codes + lowest;
+                    codes = ripple | ((codes ^ ripple) >>> 2) / lowest;
+                }
+            }
+            int[] dense = new int[count];
+            int classes = 0;
+            for (int index = 0; index < count; index++) {
+                dense[index] = classes;
+                if (seen[index]) classes++;
+            }
+            ids = new int[count];
+            representatives = new long[classes];
+            codes = (1L << cards) - 1;
+            for (int index = 0; index < count; index++) {
+                ids[index] = dense[canonical[index]];
+                if (canonical[index] == index) {
+                    long board = 0L;
+                    for (long rest = codes; rest != 0; rest &= rest - 1) {
+                        board |= Card.of(Long.numberOfTrailingZeros(rest)).getMask();
+                    }
+                    representatives[ids[index]] = board;
+                }
+                if (codes != 0) {
+                    long lowest = codes & -codes;
+                    long ripple = codes + lowest;
+                    codes = ripple | ((codes ^ ripple) >>> 2) / lowest;
+                }
+            }
+        }
+    }
+
+    private static final class Preflop {
+        static final Street STREET = new Street(0);
+    }
+
+    private static final class Flop {
+        static final Street STREET = new Street(3);
+    }
+
+    private static final class Turn {
+        static final Street STREET = new Street(4);
+    }
+
+    private static final class River {
+        static final Street STREET = new Street(5);
+    }
+}
@@ -0,0 +1,227 @@
+package com.axine.pokercasino.model.game.cfr;
+
+import com.axine.pokercasino.model.deck.DeckType;
+import com.axine.pokercasino.model.game.Stage;
+import com.axine.pokercasino.model.game.compact.SeatView;
+import com.axine.pokercasino.model.game.evaluation.HandEvaluator;
+import com.axine.pokercasino.model.game.evaluation.SuitIsomorphism;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Офлайн-построение {@link BucketTable} улицы. Для каждой ситуации (рука, стол) с точностью
+ * до мастей считается признак: на ривере — сила руки EHS (доля банка против случайной
+ * руки), на прежних улицах — гистограмма потенциала: EHS на ривере по runouts случайным
+ * докладкам стола, разложенная в {@value #BINS} корзин. Признаки кластеризуются
+ * параллельным {@link KMeans}, кластеры нумеруются по возрастанию средней силы.
+ * Запуск (одна улица за запуск, ривер — самый долгий):
+ * {@code java -Xmx4g -cp target/classes com.axine.pokercasino.model.game.cfr.BucketBuilder buckets flop 200}
+ * (каталог, улица, число корзин; дальше необязательные докладки, соперники, потоки и зерно).
+ */
+public final class BucketBuilder {
+
+    public static final int BINS = 8;
+    public static final int DEFAULT_RUNOUTS = 32;
+    public static final int DEFAULT_OPPONENTS = 16;
+
+    private static final int ITERATIONS = 50;
+    private static final int SAMPLE = 2_000_000;
+    private static final long DECK = HandEvaluator.mask(DeckType.STANDARD);
+
+    private final int runouts;
+    private final int opponents;
+
+    public BucketBuilder(int runouts, int opponents) {
+        if (runouts < 1 || runouts > 255) throw new IllegalArgumentException("Runouts must be between 1 and 255");
+        if (opponents < 1) throw new IllegalArgumentException("Opponents must be positive");
+        this.runouts = runouts;
+        this.opponents = opponents;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path directory = Path.of(args[0]);
+        Stage stage = Stage.valueOf(args[1].toUpperCase());
+        int buckets = Integer.parseInt(args[2]);
+        int runouts = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_RUNOUTS;
+        int opponents = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_OPPONENTS;
+        int threads = args.length > 5 ? Integer.parseInt(args[5]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 6 ? Long.parseLong(args[6]) : System.nanoTime();
+
+        long started = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            BucketTable table = new BucketBuilder(runouts, opponents).build(pool, stage, buckets, seed);
+            Files.createDirectories(directory);
+            Path output = directory.resolve(BucketTable.fileName(stage));
+            table.write(output);
+            System.out.printf("%s: %d buckets written to %s in %.1f s%n", stage, buckets, output,
+                    (System.nanoTime() - started) / 1e9);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public BucketTable build(ForkJoinPool pool, Stage stage, int buckets, long seed) {
+        int boards = BoardIndex.boards(stage);
+        int dims = stage == Stage.RIVER ? 1 : BINS;
+
+        // Ситуации нумеруются подряд по столам: сначала считаем, сколько их у каждого стола
+        int[] offsets = new int[boards + 1];
+        pool.invoke(new Boards(0, boards, board -> offsets[board + 1] = distinct(stage, board, new int[BoardIndex.HOLES])));
+        for (int board = 0; board < boards; board++) offsets[board + 1] += offsets[board];
+        int points = offsets[boards];
+        if (points < buckets) throw new IllegalArgumentException(stage + " has only " + points + " situations");
+
+        byte[] features = new byte[points * dims];
+        pool.invoke(new Boards(0, boards, board -> features(stage, board, offsets[board], features, seed)));
+
+        KMeans kMeans = new KMeans(buckets, dims, ITERATIONS, Math.max(buckets, SAMPLE));
+        float[] centroids = kMeans.fit(pool, features, seed);
+        byte[] labels = new byte[points];
+        kMeans.assign(pool, features, centroids, labels);
+        int[] order = strengthOrder(centroids, buckets, dims);
+
+        byte[] table = new byte[BucketTable.size(stage)];
+        pool.invoke(new Boards(0, boards, board -> {
+            int[] local = new int[BoardIndex.HOLES];
+            distinct(stage, board, local);
+            int base = BucketTable.HEADER_BYTES + board * BoardIndex.HOLES;
+            for (int pair = 0; pair < BoardIndex.HOLES; pair++) {
+                if (local[pair] >= 0) table[base + pair] = (byte) order[labels[offsets[board] + local[pair]] & 0xFF];
+            }
+        }));
+        return BucketTable.of(stage, buckets, id(stage, buckets, seed), table);
+    }
+
+    /** Сила руки на ривере: доля банка против opponents случайных рук соперника */
+    double strength(long hole, long board, SplittableRandom random) {
+        int own = HandEvaluator.evaluate(hole | board);
+        long unseen = DECK & ~(hole | board);
+        double share = 0;
+        for (int sample = 0; sample < opponents; sample++) {
+            long first = SeatView.randomCard(random, unseen);
+            long second = SeatView.randomCard(random, unseen & ~first);
+            int other = HandEvaluator.evaluate(first | second | board);
+            share += own > other ? 1 : own == other ? 0.5 : 0;
+        }
+        return share / opponents;
+    }
+
+    // ================== ВСПОМОГАТЕЛЬНЫЕ ==================
+
+    /**
+     * Номера различных с точностью до мастей ситуаций стола: local[пара] — номер ситуации
+     * внутри стола или -1, если пара пересекается со столом; возвращает число ситуаций
+     */
+    private static int distinct(Stage stage, int board, int[] local) {
+        long cards = BoardIndex.representative(stage, board);
+        Map<Long, Integer> seen = new HashMap<>();
+        for (int pair = 0; pair < BoardIndex.HOLES; pair++) {
+            long hole = BoardIndex.pairMask(pair);
+            if ((hole & cards) != 0) {
+                local[pair] = -1;
+                continue;
+            }
+            Integer number = seen.putIfAbsent(SuitIsomorphism.index(hole, cards), seen.size());
+            local[pair] = number != null ? number : seen.size() - 1;
+        }
+        return seen.size();
+    }
+
+    /** Признаки ситуаций одного стола; зерно зависит только от стола, поэтому итог не зависит от числа потоков */
+    private void features(Stage stage, int board, int offset, byte[] features, long seed) {
+        SplittableRandom random = new SplittableRandom(seed + board * 0x9E3779B97F4A7C15L);
+        long cards = BoardIndex.representative(stage, board);
+        int missing = 5 - Long.bitCount(cards);
+        int[] local = new int[BoardIndex.HOLES];
+        distinct(stage, board, local);
+        int[] counts = new int[BINS];
+        int point = offset;
+        for (int pair = 0; pair < BoardIndex.HOLES; pair++) {
+            if (local[pair] != point - offset) continue; // пересекается со столом или повторяет изоморфную руку
+            long hole = BoardIndex.pairMask(pair);
+            if (missing == 0) {
+                features[point++] = (byte) Math.round(strength(hole, cards, random) * 255);
+                continue;
+            }
+            Arrays.fill(counts, 0);
+            for (int runout = 0; runout < runouts; runout++) {
+                long full = cards;
+                for (int card = 0; card < missing; card++) {
+                    full |= SeatView.randomCard(random, DECK & ~(full | hole));
+                }
+                counts[Math.min(BINS - 1, (int) (strength(hole, full, random) * BINS))]++;
+            }
+            for (int bin = 0; bin < BINS; bin++) {
+                features[point * BINS + bin] = (byte) counts[bin];
+            }
+            point++;
+        }
+    }
+
+    /** Перестановка кластеров по возрастанию средней силы центра: order[кластер] = корзина */
+    private static int[] strengthOrder(float[] centroids, int buckets, int dims) {
+        double[] strength = new double[buckets];
+        Integer[] clusters = new Integer[buckets];
+        for (int cluster = 0; cluster < buckets; cluster++) {
+            clusters[cluster] = cluster;
+            if (dims == 1) {
+                strength[cluster] = centroids[cluster];
+                continue;
+            }
+            double weight = 0;
+            for (int bin = 0; bin < dims; bin++) {
+                strength[cluster] += centroids[cluster * dims + bin] * (bin + 0.5);
+                weight += centroids[cluster * dims + bin];
+            }
+            strength[cluster] = weight > 0 ? strength[cluster] / weight : 0;
+        }
+        Arrays.sort(clusters, (a, b) -> Double.compare(strength[a], strength[b]));
+        int[] order = new int[buckets];
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            order[clusters[bucket]] = bucket;
+        }
+        return order;
+    }
+
+    private long id(Stage stage, int buckets, long seed) {
+        long id = BucketTable.MAGIC;
+        for (long part : new long[]{BucketTable.VERSION, stage.ordinal(), buckets, runouts, opponents, seed}) {
+            id = (id ^ part) * 0x9E3779B97F4A7C15L;
+            id ^= id >>> 29;
+        }
+        return id;
+    }
+
+    /** Обработка столов [from, to) с делением пополам до одного стола */
+    private static final class Boards extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final IntConsumer action;
+
+        Boards(int from, int to, IntConsumer action) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                action.accept(from);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Boards(from, middle, action), new Boards(middle, to, action));
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.axine.pokercasino.model.game.cfr;
+
+import com.axine.pokercasino.model.deck.Card;
+import com.axine.pokercasino.model.deck.CardSet;
+import com.axine.pokercasino.model.game.Stage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Таблица корзин одной улицы, отображённая в память: байт корзины на клетку
+ * {@link BoardIndex}. Строится {@link BucketBuilder}; поиск не зависит от размера таблицы.
+ * <pre>
+ * int magic, int version, int stage, int buckets, int boards, long id,
+ * затем byte[boards][1326]
+ * </pre>
+ */
+public final class BucketTable {
+
+    public static final int MAX_BUCKETS = 256;
+
+    static final int MAGIC = 0x4255434B; // "BUCK"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 5 * Integer.BYTES + Long.BYTES;
+
+    private final ByteBuffer buffer;
+    private final Stage stage;
+    private final int buckets;
+    private final long id;
+
+    private BucketTable(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.stage = Stage.values()[buffer.getInt(8)];
+        this.buckets = buffer.getInt(12);
+        this.id = buffer.getLong(20);
+    }
+
+    public static BucketTable load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.BIG_ENDIAN);
+            if (buffer.capacity() < HEADER_BYTES
+                    || buffer.getInt(0) != MAGIC
+                    || buffer.getInt(4) != VERSION
+                    || buffer.getInt(8) < 0 || buffer.getInt(8) >= Stage.SHOWDOWN.ordinal()
+                    || buffer.getInt(12) < 1 || buffer.getInt(12) > MAX_BUCKETS) {
+                throw new IOException("Not a bucket table: " + path);
+            }
+            Stage stage = Stage.values()[buffer.getInt(8)];
+            if (buffer.getInt(16) != BoardIndex.boards(stage)
+                    || buffer.capacity() != size(stage)) {
+                throw new IOException("Bucket table does not match the " + stage + " index: " + path);
+            }
+            return new BucketTable(buffer);
+        }
+    }
+
+    /** Таблица над готовым массивом: клетки с {@link #HEADER_BYTES}, заголовок дописывается здесь */
+    static BucketTable of(Stage stage, int buckets, long id, byte[] table) {
+        if (buckets < 1 || buckets > MAX_BUCKETS) throw new IllegalArgumentException("Buckets must be between 1 and " + MAX_BUCKETS);
+        if (table.length != size(stage)) throw new IllegalArgumentException("Table size does not match the " + stage + " index");
+        ByteBuffer buffer = ByteBuffer.wrap(table).order(ByteOrder.BIG_ENDIAN);
+        buffer.putInt(0, MAGIC)
+                .putInt(4, VERSION)
+                .putInt(8, stage.ordinal())
+                .putInt(12, buckets)
+                .putInt(16, BoardIndex.boards(stage))
+                .putLong(20, id);
+        return new BucketTable(buffer);
+    }
+
+    /** Байт на клетку плюс заголовок */
+    static int size(Stage stage) {
+        return HEADER_BYTES + BoardIndex.boards(stage) * BoardIndex.HOLES;
+    }
+
+    /** Имя файла улицы в каталоге таблиц */
+    public static String fileName(Stage stage) {
+        return "buckets-" + stage.name().toLowerCase() + ".bin";
+    }
+
+    /** Пишет таблицу через временный файл, чтобы читатели не увидели её наполовину */
+    public void write(Path path) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer source = buffer.duplicate();
+            source.rewind();
+            while (source.hasRemaining()) {
+                channel.write(source);
+            }
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public int bucketOf(List<Card> hand, List<Card> board) {
+        if (hand == null || board == null) throw new IllegalArgumentException("Hand or board cannot be null");
+        return bucketOf(CardSet.mask(hand), CardSet.mask(board));
+    }
+
+    /** Корзина руки по маскам {@link CardSet}: две перестановки мастей и одно чтение из буфера */
+    public int bucketOf(long hole, long board) {
+        return buffer.get(HEADER_BYTES + BoardIndex.slot(stage, hole, board)) & 0xFF;
+    }
+
+    public Stage getStage() {
+        return stage;
+    }
+
+    public int getBuckets() {
+        return buckets;
+    }
+
+    /** Отпечаток параметров построения */
+    public long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,16 @@
+package com.axine.pokercasino.model.game.cfr;
+
+import com.axine.pokercasino.model.game.Stage;
+
+/** Разбиение рук на корзины по улицам; стратегия CFR хранится по корзинам, а не по картам */
+public interface CardAbstraction {
+
+    /** Число корзин улицы (PREFLOP..RIVER) */
+    int buckets(Stage stage);
+
+    /** Корзина руки hole при открытых картах board (маски {@link com.axine.pokercasino.model.deck.CardSet}) */
+    int bucket(Stage stage, long hole, long board);
+
+    /** Отпечаток абстракции: стратегия, обученная с другой абстракцией, к ней не подходит */
+    long id();
+}
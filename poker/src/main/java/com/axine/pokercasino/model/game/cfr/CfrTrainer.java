@@ -0,0 +1,245 @@
+package com.axine.pokercasino.model.game.cfr;
+
+import com.axine.pokercasino.model.deck.decks.StandardDeck;
+import com.axine.pokercasino.model.deck.random.SplittableDeckRandom;
+import com.axine.pokercasino.model.game.Stage;
+import com.axine.pokercasino.model.game.compact.CompactTable;
+import com.axine.pokercasino.model.game.compact.SearchState;
+import com.axine.pokercasino.model.player.Event;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Офлайн-обучение стратегии один на один методом CFR с внешней выборкой. Правила —
+ * {@link CompactTable}, сверенный с TexasHoldemRound; действия и ситуации — {@link BettingAbstraction},
+ * карты — {@link CardAbstraction}. Итерация сдаёт раздачу, за обучаемое место перебирает
+ * все допустимые действия, за соперника выбирает одно по текущей стратегии. Потоки
+ * ForkJoinPool обучаются параллельно и пишут в общую {@link RegretTable} без блокировок.
+ * Запуск:
+ * {@code java -cp target/classes com.axine.pokercasino.model.game.cfr.CfrTrainer 10000000 cfr-strategy.bin cfr-checkpoint.bin}
+ * (итерации, файл стратегии, контрольная точка; дальше необязательные потоки, зерно и каталог
+ * таблиц {@link BucketBuilder} — без него карты делятся по {@link RankBuckets}).
+ */
+public class CfrTrainer {
+
+    public static final int STACK_BIG_BLINDS = 100;
+
+    private static final long CHECKPOINT_ITERATIONS = 1_000_000;
+    private static final int MAX_DEPTH = 128;
+    private static final int SMALL_BLIND = 5;
+    private static final int BIG_BLIND = 10;
+
+    private final CardAbstraction cards;
+    private final RegretTable regrets;
+    private final int smallBlind;
+    private final int bigBlind;
+    private final int stack;
+
+    public CfrTrainer(CardAbstraction cards, RegretTable regrets, int smallBlind, int bigBlind, int stack) {
+        if (cards == null || regrets == null) throw new IllegalArgumentException("Abstraction or regrets cannot be null");
+        if (regrets.getAbstractionId() != cards.id()) throw new IllegalArgumentException("Regrets belong to a different abstraction");
+        if (smallBlind <= 0 || bigBlind < smallBlind || stack < bigBlind) throw new IllegalArgumentException("Invalid blinds or stack");
+        this.cards = cards;
+        this.regrets = regrets;
+        this.smallBlind = smallBlind;
+        this.bigBlind = bigBlind;
+        this.stack = stack;
+    }
+
+    public static void main(String[] args) throws IOException {
+        long iterations = Long.parseLong(args[0]);
+        Path output = Path.of(args.length > 1 ? args[1] : "cfr-strategy.bin");
+        Path checkpoint = Path.of(args.length > 2 ? args[2] : "cfr-checkpoint.bin");
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : System.nanoTime();
+
+        CardAbstraction cards = args.length > 5 ? ClusteredBuckets.load(Path.of(args[5])) : new RankBuckets();
+        RegretTable regrets = Files.isRegularFile(checkpoint) ? RegretTable.load(checkpoint, cards) : new RegretTable(cards);
+        CfrTrainer trainer = new CfrTrainer(cards, regrets, SMALL_BLIND, BIG_BLIND, STACK_BIG_BLINDS * BIG_BLIND);
+        System.out.printf("Training %d iterations from %d on %d threads%n", iterations, regrets.getIterations(), threads);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            trainer.train(pool, iterations, seed, checkpoint, CHECKPOINT_ITERATIONS);
+        } finally {
+            pool.shutdown();
+        }
+        StrategyFile.write(regrets, output);
+        System.out.printf("Strategy after %d iterations written to %s%n", regrets.getIterations(), output);
+    }
+
+    /**
+     * Обучает iterations итераций партиями по checkpointEvery; после каждой партии,
+     * пока потоки стоят, таблица сохраняется в checkpoint (null — не сохранять)
+     */
+    public void train(ForkJoinPool pool, long iterations, long seed, Path checkpoint, long checkpointEvery) throws IOException {
+        if (checkpointEvery < 1) throw new IllegalArgumentException("Checkpoint interval must be positive");
+        long started = System.nanoTime();
+        for (long done = 0; done < iterations; ) {
+            long batch = Math.min(checkpointEvery, iterations - done);
+            train(pool, batch, seed ^ regrets.getIterations() * 0x9E3779B97F4A7C15L);
+            done += batch;
+            if (checkpoint != null) regrets.save(checkpoint);
+            System.out.printf("%d iterations, %.0f it/s%n", regrets.getIterations(), done * 1e9 / (System.nanoTime() - started));
+        }
+    }
+
+    /** Одна партия: итерации поровну между потоками пула, у каждого свой поток SplittableRandom */
+    public void train(ForkJoinPool pool, long iterations, long seed) {
+        if (iterations < 1) throw new IllegalArgumentException("Iterations must be positive");
+        int workers = (int) Math.min(pool.getParallelism(), iterations);
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Worker> tasks = new ArrayList<>(workers);
+        for (int worker = 0; worker < workers; worker++) {
+            tasks.add(new Worker(random.split(), iterations / workers + (worker < iterations % workers ? 1 : 0)));
+        }
+        tasks.forEach(pool::execute);
+        tasks.forEach(Worker::join);
+        regrets.addIterations(iterations);
+    }
+
+    public RegretTable getRegrets() {
+        return regrets;
+    }
+
+    // ================== ВСПОМОГАТЕЛЬНЫЕ ==================
+
+    /** Поток обучения: своя колода, свой стек состояний и буферы по глубине, ничего общего кроме таблицы */
+    private final class Worker extends RecursiveAction {
+
+        private final SplittableRandom random;
+        private final long iterations;
+        private final StandardDeck deck;
+        private final CompactTable start = new CompactTable(2, smallBlind, bigBlind);
+        private final CompactTable scratch = new CompactTable(2, smallBlind, bigBlind);
+        private final SearchState search = new SearchState(2, MAX_DEPTH);
+        private final long[] streets = new long[3];
+        private final int[][] buckets = new int[2][4];
+        private final float[][] strategies = new float[MAX_DEPTH + 1][BettingAbstraction.ACTIONS];
+        private final float[][] values = new float[MAX_DEPTH + 1][BettingAbstraction.ACTIONS];
+
+        Worker(SplittableRandom random, long iterations) {
+            this.random = random;
+            this.iterations = iterations;
+            this.deck = new StandardDeck(new SplittableDeckRandom(random.split()));
+        }
+
+        @Override
+        protected void compute() {
+            for (long iteration = 0; iteration < iterations; iteration++) {
+                deal((int) (iteration & 1));
+                for (int traverser = 0; traverser < 2; traverser++) {
+                    search.load(start);
+                    traverse(traverser, 0);
+                }
+            }
+        }
+
+        /** Новая раздача: стеки, блайнды, карты на руках, будущий стол и корзины на всех улицах */
+        private void deal(int dealer) {
+            start.setStack(0, stack);
+            start.setStack(1, stack);
+            start.setDealerPos(dealer);
+            start.startHand(deck);
+            start.dealHoleCards(deck);
+            for (int street = 0; street < streets.length; street++) {
+                deck.dealMask(1);
+                streets[street] = deck.dealMask(street == 0 ? 3 : 1);
+            }
+            long board = 0L;
+            for (int street = 0; street < 4; street++) {
+                if (street > 0) board |= streets[street - 1];
+                Stage stage = Stage.values()[street];
+                for (int seat = 0; seat < 2; seat++) {
+                    buckets[seat][street] = cards.bucket(stage, start.getHoleMask(seat), board);
+                }
+            }
+        }
+
+        /** Ожидаемый выигрыш traverser в больших блайндах */
+        private double traverse(int traverser, int raises) {
+            CompactTable state = search.getState();
+            if (state.checkRoundCompletion()) return payoff(state, traverser);
+            if (state.isBettingComplete()) {
+                Stage stage = state.getStage();
+                search.nextStreet(stage == Stage.RIVER ? 0L : streets[stage.ordinal()]);
+                double value = traverse(traverser, 0);
+                search.undo();
+                return value;
+            }
+
+            int seat = state.getCurrentSeat();
+            int opponent = 1 - seat;
+            int pot = state.getPot();
+            int currentBet = state.getCurrentBet();
+            int bet = state.getBet(seat);
+            int chips = state.getStack(seat);
+            int street = state.getStage().ordinal();
+            int infoset = BettingAbstraction.infoset(cards, state.getStage(), buckets[seat][street],
+                    state.getDealerPos() == seat, pot, Math.max(0, currentBet - bet),
+                    Math.min(chips, state.getStack(opponent)), bigBlind);
+            int legal = BettingAbstraction.legalActions(pot, currentBet, bet, chips, bigBlind,
+                    state.getStack(opponent) > 0, raises < BettingAbstraction.MAX_RAISES);
+            int depth = search.getDepth();
+            float[] strategy = strategies[depth];
+            regrets.currentStrategy(infoset, legal, strategy);
+
+            if (seat != traverser) {
+                regrets.addStrategy(infoset, legal, strategy);
+                return act(traverser, raises, sample(strategy, legal), pot, currentBet, bet, chips);
+            }
+            float[] value = values[depth];
+            double nodeValue = 0;
+            for (int action = 0; action < BettingAbstraction.ACTIONS; action++) {
+                if ((legal >>> action & 1) == 0) continue;
+                value[action] = (float) act(traverser, raises, action, pot, currentBet, bet, chips);
+                nodeValue += strategy[action] * value[action];
+            }
+            for (int action = 0; action < BettingAbstraction.ACTIONS; action++) {
+                if ((legal >>> action & 1) != 0) regrets.addRegret(infoset, action, (float) (value[action] - nodeValue));
+            }
+            return nodeValue;
+        }
+
+        private double act(int traverser, int raises, int action, int pot, int currentBet, int bet, int chips) {
+            switch (action) {
+                case BettingAbstraction.FOLD:
+                    search.apply(Event.FOLD, 0);
+                    break;
+                case BettingAbstraction.CALL:
+                    search.apply(Event.CHECK, 0);
+                    break;
+                default:
+                    search.apply(Event.BET, BettingAbstraction.betTotal(action, pot, currentBet, bet, chips, bigBlind));
+                    raises++;
+            }
+            double value = traverse(traverser, raises);
+            search.undo();
+            return value;
+        }
+
+        private double payoff(CompactTable state, int traverser) {
+            scratch.copyFrom(state);
+            scratch.distributePot(scratch.getWinners());
+            return (double) (scratch.getStack(traverser) - stack) / bigBlind;
+        }
+
+        private int sample(float[] strategy, int legal) {
+            double u = random.nextDouble();
+            int last = -1;
+            for (int action = 0; action < BettingAbstraction.ACTIONS; action++) {
+                if ((legal >>> action & 1) == 0) continue;
+                u -= strategy[action];
+                last = action;
+                if (u < 0) return action;
+            }
+            return last;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.axine.pokercasino.model.game.cfr;
+
+import com.axine.pokercasino.model.game.Stage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Абстракция карт по таблицам {@link BucketBuilder}: по одной {@link BucketTable} на улицу,
+ * корзина — одно чтение из отображённого в память файла. Отпечаток собирается из
+ * отпечатков таблиц, так что стратегия, обученная на других таблицах, не загрузится.
+ */
+public final class ClusteredBuckets implements CardAbstraction {
+
+    private static final long ID = 0x434C5553_00000000L; // "CLUS"
+
+    private final BucketTable[] tables = new BucketTable[Stage.SHOWDOWN.ordinal()];
+    private final long id;
+
+    /** Таблицы по порядку улиц: префлоп, флоп, тёрн, ривер */
+    public ClusteredBuckets(List<BucketTable> tables) {
+        if (tables == null || tables.size() != this.tables.length) throw new IllegalArgumentException("One table per street expected");
+        long id = ID;
+        for (int street = 0; street < this.tables.length; street++) {
+            BucketTable table = tables.get(street);
+            if (table.getStage().ordinal() != street) throw new IllegalArgumentException("Table for " + table.getStage() + " out of order");
+            this.tables[street] = table;
+            id = Long.rotateLeft(id, 17) ^ table.getId();
+        }
+        this.id = id;
+    }
+
+    /** Таблицы из каталога с файлами {@link BucketTable#fileName} */
+    public static ClusteredBuckets load(Path directory) throws IOException {
+        return new ClusteredBuckets(List.of(
+                BucketTable.load(directory.resolve(BucketTable.fileName(Stage.PREFLOP))),
+                BucketTable.load(directory.resolve(BucketTable.fileName(Stage.FLOP))),
+                BucketTable.load(directory.resolve(BucketTable.fileName(Stage.TURN))),
+                BucketTable.load(directory.resolve(BucketTable.fileName(Stage.RIVER)))));
+    }
+
+    @Override
+    public int buckets(Stage stage) {
+        return table(stage).getBuckets();
+    }
+
+    @Override
+    public int bucket(Stage stage, long hole, long board) {
+        return table(stage).bucketOf(hole, board);
+    }
+
+    @Override
+    public long id() {
+        return id;
+    }
+
+    private BucketTable table(Stage stage) {
+        if (stage == Stage.SHOWDOWN) throw new IllegalArgumentException("No decisions at showdown");
+        return tables[stage.ordinal()];
+    }
+}
@@ -0,0 +1,195 @@
+package com.axine.pokercasino.model.game.cfr;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Параллельный k-means над точками из dims байт (гистограммы или доли). Центры
+ * подбираются k-means++ и итерациями Ллойда по равномерной выборке не больше sample
+ * точек, затем все точки размечаются одним параллельным проходом. Каждый поток
+ * копит свои суммы по кластерам, суммы сливаются при join — общих изменяемых данных нет.
+ */
+final class KMeans {
+
+    private static final int CHUNK = 1 << 14;
+
+    private final int clusters;
+    private final int dims;
+    private final int iterations;
+    private final int sample;
+
+    KMeans(int clusters, int dims, int iterations, int sample) {
+        if (clusters < 1 || clusters > 256) throw new IllegalArgumentException("Clusters must be between 1 and 256");
+        if (dims < 1 || iterations < 1 || sample < clusters) throw new IllegalArgumentException("Invalid k-means parameters");
+        this.clusters = clusters;
+        this.dims = dims;
+        this.iterations = iterations;
+        this.sample = sample;
+    }
+
+    /** Центры кластеров: float[clusters * dims]; точек должно быть не меньше кластеров */
+    float[] fit(ForkJoinPool pool, byte[] points, long seed) {
+        int count = points.length / dims;
+        if (count < clusters) throw new IllegalArgumentException("Fewer points than clusters");
+        SplittableRandom random = new SplittableRandom(seed);
+        byte[] data = sample(points, count, random);
+        int size = data.length / dims;
+        float[] centroids = seed(data, size, random);
+        byte[] labels = new byte[size];
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            Partial total = pool.invoke(new Step(data, centroids, labels, 0, size, true));
+            for (int cluster = 0; cluster < clusters; cluster++) {
+                if (total.counts[cluster] == 0) continue; // пустой кластер сохраняет центр
+                for (int d = 0; d < dims; d++) {
+                    centroids[cluster * dims + d] = (float) (total.sums[cluster * dims + d] / total.counts[cluster]);
+                }
+            }
+            if (iteration > 0 && total.changed * 1000L <= size) break;
+        }
+        return centroids;
+    }
+
+    /** Метки всех точек по готовым центрам */
+    void assign(ForkJoinPool pool, byte[] points, float[] centroids, byte[] labels) {
+        if (labels.length * dims != points.length) throw new IllegalArgumentException("One label per point expected");
+        pool.invoke(new Step(points, centroids, labels, 0, labels.length, false));
+    }
+
+    /** Ближайший центр точки point */
+    int nearest(byte[] points, int point, float[] centroids) {
+        int best = 0;
+        float bestDistance = Float.MAX_VALUE;
+        int offset = point * dims;
+        for (int cluster = 0; cluster < clusters; cluster++) {
+            float distance = 0f;
+            int base = cluster * dims;
+            for (int d = 0; d < dims; d++) {
+                float delta = (points[offset + d] & 0xFF) - centroids[base + d];
+                distance += delta * delta;
+            }
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = cluster;
+            }
+        }
+        return best;
+    }
+
+    // ================== ВСПОМОГАТЕЛЬНЫЕ ==================
+
+    private byte[] sample(byte[] points, int count, SplittableRandom random) {
+        if (count <= sample) return points;
+        byte[] data = new byte[sample * dims];
+        // Систематическая выборка: по одной случайной точке из каждого из sample равных отрезков
+        double step = (double) count / sample;
+        for (int i = 0; i < sample; i++) {
+            int point = (int) Math.min(count - 1, (long) (i * step + random.nextDouble() * step));
+            System.arraycopy(points, point * dims, data, i * dims, dims);
+        }
+        return data;
+    }
+
+    /** k-means++: следующий центр выбирается с вероятностью, пропорциональной квадрату расстояния */
+    private float[] seed(byte[] data, int size, SplittableRandom random) {
+        float[] centroids = new float[clusters * dims];
+        double[] distances = new double[size];
+        copy(data, random.nextInt(size), centroids, 0);
+        double total = 0;
+        for (int point = 0; point < size; point++) {
+            distances[point] = distance(data, point, centroids, 0);
+            total += distances[point];
+        }
+        for (int cluster = 1; cluster < clusters; cluster++) {
+            int chosen = random.nextInt(size);
+            if (total > 0) {
+                double target = random.nextDouble() * total;
+                for (int point = 0; point < size; point++) {
+                    target -= distances[point];
+                    if (target < 0) {
+                        chosen = point;
+                        break;
+                    }
+                }
+            }
+            copy(data, chosen, centroids, cluster);
+            total = 0;
+            for (int point = 0; point < size; point++) {
+                distances[point] = Math.min(distances[point], distance(data, point, centroids, cluster));
+                total += distances[point];
+            }
+        }
+        return centroids;
+    }
+
+    private void copy(byte[] data, int point, float[] centroids, int cluster) {
+        for (int d = 0; d < dims; d++) {
+            centroids[cluster * dims + d] = data[point * dims + d] & 0xFF;
+        }
+    }
+
+    private double distance(byte[] data, int point, float[] centroids, int cluster) {
+        double distance = 0;
+        for (int d = 0; d < dims; d++) {
+            double delta = (data[point * dims + d] & 0xFF) - centroids[cluster * dims + d];
+            distance += delta * delta;
+        }
+        return distance;
+    }
+
+    /** Суммы координат и численность кластеров по куску точек */
+    private final class Partial {
+        final double[] sums = new double[clusters * dims];
+        final long[] counts = new long[clusters];
+        long changed;
+
+        Partial merge(Partial other) {
+            for (int i = 0; i < sums.length; i++) sums[i] += other.sums[i];
+            for (int i = 0; i < counts.length; i++) counts[i] += other.counts[i];
+            changed += other.changed;
+            return this;
+        }
+    }
+
+    /** Разметка точек [from, to) с делением пополам до куска {@value #CHUNK} */
+    private final class Step extends RecursiveTask<Partial> {
+        private final byte[] points;
+        private final float[] centroids;
+        private final byte[] labels;
+        private final int from;
+        private final int to;
+        private final boolean accumulate;
+
+        Step(byte[] points, float[] centroids, byte[] labels, int from, int to, boolean accumulate) {
+            this.points = points;
+            this.centroids = centroids;
+            this.labels = labels;
+            this.from = from;
+            this.to = to;
+            this.accumulate = accumulate;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from > CHUNK) {
+                int middle = (from + to) >>> 1;
+                Step left = new Step(points, centroids, labels, from, middle, accumulate);
+                left.fork();
+                Partial right = new Step(points, centroids, labels, middle, to, accumulate).compute();
+                return left.join().merge(right);
+            }
+            Partial partial = new Partial();
+            for (int point = from; point < to; point++) {
+                int cluster = nearest(points, point, centroids);
+                if ((labels[point] & 0xFF) != cluster) partial.changed++;
+                labels[point] = (byte) cluster;
+                if (!accumulate) continue;
+                partial.counts[cluster]++;
+                for (int d = 0; d < dims; d++) {
+                    partial.sums[cluster * dims + d] += points[point * dims + d] & 0xFF;
+                }
+            }
+            return partial;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.axine.pokercasino.model.game.cfr;
+
+import com.axine.pokercasino.model.game.Stage;
+import com.axine.pokercasino.model.game.equity.StartingHand;
+import com.axine.pokercasino.model.game.evaluation.HandEvaluator;
+import com.axine.pokercasino.model.game.evaluation.HandRank;
+
+/**
+ * Простейшая абстракция карт: до флопа — 169 классов стартовых рук, после — плотный
+ * ранг текущей руки, равномерно нарезанный на {@value #POSTFLOP_BUCKETS} корзин.
+ * Тянет только готовую силу и не видит дро; зато считается одной оценкой руки.
+ */
+public final class RankBuckets implements CardAbstraction {
+
+    public static final int POSTFLOP_BUCKETS = 32;
+
+    private static final long ID = 0x52414E4B_00000000L | POSTFLOP_BUCKETS; // "RANK"
+
+    @Override
+    public int buckets(Stage stage) {
+        if (stage == Stage.SHOWDOWN) throw new IllegalArgumentException("No decisions at showdown");
+        return stage == Stage.PREFLOP ? StartingHand.COUNT : POSTFLOP_BUCKETS;
+    }
+
+    @Override
+    public int bucket(Stage stage, long hole, long board) {
+        if (stage == Stage.PREFLOP) return StartingHand.index(hole);
+        int rank = HandEvaluator.evaluate(hole | board);
+        return (rank - 1) * POSTFLOP_BUCKETS / HandRank.CLASSES;
+    }
+
+    @Override
+    public long id() {
+        return ID;
+    }
+}
@@ -0,0 +1,156 @@
+package com.axine.pokercasino.model.game.cfr;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Накопленные сожаления и суммы стратегий CFR в двух float[] по {@link BettingAbstraction#ACTIONS}
+ * клеток на информационное множество. Потоки обучения пишут без блокировок: прибавление —
+ * цикл compareAndSet по элементу массива через VarHandle, поэтому обновления не теряются.
+ * Контрольная точка — сырые массивы с заголовком; пишется во временный файл и переименовывается.
+ */
+public final class RegretTable {
+
+    static final int MAGIC = 0x43465252; // "CFRR"
+    static final int VERSION = 1;
+
+    private static final VarHandle FLOATS = MethodHandles.arrayElementVarHandle(float[].class);
+    private static final int ACTIONS = BettingAbstraction.ACTIONS;
+
+    private final long abstractionId;
+    private final int infosets;
+    private final float[] regrets;
+    private final float[] strategySums;
+    private final AtomicLong iterations = new AtomicLong();
+
+    public RegretTable(CardAbstraction cards) {
+        this(cards.id(), BettingAbstraction.infosets(cards));
+    }
+
+    private RegretTable(long abstractionId, int infosets) {
+        this.abstractionId = abstractionId;
+        this.infosets = infosets;
+        this.regrets = new float[infosets * ACTIONS];
+        this.strategySums = new float[infosets * ACTIONS];
+    }
+
+    public int getInfosets() {
+        return infosets;
+    }
+
+    public long getAbstractionId() {
+        return abstractionId;
+    }
+
+    public long getIterations() {
+        return iterations.get();
+    }
+
+    void addIterations(long count) {
+        iterations.addAndGet(count);
+    }
+
+    /** Текущая стратегия по сопоставлению сожалений: пропорционально положительным, иначе поровну среди допустимых */
+    public void currentStrategy(int infoset, int legal, float[] out) {
+        int base = infoset * ACTIONS;
+        float total = 0f;
+        for (int action = 0; action < ACTIONS; action++) {
+            float regret = (legal >>> action & 1) != 0 ? Math.max(0f, regrets[base + action]) : 0f;
+            out[action] = regret;
+            total += regret;
+        }
+        if (total > 0f) {
+            for (int action = 0; action < ACTIONS; action++) {
+                out[action] /= total;
+            }
+        } else {
+            uniform(legal, out);
+        }
+    }
+
+    /** Средняя стратегия, к которой сходится CFR; не встречавшееся множество — нули */
+    public void averageStrategy(int infoset, float[] out) {
+        int base = infoset * ACTIONS;
+        float total = 0f;
+        for (int action = 0; action < ACTIONS; action++) {
+            out[action] = strategySums[base + action];
+            total += out[action];
+        }
+        for (int action = 0; action < ACTIONS; action++) {
+            out[action] = total > 0f ? out[action] / total : 0f;
+        }
+    }
+
+    public void addRegret(int infoset, int action, float value) {
+        add(regrets, infoset * ACTIONS + action, value);
+    }
+
+    public void addStrategy(int infoset, int legal, float[] strategy) {
+        int base = infoset * ACTIONS;
+        for (int action = 0; action < ACTIONS; action++) {
+            if ((legal >>> action & 1) != 0 && strategy[action] > 0f) add(strategySums, base + action, strategy[action]);
+        }
+    }
+
+    public float getRegret(int infoset, int action) {
+        return regrets[infoset * ACTIONS + action];
+    }
+
+    /** Сохраняет таблицу; вызывать, когда потоки обучения стоят */
+    public void save(Path path) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(abstractionId);
+            out.writeInt(infosets);
+            out.writeInt(ACTIONS);
+            out.writeLong(iterations.get());
+            for (float value : regrets) out.writeFloat(value);
+            for (float value : strategySums) out.writeFloat(value);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** Продолжение обучения с контрольной точки той же абстракции */
+    public static RegretTable load(Path path, CardAbstraction cards) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) throw new IOException("Not a CFR checkpoint: " + path);
+            long id = in.readLong();
+            int infosets = in.readInt();
+            if (id != cards.id() || infosets != BettingAbstraction.infosets(cards) || in.readInt() != ACTIONS) {
+                throw new IOException("Checkpoint was trained with a different abstraction: " + path);
+            }
+            RegretTable table = new RegretTable(id, infosets);
+            table.iterations.set(in.readLong());
+            for (int i = 0; i < table.regrets.length; i++) table.regrets[i] = in.readFloat();
+            for (int i = 0; i < table.strategySums.length; i++) table.strategySums[i] = in.readFloat();
+            return table;
+        }
+    }
+
+    // ================== ВСПОМОГАТЕЛЬНЫЕ ==================
+
+    private static void add(float[] array, int index, float delta) {
+        float current;
+        do {
+            current = (float) FLOATS.getVolatile(array, index);
+        } while (!FLOATS.compareAndSet(array, index, current, current + delta));
+    }
+
+    static void uniform(int legal, float[] out) {
+        float share = 1f / Integer.bitCount(legal);
+        for (int action = 0; action < ACTIONS; action++) {
+            out[action] = (legal >>> action & 1) != 0 ? share : 0f;
+        }
+    }
+}
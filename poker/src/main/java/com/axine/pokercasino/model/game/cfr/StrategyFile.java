@@ -0,0 +1,115 @@
+package com.axine.pokercasino.model.game.cfr;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Итоговая стратегия CFR, отображённая в память. На каждое информационное множество —
+ * {@link BettingAbstraction#ACTIONS} байт вероятностей в 255-х долях; решение бота —
+ * одно чтение из буфера, без обучающих таблиц в куче.
+ * <pre>
+ * int magic, int version, long abstractionId, int infosets, int actions,
+ * затем byte[infosets][actions] (big-endian)
+ * </pre>
+ */
+public final class StrategyFile {
+
+    static final int MAGIC = 0x43465253; // "CFRS"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 3 * Integer.BYTES + Long.BYTES + Integer.BYTES;
+
+    private static final int ACTIONS = BettingAbstraction.ACTIONS;
+    private static final int SCALE = 255;
+
+    private final ByteBuffer buffer;
+    private final long abstractionId;
+    private final int infosets;
+
+    private StrategyFile(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.abstractionId = buffer.getLong(2 * Integer.BYTES);
+        this.infosets = buffer.getInt(2 * Integer.BYTES + Long.BYTES);
+    }
+
+    public static StrategyFile load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.BIG_ENDIAN);
+            if (buffer.capacity() < HEADER_BYTES
+                    || buffer.getInt(0) != MAGIC
+                    || buffer.getInt(4) != VERSION
+                    || buffer.getInt(HEADER_BYTES - Integer.BYTES) != ACTIONS
+                    || buffer.capacity() != HEADER_BYTES + (long) buffer.getInt(16) * ACTIONS) {
+                throw new IOException("Not a CFR strategy: " + path);
+            }
+            return new StrategyFile(buffer);
+        }
+    }
+
+    /** Записывает среднюю стратегию таблицы */
+    public static void write(RegretTable table, Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + table.getInfosets() * ACTIONS).order(ByteOrder.BIG_ENDIAN);
+        buffer.putInt(MAGIC)
+                .putInt(VERSION)
+                .putLong(table.getAbstractionId())
+                .putInt(table.getInfosets())
+                .putInt(ACTIONS);
+        float[] strategy = new float[ACTIONS];
+        for (int infoset = 0; infoset < table.getInfosets(); infoset++) {
+            table.averageStrategy(infoset, strategy);
+            for (int action = 0; action < ACTIONS; action++) {
+                buffer.put((byte) Math.round(strategy[action] * SCALE));
+            }
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            buffer.rewind();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    public long getAbstractionId() {
+        return abstractionId;
+    }
+
+    public int getInfosets() {
+        return infosets;
+    }
+
+    /** Вероятность действия в 255-х долях */
+    public int probability(int infoset, int action) {
+        if (infoset < 0 || infoset >= infosets) throw new IllegalArgumentException("No infoset " + infoset);
+        return buffer.get(HEADER_BYTES + infoset * ACTIONS + action) & 0xFF;
+    }
+
+    /**
+     * Действие по стратегии среди допустимых, u — равномерное число из [0, 1).
+     * Если множество при обучении не встречалось, выбор равновероятный
+     */
+    public int choose(int infoset, int legal, double u) {
+        if (infoset < 0 || infoset >= infosets) throw new IllegalArgumentException("No infoset " + infoset);
+        int base = HEADER_BYTES + infoset * ACTIONS;
+        int total = 0;
+        for (int action = 0; action < ACTIONS; action++) {
+            if ((legal >>> action & 1) != 0) total += buffer.get(base + action) & 0xFF;
+        }
+        boolean uniform = total == 0;
+        if (uniform) total = Integer.bitCount(legal);
+        int target = (int) (u * total);
+        int last = -1;
+        for (int action = 0; action < ACTIONS; action++) {
+            if ((legal >>> action & 1) == 0) continue;
+            target -= uniform ? 1 : buffer.get(base + action) & 0xFF;
+            last = action;
+            if (target < 0) return action;
+        }
+        return last;
+    }
+}
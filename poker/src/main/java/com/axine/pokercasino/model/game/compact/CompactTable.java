@@ -0,0 +1,475 @@
+package com.axine.pokercasino.model.game.compact;
+
+import com.axine.pokercasino.model.deck.decks.ArrayDeck;
+import com.axine.pokercasino.model.game.Round;
+import com.axine.pokercasino.model.game.Stage;
+import com.axine.pokercasino.model.game.equity.Variant;
+import com.axine.pokercasino.model.game.evaluation.HandEvaluator;
+import com.axine.pokercasino.model.player.Event;
+import com.axine.pokercasino.model.player.Player;
+import com.axine.pokercasino.model.player.PlayerAction;
+
+import java.util.Arrays;
+
+/**
+ * Стол Техасского Холдема для симуляций: всё состояние — примитивы по номерам мест
+ * (стеки, ставки улицы, маски карт на руках) и маски long (стол, походившие, сбросившие,
+ * не уравнявшие, олл-ин) в срезе {@link TableArena}. Правила те же, что у
+ * {@link com.axine.pokercasino.model.game.games.TexasHoldemRound}: блайнды, очередь хода,
+ * неполный колл олл-ином, завершение круга ставок, вскрытие и делёж банка.
+ * Объект — только курсор: {@link #moveTo(int)} переводит его на другой стол арены,
+ * {@link #copyFrom(CompactTable)} копирует состояние двумя arraycopy.
+ */
+public final class CompactTable {
+
+    public static final int MAX_SEATS = Long.SIZE;
+
+    private static final Stage[] STAGES = Stage.values();
+    private static final int HOLE_CARDS = 2;
+
+    // Заголовок в int-срезе, за ним стеки и ставки по местам
+    private static final int STAGE = 0;
+    private static final int DEALER = 1;
+    private static final int CURRENT = 2;
+    private static final int CURRENT_BET = 3;
+    private static final int POT = 4;
+    private static final int ACTIVE_COUNT = 5;
+    private static final int SMALL_BLIND = 6;
+    private static final int BIG_BLIND = 7;
+    private static final int POT_DISTRIBUTED = 8;
+    private static final int INT_HEADER = 9;
+
+    // Маски в long-срезе, за ними карты на руках по местам
+    private static final int BOARD = 0;
+    private static final int ACTED = 1;
+    private static final int FOLDED = 2;
+    private static final int UNMATCHED = 3;
+    private static final int ALL_IN = 4;
+    private static final int LONG_HEADER = 5;
+
+    private final TableArena arena;
+    private final int[] ints;
+    private final long[] longs;
+    private final int seats;
+    private final long seatMask;
+    private int index;
+    private int intBase;
+    private int longBase;
+
+    /** Отдельный стол в собственной арене из одного стола */
+    public CompactTable(int seats, int smallBlind, int bigBlind) {
+        this(new TableArena(1, seats, smallBlind, bigBlind));
+    }
+
+    CompactTable(TableArena arena) {
+        this.arena = arena;
+        this.ints = arena.ints;
+        this.longs = arena.longs;
+        this.seats = arena.getSeats();
+        this.seatMask = seats == MAX_SEATS ? -1L : (1L << seats) - 1;
+    }
+
+    /** Переводит курсор на стол index своей арены */
+    public CompactTable moveTo(int index) {
+        if (index < 0 || index >= arena.getTables()) throw new IllegalArgumentException("No table " + index);
+        this.index = index;
+        this.intBase = index * intStride(seats);
+        this.longBase = index * longStride(seats);
+        return this;
+    }
+
+    public TableArena getArena() {
+        return arena;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    /** Копирует состояние стола с тем же числом мест, в том числе из другой арены */
+    public CompactTable copyFrom(CompactTable other) {
+        if (other.seats != seats) throw new IllegalArgumentException("Tables have different number of seats");
+        System.arraycopy(other.ints, other.intBase, ints, intBase, intStride(seats));
+        System.arraycopy(other.longs, other.longBase, longs, longBase, longStride(seats));
+        return this;
+    }
+
+    /**
+     * Снимок раунда Техасского Холдема с тем же числом мест: стеки, ставки, карты и очередь хода.
+     * Раунд при этом не меняется, поэтому дальше по снимку можно перебирать действия
+     */
+    public CompactTable copyFrom(Round round) {
+        if (round == null) throw new IllegalArgumentException("Round cannot be null");
+        if (Variant.of(round) != Variant.TEXAS_HOLDEM) throw new IllegalArgumentException("Only Texas Hold'em rounds supported");
+        if (round.getPlayers().size() != seats) throw new IllegalArgumentException("Round has different number of seats");
+        ints[intBase + STAGE] = round.getStage().ordinal();
+        ints[intBase + DEALER] = round.getDealerPos();
+        ints[intBase + CURRENT_BET] = round.getCurrentBet();
+        ints[intBase + POT] = round.getPot();
+        ints[intBase + ACTIVE_COUNT] = round.getActiveCount();
+        ints[intBase + SMALL_BLIND] = round.getSmallBlind();
+        ints[intBase + BIG_BLIND] = round.getBigBlind();
+        ints[intBase + POT_DISTRIBUTED] = 0;
+        long folded = 0L;
+        long allIn = 0L;
+        for (int seat = 0; seat < seats; seat++) {
+            Player player = round.getPlayers().get(seat);
+            ints[stackBase() + seat] = player.getChips();
+            ints[betBase() + seat] = round.getBet(seat);
+            longs[longBase + LONG_HEADER + seat] = player.getHandMask();
+            if (player.isFolded()) folded |= 1L << seat;
+            if (player.getChips() == 0) allIn |= 1L << seat;
+        }
+        longs[longBase + BOARD] = round.getCommunityMask();
+        longs[longBase + ACTED] = round.getActedMask();
+        longs[longBase + FOLDED] = folded;
+        longs[longBase + ALL_IN] = allIn;
+        longs[longBase + UNMATCHED] = countUnmatched();
+        Player current = round.getCurrentPlayer();
+        ints[intBase + CURRENT] = current == null ? 0 : round.getSeat(current);
+        return this;
+    }
+
+    /** Начинает раздачу: тасует колоду, сбрасывает ставки и флаги, ставит блайнды */
+    public void startHand(ArrayDeck deck) {
+        if (deck == null) throw new IllegalArgumentException("Deck cannot be null");
+        if (deck.size() < seats * HOLE_CARDS + 5) throw new IllegalStateException("Not enough cards in deck");
+        deck.shuffle();
+        ints[intBase + STAGE] = Stage.PREFLOP.ordinal();
+        ints[intBase + CURRENT_BET] = 0;
+        ints[intBase + POT] = 0;
+        ints[intBase + ACTIVE_COUNT] = seats;
+        ints[intBase + POT_DISTRIBUTED] = 0;
+        Arrays.fill(ints, betBase(), betBase() + seats, 0);
+        Arrays.fill(longs, longBase + BOARD, longBase + LONG_HEADER + seats, 0L);
+        long allIn = 0L;
+        for (int seat = 0; seat < seats; seat++) {
+            if (ints[stackBase() + seat] == 0) allIn |= 1L << seat;
+        }
+        longs[longBase + ALL_IN] = allIn;
+
+        int dealer = ints[intBase + DEALER];
+        postBlind((dealer + 1) % seats, ints[intBase + SMALL_BLIND]);
+        postBlind((dealer + 2) % seats, ints[intBase + BIG_BLIND]);
+        longs[longBase + UNMATCHED] = countUnmatched();
+        ints[intBase + CURRENT] = (dealer + 3) % seats;
+    }
+
+    /** По две карты каждому месту по порядку, как {@link com.axine.pokercasino.model.game.Round#distributeCards()} */
+    public void dealHoleCards(ArrayDeck deck) {
+        for (int seat = 0; seat < seats; seat++) {
+            longs[longBase + LONG_HEADER + seat] = deck.dealMask(HOLE_CARDS);
+        }
+    }
+
+    /** Сжигает карту и открывает карты текущей улицы: три на флопе, по одной на тёрне и ривере */
+    public long dealCommunityCards(ArrayDeck deck) {
+        int count;
+        switch (getStage()) {
+            case FLOP:
+                count = 3;
+                break;
+            case TURN:
+            case RIVER:
+                count = 1;
+                break;
+            default:
+                throw new IllegalArgumentException("Invalid stage for dealing community cards");
+        }
+        deck.dealMask(1);
+        long cards = deck.dealMask(count);
+        longs[longBase + BOARD] |= cards;
+        return cards;
+    }
+
+    /** Открывает заданные карты текущей улицы, без колоды (перебор и выборка в поиске) */
+    public void dealCommunityCards(long cards) {
+        int expected = getStage() == Stage.FLOP ? 3 : getStage() == Stage.TURN || getStage() == Stage.RIVER ? 1 : 0;
+        if (expected == 0) throw new IllegalArgumentException("Invalid stage for dealing community cards");
+        if (Long.bitCount(cards) != expected || (cards & deadCards()) != 0) {
+            throw new IllegalArgumentException("Expected " + expected + " unseen cards for " + getStage());
+        }
+        longs[longBase + BOARD] |= cards;
+    }
+
+    public void applyAction(PlayerAction action) {
+        if (action == null) throw new IllegalArgumentException("Action cannot be null");
+        applyAction(action.getEvent(), action.getAmount());
+    }
+
+    /** Действие текущего места; amount — итоговая ставка улицы для BET */
+    public void applyAction(Event event, int amount) {
+        if (event == null) throw new IllegalArgumentException("Action cannot be null");
+        int seat = getCurrentSeat();
+        if (seat < 0) throw new IllegalStateException("No current player");
+        long bit = 1L << seat;
+        int stackAt = stackBase() + seat;
+        int betAt = betBase() + seat;
+        int currentBet = ints[intBase + CURRENT_BET];
+        int toPay;
+
+        switch (event) {
+            case FOLD:
+                longs[longBase + FOLDED] |= bit;
+                ints[intBase + ACTIVE_COUNT]--;
+                break;
+            case CHECK:
+                toPay = Math.min(currentBet - ints[betAt], ints[stackAt]);
+                pay(seat, toPay);
+                markMatched(seat, bit, currentBet);
+                longs[longBase + ACTED] |= bit;
+                break;
+            case BET:
+                if (amount <= currentBet) throw new IllegalArgumentException("Bet must be higher than current bet");
+                toPay = Math.min(amount - ints[betAt], ints[stackAt]);
+                pay(seat, toPay);
+                if (ints[betAt] > currentBet) {
+                    ints[intBase + CURRENT_BET] = ints[betAt];
+                    longs[longBase + UNMATCHED] = countUnmatched();
+                    longs[longBase + ACTED] = bit;
+                } else {
+                    // Олл-ин меньше текущей ставки — это неполный колл, а не повышение
+                    markMatched(seat, bit, currentBet);
+                    longs[longBase + ACTED] |= bit;
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Invalid action: " + event);
+        }
+        ints[intBase + CURRENT] = (seat + 1) % seats;
+    }
+
+    public boolean isBettingComplete() {
+        if (ints[intBase + ACTIVE_COUNT] <= 1) return true;
+        long live = seatMask & ~longs[longBase + FOLDED] & ~longs[longBase + ALL_IN];
+        return (longs[longBase + UNMATCHED] & live) == 0 && (live & ~longs[longBase + ACTED]) == 0;
+    }
+
+    public boolean checkRoundCompletion() {
+        return getStage() == Stage.SHOWDOWN || ints[intBase + ACTIVE_COUNT] <= 1;
+    }
+
+    public void advanceToNextStage() {
+        ints[intBase + CURRENT_BET] = 0;
+        Arrays.fill(ints, betBase(), betBase() + seats, 0);
+        longs[longBase + ACTED] = 0L;
+        longs[longBase + UNMATCHED] = 0L;
+        Stage stage = getStage();
+        if (stage != Stage.SHOWDOWN) {
+            stage = STAGES[stage.ordinal() + 1];
+            ints[intBase + STAGE] = stage.ordinal();
+        }
+        if (stage != Stage.SHOWDOWN) {
+            ints[intBase + CURRENT] = (ints[intBase + DEALER] + 1) % seats;
+        }
+    }
+
+    /** Маска победителей; 0 — раунд ещё не завершён */
+    public long getWinners() {
+        if (!checkRoundCompletion()) return 0L;
+        long active = seatMask & ~longs[longBase + FOLDED];
+        if (ints[intBase + ACTIVE_COUNT] <= 1) return active;
+        long board = longs[longBase + BOARD];
+        long winners = 0L;
+        int maxValue = -1;
+        for (; active != 0; active &= active - 1) {
+            int seat = Long.numberOfTrailingZeros(active);
+            long hole = longs[longBase + LONG_HEADER + seat];
+            if (hole == 0L) continue;
+            int value = HandEvaluator.evaluate(hole | board);
+            if (value > maxValue) {
+                maxValue = value;
+                winners = 1L << seat;
+            } else if (value == maxValue) {
+                winners |= 1L << seat;
+            }
+        }
+        return winners;
+    }
+
+    /** Делит банк поровну между местами маски, остаток от деления пропадает, как в раунде */
+    public void distributePot(long winners) {
+        winners &= seatMask;
+        if (winners == 0L || ints[intBase + POT_DISTRIBUTED] != 0) return;
+        ints[intBase + POT_DISTRIBUTED] = 1;
+        int share = ints[intBase + POT] / Long.bitCount(winners);
+        for (; winners != 0; winners &= winners - 1) {
+            ints[stackBase() + Long.numberOfTrailingZeros(winners)] += share;
+        }
+        ints[intBase + POT] = 0;
+    }
+
+    public void finishRound() {
+        ints[intBase + DEALER] = (ints[intBase + DEALER] + 1) % seats;
+    }
+
+    public void resetRound() {
+        longs[longBase + BOARD] = 0L;
+        longs[longBase + FOLDED] = 0L;
+        Arrays.fill(longs, longBase + LONG_HEADER, longBase + LONG_HEADER + seats, 0L);
+        ints[intBase + ACTIVE_COUNT] = seats;
+    }
+
+    public int getSeats() {
+        return seats;
+    }
+
+    public int getStack(int seat) {
+        return ints[stackBase() + checkSeat(seat)];
+    }
+
+    public void setStack(int seat, int chips) {
+        if (chips < 0) throw new IllegalArgumentException("Stack cannot be negative");
+        ints[stackBase() + checkSeat(seat)] = chips;
+    }
+
+    public int getBet(int seat) {
+        return ints[betBase() + checkSeat(seat)];
+    }
+
+    /** Карты места маской {@link com.axine.pokercasino.model.deck.CardSet} */
+    public long getHoleMask(int seat) {
+        return longs[longBase + LONG_HEADER + checkSeat(seat)];
+    }
+
+    /** Задаёт карты места; 0 — карты неизвестны или убраны */
+    public void setHoleMask(int seat, long cards) {
+        if (cards != 0L && Long.bitCount(cards) != HOLE_CARDS) throw new IllegalArgumentException("Hand must have " + HOLE_CARDS + " cards");
+        longs[longBase + LONG_HEADER + checkSeat(seat)] = cards;
+    }
+
+    /** Все карты, видимые в срезе: на руках и на столе */
+    public long deadCards() {
+        long dead = longs[longBase + BOARD];
+        for (int seat = 0; seat < seats; seat++) {
+            dead |= longs[longBase + LONG_HEADER + seat];
+        }
+        return dead;
+    }
+
+    public long getBoardMask() {
+        return longs[longBase + BOARD];
+    }
+
+    public Stage getStage() {
+        return STAGES[ints[intBase + STAGE]];
+    }
+
+    public int getPot() {
+        return ints[intBase + POT];
+    }
+
+    public int getCurrentBet() {
+        return ints[intBase + CURRENT_BET];
+    }
+
+    public int getActiveCount() {
+        return ints[intBase + ACTIVE_COUNT];
+    }
+
+    public int getSmallBlind() {
+        return ints[intBase + SMALL_BLIND];
+    }
+
+    public int getBigBlind() {
+        return ints[intBase + BIG_BLIND];
+    }
+
+    public long getActedMask() {
+        return longs[longBase + ACTED];
+    }
+
+    public long getFoldedMask() {
+        return longs[longBase + FOLDED];
+    }
+
+    public long getAllInMask() {
+        return longs[longBase + ALL_IN];
+    }
+
+    public int getDealerPos() {
+        return ints[intBase + DEALER];
+    }
+
+    public void setDealerPos(int pos) {
+        ints[intBase + DEALER] = checkSeat(pos);
+    }
+
+    /**
+     * Место, чей ход: первое с текущей позиции, кто не сбросил и не олл-ин;
+     * если таких нет — первое несбросившее; -1 — все сбросили
+     */
+    public int getCurrentSeat() {
+        long active = seatMask & ~longs[longBase + FOLDED];
+        if (active == 0) return -1;
+        long live = active & ~longs[longBase + ALL_IN];
+        long candidates = live != 0 ? live : active;
+        long ahead = candidates & (-1L << ints[intBase + CURRENT]);
+        return Long.numberOfTrailingZeros(ahead != 0 ? ahead : candidates);
+    }
+
+    // ================== ВСПОМОГАТЕЛЬНЫЕ ==================
+
+    static int intStride(int seats) {
+        return INT_HEADER + 2 * seats;
+    }
+
+    static int longStride(int seats) {
+        return LONG_HEADER + seats;
+    }
+
+    /** Пустой стол: вне раздачи, баттон на нулевом месте, стеки по нулям */
+    void clear(int smallBlind, int bigBlind) {
+        Arrays.fill(ints, intBase, intBase + intStride(seats), 0);
+        Arrays.fill(longs, longBase, longBase + longStride(seats), 0L);
+        ints[intBase + STAGE] = Stage.PREFLOP.ordinal();
+        ints[intBase + ACTIVE_COUNT] = seats;
+        ints[intBase + SMALL_BLIND] = smallBlind;
+        ints[intBase + BIG_BLIND] = bigBlind;
+    }
+
+    private int stackBase() {
+        return intBase + INT_HEADER;
+    }
+
+    private int betBase() {
+        return intBase + INT_HEADER + seats;
+    }
+
+    private int checkSeat(int seat) {
+        if (seat < 0 || seat >= seats) throw new IllegalArgumentException("No seat " + seat);
+        return seat;
+    }
+
+    private void postBlind(int seat, int blind) {
+        int toPay = Math.min(blind, ints[stackBase() + seat]);
+        pay(seat, toPay);
+        longs[longBase + ACTED] |= 1L << seat;
+        ints[intBase + CURRENT_BET] = toPay;
+    }
+
+    /** Переводит фишки из стека в ставку и банк; опустевший стек — олл-ин */
+    private void pay(int seat, int toPay) {
+        int stackAt = stackBase() + seat;
+        ints[stackAt] -= toPay;
+        ints[betBase() + seat] += toPay;
+        ints[intBase + POT] += toPay;
+        if (ints[stackAt] == 0) longs[longBase + ALL_IN] |= 1L << seat;
+    }
+
+    private void markMatched(int seat, long bit, int currentBet) {
+        long unmatched = longs[longBase + UNMATCHED];
+        longs[longBase + UNMATCHED] = ints[betBase() + seat] < currentBet ? unmatched | bit : unmatched & ~bit;
+    }
+
+    /** Маска мест, чья ставка улицы меньше текущей */
+    private long countUnmatched() {
+        int currentBet = ints[intBase + CURRENT_BET];
+        int base = betBase();
+        long mask = 0L;
+        for (int seat = 0; seat < seats; seat++) {
+            if (ints[base + seat] < currentBet) mask |= 1L << seat;
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,93 @@
+package com.axine.pokercasino.model.game.compact;
+
+import com.axine.pokercasino.model.game.Round;
+import com.axine.pokercasino.model.player.Event;
+import com.axine.pokercasino.model.player.PlayerAction;
+
+/**
+ * Состояние для поиска (MCTS, экспектимакс) со стеком применения и отката. Каждый уровень —
+ * стол собственной {@link TableArena}: шаг копирует срез текущего уровня в следующий
+ * (O(мест), два arraycopy) и меняет уже копию, откат просто возвращается на уровень ниже.
+ * Ничего не выделяется, а {@link Round} и его игроки не меняются. Недопустимое действие
+ * бросает исключение и оставляет состояние прежним. Не потокобезопасно — по одному на поток.
+ */
+public final class SearchState {
+
+    private final TableArena frames;
+    private final CompactTable top;
+    private final CompactTable next;
+    private int depth;
+
+    /** maxDepth — сколько шагов можно сделать от загруженного состояния */
+    public SearchState(int seats, int maxDepth) {
+        if (maxDepth < 1) throw new IllegalArgumentException("Max depth must be positive");
+        this.frames = new TableArena(maxDepth + 1, seats, 0, 0);
+        this.top = frames.table(0);
+        this.next = frames.table(0);
+    }
+
+    /** Начинает поиск со снимка раунда; стек откатов очищается */
+    public SearchState load(Round round) {
+        top.moveTo(depth = 0).copyFrom(round);
+        return this;
+    }
+
+    public SearchState load(CompactTable table) {
+        top.moveTo(depth = 0).copyFrom(table);
+        return this;
+    }
+
+    /** Текущее состояние; менять его только через apply, nextStreet и undo */
+    public CompactTable getState() {
+        return top;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public int getMaxDepth() {
+        return frames.getTables() - 1;
+    }
+
+    public void apply(PlayerAction action) {
+        if (action == null) throw new IllegalArgumentException("Action cannot be null");
+        apply(action.getEvent(), action.getAmount());
+    }
+
+    /** Действие текущего места поверх нового уровня */
+    public void apply(Event event, int amount) {
+        push().applyAction(event, amount);
+        top.moveTo(++depth);
+    }
+
+    /**
+     * Закрывает круг ставок и открывает следующую улицу картами cards
+     * (0 — на вскрытии или если раздача уже закончена)
+     */
+    public void nextStreet(long cards) {
+        CompactTable table = push();
+        table.advanceToNextStage();
+        if (!table.checkRoundCompletion()) table.dealCommunityCards(cards);
+        top.moveTo(++depth);
+    }
+
+    /** Отменяет последний шаг */
+    public void undo() {
+        if (depth == 0) throw new IllegalStateException("Nothing to undo");
+        top.moveTo(--depth);
+    }
+
+    /** Откатывает до уровня depth, например к корню поиска после симуляции */
+    public void undoTo(int depth) {
+        if (depth < 0 || depth > this.depth) throw new IllegalArgumentException("Cannot undo to depth " + depth);
+        top.moveTo(this.depth = depth);
+    }
+
+    // ================== ВСПОМОГАТЕЛЬНЫЕ ==================
+
+    private CompactTable push() {
+        if (depth == getMaxDepth()) throw new IllegalStateException("Search depth exceeded: " + depth);
+        return next.moveTo(depth + 1).copyFrom(top);
+    }
+}
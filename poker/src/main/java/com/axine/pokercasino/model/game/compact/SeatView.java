@@ -0,0 +1,78 @@
+package com.axine.pokercasino.model.game.compact;
+
+import com.axine.pokercasino.model.deck.DeckType;
+import com.axine.pokercasino.model.game.evaluation.HandEvaluator;
+
+import java.util.SplittableRandom;
+
+/**
+ * Состояние глазами одного места: карты соперников убраны, видны только свои и стол.
+ * Поиск с неполной информацией строит по нему детерминизации — копии, где соперникам
+ * случайно сданы карты из невидимых, — поэтому бот не может подглядеть чужие карты
+ * даже случайно. Буферы выделяются один раз; по экземпляру на поток.
+ */
+public final class SeatView {
+
+    private final CompactTable observed;
+    private final long deckMask;
+    private int viewer;
+
+    public SeatView(int seats, DeckType deckType) {
+        if (deckType == null) throw new IllegalArgumentException("Deck type cannot be null");
+        this.observed = new CompactTable(seats, 0, 0);
+        this.deckMask = HandEvaluator.mask(deckType);
+    }
+
+    /** Снимает состояние source глазами места viewer */
+    public SeatView observe(CompactTable source, int viewer) {
+        observed.copyFrom(source);
+        for (int seat = 0; seat < observed.getSeats(); seat++) {
+            if (seat != viewer) observed.setHoleMask(seat, 0L);
+        }
+        this.viewer = viewer;
+        return this;
+    }
+
+    /** Наблюдаемое состояние; карты соперников в нём — нули */
+    public CompactTable getState() {
+        return observed;
+    }
+
+    public int getViewer() {
+        return viewer;
+    }
+
+    /** Карты, которых место не видит: у соперников или в колоде */
+    public long getUnseenMask() {
+        return deckMask & ~observed.deadCards();
+    }
+
+    /**
+     * Копирует наблюдаемое состояние в target и сдаёт каждому несбросившему сопернику
+     * по две случайные невидимые карты; target можно сразу отдавать в {@link SearchState#load(CompactTable)}
+     */
+    public CompactTable determinize(SplittableRandom random, CompactTable target) {
+        target.copyFrom(observed);
+        long unseen = getUnseenMask();
+        long opponents = ~target.getFoldedMask() & ~(1L << viewer);
+        for (int seat = 0; seat < target.getSeats(); seat++) {
+            if ((opponents >>> seat & 1) == 0) continue;
+            long first = randomCard(random, unseen);
+            unseen &= ~first;
+            long second = randomCard(random, unseen);
+            unseen &= ~second;
+            target.setHoleMask(seat, first | second);
+        }
+        return target;
+    }
+
+    /** Случайная карта маски: выбирается номер бита, затем младшие биты снимаются по одному */
+    public static long randomCard(SplittableRandom random, long cards) {
+        int count = Long.bitCount(cards);
+        if (count == 0) throw new IllegalStateException("No unseen cards left");
+        for (int skip = random.nextInt(count); skip > 0; skip--) {
+            cards &= cards - 1;
+        }
+        return Long.lowestOneBit(cards);
+    }
+}
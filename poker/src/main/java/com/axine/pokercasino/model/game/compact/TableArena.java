@@ -0,0 +1,56 @@
+package com.axine.pokercasino.model.game.compact;
+
+/**
+ * Много столов с одинаковым числом мест в двух плоских массивах: int[] для заголовка,
+ * стеков и ставок, long[] для масок стола, флагов и карт на руках. Стол занимает
+ * непрерывный срез фиксированной длины, поэтому десятки тысяч столов лежат в двух
+ * объектах кучи и обходятся подряд, без указателей. Читается и меняется через курсор
+ * {@link CompactTable}; сама арена не потокобезопасна, но разные столы можно вести
+ * из разных потоков.
+ */
+public final class TableArena {
+
+    private final int tables;
+    private final int seats;
+    final int[] ints;
+    final long[] longs;
+
+    public TableArena(int tables, int seats, int smallBlind, int bigBlind) {
+        if (tables < 1) throw new IllegalArgumentException("Arena needs at least 1 table");
+        if (seats < 2 || seats > CompactTable.MAX_SEATS) {
+            throw new IllegalArgumentException("Between 2 and " + CompactTable.MAX_SEATS + " seats required");
+        }
+        if (smallBlind < 0 || bigBlind < smallBlind) throw new IllegalArgumentException("Invalid blinds");
+        long intLength = (long) tables * CompactTable.intStride(seats);
+        long longLength = (long) tables * CompactTable.longStride(seats);
+        if (intLength > Integer.MAX_VALUE - 8 || longLength > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many tables for one arena: " + tables);
+        }
+        this.tables = tables;
+        this.seats = seats;
+        this.ints = new int[(int) intLength];
+        this.longs = new long[(int) longLength];
+        CompactTable cursor = table(0);
+        for (int table = 0; table < tables; table++) {
+            cursor.moveTo(table).clear(smallBlind, bigBlind);
+        }
+    }
+
+    public int getTables() {
+        return tables;
+    }
+
+    public int getSeats() {
+        return seats;
+    }
+
+    /** Новый курсор на стол index; для обхода без выделений — {@link CompactTable#moveTo(int)} */
+    public CompactTable table(int index) {
+        return new CompactTable(this).moveTo(index);
+    }
+
+    /** Байт кучи под данные столов, без заголовков массивов */
+    public long getFootprint() {
+        return (long) ints.length * Integer.BYTES + (long) longs.length * Long.BYTES;
+    }
+}
@@ -0,0 +1,60 @@
+package com.axine.pokercasino.model.game.equity;
+
+public class EquityResult {
+
+    private final long samples;
+    private final long wins;
+    private final long ties;
+    private final long losses;
+    private final double tieShare;
+
+    public EquityResult(long samples, long wins, long ties, long losses, double tieShare) {
+        this.samples = samples;
+        this.wins = wins;
+        this.ties = ties;
+        this.losses = losses;
+        this.tieShare = tieShare;
+    }
+
+    public long getSamples() {
+        return samples;
+    }
+
+    public long getWins() {
+        return wins;
+    }
+
+    public long getTies() {
+        return ties;
+    }
+
+    public long getLosses() {
+        return losses;
+    }
+
+    public double getWin() {
+        return percent(wins);
+    }
+
+    public double getTie() {
+        return percent(ties);
+    }
+
+    public double getLose() {
+        return percent(losses);
+    }
+
+    /** Доля банка в процентах: победы плюс делёж при ничьих */
+    public double getEquity() {
+        return samples == 0 ? 0 : (wins + tieShare) * 100.0 / samples;
+    }
+
+    private double percent(long count) {
+        return samples == 0 ? 0 : count * 100.0 / samples;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("win %.2f%%, tie %.2f%%, lose %.2f%% (%d samples)", getWin(), getTie(), getLose(), samples);
+    }
+}
@@ -0,0 +1,206 @@
+package com.axine.pokercasino.model.game.equity;
+
+import com.axine.pokercasino.model.deck.Card;
+import com.axine.pokercasino.model.deck.DeckType;
+import com.axine.pokercasino.model.game.evaluation.HandEvaluator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Точное эквити нескольких известных рук перебором всех оставшихся досдач стола.
+ * Пространство досдач делится по первой карте рекурсивно между потоками ForkJoinPool;
+ * буферы оценки у каждого потока свои и переиспользуются между вызовами.
+ * Доли при ничьих считаются в целых единицах, поэтому итог — точные дроби.
+ */
+public class ExactEquity {
+
+    public static final int MAX_HANDS = 10;
+
+    /** НОК чисел 1..10: доля банка при ничьей на k игроков — целое число единиц */
+    private static final long SHARE_UNITS = 2520;
+    private static final long LEAF_RUNOUTS = 2048;
+
+    private static final ThreadLocal<Workspace> WORKSPACE = ThreadLocal.withInitial(Workspace::new);
+
+    private final ForkJoinPool pool;
+
+    public ExactEquity() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ExactEquity(ForkJoinPool pool) {
+        if (pool == null) throw new IllegalArgumentException("Pool cannot be null");
+        this.pool = pool;
+    }
+
+    /** Эквити каждой руки из hands (в том же порядке) при уже открытом board */
+    public List<EquityResult> calculate(Variant variant, DeckType deckType, List<List<Card>> hands, List<Card> board) {
+        if (variant == null || deckType == null) throw new IllegalArgumentException("Variant or deck type cannot be null");
+        if (hands == null || board == null) throw new IllegalArgumentException("Hands or board cannot be null");
+        if (hands.size() < 2 || hands.size() > MAX_HANDS) {
+            throw new IllegalArgumentException("Between 2 and " + MAX_HANDS + " hands required, got " + hands.size());
+        }
+        if (board.size() > 5) throw new IllegalArgumentException("Board cannot have more than 5 cards");
+
+        long[] holes = new long[hands.size()];
+        long dead = HandEvaluator.mask(board);
+        int known = board.size();
+        for (int h = 0; h < hands.size(); h++) {
+            List<Card> hand = hands.get(h);
+            if (hand == null || hand.size() < variant.getMinHoleCards() || hand.size() > variant.getMaxHoleCards()) {
+                throw new IllegalArgumentException("Invalid hand for " + variant + " at position " + h);
+            }
+            holes[h] = HandEvaluator.mask(hand);
+            dead |= holes[h];
+            known += hand.size();
+        }
+        long deckMask = HandEvaluator.mask(deckType);
+        if (Long.bitCount(dead) != known || (dead & ~deckMask) != 0) {
+            throw new IllegalArgumentException("Duplicate cards or cards outside of the " + deckType.getShortName() + " deck");
+        }
+
+        Runouts runouts = new Runouts(variant, holes, HandEvaluator.mask(board),
+                MonteCarloEquity.unpack(deckMask & ~dead), 5 - board.size());
+        long[] counts = runouts.missing == 0
+                ? runouts.single()
+                : pool.invoke(new RunoutTask(runouts, 0, runouts.live.length - runouts.missing + 1));
+
+        long total = binomial(runouts.live.length, runouts.missing);
+        List<EquityResult> results = new ArrayList<>(hands.size());
+        for (int h = 0; h < hands.size(); h++) {
+            long wins = counts[h * 3];
+            long ties = counts[h * 3 + 1];
+            double tieShare = (double) counts[h * 3 + 2] / SHARE_UNITS;
+            results.add(new EquityResult(total, wins, ties, total - wins - ties, tieShare));
+        }
+        return results;
+    }
+
+    static long binomial(int n, int k) {
+        if (k < 0 || k > n) return 0;
+        long result = 1;
+        for (int i = 0; i < k; i++) {
+            result = result * (n - i) / (i + 1);
+        }
+        return result;
+    }
+
+    /** Неизменяемое описание перебора; счётчики — long[3 * рук]: победы, ничьи, единицы доли при ничьих */
+    private static final class Runouts {
+        final Variant variant;
+        final long[] holes;
+        final long board;
+        final long[] live;
+        final int missing;
+
+        Runouts(Variant variant, long[] holes, long board, long[] live, int missing) {
+            this.variant = variant;
+            this.holes = holes;
+            this.board = board;
+            this.live = live;
+            this.missing = missing;
+        }
+
+        long[] single() {
+            long[] counts = new long[holes.length * 3];
+            Workspace workspace = WORKSPACE.get();
+            score(workspace.rater(variant), workspace.ranks, board, counts);
+            return counts;
+        }
+
+        /** Все досдачи, у которых первая карта — live[first] */
+        void enumerate(int first, long[] counts) {
+            Workspace workspace = WORKSPACE.get();
+            enumerate(first + 1, missing - 1, board | live[first], workspace.rater(variant), workspace.ranks, counts);
+        }
+
+        private void enumerate(int start, int remaining, long cards, HandRater rater, int[] ranks, long[] counts) {
+            if (remaining == 0) {
+                score(rater, ranks, cards, counts);
+                return;
+            }
+            for (int i = start; i <= live.length - remaining; i++) {
+                enumerate(i + 1, remaining - 1, cards | live[i], rater, ranks, counts);
+            }
+        }
+
+        private void score(HandRater rater, int[] ranks, long fullBoard, long[] counts) {
+            int best = 0;
+            int winners = 0;
+            for (int h = 0; h < holes.length; h++) {
+                int rank = rater.rate(holes[h], fullBoard);
+                ranks[h] = rank;
+                if (rank > best) {
+                    best = rank;
+                    winners = 1;
+                } else if (rank == best) {
+                    winners++;
+                }
+            }
+            for (int h = 0; h < holes.length; h++) {
+                if (ranks[h] != best) continue;
+                if (winners == 1) {
+                    counts[h * 3]++;
+                } else {
+                    counts[h * 3 + 1]++;
+                    counts[h * 3 + 2] += SHARE_UNITS / winners;
+                }
+            }
+        }
+    }
+
+    /** Досдачи с первой картой из диапазона [from, to) */
+    private static final class RunoutTask extends RecursiveTask<long[]> {
+        private final Runouts runouts;
+        private final int from;
+        private final int to;
+
+        RunoutTask(Runouts runouts, int from, int to) {
+            this.runouts = runouts;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            int n = runouts.live.length;
+            int k = runouts.missing;
+            long work = binomial(n - from, k) - binomial(n - to, k);
+            if (to - from == 1 || work <= LEAF_RUNOUTS) {
+                long[] counts = new long[runouts.holes.length * 3];
+                for (int first = from; first < to; first++) {
+                    runouts.enumerate(first, counts);
+                }
+                return counts;
+            }
+            int middle = (from + to) >>> 1;
+            RunoutTask left = new RunoutTask(runouts, from, middle);
+            left.fork();
+            long[] counts = new RunoutTask(runouts, middle, to).compute();
+            long[] other = left.join();
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other[i];
+            }
+            return counts;
+        }
+    }
+
+    /** Буферы потока: оценщики вариантов и ранги рук текущей досдачи */
+    private static final class Workspace {
+        final int[] ranks = new int[MAX_HANDS];
+        private HandRater texas;
+        private HandRater omaha;
+
+        HandRater rater(Variant variant) {
+            if (variant == Variant.OMAHA_HOLDEM) {
+                if (omaha == null) omaha = new HandRater(variant);
+                return omaha;
+            }
+            if (texas == null) texas = new HandRater(variant);
+            return texas;
+        }
+    }
+}
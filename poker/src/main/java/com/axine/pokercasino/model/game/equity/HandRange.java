@@ -0,0 +1,248 @@
+package com.axine.pokercasino.model.game.equity;
+
+import com.axine.pokercasino.model.deck.Card;
+import com.axine.pokercasino.model.deck.DeckType;
+import com.axine.pokercasino.model.deck.card.Rank;
+import com.axine.pokercasino.model.deck.card.Suit;
+import com.axine.pokercasino.model.game.evaluation.HandEvaluator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Диапазон стартовых рук Холдема с весами комбинаций. Запись через запятую:
+ * "AKs", "AKo", "AK" (обе), "TT+", "ATs+", "A5s-A2s", "22-55", конкретные карты "AhKh",
+ * доли "top 15%" (по эквити против случайной руки для своей колоды) и веса ":0.5".
+ * Комбинации хранятся масками карт {@link HandEvaluator}, вес — в сотых долях.
+ */
+public final class HandRange {
+
+    public static final int WEIGHT_SCALE = 100;
+
+    /** Номер комбинации — colex-номер пары кодов карт {@link Card#getCode()} */
+    private static final int COMBOS = 52 * 51 / 2;
+
+    private static final String STANDARD_ORDER = "AA KK QQ JJ TT 99 88 AKs 77 AQs AJs AKo ATs AQo AJo KQs 66 A9s ATo KJs"
+            + " A8s KTs KQo A7s A9o KJo 55 QJs K9s A5s A6s A8o KTo QTs A4s A7o K8s A3s QJo K9o Q9s A5o A6o K7s JTs A2s"
+            + " QTo 44 A4o K6s Q8s K8o A3o K5s J9s Q9o JTo K7o A2o K4s Q7s K6o K3s T9s J8s 33 Q6s Q8o K5o J9o K2s Q5s"
+            + " T8s K4o J7s Q4s Q7o T9o J8o K3o Q3s Q6o 98s T7s J6s K2o 22 Q2s Q5o J5s T8o J7o 97s Q4o J4s T6s J3s Q3o"
+            + " 98o 87s T7o J6o 96s J2s Q2o T5s J5o T4s 97o 86s J4o T6o T3s 95s 76s J3o 87o T2s 85s 96o J2o T5o 94s 75s"
+            + " T4o 93s 86o 65s 84s 95o T3o 92s 76o 74s T2o 54s 85o 64s 83s 94o 75o 82s 93o 73s 65o 53s 63s 84o 92o 43s"
+            + " 74o 54o 72s 64o 52s 62s 83o 82o 42s 73o 53o 63o 32s 43o 72o 52o 62o 42o 32o";
+
+    private static final String SHORTENED_ORDER = "AA KK QQ JJ TT AKs AQs AKo AJs KQs AQo ATs KJs AJo QJs KQo KTs ATo"
+            + " QTs KJo JTs QJo KTo 99 QTo JTo A9s T9s K9s A8s Q9s A9o J9s T9o K9o Q9o A8o J9o A7s 88 T8s K8s Q8s J8s A7o"
+            + " A6s K7s T8o K8o Q8o J8o 98s A6o K7o T7s K6s Q7s J7s 98o 77 T7o Q6s K6o Q7o J7o 97s T6s Q6o J6s 97o 87s"
+            + " T6o 96s J6o 66 87o 96o 86s 76s 86o 76o";
+
+    private static final Rank[] RANKS = Rank.values();
+    private static final Suit[] SUITS = Suit.values();
+    private static final String RANK_CHARS = "23456789TJQKA";
+    private static final String SUIT_CHARS = "hdcs";
+
+    private final DeckType deckType;
+    private final byte[] weights;
+    private final int size;
+
+    private HandRange(DeckType deckType, byte[] weights) {
+        this.deckType = deckType;
+        this.weights = weights;
+        int count = 0;
+        for (byte weight : weights) {
+            if (weight > 0) count++;
+        }
+        this.size = count;
+    }
+
+    /** Разбор записи диапазона для колоды deckType */
+    public static HandRange parse(String text, DeckType deckType) {
+        if (text == null || deckType == null) throw new IllegalArgumentException("Range text or deck type cannot be null");
+        byte[] weights = new byte[COMBOS];
+        long deck = HandEvaluator.mask(deckType);
+        for (String part : text.split(",")) {
+            String token = part.trim();
+            if (token.isEmpty()) continue;
+            int weight = WEIGHT_SCALE;
+            int colon = token.indexOf(':');
+            if (colon >= 0) {
+                weight = parseWeight(token.substring(colon + 1).trim(), token);
+                token = token.substring(0, colon).trim();
+            }
+            for (int combo : expand(token, deckType)) {
+                if ((comboMask(combo) & ~deck) == 0) weights[combo] = (byte) weight;
+            }
+        }
+        return new HandRange(deckType, weights);
+    }
+
+    public DeckType getDeckType() {
+        return deckType;
+    }
+
+    /** Число комбинаций с ненулевым весом */
+    public int size() {
+        return size;
+    }
+
+    /** Вес комбинации двух карт от 0 до 1 */
+    public double weight(Card first, Card second) {
+        int a = first.getCode();
+        int b = second.getCode();
+        if (a == b) return 0;
+        return weights[comboIndex(a, b)] / (double) WEIGHT_SCALE;
+    }
+
+    /** Комбинации, не пересекающиеся с dead, и их веса в сотых долях */
+    Combos combos(long dead) {
+        long[] masks = new long[size];
+        int[] comboWeights = new int[size];
+        int count = 0;
+        for (int combo = 0; combo < COMBOS; combo++) {
+            if (weights[combo] == 0) continue;
+            long mask = comboMask(combo);
+            if ((mask & dead) != 0) continue;
+            masks[count] = mask;
+            comboWeights[count++] = weights[combo];
+        }
+        return new Combos(Arrays.copyOf(masks, count), Arrays.copyOf(comboWeights, count));
+    }
+
+    /** Развёрнутый диапазон: маски комбинаций и веса */
+    record Combos(long[] masks, int[] weights) {
+        int size() {
+            return masks.length;
+        }
+    }
+
+    // ================== ВСПОМОГАТЕЛЬНЫЕ ==================
+
+    private static List<Integer> expand(String token, DeckType deckType) {
+        String lower = token.toLowerCase(Locale.ROOT);
+        if (lower.endsWith("%")) {
+            String percent = lower.startsWith("top") ? lower.substring(3) : lower;
+            return top(parsePercent(percent.substring(0, percent.length() - 1).trim(), token), deckType);
+        }
+        lower = lower.replace("10", "t");
+        if (lower.length() == 4 && SUIT_CHARS.indexOf(lower.charAt(1)) >= 0 && SUIT_CHARS.indexOf(lower.charAt(3)) >= 0) {
+            int first = card(lower.charAt(0), lower.charAt(1), token);
+            int second = card(lower.charAt(2), lower.charAt(3), token);
+            if (first == second) throw new IllegalArgumentException("Duplicate card in combo: " + token);
+            return List.of(comboIndex(first, second));
+        }
+
+        List<Integer> combos = new ArrayList<>();
+        int dash = lower.indexOf('-');
+        if (dash >= 0) {
+            Hand from = hand(lower.substring(0, dash), token);
+            Hand to = hand(lower.substring(dash + 1), token);
+            if (from.pair() != to.pair() || from.suitedness != to.suitedness || (!from.pair() && from.high != to.high)) {
+                throw new IllegalArgumentException("Incompatible range bounds: " + token);
+            }
+            int low = Math.min(from.low, to.low);
+            int high = Math.max(from.low, to.low);
+            for (int rank = low; rank <= high; rank++) {
+                addClass(combos, from.pair() ? rank : from.high, rank, from.suitedness);
+            }
+            return combos;
+        }
+
+        boolean plus = lower.endsWith("+");
+        Hand hand = hand(plus ? lower.substring(0, lower.length() - 1) : lower, token);
+        if (!plus) {
+            addClass(combos, hand.high, hand.low, hand.suitedness);
+        } else if (hand.pair()) {
+            for (int rank = hand.low; rank < RANKS.length; rank++) addClass(combos, rank, rank, hand.suitedness);
+        } else {
+            for (int rank = hand.low; rank < hand.high; rank++) addClass(combos, hand.high, rank, hand.suitedness);
+        }
+        return combos;
+    }
+
+    /** Класс руки из записи: ранги и масть ('s', 'o' или 0 — обе) */
+    private record Hand(int high, int low, char suitedness) {
+        boolean pair() {
+            return high == low;
+        }
+    }
+
+    private static Hand hand(String text, String token) {
+        if (text.length() < 2 || text.length() > 3) throw new IllegalArgumentException("Invalid hand: " + token);
+        int a = rank(text.charAt(0), token);
+        int b = rank(text.charAt(1), token);
+        char suitedness = text.length() == 3 ? text.charAt(2) : 0;
+        if (suitedness != 0 && (a == b || (suitedness != 's' && suitedness != 'o'))) {
+            throw new IllegalArgumentException("Invalid hand: " + token);
+        }
+        return new Hand(Math.max(a, b), Math.min(a, b), suitedness);
+    }
+
+    private static void addClass(List<Integer> combos, int high, int low, char suitedness) {
+        for (int s1 = 0; s1 < SUITS.length; s1++) {
+            for (int s2 = 0; s2 < SUITS.length; s2++) {
+                if (high == low && s2 <= s1) continue;
+                if (suitedness == 's' && s1 != s2) continue;
+                if ((suitedness == 'o' || high == low) && s1 == s2) continue;
+                combos.add(comboIndex(s1 * 13 + high, s2 * 13 + low));
+            }
+        }
+    }
+
+    /** Лучшие классы рук колоды, пока не набрана доля percent от всех комбинаций */
+    private static List<Integer> top(double percent, DeckType deckType) {
+        int cards = deckType.getCardsCount();
+        double target = cards * (cards - 1) / 2.0 * percent / 100;
+        List<Integer> combos = new ArrayList<>();
+        String order = deckType == DeckType.SHORTENED ? SHORTENED_ORDER : STANDARD_ORDER;
+        for (String name : order.split(" ")) {
+            if (combos.size() >= target) break;
+            Hand hand = hand(name.toLowerCase(Locale.ROOT), name);
+            addClass(combos, hand.high, hand.low, hand.suitedness);
+        }
+        return combos;
+    }
+
+    private static int parseWeight(String text, String token) {
+        try {
+            double weight = Double.parseDouble(text);
+            if (weight < 0 || weight > 1) throw new IllegalArgumentException("Weight must be between 0 and 1: " + token);
+            return (int) Math.round(weight * WEIGHT_SCALE);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid weight: " + token);
+        }
+    }
+
+    private static double parsePercent(String text, String token) {
+        try {
+            double percent = Double.parseDouble(text);
+            if (percent < 0 || percent > 100) throw new IllegalArgumentException("Percent must be between 0 and 100: " + token);
+            return percent;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid percent: " + token);
+        }
+    }
+
+    private static int rank(char c, String token) {
+        int rank = RANK_CHARS.indexOf(Character.toUpperCase(c));
+        if (rank < 0) throw new IllegalArgumentException("Invalid rank in: " + token);
+        return rank;
+    }
+
+    private static int card(char rank, char suit, String token) {
+        return SUIT_CHARS.indexOf(suit) * 13 + rank(rank, token);
+    }
+
+    private static int comboIndex(int a, int b) {
+        int high = Math.max(a, b);
+        int low = Math.min(a, b);
+        return high * (high - 1) / 2 + low;
+    }
+
+    private static long comboMask(int combo) {
+        int high = 1;
+        while ((high + 1) * high / 2 <= combo) high++;
+        int low = combo - high * (high - 1) / 2;
+        return Card.of(high).getMask() | Card.of(low).getMask();
+    }
+}
@@ -0,0 +1,20 @@
+package com.axine.pokercasino.model.game.equity;
+
+import com.axine.pokercasino.model.game.evaluation.HandEvaluator;
+import com.axine.pokercasino.model.game.evaluation.OmahaEvaluator;
+
+/** Оценка руки по правилам варианта; держит буферы оценщика, поэтому один экземпляр на поток */
+final class HandRater {
+
+    private final Variant variant;
+    private final OmahaEvaluator omaha;
+
+    HandRater(Variant variant) {
+        this.variant = variant;
+        this.omaha = variant == Variant.OMAHA_HOLDEM ? new OmahaEvaluator() : null;
+    }
+
+    int rate(long hole, long board) {
+        return variant == Variant.OMAHA_HOLDEM ? omaha.evaluate(hole, board) : HandEvaluator.evaluate(hole | board);
+    }
+}
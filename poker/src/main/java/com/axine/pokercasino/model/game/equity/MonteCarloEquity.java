@@ -0,0 +1,173 @@
+package com.axine.pokercasino.model.game.equity;
+
+import com.axine.pokercasino.model.deck.Card;
+import com.axine.pokercasino.model.deck.DeckType;
+import com.axine.pokercasino.model.game.evaluation.HandEvaluator;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Эквити руки методом Монте-Карло. Выборка делится между потоками ForkJoinPool,
+ * у каждой задачи свой поток SplittableRandom и свой массив карт; итоги
+ * сливаются при join. Расчёт идёт партиями и останавливается по бюджету
+ * раздач, по времени или когда доверительный интервал становится уже заданного.
+ */
+public class MonteCarloEquity {
+
+    private static final int LEAF_SAMPLES = 2048;
+    private static final int MIN_SAMPLES = 4096;
+    private static final double DEFAULT_PRECISION = 0.002;
+
+    private final ForkJoinPool pool;
+    private final double precision;
+
+    public MonteCarloEquity() {
+        this(ForkJoinPool.commonPool(), DEFAULT_PRECISION);
+    }
+
+    /** precision — полуширина 95% интервала доли банка, при которой расчёт останавливается (0 — не останавливать) */
+    public MonteCarloEquity(ForkJoinPool pool, double precision) {
+        if (pool == null) throw new IllegalArgumentException("Pool cannot be null");
+        if (precision < 0) throw new IllegalArgumentException("Precision cannot be negative");
+        this.pool = pool;
+        this.precision = precision;
+    }
+
+    /**
+     * Шансы руки против opponents случайных рук. board — уже открытые карты стола
+     * (например, {@code Round.getCommunityCards()}). Расчёт ограничен maxSamples раздачами
+     * и maxMillis миллисекундами (0 — без ограничения по времени).
+     */
+    public EquityResult calculate(Variant variant, DeckType deckType, List<Card> hole, List<Card> board,
+                                  int opponents, long maxSamples, long maxMillis) {
+        if (variant == null || deckType == null) throw new IllegalArgumentException("Variant or deck type cannot be null");
+        if (hole == null || board == null) throw new IllegalArgumentException("Hole cards or board cannot be null");
+        if (opponents < 1) throw new IllegalArgumentException("At least 1 opponent required");
+        if (maxSamples < 1) throw new IllegalArgumentException("Sample budget must be positive");
+        if (hole.size() < variant.getMinHoleCards() || hole.size() > variant.getMaxHoleCards()) {
+            throw new IllegalArgumentException("Invalid number of hole cards for " + variant + ": " + hole.size());
+        }
+        if (board.size() > 5) throw new IllegalArgumentException("Board cannot have more than 5 cards");
+
+        long holeMask = HandEvaluator.mask(hole);
+        long boardMask = HandEvaluator.mask(board);
+        long dead = holeMask | boardMask;
+        long deckMask = HandEvaluator.mask(deckType);
+        if (Long.bitCount(dead) != hole.size() + board.size() || (dead & ~deckMask) != 0) {
+            throw new IllegalArgumentException("Duplicate cards or cards outside of the " + deckType.getShortName() + " deck");
+        }
+
+        Sampler sampler = new Sampler(variant, holeMask, boardMask, 5 - board.size(), opponents, hole.size(),
+                unpack(deckMask & ~dead), maxMillis > 0 ? System.nanoTime() + maxMillis * 1_000_000 : Long.MAX_VALUE);
+        if (sampler.cardsNeeded > sampler.live.length) {
+            throw new IllegalArgumentException("Not enough cards in deck for " + opponents + " opponents");
+        }
+
+        SplittableRandom random = new SplittableRandom();
+        long batch = (long) LEAF_SAMPLES * pool.getParallelism() * 4;
+        Tally total = new Tally();
+        while (total.samples < maxSamples && !sampler.expired()) {
+            long size = Math.min(batch, maxSamples - total.samples);
+            total.add(pool.invoke(new SampleTask(sampler, random.split(), size)));
+            if (precision > 0 && total.samples >= MIN_SAMPLES && total.halfWidth() <= precision) break;
+        }
+        return total.toResult();
+    }
+
+    static long[] unpack(long mask) {
+        long[] cards = new long[Long.bitCount(mask)];
+        for (int i = 0; mask != 0; i++) {
+            cards[i] = mask & -mask;
+            mask ^= cards[i];
+        }
+        return cards;
+    }
+
+    /** Неизменяемые параметры розыгрыша, общие для всех задач */
+    private static final class Sampler {
+        final Variant variant;
+        final long hole;
+        final long board;
+        final int boardNeeded;
+        final int opponents;
+        final int holeCards;
+        final long[] live;
+        final int cardsNeeded;
+        final long deadline;
+
+        Sampler(Variant variant, long hole, long board, int boardNeeded, int opponents, int holeCards,
+                long[] live, long deadline) {
+            this.variant = variant;
+            this.hole = hole;
+            this.board = board;
+            this.boardNeeded = boardNeeded;
+            this.opponents = opponents;
+            this.holeCards = holeCards;
+            this.live = live;
+            this.cardsNeeded = boardNeeded + opponents * holeCards;
+            this.deadline = deadline;
+        }
+
+        boolean expired() {
+            return System.nanoTime() > deadline;
+        }
+
+        Tally run(SplittableRandom random, long samples) {
+            long[] cards = live.clone();
+            HandRater rater = new HandRater(variant);
+            Tally tally = new Tally();
+            for (long s = 0; s < samples; s++) {
+                if ((s & 0xFF) == 0 && expired()) break;
+                for (int i = 0; i < cardsNeeded; i++) {
+                    int j = i + random.nextInt(cards.length - i);
+                    long card = cards[j];
+                    cards[j] = cards[i];
+                    cards[i] = card;
+                }
+                int next = 0;
+                long fullBoard = board;
+                while (next < boardNeeded) fullBoard |= cards[next++];
+
+                int hero = rater.rate(hole, fullBoard);
+                boolean lost = false;
+                int tied = 0;
+                for (int o = 0; o < opponents && !lost; o++) {
+                    long opponent = 0L;
+                    for (int c = 0; c < holeCards; c++) opponent |= cards[next++];
+                    int value = rater.rate(opponent, fullBoard);
+                    if (value > hero) lost = true;
+                    else if (value == hero) tied++;
+                }
+                tally.record(lost, tied);
+            }
+            return tally;
+        }
+    }
+
+    private static final class SampleTask extends RecursiveTask<Tally> {
+        private final Sampler sampler;
+        private final SplittableRandom random;
+        private final long samples;
+
+        SampleTask(Sampler sampler, SplittableRandom random, long samples) {
+            this.sampler = sampler;
+            this.random = random;
+            this.samples = samples;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (samples <= LEAF_SAMPLES) {
+                return sampler.run(random, samples);
+            }
+            long half = samples / 2;
+            SampleTask left = new SampleTask(sampler, random.split(), half);
+            left.fork();
+            Tally right = new SampleTask(sampler, random, samples - half).compute();
+            return right.add(left.join());
+        }
+    }
+}
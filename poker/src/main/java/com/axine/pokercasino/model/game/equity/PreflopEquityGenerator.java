@@ -0,0 +1,70 @@
+package com.axine.pokercasino.model.game.equity;
+
+import com.axine.pokercasino.model.deck.DeckType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Офлайн-генератор {@link PreflopEquityTable}. Запуск:
+ * {@code java -cp target/classes com.axine.pokercasino.model.game.equity.PreflopEquityGenerator preflop-equity.bin 500000}
+ * (второй аргумент — число раздач Монте-Карло на клетку).
+ */
+public final class PreflopEquityGenerator {
+
+    private static final long DEFAULT_SAMPLES = 500_000;
+    private static final double PRECISION = 0.0005;
+
+    private PreflopEquityGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path output = Path.of(args.length > 0 ? args[0] : "preflop-equity.bin");
+        long samples = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_SAMPLES;
+        long started = System.nanoTime();
+        generate(output, samples);
+        System.out.printf("Preflop table written to %s in %.1f s%n", output, (System.nanoTime() - started) / 1e9);
+    }
+
+    public static void generate(Path output, long samples) throws IOException {
+        MonteCarloEquity equity = new MonteCarloEquity(ForkJoinPool.commonPool(), PRECISION);
+        ByteBuffer buffer = ByteBuffer.allocate(PreflopEquityTable.size()).order(ByteOrder.BIG_ENDIAN);
+        buffer.putInt(PreflopEquityTable.MAGIC)
+                .putInt(PreflopEquityTable.VERSION)
+                .putInt(DeckType.values().length)
+                .putInt(StartingHand.COUNT)
+                .putInt(PreflopEquityTable.MAX_OPPONENTS);
+
+        for (DeckType deckType : DeckType.values()) {
+            for (int hand = 0; hand < StartingHand.COUNT; hand++) {
+                if (StartingHand.lowRank(hand).getValue() < deckType.getLowestRank().getValue()) continue;
+                for (int opponents = 1; opponents <= PreflopEquityTable.MAX_OPPONENTS; opponents++) {
+                    EquityResult result = equity.calculate(Variant.TEXAS_HOLDEM, deckType,
+                            StartingHand.representative(hand), List.of(), opponents, samples, 0);
+                    int offset = PreflopEquityTable.offset(deckType, hand, opponents);
+                    buffer.putShort(offset, scale(result.getWin()));
+                    buffer.putShort(offset + Short.BYTES, scale(result.getTie()));
+                    buffer.putShort(offset + 2 * Short.BYTES, scale(result.getEquity()));
+                }
+            }
+        }
+
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            buffer.rewind();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    private static short scale(double percent) {
+        return (short) Math.round(percent * PreflopEquityTable.SCALE / 100);
+    }
+}
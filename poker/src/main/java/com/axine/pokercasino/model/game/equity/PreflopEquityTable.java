@@ -0,0 +1,82 @@
+package com.axine.pokercasino.model.game.equity;
+
+import com.axine.pokercasino.model.deck.Card;
+import com.axine.pokercasino.model.deck.DeckType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Таблица префлоп-эквити Холдема, отображённая в память. Для каждой колоды, каждого
+ * из 169 классов стартовых рук и 1..8 случайных соперников хранятся три short:
+ * доля побед, доля ничьих и доля банка в десятитысячных. Поиск — одно чтение из буфера.
+ * <pre>
+ * int magic, int version, int deckTypes, int classes, int maxOpponents,
+ * затем short[deckTypes][classes][maxOpponents][3] (big-endian)
+ * </pre>
+ */
+public final class PreflopEquityTable {
+
+    public static final int MAX_OPPONENTS = 8;
+    public static final int SCALE = 10_000;
+
+    static final int MAGIC = 0x50464551; // "PFEQ"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 5 * Integer.BYTES;
+    static final int CELL_BYTES = 3 * Short.BYTES;
+
+    private final ByteBuffer buffer;
+
+    private PreflopEquityTable(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    public static PreflopEquityTable load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.BIG_ENDIAN);
+            if (buffer.capacity() != size()
+                    || buffer.getInt(0) != MAGIC
+                    || buffer.getInt(4) != VERSION
+                    || buffer.getInt(8) != DeckType.values().length
+                    || buffer.getInt(12) != StartingHand.COUNT
+                    || buffer.getInt(16) != MAX_OPPONENTS) {
+                throw new IOException("Not a preflop equity table: " + path);
+            }
+            return new PreflopEquityTable(buffer);
+        }
+    }
+
+    /** Эквити руки из двух карт против opponents случайных рук в десятитысячных долях банка */
+    public EquityResult lookup(DeckType deckType, List<Card> hole, int opponents) {
+        if (deckType == null) throw new IllegalArgumentException("Deck type cannot be null");
+        if (opponents < 1 || opponents > MAX_OPPONENTS) {
+            throw new IllegalArgumentException("Opponents must be between 1 and " + MAX_OPPONENTS);
+        }
+        for (Card card : hole) {
+            if (card.getRank().getValue() < deckType.getLowestRank().getValue()) {
+                throw new IllegalArgumentException("Card outside of the " + deckType.getShortName() + " deck");
+            }
+        }
+        int offset = offset(deckType, StartingHand.index(hole), opponents);
+        int win = buffer.getShort(offset);
+        int tie = buffer.getShort(offset + Short.BYTES);
+        int equity = buffer.getShort(offset + 2 * Short.BYTES);
+        return new EquityResult(SCALE, win, tie, SCALE - win - tie, equity - win);
+    }
+
+    static int size() {
+        return HEADER_BYTES + DeckType.values().length * StartingHand.COUNT * MAX_OPPONENTS * CELL_BYTES;
+    }
+
+    static int offset(DeckType deckType, int handIndex, int opponents) {
+        return HEADER_BYTES
+                + ((deckType.ordinal() * StartingHand.COUNT + handIndex) * MAX_OPPONENTS + opponents - 1) * CELL_BYTES;
+    }
+}
@@ -0,0 +1,116 @@
+package com.axine.pokercasino.model.game.equity;
+
+import com.axine.pokercasino.model.deck.Card;
+import com.axine.pokercasino.model.deck.DeckType;
+import com.axine.pokercasino.model.game.evaluation.HandEvaluator;
+import com.axine.pokercasino.model.game.evaluation.IsomorphicCache;
+import com.axine.pokercasino.model.game.evaluation.SuitIsomorphism;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Быстрая оценка эквити для решений ботов в потоке вызывающего. Сначала смотрит
+ * префлоп-таблицу (если есть) и кэш по классам изоморфных ситуаций, затем досчитывает
+ * Монте-Карло до maxSamples раздач или до дедлайна, что наступит раньше. В кэш
+ * попадают только полные выборки, поэтому оборванная по времени оценка не закрепляется.
+ */
+public final class QuickEquity {
+
+    public static final int DEFAULT_SAMPLES = 600;
+    public static final int DEFAULT_CACHE_SIZE = 4096;
+    /** Дедлайн, который не наступает: выборка всегда полная, и оценка зависит только от генератора */
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    /** Соперники в ключе кэша занимают 5 бит */
+    private static final int MAX_CACHED_OPPONENTS = 31;
+
+    private final PreflopEquityTable preflop;
+    private final IsomorphicCache<EquityResult> cache;
+    private final int maxSamples;
+
+    public QuickEquity() {
+        this(null, new IsomorphicCache<>(DEFAULT_CACHE_SIZE), DEFAULT_SAMPLES);
+    }
+
+    /** preflop — таблица префлоп-эквити или null, cache — общий или собственный кэш оценок */
+    public QuickEquity(PreflopEquityTable preflop, IsomorphicCache<EquityResult> cache, int maxSamples) {
+        if (cache == null) throw new IllegalArgumentException("Cache cannot be null");
+        if (maxSamples < 1) throw new IllegalArgumentException("Sample budget must be positive");
+        this.preflop = preflop;
+        this.cache = cache;
+        this.maxSamples = maxSamples;
+    }
+
+    /** Доля банка руки (0..1) против opponents случайных рук; считать не дольше чем до deadline (System.nanoTime) */
+    public double estimate(Variant variant, DeckType deckType, List<Card> hole, List<Card> board, int opponents,
+                           long deadline, SplittableRandom random) {
+        if (variant == null || deckType == null) throw new IllegalArgumentException("Variant or deck type cannot be null");
+        if (hole == null || board == null) throw new IllegalArgumentException("Hole cards or board cannot be null");
+        if (opponents < 1) throw new IllegalArgumentException("At least 1 opponent required");
+
+        if (preflop != null && board.isEmpty() && variant == Variant.TEXAS_HOLDEM && hole.size() == 2
+                && opponents <= PreflopEquityTable.MAX_OPPONENTS) {
+            return preflop.lookup(deckType, hole, opponents).getEquity() / 100;
+        }
+        long holeMask = HandEvaluator.mask(hole);
+        long boardMask = HandEvaluator.mask(board);
+        boolean cacheable = opponents <= MAX_CACHED_OPPONENTS;
+        long key = cacheable ? key(variant, deckType, holeMask, boardMask, opponents) : 0L;
+        EquityResult cached = cacheable ? cache.getIfPresent(key) : null;
+        if (cached != null) return cached.getEquity() / 100;
+
+        EquityResult result = sample(variant, holeMask, boardMask, hole.size(), opponents,
+                HandEvaluator.mask(deckType) & ~(holeMask | boardMask), deadline, random);
+        if (cacheable && result.getSamples() == maxSamples) cache.put(key, result);
+        return result.getEquity() / 100;
+    }
+
+    public IsomorphicCache<EquityResult> getCache() {
+        return cache;
+    }
+
+    // ================== ВСПОМОГАТЕЛЬНЫЕ ==================
+
+    private static long key(Variant variant, DeckType deckType, long hole, long board, int opponents) {
+        return SuitIsomorphism.index(hole, board)
+                | (long) opponents << 53
+                | (long) variant.ordinal() << 58
+                | (long) deckType.ordinal() << 59;
+    }
+
+    private EquityResult sample(Variant variant, long hole, long board, int holeCards, int opponents, long live,
+                                long deadline, SplittableRandom random) {
+        long[] cards = MonteCarloEquity.unpack(live);
+        int boardNeeded = 5 - Long.bitCount(board);
+        int cardsNeeded = boardNeeded + opponents * holeCards;
+        if (cardsNeeded > cards.length) throw new IllegalArgumentException("Not enough cards in deck for " + opponents + " opponents");
+        HandRater rater = new HandRater(variant);
+        Tally tally = new Tally();
+        for (int s = 0; s < maxSamples; s++) {
+            if ((s & 0x3F) == 0 && s > 0 && deadline != NO_DEADLINE && System.nanoTime() > deadline) break;
+            for (int i = 0; i < cardsNeeded; i++) {
+                int j = i + random.nextInt(cards.length - i);
+                long card = cards[j];
+                cards[j] = cards[i];
+                cards[i] = card;
+            }
+            int next = 0;
+            long fullBoard = board;
+            while (next < boardNeeded) fullBoard |= cards[next++];
+
+            int hero = rater.rate(hole, fullBoard);
+            boolean lost = false;
+            int tied = 0;
+            for (int o = 0; o < opponents && !lost; o++) {
+                long opponent = 0L;
+                for (int c = 0; c < holeCards; c++) opponent |= cards[next++];
+                int value = rater.rate(opponent, fullBoard);
+                if (value > hero) lost = true;
+                else if (value == hero) tied++;
+            }
+            tally.record(lost, tied);
+        }
+        return tally.toResult();
+    }
+}
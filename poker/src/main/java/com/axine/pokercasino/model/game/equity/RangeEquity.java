@@ -0,0 +1,380 @@
+package com.axine.pokercasino.model.game.equity;
+
+import com.axine.pokercasino.model.deck.Card;
+import com.axine.pokercasino.model.deck.DeckType;
+import com.axine.pokercasino.model.game.evaluation.BatchEvaluator;
+import com.axine.pokercasino.model.game.evaluation.HandEvaluator;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Эквити диапазона против диапазона в Холдеме. Комбинации, пересекающиеся со столом,
+ * мёртвыми картами или друг с другом, отбрасываются, остальные пары учитываются с весом.
+ * Начиная с флопа расчёт точный: для открытого стола строится матрица исходов
+ * «комбинация против комбинации» по всем досдачам, и она переиспользуется, пока стол
+ * и мёртвые карты не меняются. До флопа досдач слишком много — эквити оценивается
+ * выборкой пар и досдач, как в {@link MonteCarloEquity}.
+ */
+public class RangeEquity {
+
+    public static final long DEFAULT_PREFLOP_SAMPLES = 2_000_000;
+
+    private static final int LEAF_RUNOUTS = 64;
+    private static final int LEAF_ROWS = 16;
+    private static final int LEAF_SAMPLES = 4096;
+
+    private final ForkJoinPool pool;
+
+    /** Матрица последнего стола */
+    private volatile BoardMatrix cached;
+
+    public RangeEquity() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public RangeEquity(ForkJoinPool pool) {
+        if (pool == null) throw new IllegalArgumentException("Pool cannot be null");
+        this.pool = pool;
+    }
+
+    public EquityResult calculate(HandRange hero, HandRange villain, List<Card> board, List<Card> dead) {
+        return calculate(hero, villain, board, dead, DEFAULT_PREFLOP_SAMPLES);
+    }
+
+    /**
+     * Эквити hero против villain при открытом board (например, {@code Round.getCommunityCards()})
+     * и известных мёртвых картах dead. preflopSamples — размер выборки, если стол ещё не открыт.
+     */
+    public EquityResult calculate(HandRange hero, HandRange villain, List<Card> board, List<Card> dead, long preflopSamples) {
+        if (hero == null || villain == null) throw new IllegalArgumentException("Ranges cannot be null");
+        if (board == null || dead == null) throw new IllegalArgumentException("Board or dead cards cannot be null");
+        if (hero.getDeckType() != villain.getDeckType()) throw new IllegalArgumentException("Ranges are built for different decks");
+        if (board.size() > 5) throw new IllegalArgumentException("Board cannot have more than 5 cards");
+        if (preflopSamples < 1) throw new IllegalArgumentException("Sample budget must be positive");
+
+        DeckType deckType = hero.getDeckType();
+        long boardMask = HandEvaluator.mask(board);
+        long deadMask = HandEvaluator.mask(dead);
+        long known = boardMask | deadMask;
+        long deck = HandEvaluator.mask(deckType);
+        if (Long.bitCount(known) != board.size() + dead.size() || (known & ~deck) != 0) {
+            throw new IllegalArgumentException("Duplicate cards or cards outside of the " + deckType.getShortName() + " deck");
+        }
+
+        HandRange.Combos heroCombos = hero.combos(known);
+        HandRange.Combos villainCombos = villain.combos(known);
+        if (heroCombos.size() == 0 || villainCombos.size() == 0) {
+            throw new IllegalArgumentException("Range is empty after removing dead cards");
+        }
+        if (board.size() < 3) {
+            return sample(heroCombos, villainCombos, boardMask, MonteCarloEquity.unpack(deck & ~known), preflopSamples);
+        }
+        return matrix(deckType, boardMask, deadMask).equity(heroCombos, villainCombos);
+    }
+
+    /** Матрица исходов для стола, строится заново только при смене стола или мёртвых карт */
+    BoardMatrix matrix(DeckType deckType, long board, long dead) {
+        BoardMatrix matrix = cached;
+        if (matrix != null && matrix.matches(deckType, board, dead)) return matrix;
+        synchronized (this) {
+            matrix = cached;
+            if (matrix == null || !matrix.matches(deckType, board, dead)) {
+                matrix = new BoardMatrix(deckType, board, dead);
+                matrix.build(pool);
+                cached = matrix;
+            }
+            return matrix;
+        }
+    }
+
+    // ================== ТОЧНЫЙ РАСЧЁТ ==================
+
+    /**
+     * Исходы всех пар живых комбинаций на всех досдачах стола. Для пары i < j хранится
+     * число побед i и ничьих (wins << 16 | ties); исход j против i выводится из него,
+     * так как число досдач для непересекающейся пары одно и то же.
+     */
+    static final class BoardMatrix {
+        private final DeckType deckType;
+        private final long board;
+        private final long dead;
+        private final long[] combos;
+        private final long[] runouts;
+        private final int pairRunouts;
+        private short[] ranks;
+        private int[] outcomes;
+
+        BoardMatrix(DeckType deckType, long board, long dead) {
+            this.deckType = deckType;
+            this.board = board;
+            this.dead = dead;
+            long[] live = MonteCarloEquity.unpack(HandEvaluator.mask(deckType) & ~board & ~dead);
+            this.combos = subsets(live, 2);
+            int missing = 5 - Long.bitCount(board);
+            this.runouts = subsets(live, missing);
+            this.pairRunouts = (int) ExactEquity.binomial(live.length - 4, missing);
+        }
+
+        boolean matches(DeckType deckType, long board, long dead) {
+            return this.deckType == deckType && this.board == board && this.dead == dead;
+        }
+
+        void build(ForkJoinPool pool) {
+            ranks = new short[combos.length * runouts.length];
+            pool.invoke(new RankTask(this, 0, runouts.length));
+            outcomes = new int[combos.length * combos.length];
+            pool.invoke(new PairTask(this, 0, combos.length));
+            ranks = null;
+        }
+
+        /** Ранги всех комбинаций на досдачах [from, to); 0 — комбинация пересекается с досдачей */
+        void rankRunouts(int from, int to) {
+            int n = combos.length;
+            long[] hands = new long[n];
+            short[] values = new short[n];
+            for (int r = from; r < to; r++) {
+                long full = board | runouts[r];
+                for (int i = 0; i < n; i++) hands[i] = full | combos[i];
+                BatchEvaluator.evaluateBatch(hands, values);
+                for (int i = 0; i < n; i++) {
+                    ranks[i * runouts.length + r] = (combos[i] & runouts[r]) == 0 ? values[i] : 0;
+                }
+            }
+        }
+
+        /** Строки матрицы [from, to) */
+        void comparePairs(int from, int to) {
+            int runoutCount = runouts.length;
+            for (int i = from; i < to; i++) {
+                int rowI = i * runoutCount;
+                for (int j = i + 1; j < combos.length; j++) {
+                    if ((combos[i] & combos[j]) != 0) continue;
+                    int rowJ = j * runoutCount;
+                    int wins = 0;
+                    int ties = 0;
+                    for (int r = 0; r < runoutCount; r++) {
+                        short a = ranks[rowI + r];
+                        short b = ranks[rowJ + r];
+                        if (a == 0 || b == 0) continue;
+                        if (a > b) wins++;
+                        else if (a == b) ties++;
+                    }
+                    outcomes[i * combos.length + j] = wins << 16 | ties;
+                }
+            }
+        }
+
+        EquityResult equity(HandRange.Combos hero, HandRange.Combos villain) {
+            int[] heroIndex = indexes(hero.masks());
+            int[] villainIndex = indexes(villain.masks());
+            long total = 0;
+            long wins = 0;
+            long ties = 0;
+            for (int h = 0; h < heroIndex.length; h++) {
+                for (int v = 0; v < villainIndex.length; v++) {
+                    if ((hero.masks()[h] & villain.masks()[v]) != 0) continue;
+                    long weight = (long) hero.weights()[h] * villain.weights()[v];
+                    int i = heroIndex[h];
+                    int j = villainIndex[v];
+                    int pairWins;
+                    int pairTies;
+                    if (i < j) {
+                        int outcome = outcomes[i * combos.length + j];
+                        pairWins = outcome >>> 16;
+                        pairTies = outcome & 0xFFFF;
+                    } else {
+                        int outcome = outcomes[j * combos.length + i];
+                        pairTies = outcome & 0xFFFF;
+                        pairWins = pairRunouts - (outcome >>> 16) - pairTies;
+                    }
+                    total += weight * pairRunouts;
+                    wins += weight * pairWins;
+                    ties += weight * pairTies;
+                }
+            }
+            return new EquityResult(total, wins, ties, total - wins - ties, ties / 2.0);
+        }
+
+        private int[] indexes(long[] masks) {
+            int[] indexes = new int[masks.length];
+            for (int i = 0; i < masks.length; i++) {
+                indexes[i] = Arrays.binarySearch(combos, masks[i]);
+            }
+            return indexes;
+        }
+    }
+
+    private static final class RankTask extends RecursiveAction {
+        private final BoardMatrix matrix;
+        private final int from;
+        private final int to;
+
+        RankTask(BoardMatrix matrix, int from, int to) {
+            this.matrix = matrix;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_RUNOUTS) {
+                matrix.rankRunouts(from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RankTask(matrix, from, middle), new RankTask(matrix, middle, to));
+        }
+    }
+
+    private static final class PairTask extends RecursiveAction {
+        private final BoardMatrix matrix;
+        private final int from;
+        private final int to;
+
+        PairTask(BoardMatrix matrix, int from, int to) {
+            this.matrix = matrix;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_ROWS) {
+                matrix.comparePairs(from, to);
+                return;
+            }
+            // Верхние строки длиннее нижних, поэтому делим не пополам, а по числу пар
+            int n = matrix.combos.length;
+            long pairs = pairsFrom(n, from) - pairsFrom(n, to);
+            int middle = from + 1;
+            while (middle < to - 1 && pairsFrom(n, from) - pairsFrom(n, middle) < pairs / 2) middle++;
+            invokeAll(new PairTask(matrix, from, middle), new PairTask(matrix, middle, to));
+        }
+
+        private static long pairsFrom(int n, int row) {
+            long rows = n - row;
+            return rows * (rows - 1) / 2;
+        }
+    }
+
+    /** Все подмножества размера k; маски идут по возрастанию */
+    private static long[] subsets(long[] cards, int k) {
+        long[] result = new long[(int) ExactEquity.binomial(cards.length, k)];
+        int[] positions = new int[k];
+        for (int i = 0; i < k; i++) positions[i] = i;
+        for (int s = 0; s < result.length; s++) {
+            long mask = 0L;
+            for (int position : positions) mask |= cards[position];
+            result[s] = mask;
+            int i = k - 1;
+            while (i >= 0 && positions[i] == cards.length - k + i) i--;
+            if (i < 0) break;
+            positions[i]++;
+            for (int j = i + 1; j < k; j++) positions[j] = positions[j - 1] + 1;
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    // ================== ВЫБОРКА ДО ФЛОПА ==================
+
+    private EquityResult sample(HandRange.Combos hero, HandRange.Combos villain, long board, long[] live, long samples) {
+        Sampler sampler = new Sampler(hero, villain, board, live, 5 - Long.bitCount(board));
+        return pool.invoke(new SampleTask(sampler, new SplittableRandom(), samples)).toResult();
+    }
+
+    /** Пары комбинаций выбираются пропорционально весам, досдача — из оставшихся карт */
+    private static final class Sampler {
+        final long[] heroMasks;
+        final long[] villainMasks;
+        final int[] heroCumulative;
+        final int[] villainCumulative;
+        final long board;
+        final long[] live;
+        final int missing;
+
+        Sampler(HandRange.Combos hero, HandRange.Combos villain, long board, long[] live, int missing) {
+            this.heroMasks = hero.masks();
+            this.villainMasks = villain.masks();
+            this.heroCumulative = cumulative(hero.weights());
+            this.villainCumulative = cumulative(villain.weights());
+            this.board = board;
+            this.live = live;
+            this.missing = missing;
+        }
+
+        Tally run(SplittableRandom random, long samples) {
+            long[] cards = live.clone();
+            Tally tally = new Tally();
+            long attempts = 0;
+            while (tally.samples < samples) {
+                if (++attempts > samples * 100 && tally.samples == 0) {
+                    throw new IllegalArgumentException("Ranges have no compatible combos");
+                }
+                long hero = heroMasks[pick(heroCumulative, random)];
+                long villain = villainMasks[pick(villainCumulative, random)];
+                if ((hero & villain) != 0) continue;
+                long used = hero | villain;
+                long fullBoard = board;
+                int dealt = 0;
+                for (int i = 0; dealt < missing; i++) {
+                    int j = i + random.nextInt(cards.length - i);
+                    long card = cards[j];
+                    cards[j] = cards[i];
+                    cards[i] = card;
+                    if ((card & used) != 0) continue;
+                    fullBoard |= card;
+                    dealt++;
+                }
+                int heroRank = HandEvaluator.evaluate(fullBoard | hero);
+                int villainRank = HandEvaluator.evaluate(fullBoard | villain);
+                tally.record(villainRank > heroRank, villainRank == heroRank ? 1 : 0);
+            }
+            return tally;
+        }
+
+        private static int[] cumulative(int[] weights) {
+            int[] cumulative = new int[weights.length];
+            int sum = 0;
+            for (int i = 0; i < weights.length; i++) {
+                sum += weights[i];
+                cumulative[i] = sum;
+            }
+            return cumulative;
+        }
+
+        private static int pick(int[] cumulative, SplittableRandom random) {
+            int index = Arrays.binarySearch(cumulative, random.nextInt(cumulative[cumulative.length - 1]) + 1);
+            return index >= 0 ? index : -index - 1;
+        }
+    }
+
+    private static final class SampleTask extends RecursiveTask<Tally> {
+        private final Sampler sampler;
+        private final SplittableRandom random;
+        private final long samples;
+
+        SampleTask(Sampler sampler, SplittableRandom random, long samples) {
+            this.sampler = sampler;
+            this.random = random;
+            this.samples = samples;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (samples <= LEAF_SAMPLES) {
+                return sampler.run(random, samples);
+            }
+            long half = samples / 2;
+            SampleTask left = new SampleTask(sampler, random.split(), half);
+            left.fork();
+            Tally right = new SampleTask(sampler, random, samples - half).compute();
+            return right.add(left.join());
+        }
+    }
+}
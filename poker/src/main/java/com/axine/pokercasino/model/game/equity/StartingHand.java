@@ -0,0 +1,88 @@
+package com.axine.pokercasino.model.game.equity;
+
+import com.axine.pokercasino.model.deck.Card;
+import com.axine.pokercasino.model.deck.CardSet;
+import com.axine.pokercasino.model.deck.card.Rank;
+import com.axine.pokercasino.model.deck.card.Suit;
+
+import java.util.List;
+
+/**
+ * Классы стартовых рук Холдема: 13 пар, 78 одномастных и 78 разномастных.
+ * Индекс — клетка сетки 13×13: пара на диагонали, одномастная рука hi*13+lo,
+ * разномастная — lo*13+hi (ранги считаются от двойки).
+ */
+public final class StartingHand {
+
+    public static final int COUNT = 169;
+
+    private static final Rank[] RANKS = Rank.values();
+
+    private StartingHand() {
+    }
+
+    public static int index(Card first, Card second) {
+        int a = first.getRank().ordinal();
+        int b = second.getRank().ordinal();
+        return index(RANKS[Math.max(a, b)], RANKS[Math.min(a, b)], first.getSuit() == second.getSuit());
+    }
+
+    public static int index(List<Card> hole) {
+        if (hole == null || hole.size() != 2) throw new IllegalArgumentException("Starting hand must have 2 cards");
+        return index(hole.get(0), hole.get(1));
+    }
+
+    /** Класс по маске двух карт {@link com.axine.pokercasino.model.deck.CardSet} */
+    public static int index(long hole) {
+        if (Long.bitCount(hole) != 2) throw new IllegalArgumentException("Starting hand must have 2 cards");
+        int first = Long.numberOfTrailingZeros(hole);
+        int second = 63 - Long.numberOfLeadingZeros(hole);
+        int shift = CardSet.SUIT_SHIFT;
+        return index(RANKS[first % shift], RANKS[second % shift], first / shift == second / shift);
+    }
+
+    public static int index(Rank high, Rank low, boolean suited) {
+        int hi = Math.max(high.ordinal(), low.ordinal());
+        int lo = Math.min(high.ordinal(), low.ordinal());
+        if (hi == lo && suited) throw new IllegalArgumentException("Pair cannot be suited");
+        return suited || hi == lo ? hi * 13 + lo : lo * 13 + hi;
+    }
+
+    public static Rank highRank(int index) {
+        return RANKS[Math.max(index / 13, index % 13)];
+    }
+
+    public static Rank lowRank(int index) {
+        return RANKS[Math.min(index / 13, index % 13)];
+    }
+
+    public static boolean isPair(int index) {
+        return index / 13 == index % 13;
+    }
+
+    public static boolean isSuited(int index) {
+        return index / 13 > index % 13;
+    }
+
+    /** Число комбинаций карт в классе: 6 для пары, 4 для одномастной, 12 для разномастной */
+    public static int combos(int index) {
+        return isPair(index) ? 6 : isSuited(index) ? 4 : 12;
+    }
+
+    /** Представитель класса: червы, для пар и разномастных вторая карта — бубны */
+    public static List<Card> representative(int index) {
+        Suit second = isSuited(index) ? Suit.HEARTS : Suit.DIAMONDS;
+        return List.of(Card.of(Suit.HEARTS, highRank(index)), Card.of(second, lowRank(index)));
+    }
+
+    /** Запись вида "AKs", "T9o", "77" */
+    public static String name(int index) {
+        String name = shortName(highRank(index)) + shortName(lowRank(index));
+        if (isPair(index)) return name;
+        return name + (isSuited(index) ? "s" : "o");
+    }
+
+    private static String shortName(Rank rank) {
+        return rank == Rank.TEN ? "T" : rank.getShortName();
+    }
+}
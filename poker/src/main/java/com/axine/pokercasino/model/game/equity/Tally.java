@@ -0,0 +1,44 @@
+package com.axine.pokercasino.model.game.equity;
+
+/** Счётчики исходов одного потока; сливаются после join без общих изменяемых данных */
+final class Tally {
+
+    long samples;
+    long wins;
+    long ties;
+    long losses;
+    double tieShare;
+
+    /** Учитывает исход раздачи: lost — кто-то из соперников сильнее, tied — сколько соперников вровень */
+    void record(boolean lost, int tied) {
+        samples++;
+        if (lost) {
+            losses++;
+        } else if (tied > 0) {
+            ties++;
+            tieShare += 1.0 / (tied + 1);
+        } else {
+            wins++;
+        }
+    }
+
+    Tally add(Tally other) {
+        samples += other.samples;
+        wins += other.wins;
+        ties += other.ties;
+        losses += other.losses;
+        tieShare += other.tieShare;
+        return this;
+    }
+
+    /** Полуширина 95% доверительного интервала доли банка */
+    double halfWidth() {
+        if (samples == 0) return 1.0;
+        double equity = (wins + tieShare) / samples;
+        return 1.96 * Math.sqrt(equity * (1 - equity) / samples);
+    }
+
+    EquityResult toResult() {
+        return new EquityResult(samples, wins, ties, losses, tieShare);
+    }
+}
@@ -0,0 +1,29 @@
+package com.axine.pokercasino.model.game.equity;
+
+import com.axine.pokercasino.model.game.Round;
+import com.axine.pokercasino.model.game.games.OmahaHoldemRound;
+
+public enum Variant {
+    TEXAS_HOLDEM(2, 2),
+    OMAHA_HOLDEM(4, 6);
+
+    private final int minHoleCards;
+    private final int maxHoleCards;
+
+    Variant(int minHoleCards, int maxHoleCards) {
+        this.minHoleCards = minHoleCards;
+        this.maxHoleCards = maxHoleCards;
+    }
+
+    public int getMinHoleCards() {
+        return minHoleCards;
+    }
+
+    public int getMaxHoleCards() {
+        return maxHoleCards;
+    }
+
+    public static Variant of(Round round) {
+        return round instanceof OmahaHoldemRound ? OMAHA_HOLDEM : TEXAS_HOLDEM;
+    }
+}
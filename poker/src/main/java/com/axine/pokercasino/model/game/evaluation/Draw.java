@@ -0,0 +1,11 @@
+package com.axine.pokercasino.model.game.evaluation;
+
+public enum Draw {
+    FLUSH_DRAW,
+    OPEN_ENDED,
+    GUTSHOT;
+
+    int flag() {
+        return 1 << ordinal();
+    }
+}
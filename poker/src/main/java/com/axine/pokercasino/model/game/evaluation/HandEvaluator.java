@@ -0,0 +1,173 @@
+package com.axine.pokercasino.model.game.evaluation;
+
+import com.axine.pokercasino.model.deck.Card;
+import com.axine.pokercasino.model.deck.CardSet;
+import com.axine.pokercasino.model.deck.DeckType;
+import com.axine.pokercasino.model.deck.card.Suit;
+
+import java.util.List;
+
+/**
+ * Табличный оценщик руки. Карта кодируется одним битом в long, как в {@link CardSet}:
+ * масть занимает 16 бит (13 используются), ранг — позицию внутри масти.
+ * Рука любого размера (5, 6, 7 и больше карт) — это OR битов карт,
+ * оценка идёт без перебора подмножеств и без выделения памяти.
+ * Результат — плотный ранг {@link HandRank} от 1 до 7462.
+ */
+public final class HandEvaluator {
+
+    public static final int SUIT_SHIFT = CardSet.SUIT_SHIFT;
+    public static final int RANK_MASK = 0x1FFF;
+
+    /** Старшая карта стрита (2..14) по маске рангов, 0 — стрита нет */
+    private static final byte[] STRAIGHT_HIGH = new byte[RANK_MASK + 1];
+
+    /** Номер маски среди масок с тем же числом бит, по возрастанию */
+    private static final short[] COLEX = new short[RANK_MASK + 1];
+
+    /** Номер пяти старших рангов маски среди 1277 наборов без стрита, по возрастанию */
+    private static final short[] HIGH_CARDS = new short[RANK_MASK + 1];
+
+    static {
+        int[] seen = new int[14];
+        int highCards = 0;
+        for (int mask = 0; mask <= RANK_MASK; mask++) {
+            STRAIGHT_HIGH[mask] = (byte) findStraightHigh(mask);
+            COLEX[mask] = (short) seen[Integer.bitCount(mask)]++;
+            if (Integer.bitCount(mask) == 5 && STRAIGHT_HIGH[mask] == 0) {
+                HIGH_CARDS[mask] = (short) highCards++;
+            }
+        }
+        for (int mask = 0; mask <= RANK_MASK; mask++) {
+            if (Integer.bitCount(mask) > 5) {
+                HIGH_CARDS[mask] = HIGH_CARDS[keepHighest(mask, 5)];
+            }
+        }
+    }
+
+    private HandEvaluator() {
+    }
+
+    /** Бит карты в маске руки */
+    public static long mask(Card card) {
+        return card.getMask();
+    }
+
+    /** Маска набора карт */
+    public static long mask(List<Card> cards) {
+        return CardSet.mask(cards);
+    }
+
+    /** Маска всех карт колоды */
+    public static long mask(DeckType deckType) {
+        int suitRanks = RANK_MASK & -(1 << deckType.getLowestRank().getValue() - 2);
+        long mask = 0L;
+        for (int suit = 0; suit < Suit.values().length; suit++) {
+            mask |= (long) suitRanks << suit * SUIT_SHIFT;
+        }
+        return mask;
+    }
+
+    /** Ранг лучшей пятикарточной комбинации из списка карт (чем больше, тем сильнее) */
+    public static int evaluate(List<Card> cards) {
+        return evaluate(mask(cards));
+    }
+
+    /** Ранг лучшей пятикарточной комбинации из маски карт (чем больше, тем сильнее) */
+    public static int evaluate(long cards) {
+        int hearts = (int) cards & RANK_MASK;
+        int diamonds = (int) (cards >>> SUIT_SHIFT) & RANK_MASK;
+        int clubs = (int) (cards >>> 2 * SUIT_SHIFT) & RANK_MASK;
+        int spades = (int) (cards >>> 3 * SUIT_SHIFT) & RANK_MASK;
+
+        int flush = Math.max(Math.max(flushRank(hearts), flushRank(diamonds)),
+                Math.max(flushRank(clubs), flushRank(spades)));
+        if (flush > HandRank.STRAIGHT_FLUSH) return flush;
+
+        int any = hearts | diamonds | clubs | spades;
+        int two = (hearts & diamonds) | (hearts & clubs) | (hearts & spades)
+                | (diamonds & clubs) | (diamonds & spades) | (clubs & spades);
+        int three = (hearts & diamonds & clubs) | (hearts & diamonds & spades)
+                | (hearts & clubs & spades) | (diamonds & clubs & spades);
+        int four = hearts & diamonds & clubs & spades;
+
+        if (four != 0) {
+            int quad = Integer.highestOneBit(four);
+            return HandRank.QUADS + 1 + index(quad) * 12 + skip(index(Integer.highestOneBit(any & ~quad)), quad);
+        }
+
+        if (three != 0) {
+            int trips = Integer.highestOneBit(three);
+            int pair = two & ~trips;
+            if (pair != 0) {
+                return HandRank.FULL_HOUSE + 1 + index(trips) * 12 + skip(index(Integer.highestOneBit(pair)), trips);
+            }
+        }
+
+        if (flush != 0) return flush;
+
+        int straight = STRAIGHT_HIGH[any];
+        if (straight != 0) return HandRank.STRAIGHT + straight - 4;
+
+        if (three != 0) {
+            int trips = Integer.highestOneBit(three);
+            int kickers = keepHighest(any & ~trips, 2);
+            return HandRank.THREE_OF_A_KIND + 1 + index(trips) * 66 + COLEX[remove(kickers, trips)];
+        }
+
+        if (two != 0) {
+            int high = Integer.highestOneBit(two);
+            int low = Integer.highestOneBit(two & ~high);
+            if (low != 0) {
+                int pairs = high | low;
+                int kicker = index(Integer.highestOneBit(any & ~pairs));
+                kicker -= Integer.bitCount(pairs & ((1 << kicker) - 1));
+                return HandRank.TWO_PAIR + 1 + COLEX[pairs] * 11 + kicker;
+            }
+            int kickers = keepHighest(any & ~high, 3);
+            return HandRank.ONE_PAIR + 1 + index(high) * 220 + COLEX[remove(kickers, high)];
+        }
+
+        return HandRank.HIGH_CARD + 1 + HIGH_CARDS[any];
+    }
+
+    // ================== ВСПОМОГАТЕЛЬНЫЕ ==================
+
+    private static int flushRank(int suitRanks) {
+        if (Integer.bitCount(suitRanks) < 5) return 0;
+        int straight = STRAIGHT_HIGH[suitRanks];
+        if (straight != 0) return HandRank.STRAIGHT_FLUSH + straight - 4;
+        return HandRank.FLUSH + 1 + HIGH_CARDS[suitRanks];
+    }
+
+    private static int index(int bit) {
+        return Integer.numberOfTrailingZeros(bit);
+    }
+
+    /** Позиция ранга среди 12 оставшихся после исключения ранга excluded */
+    private static int skip(int rank, int excluded) {
+        return (1 << rank) > excluded ? rank - 1 : rank;
+    }
+
+    /** Убирает из маски бит excluded, сдвигая старшие биты вниз */
+    private static int remove(int ranks, int excluded) {
+        int below = excluded - 1;
+        return (ranks & below) | ((ranks >>> 1) & ~below);
+    }
+
+    private static int keepHighest(int ranks, int count) {
+        while (Integer.bitCount(ranks) > count) {
+            ranks &= ranks - 1;
+        }
+        return ranks;
+    }
+
+    private static int findStraightHigh(int ranks) {
+        for (int high = 12; high >= 4; high--) {
+            int run = 0x1F << (high - 4);
+            if ((ranks & run) == run) return high + 2;
+        }
+        int wheel = 0x100F; // A-2-3-4-5
+        return (ranks & wheel) == wheel ? 5 : 0;
+    }
+}
@@ -0,0 +1,54 @@
+package com.axine.pokercasino.model.game.evaluation;
+
+import com.axine.pokercasino.model.game.Combination;
+
+/**
+ * Плотный ранг руки: номер класса эквивалентности пятикарточной руки от 1 (7-5-4-3-2)
+ * до 7462 (роял-флеш). Равные руки имеют равный ранг, более сильные — больший,
+ * поэтому руки сравниваются обычным сравнением int. Ранг помещается в short,
+ * что позволяет хранить силы рук в short[] для расчётов эквити и симуляций.
+ * Константы категорий — последний ранг предыдущей категории.
+ */
+public final class HandRank {
+
+    public static final int CLASSES = 7462;
+
+    public static final int HIGH_CARD = 0;
+    public static final int ONE_PAIR = 1277;
+    public static final int TWO_PAIR = 4137;
+    public static final int THREE_OF_A_KIND = 4995;
+    public static final int STRAIGHT = 5853;
+    public static final int FLUSH = 5863;
+    public static final int FULL_HOUSE = 7140;
+    public static final int QUADS = 7296;
+    public static final int STRAIGHT_FLUSH = 7452;
+    public static final int ROYAL_FLUSH = CLASSES;
+
+    /** Первые ранги категорий в порядке {@link Combination} */
+    private static final int[] CATEGORY_START = {
+            HIGH_CARD + 1, ONE_PAIR + 1, TWO_PAIR + 1, THREE_OF_A_KIND + 1, STRAIGHT + 1,
+            FLUSH + 1, FULL_HOUSE + 1, QUADS + 1, STRAIGHT_FLUSH + 1, ROYAL_FLUSH
+    };
+
+    private static final Combination[] COMBINATIONS = Combination.values();
+
+    private HandRank() {
+    }
+
+    /** Комбинация по диапазону ранга */
+    public static Combination combination(int rank) {
+        if (rank < 1 || rank > CLASSES) {
+            throw new IllegalArgumentException("Hand rank out of range: " + rank);
+        }
+        int category = CATEGORY_START.length - 1;
+        while (rank < CATEGORY_START[category]) {
+            category--;
+        }
+        return COMBINATIONS[category];
+    }
+
+    /** Сравнение рук: положительное, если первая сильнее */
+    public static int compare(int rank, int otherRank) {
+        return rank - otherRank;
+    }
+}
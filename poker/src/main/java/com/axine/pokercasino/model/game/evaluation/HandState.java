@@ -0,0 +1,180 @@
+package com.axine.pokercasino.model.game.evaluation;
+
+import com.axine.pokercasino.model.deck.Card;
+import com.axine.pokercasino.model.deck.card.Rank;
+import com.axine.pokercasino.model.deck.card.Suit;
+import com.axine.pokercasino.model.game.Combination;
+
+import java.util.List;
+
+/**
+ * Состояние руки игрока, которое обновляется по мере раздачи карт: маски карт,
+ * счётчики рангов и мастей, лучшая собранная рука и дро. Каждое добавление карты —
+ * O(1), лучшая рука и дро пересчитываются один раз на улицу, а читаются без вычислений.
+ * Для Омахи лучшая рука собирается ровно из двух карт руки и трёх карт стола.
+ */
+public final class HandState {
+
+    private final OmahaEvaluator omaha;
+
+    private long hole;
+    private long board;
+    private int holeCount;
+    private int boardCount;
+    /** По 3 бита на ранг */
+    private long rankCounts;
+    /** По 4 бита на масть */
+    private int suitCounts;
+    private int best;
+    private int draws;
+
+    private HandState(OmahaEvaluator omaha) {
+        this.omaha = omaha;
+    }
+
+    public static HandState texasHoldem() {
+        return new HandState(null);
+    }
+
+    public static HandState omahaHoldem() {
+        return new HandState(new OmahaEvaluator());
+    }
+
+    public void reset() {
+        hole = board = 0L;
+        holeCount = boardCount = 0;
+        rankCounts = 0L;
+        suitCounts = 0;
+        best = draws = 0;
+    }
+
+    public void addHole(List<Card> cards) {
+        for (int i = 0; i < cards.size(); i++) {
+            long bit = add(cards.get(i));
+            hole |= bit;
+            holeCount++;
+        }
+        refresh();
+    }
+
+    /** Добавляет открытые карты улицы (флоп, тёрн или ривер) */
+    public void addBoard(List<Card> cards) {
+        for (int i = 0; i < cards.size(); i++) {
+            long bit = add(cards.get(i));
+            board |= bit;
+            boardCount++;
+        }
+        refresh();
+    }
+
+    public long getHoleMask() {
+        return hole;
+    }
+
+    public long getBoardMask() {
+        return board;
+    }
+
+    public int getBoardCount() {
+        return boardCount;
+    }
+
+    public int getRankCount(Rank rank) {
+        return (int) (rankCounts >>> 3 * rank.ordinal()) & 0x7;
+    }
+
+    public int getSuitCount(Suit suit) {
+        return suitCounts >>> 4 * suit.ordinal() & 0xF;
+    }
+
+    /** Собрана ли уже пятикарточная рука */
+    public boolean isMade() {
+        return best != 0;
+    }
+
+    /** Ранг лучшей руки ({@link HandRank}), 0 — рука ещё не собрана */
+    public int getBestRank() {
+        return best;
+    }
+
+    /** Лучшая комбинация, null — рука ещё не собрана */
+    public Combination getCombination() {
+        return best == 0 ? null : HandRank.combination(best);
+    }
+
+    public boolean hasDraw(Draw draw) {
+        return (draws & draw.flag()) != 0;
+    }
+
+    public boolean hasAnyDraw() {
+        return draws != 0;
+    }
+
+    // ================== ВСПОМОГАТЕЛЬНЫЕ ==================
+
+    private long add(Card card) {
+        long bit = HandEvaluator.mask(card);
+        if (((hole | board) & bit) != 0) throw new IllegalArgumentException("Card is already in hand state");
+        rankCounts += 1L << 3 * card.getRank().ordinal();
+        suitCounts += 1 << 4 * card.getSuit().ordinal();
+        return bit;
+    }
+
+    private void refresh() {
+        best = rate(board);
+        draws = boardCount == 3 || boardCount == 4 ? findDraws() : 0;
+    }
+
+    private int rate(long withBoard) {
+        if (omaha == null) {
+            return Long.bitCount(hole | withBoard) >= 5 ? HandEvaluator.evaluate(hole | withBoard) : 0;
+        }
+        int cards = Long.bitCount(withBoard);
+        if (holeCount < OmahaEvaluator.MIN_HOLE_CARDS || holeCount > OmahaEvaluator.MAX_HOLE_CARDS
+                || cards < OmahaEvaluator.MIN_BOARD_CARDS || cards > OmahaEvaluator.MAX_BOARD_CARDS) {
+            return 0;
+        }
+        return omaha.evaluate(hole, withBoard);
+    }
+
+    /** Дро ищется добавлением одной гипотетической карты к столу */
+    private int findDraws() {
+        int flags = 0;
+        int presentRanks = 0;
+        int fewestSuit = 0;
+        int fewestOnBoard = Integer.MAX_VALUE;
+        for (int suit = 0; suit < 4; suit++) {
+            int shift = suit * HandEvaluator.SUIT_SHIFT;
+            presentRanks |= (int) ((hole | board) >>> shift) & HandEvaluator.RANK_MASK;
+            int onBoard = Integer.bitCount((int) (board >>> shift) & HandEvaluator.RANK_MASK);
+            if (onBoard < fewestOnBoard) {
+                fewestOnBoard = onBoard;
+                fewestSuit = suit;
+            }
+        }
+
+        if (best <= HandRank.FLUSH) {
+            // карта нового ранга не создаёт пар, поэтому рост до флеша и выше — это флеш-дро
+            int freshRank = Integer.numberOfTrailingZeros(~presentRanks & HandEvaluator.RANK_MASK);
+            for (int suit = 0; suit < 4; suit++) {
+                if (rate(board | 1L << suit * HandEvaluator.SUIT_SHIFT + freshRank) > HandRank.FLUSH) {
+                    flags |= Draw.FLUSH_DRAW.flag();
+                    break;
+                }
+            }
+        }
+
+        if (best <= HandRank.STRAIGHT) {
+            // карта самой редкой на столе масти не собирает флеш, поэтому рост до стрита — это стрит-дро
+            int outs = 0;
+            for (int rank = 0; rank < 13; rank++) {
+                if ((presentRanks & 1 << rank) != 0) continue;
+                int value = rate(board | 1L << fewestSuit * HandEvaluator.SUIT_SHIFT + rank);
+                if (value > HandRank.STRAIGHT && value <= HandRank.FLUSH) outs++;
+            }
+            if (outs >= 2) flags |= Draw.OPEN_ENDED.flag();
+            else if (outs == 1) flags |= Draw.GUTSHOT.flag();
+        }
+        return flags;
+    }
+}
@@ -0,0 +1,95 @@
+package com.axine.pokercasino.model.game.evaluation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongFunction;
+
+/**
+ * Ограниченный кэш результатов по индексу {@link SuitIsomorphism}: эквити, стратегии,
+ * текстуры стола считаются один раз на класс изоморфных ситуаций. Ключи делятся на
+ * сегменты с отдельной блокировкой; внутри сегмента вытесняется давно не читанное.
+ * Значение считается вне блокировки, поэтому при гонке может посчитаться дважды.
+ */
+public final class IsomorphicCache<V> {
+
+    private static final int SEGMENTS = 16;
+
+    private final Segment<V>[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public IsomorphicCache(int capacity) {
+        if (capacity < SEGMENTS) throw new IllegalArgumentException("Capacity must be at least " + SEGMENTS);
+        segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment<>(capacity / SEGMENTS);
+        }
+    }
+
+    /** Значение по индексу; при промахе считается через loader и запоминается */
+    public V get(long index, LongFunction<V> loader) {
+        V value = getIfPresent(index);
+        if (value != null) return value;
+        value = loader.apply(index);
+        if (value != null) put(index, value);
+        return value;
+    }
+
+    public V getIfPresent(long index) {
+        Segment<V> segment = segment(index);
+        V value;
+        synchronized (segment) {
+            value = segment.get(index);
+        }
+        if (value != null) hits.increment();
+        else misses.increment();
+        return value;
+    }
+
+    public void put(long index, V value) {
+        if (value == null) throw new IllegalArgumentException("Value cannot be null");
+        Segment<V> segment = segment(index);
+        synchronized (segment) {
+            segment.put(index, value);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private Segment<V> segment(long index) {
+        long hash = index * 0x9E3779B97F4A7C15L;
+        return segments[(int) (hash >>> 60)];
+    }
+
+    private static final class Segment<V> extends LinkedHashMap<Long, V> {
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, V> eldest) {
+            return size() > capacity;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.axine.pokercasino.model.game.evaluation;
+
+/**
+ * Оценщик Омахи: ровно две карты с руки и ровно три со стола.
+ * Перебор 2 из 4..6 и 3 из 3..5 идёт по заранее посчитанным таблицам индексов
+ * над масками карт, без списков. Экземпляр хранит буферы и тройки стола
+ * последнего борда, поэтому не потокобезопасен — по одному на поток или раунд.
+ */
+public final class OmahaEvaluator {
+
+    public static final int MIN_HOLE_CARDS = 4;
+    public static final int MAX_HOLE_CARDS = 6;
+    public static final int MIN_BOARD_CARDS = 3;
+    public static final int MAX_BOARD_CARDS = 5;
+
+    /** Пары индексов карт руки, по размеру руки: [i0, j0, i1, j1, ...] */
+    private static final int[][] HOLE_PAIRS = new int[MAX_HOLE_CARDS + 1][];
+
+    /** Тройки индексов карт стола, по размеру стола: [a0, b0, c0, a1, ...] */
+    private static final int[][] BOARD_TRIPLES = new int[MAX_BOARD_CARDS + 1][];
+
+    static {
+        for (int n = MIN_HOLE_CARDS; n <= MAX_HOLE_CARDS; n++) {
+            HOLE_PAIRS[n] = indexCombinations(n, 2);
+        }
+        for (int n = MIN_BOARD_CARDS; n <= MAX_BOARD_CARDS; n++) {
+            BOARD_TRIPLES[n] = indexCombinations(n, 3);
+        }
+    }
+
+    private final long[] hole = new long[MAX_HOLE_CARDS];
+    private final long[] boardCards = new long[MAX_BOARD_CARDS];
+    private final long[] boardTriples = new long[10];
+    private int boardTripleCount;
+    private long board = -1L;
+
+    /** Сила лучшей руки Омахи по маскам карт руки и стола (чем больше, тем сильнее) */
+    public int evaluate(long holeMask, long boardMask) {
+        int holeCount = unpack(holeMask, hole);
+        if (holeCount < MIN_HOLE_CARDS || holeCount > MAX_HOLE_CARDS) {
+            throw new IllegalArgumentException("Omaha hand must have 4 to 6 cards, got " + holeCount);
+        }
+        if (boardMask != board) {
+            prepareBoard(boardMask);
+        }
+
+        int[] pairs = HOLE_PAIRS[holeCount];
+        int best = 0;
+        for (int p = 0; p < pairs.length; p += 2) {
+            long pair = hole[pairs[p]] | hole[pairs[p + 1]];
+            for (int t = 0; t < boardTripleCount; t++) {
+                int value = HandEvaluator.evaluate(pair | boardTriples[t]);
+                if (value > best) best = value;
+            }
+        }
+        return best;
+    }
+
+    private void prepareBoard(long boardMask) {
+        int boardCount = unpack(boardMask, boardCards);
+        if (boardCount < MIN_BOARD_CARDS || boardCount > MAX_BOARD_CARDS) {
+            throw new IllegalArgumentException("Omaha board must have 3 to 5 cards, got " + boardCount);
+        }
+        int[] triples = BOARD_TRIPLES[boardCount];
+        boardTripleCount = triples.length / 3;
+        for (int t = 0, i = 0; t < boardTripleCount; t++, i += 3) {
+            boardTriples[t] = boardCards[triples[i]] | boardCards[triples[i + 1]] | boardCards[triples[i + 2]];
+        }
+        board = boardMask;
+    }
+
+    /** Раскладывает маску на отдельные карты; возвращает их число (может превышать размер буфера) */
+    private static int unpack(long mask, long[] cards) {
+        int count = Long.bitCount(mask);
+        if (count > cards.length) return count;
+        for (int i = 0; mask != 0; i++) {
+            long card = mask & -mask;
+            cards[i] = card;
+            mask ^= card;
+        }
+        return count;
+    }
+
+    private static int[] indexCombinations(int n, int k) {
+        int total = 1;
+        for (int i = 0; i < k; i++) {
+            total = total * (n - i) / (i + 1);
+        }
+        int[] result = new int[total * k];
+        int[] current = new int[k];
+        for (int i = 0; i < k; i++) current[i] = i;
+        for (int c = 0; c < total; c++) {
+            System.arraycopy(current, 0, result, c * k, k);
+            int i = k - 1;
+            while (i >= 0 && current[i] == n - k + i) i--;
+            if (i < 0) break;
+            current[i]++;
+            for (int j = i + 1; j < k; j++) current[j] = current[j - 1] + 1;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,149 @@
+package com.axine.pokercasino.model.game.evaluation;
+
+import com.axine.pokercasino.model.deck.Card;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Канонизация ситуаций с точностью до перестановки мастей. Масти упорядочиваются
+ * по убыванию пары (ранги масти в руке, ранги масти на столе) и переименовываются
+ * в этом порядке, поэтому изоморфные ситуации дают одинаковые канонические маски.
+ * Индекс ситуации упаковывает colex-номера канонической руки и стола в long;
+ * для флопов есть плотная нумерация 0..1754.
+ */
+public final class SuitIsomorphism {
+
+    public static final int FLOPS = 1755;
+
+    private static final int CARDS = 52;
+    private static final int MAX_CARDS = 6;
+    private static final int BOARD_BITS = 22;
+    private static final int HOLE_BITS = 25;
+
+    /** BINOMIAL[n][k] для n до 52 и k до 6 */
+    private static final int[][] BINOMIAL = new int[CARDS + 1][MAX_CARDS + 1];
+
+    /** Плотный номер класса флопа по colex-номеру флопа */
+    private static final short[] FLOP_IDS;
+
+    static {
+        for (int n = 0; n <= CARDS; n++) {
+            BINOMIAL[n][0] = 1;
+            for (int k = 1; k <= Math.min(n, MAX_CARDS); k++) {
+                BINOMIAL[n][k] = BINOMIAL[n - 1][k - 1] + BINOMIAL[n - 1][k];
+            }
+        }
+        FLOP_IDS = new short[BINOMIAL[CARDS][3]];
+        int[] canonical = new int[FLOP_IDS.length];
+        for (int a = 2; a < CARDS; a++) {
+            for (int b = 1; b < a; b++) {
+                for (int c = 0; c < b; c++) {
+                    long flop = Card.of(a).getMask() | Card.of(b).getMask() | Card.of(c).getMask();
+                    canonical[colex(flop)] = colex(canonicalBoard(flop));
+                }
+            }
+        }
+        int[] distinct = Arrays.stream(canonical).distinct().sorted().toArray();
+        for (int flop = 0; flop < canonical.length; flop++) {
+            FLOP_IDS[flop] = (short) Arrays.binarySearch(distinct, canonical[flop]);
+        }
+    }
+
+    private SuitIsomorphism() {
+    }
+
+    /** Индекс ситуации (карты на руках, стол); равен для ситуаций, отличающихся только мастями */
+    public static long index(List<Card> hole, List<Card> board) {
+        return index(HandEvaluator.mask(hole), HandEvaluator.mask(board));
+    }
+
+    /** Индекс по маскам {@link HandEvaluator}: до 6 карт на руках и до 5 на столе, 53 младших бита */
+    public static long index(long hole, long board) {
+        int holeCount = Long.bitCount(hole);
+        int boardCount = Long.bitCount(board);
+        if (holeCount > MAX_CARDS || boardCount > 5) {
+            throw new IllegalArgumentException("Too many cards: " + holeCount + " in hand, " + boardCount + " on board");
+        }
+        if ((hole & board) != 0) throw new IllegalArgumentException("Hand and board share a card");
+        int order = suitOrder(hole, board);
+        long canonicalHole = permute(hole, order);
+        long canonicalBoard = permute(board, order);
+        return ((long) (holeCount << 3 | boardCount) << HOLE_BITS | colex(canonicalHole)) << BOARD_BITS
+                | colex(canonicalBoard);
+    }
+
+    /** Плотный номер флопа среди {@value #FLOPS} неизоморфных */
+    public static int flopIndex(List<Card> flop) {
+        if (flop == null || flop.size() != 3) throw new IllegalArgumentException("Flop must have 3 cards");
+        return flopIndex(HandEvaluator.mask(flop));
+    }
+
+    public static int flopIndex(long flop) {
+        if (Long.bitCount(flop) != 3) throw new IllegalArgumentException("Flop must have 3 cards");
+        return FLOP_IDS[colex(flop)];
+    }
+
+    /** Каноническая маска стола без учёта карт на руках */
+    public static long canonicalBoard(long board) {
+        return permute(board, suitOrder(0L, board));
+    }
+
+    /** Маска cards в перестановке мастей, которая канонизирует сам стол board (как {@link #canonicalBoard}) */
+    public static long inBoardFrame(long cards, long board) {
+        return permute(cards, suitOrder(0L, board));
+    }
+
+    /** Каноническая маска руки в той же перестановке мастей, что и для стола */
+    public static long canonicalHole(long hole, long board) {
+        return permute(hole, suitOrder(hole, board));
+    }
+
+    // ================== ВСПОМОГАТЕЛЬНЫЕ ==================
+
+    /**
+     * Порядок мастей по убыванию ключа (ранги в руке, ранги на столе): по 2 бита на
+     * позицию, младшие — масть, которая станет первой
+     */
+    private static int suitOrder(long hole, long board) {
+        long a = suitKey(hole, board, 0);
+        long b = suitKey(hole, board, 1);
+        long c = suitKey(hole, board, 2);
+        long d = suitKey(hole, board, 3);
+        long t;
+        // Сеть сортировки из пяти сравнений, по убыванию
+        if (a < b) { t = a; a = b; b = t; }
+        if (c < d) { t = c; c = d; d = t; }
+        if (a < c) { t = a; a = c; c = t; }
+        if (b < d) { t = b; b = d; d = t; }
+        if (b < c) { t = b; b = c; c = t; }
+        return (int) (a & 3) | (int) (b & 3) << 2 | (int) (c & 3) << 4 | (int) (d & 3) << 6;
+    }
+
+    private static long suitKey(long hole, long board, int suit) {
+        long holeRanks = hole >>> suit * HandEvaluator.SUIT_SHIFT & HandEvaluator.RANK_MASK;
+        long boardRanks = board >>> suit * HandEvaluator.SUIT_SHIFT & HandEvaluator.RANK_MASK;
+        return (holeRanks << 13 | boardRanks) << 2 | suit;
+    }
+
+    private static long permute(long cards, int order) {
+        long result = 0L;
+        for (int position = 0; position < 4; position++) {
+            int suit = order >>> position * 2 & 3;
+            long ranks = cards >>> suit * HandEvaluator.SUIT_SHIFT & HandEvaluator.RANK_MASK;
+            result |= ranks << position * HandEvaluator.SUIT_SHIFT;
+        }
+        return result;
+    }
+
+    /** colex-номер набора карт по кодам {@link Card#getCode()} среди наборов того же размера */
+    private static int colex(long cards) {
+        int index = 0;
+        for (int k = 1; cards != 0; k++) {
+            int bit = Long.numberOfTrailingZeros(cards);
+            index += BINOMIAL[bit / HandEvaluator.SUIT_SHIFT * 13 + bit % HandEvaluator.SUIT_SHIFT][k];
+            cards &= cards - 1;
+        }
+        return index;
+    }
+}
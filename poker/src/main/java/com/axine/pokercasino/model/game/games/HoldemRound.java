@@ -0,0 +1,549 @@
+package com.axine.pokercasino.model.game.games;
+
+import com.axine.pokercasino.model.deck.Card;
+import com.axine.pokercasino.model.deck.CardSet;
+import com.axine.pokercasino.model.deck.Deck;
+import com.axine.pokercasino.model.deck.DeckType;
+import com.axine.pokercasino.model.game.Round;
+import com.axine.pokercasino.model.game.RoundListener;
+import com.axine.pokercasino.model.game.Stage;
+import com.axine.pokercasino.model.game.evaluation.HandState;
+import com.axine.pokercasino.model.player.Event;
+import com.axine.pokercasino.model.player.Player;
+import com.axine.pokercasino.model.player.PlayerAction;
+import com.axine.pokercasino.model.player.players.HumanPlayer;
+
+import java.util.*;
+
+/**
+ * Общее ядро раундов Холдема и Омахи. Состояние ставок хранится по номерам мест:
+ * ставки улицы — int[], походившие, сбросившие, не уравнявшие и олл-ин — битовые маски long,
+ * число оставшихся в раздаче — счётчик. Поэтому очередь хода, завершение круга ставок
+ * и завершение раунда проверяются за O(1) и без выделения памяти, а игроки и ставки
+ * отдаются представлениями только для чтения, без копий. Мест не больше 64.
+ * Игрок без фишек (олл-ин) больше не ходит и не мешает завершить круг ставок.
+ */
+public abstract class HoldemRound implements Round {
+
+    public static final int MAX_SEATS = Long.SIZE;
+
+    private final List<Player> players;
+    private final List<Player> playersView;
+    private final Map<Player, Integer> seats;
+    private final Map<Player, Integer> betsView;
+    private final long seatMask;
+    private final Deck deck;
+    private final int smallBlind;
+    private final int bigBlind;
+    private final int[] bets;
+    private final HandState[] handStates;
+    private final List<RoundListener> listeners = new ArrayList<>();
+    private List<Card> desk;
+    private long deskMask;
+    private int sharedBank;
+    private int currentBet;
+    private long acted;
+    private long folded;
+    private long unmatched;
+    private long allIn;
+    private int activeCount;
+    private Stage stage;
+    private int dealerPos;
+    private int currentPlayerIndex;
+    private boolean potDistributed;
+
+    protected HoldemRound(List<Player> players, Deck deck, int smallBlind, int bigBlind) {
+        if (players == null || deck == null) throw new IllegalArgumentException("Players or deck cannot be null");
+        if (players.size() < 2) throw new IllegalArgumentException("At least 2 players required");
+        if (players.size() > MAX_SEATS) throw new IllegalArgumentException("At most " + MAX_SEATS + " players supported");
+        this.players = new ArrayList<>(players);
+        this.playersView = Collections.unmodifiableList(this.players);
+        this.seats = new IdentityHashMap<>();
+        for (int seat = 0; seat < this.players.size(); seat++) {
+            seats.put(this.players.get(seat), seat);
+        }
+        this.betsView = new BetsView();
+        this.seatMask = this.players.size() == MAX_SEATS ? -1L : (1L << this.players.size()) - 1;
+        this.deck = deck;
+        this.desk = new ArrayList<>();
+        this.bets = new int[this.players.size()];
+        this.handStates = new HandState[this.players.size()];
+        this.activeCount = this.players.size();
+        this.dealerPos = 0;
+        this.currentPlayerIndex = 0;
+        this.smallBlind = smallBlind;
+        this.bigBlind = bigBlind;
+    }
+
+    /** Число карт на руках */
+    protected abstract int holeCards();
+
+    protected abstract HandState newHandState();
+
+    /** Сила руки на вскрытии (больше — сильнее); -1 — рука не участвует */
+    protected abstract int showdownValue(Player player, HandState state);
+
+    @Override
+    public void startRound() {
+        if (deck.getCardsCount() < players.size() * holeCards() + 5) {
+            throw new IllegalStateException("Not enough cards in deck");
+        }
+        for (RoundListener listener : listeners) {
+            listener.onRoundStart(this);
+        }
+        deck.shuffle();
+        sharedBank = 0;
+        currentBet = 0;
+        potDistributed = false;
+        Arrays.fill(bets, 0);
+        desk = new ArrayList<>();
+        deskMask = 0L;
+        stage = Stage.PREFLOP;
+        acted = 0L;
+        Arrays.fill(handStates, null);
+
+        for (Player p : players) {
+            p.setFolded(false);
+        }
+        folded = 0L;
+        activeCount = players.size();
+        allIn = 0L;
+        for (int seat = 0; seat < players.size(); seat++) {
+            if (players.get(seat).getChips() == 0) allIn |= 1L << seat;
+        }
+
+        int smallPos = (dealerPos + 1) % players.size();
+        int bigPos = (dealerPos + 2) % players.size();
+        currentBet = postBlind(smallPos, smallBlind);
+        currentBet = postBlind(bigPos, bigBlind);
+        unmatched = countUnmatched();
+
+        currentPlayerIndex = (dealerPos + 3) % players.size();
+    }
+
+    @Override
+    public void distributeCards() {
+        if (deck.getCardsCount() < players.size() * holeCards()) {
+            throw new IllegalStateException("Not enough cards for dealing");
+        }
+        for (int seat = 0; seat < players.size(); seat++) {
+            Player player = players.get(seat);
+            player.setHand(deck.getCards(holeCards()));
+            HandState state = newHandState();
+            state.addHole(player.getHand());
+            handStates[seat] = state;
+        }
+    }
+
+    @Override
+    public List<Card> dealCommunityCards(Stage stage) {
+        if (deck.getCardsCount() < 1) {
+            throw new IllegalStateException("Not enough cards to burn");
+        }
+        deck.getCard(); // Burn one card
+        int numCards;
+        switch (stage) {
+            case FLOP:
+                numCards = 3;
+                break;
+            case TURN:
+            case RIVER:
+                numCards = 1;
+                break;
+            default:
+                throw new IllegalArgumentException("Invalid stage for dealing community cards");
+        }
+        if (deck.getCardsCount() < numCards) {
+            throw new IllegalStateException("Not enough cards in deck for community cards");
+        }
+        List<Card> cards = deck.getCards(numCards);
+        desk.addAll(cards);
+        deskMask |= CardSet.mask(cards);
+        for (HandState state : handStates) {
+            if (state != null) state.addBoard(cards);
+        }
+        return cards;
+    }
+
+    @Override
+    public boolean isBettingComplete() {
+        if (activeCount <= 1) return true;
+        long live = seatMask & ~folded & ~allIn;
+        return (unmatched & live) == 0 && (live & ~acted) == 0;
+    }
+
+    /** Недопустимое действие бота (например, ставка не выше текущей) заменяется коллом, а если и он невозможен — фолдом */
+    @Override
+    public void performBotAction() {
+        Player p = getCurrentPlayer();
+        if (p == null) throw new IllegalStateException("No current player");
+        if (p instanceof HumanPlayer) throw new IllegalStateException("Cannot perform bot action on human player");
+        try {
+            applyAction(p.event(this));
+            return;
+        } catch (IllegalArgumentException e) {
+            // processAction проверяет действие до изменения стола, поэтому можно пробовать следующее
+        }
+        try {
+            applyAction(new PlayerAction(Event.CHECK, 0));
+        } catch (IllegalArgumentException e) {
+            applyAction(new PlayerAction(Event.FOLD, 0));
+        }
+    }
+
+    @Override
+    public void submitHumanAction(PlayerAction action) {
+        Player p = getCurrentPlayer();
+        if (p == null) throw new IllegalStateException("No current player");
+        if (!(p instanceof HumanPlayer)) throw new IllegalStateException("Not human player's turn");
+        applyAction(action);
+    }
+
+    @Override
+    public void applyAction(PlayerAction action) {
+        int seat = currentIndex();
+        if (seat < 0) throw new IllegalStateException("No current player");
+        int toCall = Math.max(0, currentBet - bets[seat]);
+        processAction(action, seat);
+        currentPlayerIndex = (seat + 1) % players.size();
+        for (RoundListener listener : listeners) {
+            listener.onAction(this, seat, action, toCall);
+        }
+    }
+
+    @Override
+    public void addListener(RoundListener listener) {
+        if (listener == null) throw new IllegalArgumentException("Listener cannot be null");
+        listeners.add(listener);
+    }
+
+    private void processAction(PlayerAction playerAction, int seat) {
+        if (playerAction == null) throw new IllegalArgumentException("Action or player cannot be null");
+        Player player = players.get(seat);
+        long bit = 1L << seat;
+        int balance = player.getChips();
+        int alreadyBet = bets[seat];
+        int toPay;
+
+        switch (playerAction.getEvent()) {
+            case FOLD:
+                player.setFolded(true);
+                folded |= bit;
+                activeCount--;
+                break;
+            case CHECK:
+                toPay = currentBet - alreadyBet;
+                if (toPay > balance) {
+                    toPay = balance; // All-in
+                }
+                sharedBank += toPay;
+                player.setChips(-toPay);
+                bets[seat] = alreadyBet + toPay;
+                unmatched = bets[seat] < currentBet ? unmatched | bit : unmatched & ~bit;
+                acted |= bit;
+                if (player.getChips() == 0) allIn |= bit;
+                break;
+            case BET:
+                int proposedTotal = playerAction.getAmount();
+                if (proposedTotal <= currentBet) throw new IllegalArgumentException("Bet must be higher than current bet");
+                toPay = proposedTotal - alreadyBet;
+                if (toPay > balance) {
+                    toPay = balance; // All-in
+                    proposedTotal = alreadyBet + toPay;
+                }
+                sharedBank += toPay;
+                player.setChips(-toPay);
+                bets[seat] = proposedTotal;
+                if (player.getChips() == 0) allIn |= bit;
+                if (proposedTotal > currentBet) {
+                    currentBet = proposedTotal;
+                    unmatched = countUnmatched();
+                    acted = bit;
+                } else {
+                    // Олл-ин меньше текущей ставки — это неполный колл, а не повышение
+                    unmatched = bets[seat] < currentBet ? unmatched | bit : unmatched & ~bit;
+                    acted |= bit;
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Invalid action: " + playerAction.getEvent());
+        }
+    }
+
+    @Override
+    public boolean checkRoundCompletion() {
+        return stage == Stage.SHOWDOWN || activeCount <= 1;
+    }
+
+    @Override
+    public void advanceToNextStage() {
+        currentBet = 0;
+        Arrays.fill(bets, 0);
+        acted = 0L;
+        unmatched = 0L;
+        switch (stage) {
+            case PREFLOP:
+                stage = Stage.FLOP;
+                break;
+            case FLOP:
+                stage = Stage.TURN;
+                break;
+            case TURN:
+                stage = Stage.RIVER;
+                break;
+            case RIVER:
+                stage = Stage.SHOWDOWN;
+                break;
+            default:
+        }
+        if (stage != Stage.SHOWDOWN) {
+            currentPlayerIndex = (dealerPos + 1) % players.size();
+        }
+    }
+
+    @Override
+    public Player evaluateHands(List<Player> players) {
+        List<Player> winners = getWinners();
+        return winners.isEmpty() ? null : winners.get(0);
+    }
+
+    @Override
+    public List<Player> getWinners() {
+        if (!checkRoundCompletion()) return List.of();
+        List<Player> winners = new ArrayList<>();
+        if (activeCount <= 1) {
+            for (long active = seatMask & ~folded; active != 0; active &= active - 1) {
+                winners.add(players.get(Long.numberOfTrailingZeros(active)));
+            }
+            return winners;
+        }
+        int maxValue = -1;
+        for (long active = seatMask & ~folded; active != 0; active &= active - 1) {
+            int seat = Long.numberOfTrailingZeros(active);
+            Player p = players.get(seat);
+            int value = showdownValue(p, handStates[seat]);
+            if (value < 0) continue;
+            if (value > maxValue) {
+                maxValue = value;
+                winners.clear();
+                winners.add(p);
+            } else if (value == maxValue) {
+                winners.add(p);
+            }
+        }
+        return winners;
+    }
+
+    @Override
+    public void distributePot(List<Player> winners) {
+        if (winners.isEmpty() || potDistributed) return;
+        potDistributed = true;
+        int share = sharedBank / winners.size();
+        List<Integer> winnerSeats = new ArrayList<>(winners.size());
+        for (Player winner : winners) {
+            if (share > 0) winner.setChips(share);
+            winnerSeats.add(getSeat(winner));
+        }
+        sharedBank = 0;
+        for (RoundListener listener : listeners) {
+            listener.onPotDistributed(this, winnerSeats);
+        }
+    }
+
+    @Override
+    public void finishRound() {
+        dealerPos = (dealerPos + 1) % players.size();
+    }
+
+    @Override
+    public void resetRound() {
+        desk.clear();
+        deskMask = 0L;
+        Arrays.fill(handStates, null);
+        for (Player p : players) {
+            p.setHand(new ArrayList<>());
+            p.setFolded(false);
+        }
+        folded = 0L;
+        activeCount = players.size();
+    }
+
+    @Override
+    public List<Card> getCommunityCards() {
+        return new ArrayList<>(desk);
+    }
+
+    @Override
+    public long getCommunityMask() {
+        return deskMask;
+    }
+
+    @Override
+    public Stage getStage() {
+        return stage;
+    }
+
+    @Override
+    public int getPot() {
+        return sharedBank;
+    }
+
+    @Override
+    public int getCurrentBet() {
+        return currentBet;
+    }
+
+    /** Места в порядке посадки, только для чтения */
+    @Override
+    public List<Player> getPlayers() {
+        return playersView;
+    }
+
+    /** Ставки улицы по игрокам, представление только для чтения над массивом ставок */
+    @Override
+    public Map<Player, Integer> getPlayersBets() {
+        return betsView;
+    }
+
+    @Override
+    public int getSeat(Player player) {
+        Integer seat = seats.get(player);
+        return seat == null ? -1 : seat;
+    }
+
+    @Override
+    public int getBet(int seat) {
+        return bets[seat];
+    }
+
+    @Override
+    public int getActiveCount() {
+        return activeCount;
+    }
+
+    @Override
+    public long getActedMask() {
+        return acted;
+    }
+
+    @Override
+    public int getSmallBlind() {
+        return smallBlind;
+    }
+
+    @Override
+    public int getBigBlind() {
+        return bigBlind;
+    }
+
+    @Override
+    public DeckType getDeckType() {
+        return DeckType.of(deck);
+    }
+
+    @Override
+    public HandState getHandState(Player player) {
+        int seat = getSeat(player);
+        return seat < 0 ? null : handStates[seat];
+    }
+
+    @Override
+    public Player getCurrentPlayer() {
+        int index = currentIndex();
+        return index < 0 ? null : players.get(index);
+    }
+
+    @Override
+    public int getDealerPos() {
+        return dealerPos;
+    }
+
+    @Override
+    public void setDealerPos(int pos) {
+        this.dealerPos = pos;
+    }
+
+    // ================== ВСПОМОГАТЕЛЬНЫЕ ==================
+
+    private int postBlind(int seat, int blind) {
+        Player player = players.get(seat);
+        int toPay = Math.min(blind, player.getChips());
+        player.setChips(-toPay);
+        sharedBank += toPay;
+        bets[seat] = toPay;
+        acted |= 1L << seat;
+        if (player.getChips() == 0) allIn |= 1L << seat;
+        return toPay;
+    }
+
+    /** Маска мест, чья ставка улицы меньше текущей */
+    private long countUnmatched() {
+        long mask = 0L;
+        for (int seat = 0; seat < bets.length; seat++) {
+            if (bets[seat] < currentBet) mask |= 1L << seat;
+        }
+        return mask;
+    }
+
+    /**
+     * Первое место с currentPlayerIndex, где игрок ещё может ходить (не сбросил и не олл-ин);
+     * если таких нет — первое несбросившее; -1 — все сбросили. Состояние не меняет
+     */
+    private int currentIndex() {
+        long active = seatMask & ~folded;
+        if (active == 0) return -1;
+        long live = active & ~allIn;
+        long candidates = live != 0 ? live : active;
+        long ahead = candidates & (-1L << currentPlayerIndex);
+        return Long.numberOfTrailingZeros(ahead != 0 ? ahead : candidates);
+    }
+
+    /** Ставки улицы: ключи — игроки стола, значения читаются из массива ставок */
+    private final class BetsView extends AbstractMap<Player, Integer> {
+
+        @Override
+        public Integer get(Object key) {
+            Integer seat = seats.get(key);
+            return seat == null ? null : bets[seat];
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return seats.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return bets.length;
+        }
+
+        @Override
+        public Set<Entry<Player, Integer>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<Player, Integer>> iterator() {
+                    return new Iterator<>() {
+                        private int seat;
+
+                        @Override
+                        public boolean hasNext() {
+                            return seat < bets.length;
+                        }
+
+                        @Override
+                        public Entry<Player, Integer> next() {
+                            if (!hasNext()) throw new NoSuchElementException();
+                            int current = seat++;
+                            return new SimpleImmutableEntry<>(players.get(current), bets[current]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return bets.length;
+                }
+            };
+        }
+    }
+}
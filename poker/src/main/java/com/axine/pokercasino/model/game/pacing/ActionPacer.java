@@ -0,0 +1,96 @@
+package com.axine.pokercasino.model.game.pacing;
+
+import com.axine.pokercasino.model.game.Round;
+import com.axine.pokercasino.model.game.RoundListener;
+import com.axine.pokercasino.model.player.Event;
+import com.axine.pokercasino.model.player.PlayerAction;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Темп показа действий отделён от игровой логики: раунд применяет действия ботов сразу,
+ * а пейсер выпускает их клиенту не чаще одного за интервал. Выпуск идёт задачами
+ * планировщика, которые ставятся только пока есть что выпускать, поэтому стол без
+ * действий не занимает ни потоков, ни тиков, а поток запроса ничего не ждёт.
+ */
+public class ActionPacer implements RoundListener {
+
+    private static final int HISTORY = 64;
+
+    private final ScheduledExecutorService scheduler;
+    private final long intervalNanos;
+    private final ConcurrentLinkedQueue<TableEvent> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final ArrayDeque<TableEvent> released = new ArrayDeque<>(HISTORY);
+    private long sequence;
+
+    public ActionPacer(ScheduledExecutorService scheduler, long interval, TimeUnit unit) {
+        if (scheduler == null || unit == null) throw new IllegalArgumentException("Scheduler or unit cannot be null");
+        if (interval < 0) throw new IllegalArgumentException("Interval cannot be negative");
+        this.scheduler = scheduler;
+        this.intervalNanos = unit.toNanos(interval);
+    }
+
+    @Override
+    public void onAction(Round round, int seat, PlayerAction action, int toCall) {
+        String name = round.getPlayers().get(seat).getName();
+        int amount = action.getEvent() == Event.BET ? action.getAmount() : 0;
+        offer(new TableEvent(++sequence, seat, name, round.getStage(), action.getEvent(), amount, TableSnapshot.of(round)));
+    }
+
+    /** Выпущенные события с номером больше after, по возрастанию (не больше последних 64) */
+    public List<TableEvent> released(long after) {
+        synchronized (released) {
+            List<TableEvent> result = new ArrayList<>();
+            for (TableEvent event : released) {
+                if (event.getSequence() > after) result.add(event);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Состояние стола после последнего выпущенного действия — то, что клиент уже увидел.
+     * Пока пейсер не пуст, показывать нужно его, а не текущий раунд; null — действий ещё не было
+     */
+    public TableSnapshot shown() {
+        synchronized (released) {
+            TableEvent last = released.peekLast();
+            return last != null ? last.getSnapshot() : null;
+        }
+    }
+
+    /** Все события показаны, клиенту можно предлагать ход */
+    public boolean isIdle() {
+        return pending.isEmpty();
+    }
+
+    // ================== ВСПОМОГАТЕЛЬНЫЕ ==================
+
+    private void offer(TableEvent event) {
+        pending.add(event);
+        if (scheduled.compareAndSet(false, true)) scheduler.execute(this::releaseNext);
+    }
+
+    /** Выпускает одно событие и планирует следующий выпуск через интервал; цепочка гаснет, когда выпускать нечего */
+    private void releaseNext() {
+        TableEvent event = pending.poll();
+        if (event == null) {
+            scheduled.set(false);
+            // Событие могло прийти между poll и set: тогда цепочку запускает этот поток
+            if (!pending.isEmpty() && scheduled.compareAndSet(false, true)) scheduler.execute(this::releaseNext);
+            return;
+        }
+        synchronized (released) {
+            if (released.size() == HISTORY) released.removeFirst();
+            released.addLast(event);
+        }
+        scheduler.schedule(this::releaseNext, intervalNanos, TimeUnit.NANOSECONDS);
+    }
+}
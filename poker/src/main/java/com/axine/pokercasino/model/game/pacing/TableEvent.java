@@ -0,0 +1,60 @@
+package com.axine.pokercasino.model.game.pacing;
+
+import com.axine.pokercasino.model.game.Stage;
+import com.axine.pokercasino.model.player.Event;
+
+/** Действие за столом в том виде, в каком его показывают клиенту; sequence растёт в пределах стола */
+public final class TableEvent {
+
+    private final long sequence;
+    private final int seat;
+    private final String playerName;
+    private final Stage stage;
+    private final Event event;
+    private final int amount;
+    private final TableSnapshot snapshot;
+
+    public TableEvent(long sequence, int seat, String playerName, Stage stage, Event event, int amount, TableSnapshot snapshot) {
+        this.sequence = sequence;
+        this.seat = seat;
+        this.playerName = playerName;
+        this.stage = stage;
+        this.event = event;
+        this.amount = amount;
+        this.snapshot = snapshot;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public int getSeat() {
+        return seat;
+    }
+
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    public Stage getStage() {
+        return stage;
+    }
+
+    public Event getEvent() {
+        return event;
+    }
+
+    public int getAmount() {
+        return amount;
+    }
+
+    /** Банк сразу после действия */
+    public int getPot() {
+        return snapshot.getPot();
+    }
+
+    /** Состояние стола сразу после действия */
+    public TableSnapshot getSnapshot() {
+        return snapshot;
+    }
+}
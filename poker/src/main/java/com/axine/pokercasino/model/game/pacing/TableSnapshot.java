@@ -0,0 +1,63 @@
+package com.axine.pokercasino.model.game.pacing;
+
+import com.axine.pokercasino.model.deck.Card;
+import com.axine.pokercasino.model.game.Round;
+import com.axine.pokercasino.model.player.Player;
+
+import java.util.List;
+
+/** Банк, стол и фишки мест в момент действия: пока пейсер не догнал раунд, клиенту показывают это состояние */
+public final class TableSnapshot {
+
+    private final int pot;
+    private final List<Card> communityCards;
+    private final int[] chips;
+    private final int[] bets;
+    private final boolean[] folded;
+
+    private TableSnapshot(int pot, List<Card> communityCards, int[] chips, int[] bets, boolean[] folded) {
+        this.pot = pot;
+        this.communityCards = communityCards;
+        this.chips = chips;
+        this.bets = bets;
+        this.folded = folded;
+    }
+
+    /** Копия состояния раунда; вызывается из потока, который применяет действия */
+    public static TableSnapshot of(Round round) {
+        List<Player> players = round.getPlayers();
+        int[] chips = new int[players.size()];
+        int[] bets = new int[players.size()];
+        boolean[] folded = new boolean[players.size()];
+        for (int seat = 0; seat < players.size(); seat++) {
+            chips[seat] = players.get(seat).getChips();
+            bets[seat] = round.getBet(seat);
+            folded[seat] = players.get(seat).isFolded();
+        }
+        return new TableSnapshot(round.getPot(), List.copyOf(round.getCommunityCards()), chips, bets, folded);
+    }
+
+    public int getPot() {
+        return pot;
+    }
+
+    public List<Card> getCommunityCards() {
+        return communityCards;
+    }
+
+    public int getSeats() {
+        return chips.length;
+    }
+
+    public int getChips(int seat) {
+        return chips[seat];
+    }
+
+    public int getBet(int seat) {
+        return bets[seat];
+    }
+
+    public boolean isFolded(int seat) {
+        return folded[seat];
+    }
+}
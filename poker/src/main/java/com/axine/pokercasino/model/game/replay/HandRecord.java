@@ -0,0 +1,269 @@
+package com.axine.pokercasino.model.game.replay;
+
+import com.axine.pokercasino.model.deck.DeckType;
+import com.axine.pokercasino.model.game.equity.Variant;
+import com.axine.pokercasino.model.player.Event;
+import com.axine.pokercasino.model.player.PlayerAction;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Запись одной раздачи: зерно тасования, блайнды, баланс мест до и после и действия
+ * в порядке применения. По записи раздача восстанавливается карта в карту
+ * ({@link ReplayEngine}). Двоичный формат компактен: числа — varint, действие —
+ * байт (место &lt;&lt; 2 | событие) и сумма только для ставки; раздача на шестерых
+ * занимает порядка сотни байт.
+ */
+public final class HandRecord {
+
+    private static final int VERSION = 1;
+    private static final int FLAG_OMAHA = 1;
+    private static final int FLAG_SHORTENED = 2;
+    private static final int MAX_SEATS = 64;
+    private static final Event[] EVENTS = Event.values();
+
+    private final Variant variant;
+    private final DeckType deckType;
+    private final byte[] seed;
+    private final int smallBlind;
+    private final int bigBlind;
+    private final int dealerPos;
+    private final int[] startChips;
+    private final byte[] actionSeats;
+    private final byte[] actionEvents;
+    private final int[] actionAmounts;
+    private final int[] endChips;
+
+    HandRecord(Variant variant, DeckType deckType, byte[] seed, int smallBlind, int bigBlind, int dealerPos,
+               int[] startChips, byte[] actionSeats, byte[] actionEvents, int[] actionAmounts, int[] endChips) {
+        if (variant == null || deckType == null || seed == null || seed.length == 0 || seed.length > 255) {
+            throw new IllegalArgumentException("Variant, deck type and seed are required");
+        }
+        if (startChips.length < 2 || startChips.length > MAX_SEATS || endChips.length != startChips.length) {
+            throw new IllegalArgumentException("Invalid number of seats: " + startChips.length);
+        }
+        if (actionEvents.length != actionSeats.length || actionAmounts.length != actionSeats.length) {
+            throw new IllegalArgumentException("Action arrays differ in length");
+        }
+        this.variant = variant;
+        this.deckType = deckType;
+        this.seed = seed;
+        this.smallBlind = smallBlind;
+        this.bigBlind = bigBlind;
+        this.dealerPos = dealerPos;
+        this.startChips = startChips;
+        this.actionSeats = actionSeats;
+        this.actionEvents = actionEvents;
+        this.actionAmounts = actionAmounts;
+        this.endChips = endChips;
+    }
+
+    public Variant getVariant() {
+        return variant;
+    }
+
+    public DeckType getDeckType() {
+        return deckType;
+    }
+
+    public byte[] getSeed() {
+        return seed.clone();
+    }
+
+    public int getSmallBlind() {
+        return smallBlind;
+    }
+
+    public int getBigBlind() {
+        return bigBlind;
+    }
+
+    public int getDealerPos() {
+        return dealerPos;
+    }
+
+    public int getSeats() {
+        return startChips.length;
+    }
+
+    public int getStartChips(int seat) {
+        return startChips[seat];
+    }
+
+    public int getEndChips(int seat) {
+        return endChips[seat];
+    }
+
+    public int[] getEndChips() {
+        return endChips.clone();
+    }
+
+    public int getActionCount() {
+        return actionSeats.length;
+    }
+
+    public int getActionSeat(int index) {
+        return actionSeats[index];
+    }
+
+    public PlayerAction getAction(int index) {
+        return new PlayerAction(EVENTS[actionEvents[index]], actionAmounts[index]);
+    }
+
+    /** Запись в компактном двоичном виде */
+    public byte[] toBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 + actionSeats.length * 3);
+        out.write(VERSION);
+        out.write((variant == Variant.OMAHA_HOLDEM ? FLAG_OMAHA : 0) | (deckType == DeckType.SHORTENED ? FLAG_SHORTENED : 0));
+        out.write(seed.length);
+        out.writeBytes(seed);
+        writeVarint(out, smallBlind);
+        writeVarint(out, bigBlind);
+        writeVarint(out, startChips.length);
+        writeVarint(out, dealerPos);
+        for (int chips : startChips) {
+            writeVarint(out, chips);
+        }
+        writeVarint(out, actionSeats.length);
+        for (int i = 0; i < actionSeats.length; i++) {
+            out.write(actionSeats[i] << 2 | actionEvents[i]);
+            if (EVENTS[actionEvents[i]] == Event.BET) writeVarint(out, actionAmounts[i]);
+        }
+        for (int chips : endChips) {
+            writeVarint(out, chips);
+        }
+        return out.toByteArray();
+    }
+
+    public static HandRecord fromBytes(byte[] bytes) {
+        Reader in = new Reader(bytes);
+        int version = in.next();
+        if (version != VERSION) throw new IllegalArgumentException("Unsupported hand record version: " + version);
+        int flags = in.next();
+        byte[] seed = in.bytes(in.next());
+        int smallBlind = in.varint();
+        int bigBlind = in.varint();
+        int seats = in.varint();
+        if (seats < 2 || seats > MAX_SEATS) throw new IllegalArgumentException("Invalid number of seats: " + seats);
+        int dealerPos = in.varint();
+        int[] startChips = new int[seats];
+        for (int i = 0; i < seats; i++) {
+            startChips[i] = in.varint();
+        }
+        int count = in.varint();
+        if (count > bytes.length) throw new IllegalArgumentException("Invalid action count: " + count);
+        byte[] actionSeats = new byte[count];
+        byte[] actionEvents = new byte[count];
+        int[] actionAmounts = new int[count];
+        for (int i = 0; i < count; i++) {
+            int packed = in.next();
+            actionSeats[i] = (byte) (packed >>> 2);
+            actionEvents[i] = (byte) (packed & 3);
+            if (actionSeats[i] >= seats || actionEvents[i] >= EVENTS.length) {
+                throw new IllegalArgumentException("Invalid action #" + i);
+            }
+            if (EVENTS[actionEvents[i]] == Event.BET) actionAmounts[i] = in.varint();
+        }
+        int[] endChips = new int[seats];
+        for (int i = 0; i < seats; i++) {
+            endChips[i] = in.varint();
+        }
+        if (!in.isDone()) throw new IllegalArgumentException("Trailing bytes in hand record");
+        return new HandRecord((flags & FLAG_OMAHA) != 0 ? Variant.OMAHA_HOLDEM : Variant.TEXAS_HOLDEM,
+                (flags & FLAG_SHORTENED) != 0 ? DeckType.SHORTENED : DeckType.STANDARD,
+                seed, smallBlind, bigBlind, dealerPos, startChips, actionSeats, actionEvents, actionAmounts, endChips);
+    }
+
+    /** Дописывает запись в журнал: длина varint, затем байты записи */
+    public void writeTo(OutputStream out) throws IOException {
+        byte[] bytes = toBytes();
+        ByteArrayOutputStream length = new ByteArrayOutputStream(5);
+        writeVarint(length, bytes.length);
+        length.writeTo(out);
+        out.write(bytes);
+    }
+
+    /** Следующая запись журнала; null — журнал закончился */
+    public static HandRecord readFrom(InputStream in) throws IOException {
+        int length = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                if (shift == 0) return null;
+                throw new EOFException("Truncated hand record length");
+            }
+            if (shift > 28) throw new IOException("Malformed hand record length");
+            length |= (b & 0x7F) << shift;
+            if (b < 0x80) break;
+        }
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length != length) throw new EOFException("Truncated hand record");
+        return fromBytes(bytes);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof HandRecord other)) return false;
+        return Arrays.equals(toBytes(), other.toBytes());
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(toBytes());
+    }
+
+    // ================== ВСПОМОГАТЕЛЬНЫЕ ==================
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        if (value < 0) throw new IllegalArgumentException("Negative value in hand record: " + value);
+        while (value >= 0x80) {
+            out.write(value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static final class Reader {
+        private final byte[] bytes;
+        private int position;
+
+        Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        int next() {
+            if (position >= bytes.length) throw new IllegalArgumentException("Truncated hand record");
+            return bytes[position++] & 0xFF;
+        }
+
+        byte[] bytes(int length) {
+            if (length == 0 || position + length > bytes.length) throw new IllegalArgumentException("Invalid seed length");
+            byte[] result = Arrays.copyOfRange(bytes, position, position + length);
+            position += length;
+            return result;
+        }
+
+        int varint() {
+            int value = 0;
+            for (int shift = 0; shift <= 28; shift += 7) {
+                int b = next();
+                value |= (b & 0x7F) << shift;
+                if (b < 0x80) {
+                    if (value < 0) break;
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in hand record");
+        }
+
+        boolean isDone() {
+            return position == bytes.length;
+        }
+    }
+}
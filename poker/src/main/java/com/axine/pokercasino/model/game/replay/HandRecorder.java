@@ -0,0 +1,81 @@
+package com.axine.pokercasino.model.game.replay;
+
+import com.axine.pokercasino.model.deck.DeckType;
+import com.axine.pokercasino.model.deck.decks.ArrayDeck;
+import com.axine.pokercasino.model.game.Round;
+import com.axine.pokercasino.model.game.RoundListener;
+import com.axine.pokercasino.model.game.equity.Variant;
+import com.axine.pokercasino.model.player.Player;
+import com.axine.pokercasino.model.player.PlayerAction;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Пишет раздачи раунда в {@link HandRecord}: баланс мест снимается до блайндов,
+ * действия копятся в примитивных массивах, запись отдаётся получателю после раздачи банка.
+ * Один рекордер можно подключать к раундам одного стола по очереди.
+ */
+public class HandRecorder implements RoundListener {
+
+    private final ArrayDeck deck;
+    private final int smallBlind;
+    private final int bigBlind;
+    private final Consumer<HandRecord> sink;
+
+    private boolean recording;
+    private int dealerPos;
+    private int[] startChips = new int[0];
+    private byte[] seats = new byte[32];
+    private byte[] events = new byte[32];
+    private int[] amounts = new int[32];
+    private int count;
+
+    public HandRecorder(ArrayDeck deck, int smallBlind, int bigBlind, Consumer<HandRecord> sink) {
+        if (deck == null || sink == null) throw new IllegalArgumentException("Deck or sink cannot be null");
+        this.deck = deck;
+        this.smallBlind = smallBlind;
+        this.bigBlind = bigBlind;
+        this.sink = sink;
+    }
+
+    @Override
+    public void onRoundStart(Round round) {
+        List<Player> players = round.getPlayers();
+        startChips = new int[players.size()];
+        for (int i = 0; i < startChips.length; i++) {
+            startChips[i] = players.get(i).getChips();
+        }
+        dealerPos = round.getDealerPos();
+        count = 0;
+        recording = true;
+    }
+
+    @Override
+    public void onAction(Round round, int seat, PlayerAction action, int toCall) {
+        if (!recording) return;
+        if (count == seats.length) {
+            seats = Arrays.copyOf(seats, count * 2);
+            events = Arrays.copyOf(events, count * 2);
+            amounts = Arrays.copyOf(amounts, count * 2);
+        }
+        seats[count] = (byte) seat;
+        events[count] = (byte) action.getEvent().ordinal();
+        amounts[count] = action.getAmount();
+        count++;
+    }
+
+    @Override
+    public void onPotDistributed(Round round, List<Integer> winnerSeats) {
+        if (!recording) return;
+        recording = false;
+        List<Player> players = round.getPlayers();
+        int[] endChips = new int[players.size()];
+        for (int i = 0; i < endChips.length; i++) {
+            endChips[i] = players.get(i).getChips();
+        }
+        sink.accept(new HandRecord(Variant.of(round), DeckType.of(deck), deck.getSeed(), smallBlind, bigBlind, dealerPos,
+                startChips, Arrays.copyOf(seats, count), Arrays.copyOf(events, count), Arrays.copyOf(amounts, count), endChips));
+    }
+}
@@ -0,0 +1,161 @@
+package com.axine.pokercasino.model.game.replay;
+
+import com.axine.pokercasino.model.deck.Card;
+import com.axine.pokercasino.model.deck.DeckType;
+import com.axine.pokercasino.model.deck.decks.ArrayDeck;
+import com.axine.pokercasino.model.deck.decks.ShortenedDeck;
+import com.axine.pokercasino.model.deck.decks.StandardDeck;
+import com.axine.pokercasino.model.deck.random.DeckRandom;
+import com.axine.pokercasino.model.game.Round;
+import com.axine.pokercasino.model.game.RoundFactory;
+import com.axine.pokercasino.model.game.equity.Variant;
+import com.axine.pokercasino.model.game.gameFactory.OmahaHoldemRoundFactory;
+import com.axine.pokercasino.model.game.gameFactory.TexasHoldemRoundFactory;
+import com.axine.pokercasino.model.player.Player;
+import com.axine.pokercasino.model.player.PlayerAction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Восстанавливает раздачу по {@link HandRecord}: колода тасуется записанным зерном,
+ * раунд проходит те же шаги, что и за столом, а вместо решений игроков применяются
+ * записанные действия — без задержек ботов и без обращения к их логике.
+ */
+public final class ReplayEngine {
+
+    private static final RoundFactory TEXAS = new TexasHoldemRoundFactory();
+    private static final RoundFactory OMAHA = new OmahaHoldemRoundFactory();
+
+    private ReplayEngine() {
+    }
+
+    /** Баланс мест после воспроизведения; ISE, если запись не согласуется с правилами */
+    public static int[] replay(HandRecord record) {
+        List<Player> players = new ArrayList<>(record.getSeats());
+        for (int seat = 0; seat < record.getSeats(); seat++) {
+            players.add(new ReplayPlayer("Seat " + seat, record.getStartChips(seat)));
+        }
+        ArrayDeck deck = record.getDeckType() == DeckType.SHORTENED
+                ? new ShortenedDeck(new RecordedSeed(record.getSeed()))
+                : new StandardDeck(new RecordedSeed(record.getSeed()));
+        RoundFactory factory = record.getVariant() == Variant.OMAHA_HOLDEM ? OMAHA : TEXAS;
+        Round round = factory.createRound(players, deck, record.getSmallBlind(), record.getBigBlind());
+        round.setDealerPos(record.getDealerPos());
+        round.startRound();
+        round.distributeCards();
+
+        int next = 0;
+        while (!round.checkRoundCompletion()) {
+            if (round.isBettingComplete()) {
+                round.advanceToNextStage();
+                if (!round.checkRoundCompletion()) round.dealCommunityCards(round.getStage());
+                continue;
+            }
+            if (next == record.getActionCount()) throw new IllegalStateException("Record ends before the hand is complete");
+            int seat = players.indexOf(round.getCurrentPlayer());
+            if (seat != record.getActionSeat(next)) {
+                throw new IllegalStateException("Action #" + next + " recorded for seat " + record.getActionSeat(next) + ", but seat " + seat + " is to act");
+            }
+            round.applyAction(record.getAction(next++));
+        }
+        if (next != record.getActionCount()) throw new IllegalStateException("Record has actions after the hand is complete");
+        round.distributePot(round.getWinners());
+
+        int[] chips = new int[players.size()];
+        for (int seat = 0; seat < chips.length; seat++) {
+            chips[seat] = players.get(seat).getChips();
+        }
+        return chips;
+    }
+
+    /** Воспроизводит раздачу и сверяет итоговый баланс с записанным */
+    public static boolean verify(HandRecord record) {
+        return Arrays.equals(replay(record), record.getEndChips());
+    }
+
+    /** Проверяет журнал раздач; возвращает число проверенных, ISE на первой расходящейся */
+    public static int verifyAll(Iterable<HandRecord> records) {
+        int count = 0;
+        for (HandRecord record : records) {
+            if (!verify(record)) throw new IllegalStateException("Hand #" + count + " does not replay to the recorded chips");
+            count++;
+        }
+        return count;
+    }
+
+    // ================== ВСПОМОГАТЕЛЬНЫЕ ==================
+
+    /** Колода при воспроизведении тасуется только записанным зерном */
+    private static final class RecordedSeed implements DeckRandom {
+        private final byte[] seed;
+
+        RecordedSeed(byte[] seed) {
+            this.seed = seed;
+        }
+
+        @Override
+        public int nextInt(int bound) {
+            throw new IllegalStateException("Replay deals only from the recorded seed");
+        }
+
+        @Override
+        public byte[] nextSeed() {
+            return seed.clone();
+        }
+    }
+
+    /** Место за столом без собственной логики: решения берутся из записи */
+    private static final class ReplayPlayer implements Player {
+        private final String name;
+        private int chips;
+        private List<Card> hand = new ArrayList<>();
+        private boolean folded;
+
+        ReplayPlayer(String name, int chips) {
+            this.name = name;
+            this.chips = chips;
+        }
+
+        @Override
+        public int getChips() {
+            return chips;
+        }
+
+        @Override
+        public void setChips(int value) {
+            chips += value;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public List<Card> getHand() {
+            return hand;
+        }
+
+        @Override
+        public void setHand(List<Card> hand) {
+            this.hand = hand;
+        }
+
+        @Override
+        public PlayerAction event() {
+            throw new IllegalStateException("Replay seats act only from the record");
+        }
+
+        @Override
+        public boolean isFolded() {
+            return folded;
+        }
+
+        @Override
+        public void setFolded(boolean folded) {
+            this.folded = folded;
+        }
+    }
+}
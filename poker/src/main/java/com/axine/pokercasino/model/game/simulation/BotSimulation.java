@@ -0,0 +1,184 @@
+package com.axine.pokercasino.model.game.simulation;
+
+import com.axine.pokercasino.model.deck.DeckType;
+import com.axine.pokercasino.model.deck.decks.ArrayDeck;
+import com.axine.pokercasino.model.deck.decks.ShortenedDeck;
+import com.axine.pokercasino.model.deck.decks.StandardDeck;
+import com.axine.pokercasino.model.deck.random.SplittableDeckRandom;
+import com.axine.pokercasino.model.game.Round;
+import com.axine.pokercasino.model.game.RoundFactory;
+import com.axine.pokercasino.model.game.equity.Variant;
+import com.axine.pokercasino.model.game.gameFactory.OmahaHoldemRoundFactory;
+import com.axine.pokercasino.model.game.gameFactory.TexasHoldemRoundFactory;
+import com.axine.pokercasino.model.game.games.HoldemRound;
+import com.axine.pokercasino.model.player.Event;
+import com.axine.pokercasino.model.player.Player;
+import com.axine.pokercasino.model.player.PlayerAction;
+import com.axine.pokercasino.model.player.PlayerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Симуляция раздач бот против бота без Spring и HTTP. Каждый стол — отдельная задача
+ * ForkJoinPool со своей колодой, своими ботами и своим потоком SplittableRandom,
+ * отщеплённым от общего зерна, поэтому итог при том же зерне и числе столов повторяется,
+ * если боты не смотрят на часы (например, {@code BotAIPlayerFactory} с
+ * {@link com.axine.pokercasino.model.player.decision.EquityDecision#NO_BUDGET}): бюджет
+ * времени обрывает выборку эквити в зависимости от загрузки машины.
+ * Перед каждой раздачей стеки возвращаются к исходным, баттон сдвигается по кругу.
+ */
+public class BotSimulation {
+
+    /** Предохранитель от зацикливания одной раздачи */
+    private static final int MAX_ACTIONS = 1000;
+
+    private static final PlayerAction CHECK = new PlayerAction(Event.CHECK, 0);
+    private static final PlayerAction FOLD = new PlayerAction(Event.FOLD, 0);
+
+    private final Variant variant;
+    private final DeckType deckType;
+    private final List<String> names;
+    private final List<PlayerFactory> bots;
+    private final int smallBlind;
+    private final int bigBlind;
+    private final int stack;
+    private final RoundFactory roundFactory;
+
+    public BotSimulation(Variant variant, DeckType deckType, List<String> names, List<PlayerFactory> bots,
+                         int smallBlind, int bigBlind, int stack) {
+        if (variant == null || deckType == null) throw new IllegalArgumentException("Variant or deck type cannot be null");
+        if (names == null || bots == null || names.size() != bots.size()) {
+            throw new IllegalArgumentException("Every bot needs a name");
+        }
+        if (bots.size() < 2 || bots.size() > HoldemRound.MAX_SEATS) {
+            throw new IllegalArgumentException("Between 2 and " + HoldemRound.MAX_SEATS + " bots required");
+        }
+        if (bots.size() * variant.getMinHoleCards() + 5 > deckType.getCardsCount()) {
+            throw new IllegalArgumentException("Not enough cards in deck for " + bots.size() + " players");
+        }
+        if (smallBlind <= 0 || bigBlind < smallBlind || stack < bigBlind) {
+            throw new IllegalArgumentException("Invalid blinds or stack");
+        }
+        this.variant = variant;
+        this.deckType = deckType;
+        this.names = List.copyOf(names);
+        this.bots = List.copyOf(bots);
+        this.smallBlind = smallBlind;
+        this.bigBlind = bigBlind;
+        this.stack = stack;
+        this.roundFactory = variant == Variant.OMAHA_HOLDEM ? new OmahaHoldemRoundFactory() : new TexasHoldemRoundFactory();
+    }
+
+    /** Играет hands раздач на tables столах в общем пуле */
+    public SimulationReport run(long hands, int tables, long seed) {
+        return run(ForkJoinPool.commonPool(), hands, tables, seed);
+    }
+
+    public SimulationReport run(ForkJoinPool pool, long hands, int tables, long seed) {
+        if (pool == null) throw new IllegalArgumentException("Pool cannot be null");
+        if (hands < 1 || tables < 1) throw new IllegalArgumentException("Hands and tables must be positive");
+        tables = (int) Math.min(tables, hands);
+
+        SplittableRandom random = new SplittableRandom(seed);
+        List<TableTask> tasks = new ArrayList<>(tables);
+        for (int table = 0; table < tables; table++) {
+            long share = hands / tables + (table < hands % tables ? 1 : 0);
+            tasks.add(new TableTask(random.split(), share));
+        }
+        long started = System.nanoTime();
+        tasks.forEach(pool::execute);
+        SeatTally total = new SeatTally(bots.size());
+        for (TableTask task : tasks) {
+            total.add(task.join());
+        }
+        return new SimulationReport(names, bigBlind, tables, System.nanoTime() - started, total);
+    }
+
+    // ================== ВСПОМОГАТЕЛЬНЫЕ ==================
+
+    /** Один стол: раздачи подряд, как их ведёт GameService, но без пауз и без человека */
+    private final class TableTask extends RecursiveTask<SeatTally> {
+
+        private final SplittableRandom random;
+        private final long hands;
+
+        TableTask(SplittableRandom random, long hands) {
+            this.random = random;
+            this.hands = hands;
+        }
+
+        @Override
+        protected SeatTally compute() {
+            ArrayDeck deck = deckType == DeckType.SHORTENED
+                    ? new ShortenedDeck(new SplittableDeckRandom(random.split()))
+                    : new StandardDeck(new SplittableDeckRandom(random.split()));
+            List<Player> players = new ArrayList<>(bots.size());
+            for (int seat = 0; seat < bots.size(); seat++) {
+                players.add(bots.get(seat).createPlayer(names.get(seat), stack, new Random(random.nextLong())));
+            }
+            SeatTally tally = new SeatTally(players.size());
+            for (long hand = 0; hand < hands; hand++) {
+                playHand(players, deck, (int) (hand % players.size()), tally);
+            }
+            return tally;
+        }
+
+        private void playHand(List<Player> players, ArrayDeck deck, int dealer, SeatTally tally) {
+            for (Player player : players) {
+                player.setChips(stack - player.getChips());
+            }
+            Round round = roundFactory.createRound(players, deck, smallBlind, bigBlind);
+            round.setDealerPos(dealer);
+            deck.initialize();
+            roundFactory.startRound(round);
+            roundFactory.distributeCards(round);
+
+            int actions = 0;
+            while (!roundFactory.checkRoundCompletion(round)) {
+                if (roundFactory.isBettingComplete(round)) {
+                    roundFactory.advanceToNextStage(round);
+                    if (!roundFactory.checkRoundCompletion(round)) {
+                        roundFactory.dealCommunityCards(roundFactory.getStage(round), round);
+                    }
+                    continue;
+                }
+                if (++actions > MAX_ACTIONS) {
+                    throw new IllegalStateException("Hand exceeded " + MAX_ACTIONS + " actions – possible infinite loop");
+                }
+                apply(round, roundFactory.getCurrentPlayer(round).event(round), tally);
+            }
+            tally.actions += actions;
+
+            List<Player> winners = roundFactory.getWinners(round);
+            roundFactory.distributePot(winners, round);
+            for (Player winner : winners) {
+                tally.recordWin(round.getSeat(winner), winners.size());
+            }
+            for (int seat = 0; seat < players.size(); seat++) {
+                tally.recordNet(seat, players.get(seat).getChips() - stack);
+            }
+            roundFactory.resetRound(round);
+            tally.hands++;
+        }
+
+        /** Недопустимое действие бота (например, ставка не выше текущей) заменяется коллом, а если и он невозможен — фолдом */
+        private void apply(Round round, PlayerAction action, SeatTally tally) {
+            try {
+                roundFactory.applyAction(round, action);
+                return;
+            } catch (IllegalArgumentException e) {
+                tally.invalidActions++;
+            }
+            try {
+                roundFactory.applyAction(round, CHECK);
+            } catch (IllegalArgumentException e) {
+                roundFactory.applyAction(round, FOLD);
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.axine.pokercasino.model.game.simulation;
+
+/** Итоги мест одного стола; сливаются после join без общих изменяемых данных */
+final class SeatTally {
+
+    long hands;
+    long actions;
+    long invalidActions;
+    final double[] wins;
+    final long[] net;
+    final double[] netSquares;
+
+    SeatTally(int seats) {
+        wins = new double[seats];
+        net = new long[seats];
+        netSquares = new double[seats];
+    }
+
+    /** Выигрыш делённого банка засчитывается долей 1/k */
+    void recordWin(int seat, int winners) {
+        wins[seat] += 1.0 / winners;
+    }
+
+    void recordNet(int seat, int chips) {
+        net[seat] += chips;
+        netSquares[seat] += (double) chips * chips;
+    }
+
+    SeatTally add(SeatTally other) {
+        hands += other.hands;
+        actions += other.actions;
+        invalidActions += other.invalidActions;
+        for (int seat = 0; seat < wins.length; seat++) {
+            wins[seat] += other.wins[seat];
+            net[seat] += other.net[seat];
+            netSquares[seat] += other.netSquares[seat];
+        }
+        return this;
+    }
+}
@@ -0,0 +1,111 @@
+package com.axine.pokercasino.model.game.simulation;
+
+import java.util.List;
+
+/**
+ * Итог симуляции: скорость и, по каждому боту, доля выигранных банков и bb/100
+ * с полуширинами 95% доверительных интервалов.
+ */
+public class SimulationReport {
+
+    private static final double Z95 = 1.96;
+
+    private final List<String> names;
+    private final int bigBlind;
+    private final int tables;
+    private final long elapsedNanos;
+    private final long hands;
+    private final long actions;
+    private final long invalidActions;
+    private final double[] wins;
+    private final long[] net;
+    private final double[] netSquares;
+
+    SimulationReport(List<String> names, int bigBlind, int tables, long elapsedNanos, SeatTally tally) {
+        this.names = List.copyOf(names);
+        this.bigBlind = bigBlind;
+        this.tables = tables;
+        this.elapsedNanos = elapsedNanos;
+        this.hands = tally.hands;
+        this.actions = tally.actions;
+        this.invalidActions = tally.invalidActions;
+        this.wins = tally.wins.clone();
+        this.net = tally.net.clone();
+        this.netSquares = tally.netSquares.clone();
+    }
+
+    public List<String> getNames() {
+        return names;
+    }
+
+    public long getHands() {
+        return hands;
+    }
+
+    public int getTables() {
+        return tables;
+    }
+
+    public long getActions() {
+        return actions;
+    }
+
+    /** Действия ботов, отклонённые правилами и заменённые коллом или фолдом */
+    public long getInvalidActions() {
+        return invalidActions;
+    }
+
+    public double getElapsedSeconds() {
+        return elapsedNanos / 1e9;
+    }
+
+    public double getHandsPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : hands * 1e9 / elapsedNanos;
+    }
+
+    /** Выигранные банки места; делёж засчитывается долей */
+    public double getWins(int seat) {
+        return wins[seat];
+    }
+
+    /** Сумма выигрыша места в фишках по всем раздачам */
+    public long getNetChips(int seat) {
+        return net[seat];
+    }
+
+    public double getWinRate(int seat) {
+        return hands == 0 ? 0.0 : wins[seat] / hands;
+    }
+
+    public double getWinRateHalfWidth(int seat) {
+        if (hands == 0) return 1.0;
+        double rate = getWinRate(seat);
+        return Z95 * Math.sqrt(rate * (1 - rate) / hands);
+    }
+
+    /** Выигрыш в больших блайндах на 100 раздач */
+    public double getBbPer100(int seat) {
+        return hands == 0 ? 0.0 : (double) net[seat] / hands * 100 / bigBlind;
+    }
+
+    public double getBbPer100HalfWidth(int seat) {
+        if (hands < 2) return Double.POSITIVE_INFINITY;
+        double mean = (double) net[seat] / hands;
+        double variance = Math.max(0.0, (netSquares[seat] - hands * mean * mean) / (hands - 1));
+        return Z95 * Math.sqrt(variance / hands) * 100 / bigBlind;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%d hands on %d tables in %.2f s: %.0f hands/s, %d actions (%d invalid)%n",
+                hands, tables, getElapsedSeconds(), getHandsPerSecond(), actions, invalidActions));
+        sb.append(String.format("%-16s %20s %24s%n", "bot", "win rate", "bb/100"));
+        for (int seat = 0; seat < names.size(); seat++) {
+            sb.append(String.format("%-16s %11.2f%% +/- %5.2f%% %11.1f +/- %8.1f%n", names.get(seat),
+                    getWinRate(seat) * 100, getWinRateHalfWidth(seat) * 100,
+                    getBbPer100(seat), getBbPer100HalfWidth(seat)));
+        }
+        return sb.toString();
+    }
+}
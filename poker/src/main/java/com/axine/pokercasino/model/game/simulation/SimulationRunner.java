@@ -0,0 +1,98 @@
+package com.axine.pokercasino.model.game.simulation;
+
+import com.axine.pokercasino.model.deck.DeckType;
+import com.axine.pokercasino.model.game.cfr.CardAbstraction;
+import com.axine.pokercasino.model.game.cfr.ClusteredBuckets;
+import com.axine.pokercasino.model.game.cfr.RankBuckets;
+import com.axine.pokercasino.model.game.cfr.StrategyFile;
+import com.axine.pokercasino.model.game.equity.Variant;
+import com.axine.pokercasino.model.player.PlayerFactory;
+import com.axine.pokercasino.model.player.decision.EquityDecision;
+import com.axine.pokercasino.model.player.playerFactory.BotAIPlayerFactory;
+import com.axine.pokercasino.model.player.playerFactory.BotRandomPlayerFactory;
+import com.axine.pokercasino.model.player.playerFactory.CfrBotPlayerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Пакетный запуск {@link BotSimulation} из командной строки. Запуск:
+ * {@code java -cp target/classes com.axine.pokercasino.model.game.simulation.SimulationRunner 1000000 texas standard random,ai,ai 8 42}
+ * (аргументы: раздачи, вариант, колода, боты через запятую, столы, зерно; все, кроме первого, необязательны).
+ * Бот {@code cfr=<файл>} играет по стратегии, выгруженной {@code CfrTrainer}; {@code cfr=<файл>@<каталог>} —
+ * по стратегии, обученной на таблицах корзин из каталога. Боты решают без бюджета времени, по фиксированной
+ * выборке Монте-Карло, поэтому прогон с тем же зерном и числом столов повторяется на любой машине.
+ */
+public final class SimulationRunner {
+
+    private static final long DEFAULT_HANDS = 1_000_000;
+    private static final int SMALL_BLIND = 10;
+    private static final int BIG_BLIND = 20;
+    private static final int STACK = 1000;
+
+    private SimulationRunner() {
+    }
+
+    public static void main(String[] args) {
+        long hands = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_HANDS;
+        Variant variant = args.length > 1 ? variant(args[1]) : Variant.TEXAS_HOLDEM;
+        DeckType deckType = args.length > 2 ? deckType(args[2]) : DeckType.STANDARD;
+        String[] bots = (args.length > 3 ? args[3] : "random,ai").split(",");
+        int tables = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 5 ? Long.parseLong(args[5]) : System.nanoTime();
+
+        List<String> names = new ArrayList<>(bots.length);
+        List<PlayerFactory> factories = new ArrayList<>(bots.length);
+        for (int seat = 0; seat < bots.length; seat++) {
+            String bot = bots[seat].trim();
+            factories.add(botFactory(bot));
+            names.add(bot + "#" + seat);
+        }
+        BotSimulation simulation = new BotSimulation(variant, deckType, names, factories, SMALL_BLIND, BIG_BLIND, STACK);
+        System.out.printf("%s, %s deck, seed %d%n", variant, deckType.getShortName(), seed);
+        System.out.print(simulation.run(hands, tables, seed));
+    }
+
+    // ================== ВСПОМОГАТЕЛЬНЫЕ ==================
+
+    private static Variant variant(String name) {
+        switch (name.toLowerCase()) {
+            case "texas":
+                return Variant.TEXAS_HOLDEM;
+            case "omaha":
+                return Variant.OMAHA_HOLDEM;
+            default:
+                throw new IllegalArgumentException("Unknown variant: " + name);
+        }
+    }
+
+    private static DeckType deckType(String name) {
+        for (DeckType type : DeckType.values()) {
+            if (type.getShortName().equalsIgnoreCase(name)) return type;
+        }
+        throw new IllegalArgumentException("Unknown deck type: " + name);
+    }
+
+    private static PlayerFactory botFactory(String name) {
+        if (name.startsWith("cfr=")) {
+            String[] paths = name.substring(4).split("@", 2);
+            try {
+                CardAbstraction cards = paths.length > 1 ? ClusteredBuckets.load(Path.of(paths[1])) : new RankBuckets();
+                return new CfrBotPlayerFactory(StrategyFile.load(Path.of(paths[0])), cards, EquityDecision.NO_BUDGET);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot load strategy " + name.substring(4), e);
+            }
+        }
+        switch (name.toLowerCase()) {
+            case "random":
+                return new BotRandomPlayerFactory();
+            case "ai":
+                return new BotAIPlayerFactory(null, EquityDecision.NO_BUDGET);
+            default:
+                throw new IllegalArgumentException("Unknown bot: " + name);
+        }
+    }
+}
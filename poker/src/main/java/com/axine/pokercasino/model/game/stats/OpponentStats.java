@@ -0,0 +1,260 @@
+package com.axine.pokercasino.model.game.stats;
+
+import com.axine.pokercasino.model.game.Round;
+import com.axine.pokercasino.model.game.RoundListener;
+import com.axine.pokercasino.model.game.Stage;
+import com.axine.pokercasino.model.player.Event;
+import com.axine.pokercasino.model.player.Player;
+import com.axine.pokercasino.model.player.PlayerAction;
+
+import java.util.List;
+
+/**
+ * Потоковая статистика игроков по местам стола: VPIP, PFR, агрессия после флопа,
+ * фолд на ставку по улицам, частота вскрытий и выигрыш на вскрытии. Счётчики
+ * обновляются по каждому действию раунда и лежат в одном float[] по окнам, местам
+ * и счётчикам; в начале каждой раздачи все умножаются на 2^(-1/полураспад), так что
+ * у каждого окна свой экспоненциальный горизонт в раздачах. Чтение — O(1).
+ * Один экземпляр подключается к раундам одного стола по очереди и переживает их.
+ */
+public class OpponentStats implements RoundListener {
+
+    /** Полураспад окон по умолчанию в раздачах: быстрое и долгое */
+    public static final int SHORT_HALF_LIFE = 30;
+    public static final int LONG_HALF_LIFE = 300;
+
+    private static final int HANDS = 0;
+    private static final int VPIP = 1;
+    private static final int PFR = 2;
+    private static final int BETS = 3;
+    private static final int CALLS = 4;
+    private static final int FACED_BET = 5;
+    private static final int FOLDED_TO_BET = FACED_BET + 4;
+    private static final int SAW_FLOP = FOLDED_TO_BET + 4;
+    private static final int SHOWDOWNS = SAW_FLOP + 1;
+    private static final int SHOWDOWN_WINS = SHOWDOWNS + 1;
+    private static final int COUNTERS = SHOWDOWN_WINS + 1;
+
+    private final int seats;
+    private final int windows;
+    private final float[] decay;
+    private final float[] counters;
+
+    // Раздача, которая идёт сейчас: улица и флаги «уже учтено» по местам
+    private Stage street;
+    private long dealt;
+    private long voluntary;
+    private long raised;
+    private long facedBet;
+    private boolean flopCounted;
+
+    public OpponentStats(int seats) {
+        this(seats, SHORT_HALF_LIFE, LONG_HALF_LIFE);
+    }
+
+    /** Окно на каждый полураспад; окно 0 — для чтения по умолчанию */
+    public OpponentStats(int seats, int... halfLives) {
+        if (seats < 2 || seats > Long.SIZE) throw new IllegalArgumentException("Seats must be between 2 and " + Long.SIZE);
+        if (halfLives == null || halfLives.length == 0) throw new IllegalArgumentException("At least one window required");
+        this.seats = seats;
+        this.windows = halfLives.length;
+        this.decay = new float[windows];
+        for (int window = 0; window < windows; window++) {
+            if (halfLives[window] < 1) throw new IllegalArgumentException("Half-life must be positive");
+            decay[window] = (float) Math.pow(0.5, 1.0 / halfLives[window]);
+        }
+        this.counters = new float[windows * seats * COUNTERS];
+    }
+
+    @Override
+    public void onRoundStart(Round round) {
+        List<Player> players = round.getPlayers();
+        if (players.size() > seats) throw new IllegalStateException("Round has more seats than the statistics");
+        for (int window = 0; window < windows; window++) {
+            float factor = decay[window];
+            int from = window * seats * COUNTERS;
+            for (int i = from; i < from + seats * COUNTERS; i++) {
+                counters[i] *= factor;
+            }
+        }
+        dealt = 0L;
+        voluntary = 0L;
+        raised = 0L;
+        flopCounted = false;
+        for (int seat = 0; seat < players.size(); seat++) {
+            if (players.get(seat).getChips() > 0) {
+                dealt |= 1L << seat;
+                add(seat, HANDS);
+            }
+        }
+        street = Stage.PREFLOP;
+        facedBet = 0L;
+    }
+
+    @Override
+    public void onAction(Round round, int seat, PlayerAction action, int toCall) {
+        if (seat >= seats || (dealt >>> seat & 1) == 0) return;
+        if (round.getStage() != street) startStreet(round, seat);
+        long bit = 1L << seat;
+        int streetIndex = street.ordinal();
+        if (toCall > 0 && (facedBet & bit) == 0) {
+            facedBet |= bit;
+            add(seat, FACED_BET + streetIndex);
+            if (action.getEvent() == Event.FOLD) add(seat, FOLDED_TO_BET + streetIndex);
+        }
+        switch (action.getEvent()) {
+            case CHECK:
+                if (toCall == 0) break;
+                if (street == Stage.PREFLOP) markVoluntary(seat);
+                else add(seat, CALLS);
+                break;
+            case BET:
+                if (street == Stage.PREFLOP) {
+                    markVoluntary(seat);
+                    if ((raised & bit) == 0) {
+                        raised |= bit;
+                        add(seat, PFR);
+                    }
+                } else {
+                    add(seat, BETS);
+                }
+                break;
+            default:
+        }
+    }
+
+    @Override
+    public void onPotDistributed(Round round, List<Integer> winnerSeats) {
+        if (Long.bitCount(round.getCommunityMask()) >= 3) countFlop(round, -1);
+        if (round.getActiveCount() < 2) return;
+        long winners = 0L;
+        for (int seat : winnerSeats) winners |= 1L << seat;
+        List<Player> players = round.getPlayers();
+        for (int seat = 0; seat < Math.min(players.size(), seats); seat++) {
+            if ((dealt >>> seat & 1) == 0 || players.get(seat).isFolded()) continue;
+            add(seat, SHOWDOWNS);
+            if ((winners >>> seat & 1) != 0) add(seat, SHOWDOWN_WINS);
+        }
+    }
+
+    /** Сколько раздач сыграло место в окне (с учётом затухания) — вес остальных оценок */
+    public double getHands(int seat, int window) {
+        return get(window, seat, HANDS);
+    }
+
+    public double getHands(int seat) {
+        return getHands(seat, 0);
+    }
+
+    /** Доля раздач, где игрок добровольно вложил фишки до флопа; NaN, если данных нет */
+    public double getVpip(int seat, int window) {
+        return ratio(window, seat, VPIP, HANDS);
+    }
+
+    public double getVpip(int seat) {
+        return getVpip(seat, 0);
+    }
+
+    /** Доля раздач с повышением до флопа */
+    public double getPfr(int seat, int window) {
+        return ratio(window, seat, PFR, HANDS);
+    }
+
+    public double getPfr(int seat) {
+        return getPfr(seat, 0);
+    }
+
+    /** Фактор агрессии после флопа: ставки и повышения на один колл; при нуле коллов — число ставок */
+    public double getAggression(int seat, int window) {
+        float bets = get(window, seat, BETS);
+        float calls = get(window, seat, CALLS);
+        if (bets == 0f && calls == 0f) return Double.NaN;
+        return calls == 0f ? bets : (double) bets / calls;
+    }
+
+    public double getAggression(int seat) {
+        return getAggression(seat, 0);
+    }
+
+    /** Доля фолдов, когда на улице впервые пришлось отвечать на ставку */
+    public double getFoldToBet(int seat, Stage stage, int window) {
+        if (stage == Stage.SHOWDOWN) throw new IllegalArgumentException("No betting at showdown");
+        return ratio(window, seat, FOLDED_TO_BET + stage.ordinal(), FACED_BET + stage.ordinal());
+    }
+
+    public double getFoldToBet(int seat, Stage stage) {
+        return getFoldToBet(seat, stage, 0);
+    }
+
+    /** Доля увиденных флопов, дошедших до вскрытия (WTSD) */
+    public double getShowdownRate(int seat, int window) {
+        return ratio(window, seat, SHOWDOWNS, SAW_FLOP);
+    }
+
+    public double getShowdownRate(int seat) {
+        return getShowdownRate(seat, 0);
+    }
+
+    /** Доля вскрытий, где игрок забрал банк или его часть (W$SD) */
+    public double getShowdownWinRate(int seat, int window) {
+        return ratio(window, seat, SHOWDOWN_WINS, SHOWDOWNS);
+    }
+
+    public double getShowdownWinRate(int seat) {
+        return getShowdownWinRate(seat, 0);
+    }
+
+    public int getSeats() {
+        return seats;
+    }
+
+    public int getWindows() {
+        return windows;
+    }
+
+    // ================== ВСПОМОГАТЕЛЬНЫЕ ==================
+
+    private void startStreet(Round round, int actor) {
+        street = round.getStage();
+        facedBet = 0L;
+        if (street != Stage.PREFLOP) countFlop(round, actor);
+    }
+
+    /**
+     * Флоп видели все, кто не сбросил карты к его открытию, включая место actor, которое
+     * могло сбросить первым же действием на флопе; учитывается один раз за раздачу
+     */
+    private void countFlop(Round round, int actor) {
+        if (flopCounted) return;
+        flopCounted = true;
+        List<Player> players = round.getPlayers();
+        for (int seat = 0; seat < Math.min(players.size(), seats); seat++) {
+            if ((dealt >>> seat & 1) == 0 || players.get(seat).isFolded() && seat != actor) continue;
+            add(seat, SAW_FLOP);
+        }
+    }
+
+    private void markVoluntary(int seat) {
+        long bit = 1L << seat;
+        if ((voluntary & bit) != 0) return;
+        voluntary |= bit;
+        add(seat, VPIP);
+    }
+
+    private void add(int seat, int counter) {
+        for (int window = 0; window < windows; window++) {
+            counters[(window * seats + seat) * COUNTERS + counter] += 1f;
+        }
+    }
+
+    private float get(int window, int seat, int counter) {
+        if (window < 0 || window >= windows) throw new IllegalArgumentException("Window out of range: " + window);
+        if (seat < 0 || seat >= seats) throw new IllegalArgumentException("Seat out of range: " + seat);
+        return counters[(window * seats + seat) * COUNTERS + counter];
+    }
+
+    private double ratio(int window, int seat, int numerator, int denominator) {
+        float total = get(window, seat, denominator);
+        return total == 0f ? Double.NaN : get(window, seat, numerator) / total;
+    }
+}
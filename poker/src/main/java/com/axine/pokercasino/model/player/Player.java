@@ -1,6 +1,8 @@
 package com.axine.pokercasino.model.player;
 
 import com.axine.pokercasino.model.deck.Card;
+import com.axine.pokercasino.model.deck.CardSet;
+import com.axine.pokercasino.model.game.Round;
 
 import java.util.List;
 
@@ -16,8 +18,19 @@ public interface Player {
 
     void setHand(List<Card> hand);
 
+    /** Карты на руках маской {@link CardSet}, без копирования списка */
+    default long getHandMask() {
+        List<Card> hand = getHand();
+        return hand == null ? 0L : CardSet.mask(hand);
+    }
+
     PlayerAction event();
 
+    /** Решение с видом на раунд: банк, ставки, стол; по умолчанию раунд не нужен */
+    default PlayerAction event(Round round) {
+        return event();
+    }
+
     boolean isFolded();
 
     void setFolded(boolean folded);
@@ -3,11 +3,17 @@ package com.axine.pokercasino.model.player;
 import com.axine.pokercasino.model.deck.Card;
 
 import java.util.List;
+import java.util.Random;
 
 public abstract class PlayerFactory {
 
     public abstract Player createPlayer(String name, int chips);
 
+    /** Игрок со своим генератором решений, для воспроизводимых симуляций; игроку без случайности он не нужен */
+    public Player createPlayer(String name, int chips, Random random) {
+        return createPlayer(name, chips);
+    }
+
     public int getChips(Player player) {
         return player.getChips();
     }
@@ -0,0 +1,144 @@
+package com.axine.pokercasino.model.player.decision;
+
+import com.axine.pokercasino.model.deck.Card;
+import com.axine.pokercasino.model.deck.DeckType;
+import com.axine.pokercasino.model.game.Round;
+import com.axine.pokercasino.model.game.equity.QuickEquity;
+import com.axine.pokercasino.model.game.equity.Variant;
+import com.axine.pokercasino.model.game.stats.OpponentStats;
+import com.axine.pokercasino.model.player.Event;
+import com.axine.pokercasino.model.player.Player;
+import com.axine.pokercasino.model.player.PlayerAction;
+
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Решение бота по эквити. Доля банка руки против живых соперников сравнивается с шансами
+ * банка: хуже шансов — фолд, заметно лучше средней доли — ставка тем крупнее, чем больше
+ * перевес, иначе колл или чек. Изредка ставит и слабой рукой, чтобы не быть прозрачным.
+ * Эквити берётся из {@link QuickEquity} с бюджетом времени на одно решение; без бюджета
+ * ({@link #NO_BUDGET}) считается ровно выборка QuickEquity, и решение зависит только
+ * от генератора бота — так играют воспроизводимые симуляции. Если есть
+ * {@link OpponentStats}, бот подстраивается под соперников: блефует чаще против тех, кто
+ * часто сбрасывает на ставку, и платит легче против агрессивных, строже против пассивных.
+ */
+public class EquityDecision {
+
+    public static final long DEFAULT_BUDGET_MILLIS = 5;
+    /** Без ограничения по времени: только число раздач Монте-Карло */
+    public static final long NO_BUDGET = 0;
+
+    /** Перевес над средней долей банка, с которого бот ставит сам */
+    private static final double RAISE_EDGE = 0.25;
+    /** Доля ставок без перевеса, когда платить не нужно */
+    private static final double BLUFF_RATE = 0.05;
+    /** Если ставка съедает такую долю стека, бот идёт олл-ин */
+    private static final double SHOVE_SHARE = 0.7;
+    /** Статистике соперника верим, когда в окне набралось столько раздач */
+    private static final double MIN_HANDS = 10;
+    /** Обычная доля фолдов на ставку и потолок частоты блефа против сбрасывающих чаще */
+    private static final double FOLD_BASELINE = 0.5;
+    private static final double MAX_BLUFF_RATE = 0.4;
+    /** Обычный фактор агрессии; шаг и пределы поправки к шансам банка */
+    private static final double AGGRESSION_BASELINE = 1.5;
+    private static final double AGGRESSION_STEP = 0.1;
+    private static final double MAX_ODDS_SHIFT = 0.3;
+
+    private final QuickEquity equity;
+    private final long budgetNanos;
+    private final OpponentStats stats;
+
+    public EquityDecision() {
+        this(new QuickEquity(), DEFAULT_BUDGET_MILLIS);
+    }
+
+    public EquityDecision(QuickEquity equity, long budgetMillis) {
+        this(equity, budgetMillis, null);
+    }
+
+    /** stats — статистика игроков того же стола (места совпадают с местами раунда) или null */
+    public EquityDecision(QuickEquity equity, long budgetMillis, OpponentStats stats) {
+        if (equity == null) throw new IllegalArgumentException("Equity cannot be null");
+        if (budgetMillis < 0) throw new IllegalArgumentException("Time budget cannot be negative");
+        this.equity = equity;
+        this.budgetNanos = budgetMillis * 1_000_000;
+        this.stats = stats;
+    }
+
+    public PlayerAction decide(Round round, Player self, Random random) {
+        long deadline = budgetNanos == 0 ? QuickEquity.NO_DEADLINE : System.nanoTime() + budgetNanos;
+        int seat = round.getSeat(self);
+        List<Card> hole = self.getHand();
+        int opponents = round.getActiveCount() - 1;
+        if (seat < 0 || hole == null || hole.isEmpty() || opponents < 1) return check();
+
+        int stack = self.getChips();
+        int bet = round.getBet(seat);
+        int currentBet = round.getCurrentBet();
+        int toCall = Math.max(0, currentBet - bet);
+        int pot = round.getPot();
+        int bigBlind = Math.max(1, round.getBigBlind());
+
+        double share = equity.estimate(Variant.of(round), round.getDeckType(), hole, round.getCommunityCards(), opponents,
+                deadline, new SplittableRandom(random.nextLong()));
+        double potOdds = toCall == 0 ? 0.0 : (double) toCall / (pot + toCall) * oddsFactor(round, self, currentBet);
+        if (share < potOdds) return new PlayerAction(Event.FOLD, 0);
+
+        double fairShare = 1.0 / (opponents + 1);
+        double edge = (share - fairShare) / (1 - fairShare);
+        boolean canRaise = stack > toCall;
+        boolean bluff = toCall == 0 && random.nextDouble() < bluffRate(round, self);
+        if (canRaise && (edge > RAISE_EDGE || bluff)) {
+            double fraction = bluff ? 0.5 : Math.min(1.0, 0.5 + edge);
+            int raise = Math.max(bigBlind, (int) Math.round((pot + toCall) * fraction));
+            int total = currentBet + raise;
+            if (total - bet >= stack * SHOVE_SHARE) total = bet + stack;
+            return new PlayerAction(Event.BET, total);
+        }
+        return check();
+    }
+
+    // ================== ВСПОМОГАТЕЛЬНЫЕ ==================
+
+    /** Частота блефа: растёт со средней долей фолдов на ставку у живых соперников на этой улице */
+    private double bluffRate(Round round, Player self) {
+        if (stats == null) return BLUFF_RATE;
+        double folds = 0;
+        int known = 0;
+        for (Player player : round.getPlayers()) {
+            int seat = round.getSeat(player);
+            if (player == self || player.isFolded() || seat >= stats.getSeats() || stats.getHands(seat) < MIN_HANDS) continue;
+            double fold = stats.getFoldToBet(seat, round.getStage());
+            if (Double.isNaN(fold)) continue;
+            folds += fold;
+            known++;
+        }
+        if (known == 0) return BLUFF_RATE;
+        return Math.min(MAX_BLUFF_RATE, BLUFF_RATE + Math.max(0, folds / known - FOLD_BASELINE));
+    }
+
+    /**
+     * Поправка к шансам банка по самому агрессивному из поставивших currentBet: против
+     * агрессивного нужен меньший перевес для колла, против пассивного — больший
+     */
+    private double oddsFactor(Round round, Player self, int currentBet) {
+        if (stats == null) return 1.0;
+        double aggression = Double.NaN;
+        for (Player player : round.getPlayers()) {
+            int seat = round.getSeat(player);
+            if (player == self || player.isFolded() || round.getBet(seat) != currentBet
+                    || seat >= stats.getSeats() || stats.getHands(seat) < MIN_HANDS) continue;
+            double value = stats.getAggression(seat);
+            if (!Double.isNaN(value) && (Double.isNaN(aggression) || value > aggression)) aggression = value;
+        }
+        if (Double.isNaN(aggression)) return 1.0;
+        double shift = (aggression - AGGRESSION_BASELINE) * AGGRESSION_STEP;
+        return 1.0 - Math.max(-MAX_ODDS_SHIFT, Math.min(MAX_ODDS_SHIFT, shift));
+    }
+
+    private static PlayerAction check() {
+        return new PlayerAction(Event.CHECK, 0);
+    }
+}
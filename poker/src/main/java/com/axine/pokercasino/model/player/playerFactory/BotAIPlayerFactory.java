@@ -1,13 +1,56 @@
 package com.axine.pokercasino.model.player.playerFactory;
 
+import com.axine.pokercasino.model.game.equity.PreflopEquityTable;
+import com.axine.pokercasino.model.game.equity.QuickEquity;
+import com.axine.pokercasino.model.game.evaluation.IsomorphicCache;
+import com.axine.pokercasino.model.game.stats.OpponentStats;
 import com.axine.pokercasino.model.player.Player;
 import com.axine.pokercasino.model.player.PlayerFactory;
+import com.axine.pokercasino.model.player.decision.EquityDecision;
 import com.axine.pokercasino.model.player.players.BotAIPlayer;
 
+import java.util.Random;
+
 public class BotAIPlayerFactory extends PlayerFactory {
 
+    private final PreflopEquityTable preflop;
+    private final long budgetMillis;
+    private final OpponentStats stats;
+
+    public BotAIPlayerFactory() {
+        this(null, EquityDecision.DEFAULT_BUDGET_MILLIS);
+    }
+
+    /**
+     * preflop — таблица префлоп-эквити или null, budgetMillis — время на одно решение бота;
+     * {@link EquityDecision#NO_BUDGET} — без часов, для воспроизводимых симуляций
+     */
+    public BotAIPlayerFactory(PreflopEquityTable preflop, long budgetMillis) {
+        this(preflop, budgetMillis, null);
+    }
+
+    /** stats — статистика игроков стола, под которую подстраиваются боты, или null */
+    public BotAIPlayerFactory(PreflopEquityTable preflop, long budgetMillis, OpponentStats stats) {
+        if (budgetMillis < 0) throw new IllegalArgumentException("Time budget cannot be negative");
+        this.preflop = preflop;
+        this.budgetMillis = budgetMillis;
+        this.stats = stats;
+    }
+
     @Override
     public Player createPlayer(String name, int chips){
-        return new BotAIPlayer(name, chips);
+        return createPlayer(name, chips, new Random());
+    }
+
+    @Override
+    public Player createPlayer(String name, int chips, Random random) {
+        return new BotAIPlayer(name, chips, random, decision());
+    }
+
+    /** У каждого бота свой кэш оценок, чтобы решения зависели только от его генератора */
+    private EquityDecision decision() {
+        QuickEquity equity = new QuickEquity(preflop, new IsomorphicCache<>(QuickEquity.DEFAULT_CACHE_SIZE),
+                QuickEquity.DEFAULT_SAMPLES);
+        return new EquityDecision(equity, budgetMillis, stats);
     }
 }
\ No newline at end of file
@@ -4,10 +4,17 @@ import com.axine.pokercasino.model.player.Player;
 import com.axine.pokercasino.model.player.PlayerFactory;
 import com.axine.pokercasino.model.player.players.BotRandomPlayer;
 
+import java.util.Random;
+
 public class BotRandomPlayerFactory extends PlayerFactory {
 
     @Override
     public Player createPlayer(String name, int chips){
         return new BotRandomPlayer(name, chips);
     }
+
+    @Override
+    public Player createPlayer(String name, int chips, Random random) {
+        return new BotRandomPlayer(name, chips, random);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.axine.pokercasino.model.player.playerFactory;
+
+import com.axine.pokercasino.model.game.cfr.BettingAbstraction;
+import com.axine.pokercasino.model.game.cfr.CardAbstraction;
+import com.axine.pokercasino.model.game.cfr.StrategyFile;
+import com.axine.pokercasino.model.game.equity.QuickEquity;
+import com.axine.pokercasino.model.player.Player;
+import com.axine.pokercasino.model.player.PlayerFactory;
+import com.axine.pokercasino.model.player.decision.EquityDecision;
+import com.axine.pokercasino.model.player.players.CfrBotPlayer;
+
+import java.util.Random;
+
+/** Боты по одной общей стратегии CFR, отображённой в память */
+public class CfrBotPlayerFactory extends PlayerFactory {
+
+    private final StrategyFile strategy;
+    private final CardAbstraction cards;
+    private final long budgetMillis;
+
+    public CfrBotPlayerFactory(StrategyFile strategy, CardAbstraction cards) {
+        this(strategy, cards, EquityDecision.DEFAULT_BUDGET_MILLIS);
+    }
+
+    /** budgetMillis — время на решение по эквити вне стратегии; {@link EquityDecision#NO_BUDGET} — без часов */
+    public CfrBotPlayerFactory(StrategyFile strategy, CardAbstraction cards, long budgetMillis) {
+        if (strategy == null || cards == null) throw new IllegalArgumentException("Strategy or abstraction cannot be null");
+        if (strategy.getAbstractionId() != cards.id()) throw new IllegalArgumentException("Strategy was trained with a different abstraction");
+        if (strategy.getInfosets() != BettingAbstraction.infosets(cards)) {
+            throw new IllegalArgumentException("Strategy has " + strategy.getInfosets() + " infosets, abstraction expects "
+                    + BettingAbstraction.infosets(cards));
+        }
+        if (budgetMillis < 0) throw new IllegalArgumentException("Time budget cannot be negative");
+        this.strategy = strategy;
+        this.cards = cards;
+        this.budgetMillis = budgetMillis;
+    }
+
+    @Override
+    public Player createPlayer(String name, int chips) {
+        return createPlayer(name, chips, new Random());
+    }
+
+    @Override
+    public Player createPlayer(String name, int chips, Random random) {
+        return new CfrBotPlayer(name, chips, random, strategy, cards,
+                new EquityDecision(new QuickEquity(), budgetMillis));
+    }
+}
@@ -1,26 +1,40 @@
 package com.axine.pokercasino.model.player.players;
 
 import com.axine.pokercasino.model.deck.Card;
+import com.axine.pokercasino.model.game.Round;
 import com.axine.pokercasino.model.player.Event;
 import com.axine.pokercasino.model.player.Player;
 import com.axine.pokercasino.model.player.PlayerAction;
+import com.axine.pokercasino.model.player.decision.EquityDecision;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
+/** Бот, решающий по эквити руки и шансам банка ({@link EquityDecision}) */
 public class BotAIPlayer implements Player {
 
     private final String name;
     private int chips;
     private List<Card> hand = new ArrayList<>();
-    private final Random random = new Random();
-    private final int bigBlind = 20; // Default, ideally pass from GameService
+    private final Random random;
+    private final EquityDecision decision;
     private boolean folded = false;
 
     public BotAIPlayer(String name, int chips) {
+        this(name, chips, new Random());
+    }
+
+    public BotAIPlayer(String name, int chips, Random random) {
+        this(name, chips, random, new EquityDecision());
+    }
+
+    public BotAIPlayer(String name, int chips, Random random, EquityDecision decision) {
+        if (random == null || decision == null) throw new IllegalArgumentException("Random or decision cannot be null");
         this.name = name;
         this.chips = chips;
+        this.random = random;
+        this.decision = decision;
     }
 
     @Override
@@ -48,20 +62,15 @@ public class BotAIPlayer implements Player {
         this.hand = hand;
     }
 
+    /** Без вида на раунд решать не из чего — чек или колл */
     @Override
     public PlayerAction event() {
-        int choice = random.nextInt(3);
-        switch (choice) {
-            case 0:
-                return new PlayerAction(Event.FOLD, 0);
-            case 1:
-                return new PlayerAction(Event.CHECK, 0);
-            case 2:
-                int bet = Math.min(chips, Math.max(bigBlind, random.nextInt(500) + 1));
-                return new PlayerAction(Event.BET, bet);
-            default:
-                return new PlayerAction(Event.CHECK, 0);
-        }
+        return new PlayerAction(Event.CHECK, 0);
+    }
+
+    @Override
+    public PlayerAction event(Round round) {
+        return decision.decide(round, this, random);
     }
 
     @Override
@@ -14,12 +14,18 @@ public class BotRandomPlayer implements Player {
     private final String name;
     private int chips;
     private List<Card> hand = new ArrayList<>();
-    private final Random random = new Random();
+    private final Random random;
     private boolean folded = false;
 
     public BotRandomPlayer(String name, int chips) {
+        this(name, chips, new Random());
+    }
+
+    public BotRandomPlayer(String name, int chips, Random random) {
+        if (random == null) throw new IllegalArgumentException("Random cannot be null");
         this.name = name;
         this.chips = chips;
+        this.random = random;
     }
 
     @Override
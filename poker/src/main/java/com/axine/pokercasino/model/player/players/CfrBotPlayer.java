@@ -0,0 +1,125 @@
+package com.axine.pokercasino.model.player.players;
+
+import com.axine.pokercasino.model.deck.Card;
+import com.axine.pokercasino.model.game.Round;
+import com.axine.pokercasino.model.game.Stage;
+import com.axine.pokercasino.model.game.cfr.BettingAbstraction;
+import com.axine.pokercasino.model.game.cfr.CardAbstraction;
+import com.axine.pokercasino.model.game.cfr.StrategyFile;
+import com.axine.pokercasino.model.game.equity.Variant;
+import com.axine.pokercasino.model.player.Event;
+import com.axine.pokercasino.model.player.Player;
+import com.axine.pokercasino.model.player.PlayerAction;
+import com.axine.pokercasino.model.player.decision.EquityDecision;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Бот один на один по стратегии CFR: ситуация за столом переводится в номер
+ * информационного множества {@link BettingAbstraction}, действие выбирается одним
+ * чтением из {@link StrategyFile}. За столом больше чем на двоих и в Омахе стратегии
+ * нет — тогда решает {@link EquityDecision}.
+ */
+public class CfrBotPlayer implements Player {
+
+    private final String name;
+    private int chips;
+    private List<Card> hand = new ArrayList<>();
+    private final Random random;
+    private final StrategyFile strategy;
+    private final CardAbstraction cards;
+    private final EquityDecision fallback;
+    private boolean folded = false;
+
+    public CfrBotPlayer(String name, int chips, Random random, StrategyFile strategy, CardAbstraction cards,
+                        EquityDecision fallback) {
+        if (random == null || strategy == null || cards == null || fallback == null) {
+            throw new IllegalArgumentException("Random, strategy, abstraction or fallback cannot be null");
+        }
+        if (strategy.getAbstractionId() != cards.id()) throw new IllegalArgumentException("Strategy was trained with a different abstraction");
+        this.name = name;
+        this.chips = chips;
+        this.random = random;
+        this.strategy = strategy;
+        this.cards = cards;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public void setChips(int value) {
+        chips += value;
+    }
+
+    @Override
+    public int getChips() {
+        return chips;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public List<Card> getHand() {
+        return hand;
+    }
+
+    @Override
+    public void setHand(List<Card> hand) {
+        this.hand = hand;
+    }
+
+    /** Без вида на раунд решать не из чего — чек или колл */
+    @Override
+    public PlayerAction event() {
+        return new PlayerAction(Event.CHECK, 0);
+    }
+
+    @Override
+    public PlayerAction event(Round round) {
+        int seat = round.getSeat(this);
+        if (seat < 0 || round.getActiveCount() != 2 || Variant.of(round) != Variant.TEXAS_HOLDEM
+                || hand == null || hand.size() != 2) {
+            return fallback.decide(round, this, random);
+        }
+        Player opponent = opponent(round);
+        Stage stage = round.getStage();
+        int pot = round.getPot();
+        int currentBet = round.getCurrentBet();
+        int bet = round.getBet(seat);
+        int bigBlind = round.getBigBlind();
+        int infoset = BettingAbstraction.infoset(cards, stage, cards.bucket(stage, getHandMask(), round.getCommunityMask()),
+                round.getDealerPos() == seat, pot, Math.max(0, currentBet - bet),
+                Math.min(chips, opponent.getChips()), bigBlind);
+        int legal = BettingAbstraction.legalActions(pot, currentBet, bet, chips, bigBlind, opponent.getChips() > 0, true);
+        int action = strategy.choose(infoset, legal, random.nextDouble());
+        switch (action) {
+            case BettingAbstraction.FOLD:
+                return new PlayerAction(Event.FOLD, 0);
+            case BettingAbstraction.CALL:
+                return new PlayerAction(Event.CHECK, 0);
+            default:
+                return new PlayerAction(Event.BET, BettingAbstraction.betTotal(action, pot, currentBet, bet, chips, bigBlind));
+        }
+    }
+
+    @Override
+    public boolean isFolded() {
+        return folded;
+    }
+
+    @Override
+    public void setFolded(boolean folded) {
+        this.folded = folded;
+    }
+
+    private Player opponent(Round round) {
+        for (Player player : round.getPlayers()) {
+            if (player != this && !player.isFolded()) return player;
+        }
+        throw new IllegalStateException("No opponent left");
+    }
+}
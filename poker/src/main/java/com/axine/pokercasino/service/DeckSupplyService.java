@@ -0,0 +1,70 @@
+package com.axine.pokercasino.service;
+
+import com.axine.pokercasino.model.deck.DeckFactory;
+import com.axine.pokercasino.model.deck.DeckType;
+import com.axine.pokercasino.model.deck.deckFactory.ShortenedDeckFactory;
+import com.axine.pokercasino.model.deck.deckFactory.StandardDeckFactory;
+import com.axine.pokercasino.model.deck.pool.DeckPool;
+import com.axine.pokercasino.model.deck.random.SecureDeckRandom;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** Общие на все столы запасы перетасованных колод, по одному на тип колоды */
+@Service
+public class DeckSupplyService {
+    private static final Logger logger = LoggerFactory.getLogger(DeckSupplyService.class);
+
+    @Value("${poker.deck-pool.capacity:1024}")
+    private int capacity;
+
+    private final Map<DeckType, DeckPool> pools = new EnumMap<>(DeckType.class);
+
+    @PostConstruct
+    void start() {
+        for (DeckType deckType : DeckType.values()) {
+            DeckPool pool = new DeckPool(deckType, capacity, new SecureDeckRandom());
+            pool.start();
+            pools.put(deckType, pool);
+        }
+        logger.info("Запасы колод запущены, по {} колод на тип", capacity);
+    }
+
+    @PreDestroy
+    void stop() {
+        pools.values().forEach(DeckPool::close);
+    }
+
+    /** Фабрика колод, которые тасуются из общего запаса */
+    public DeckFactory deckFactory(DeckType deckType) {
+        DeckPool pool = pools.get(deckType);
+        return deckType == DeckType.SHORTENED
+                ? new ShortenedDeckFactory(SecureDeckRandom::new, pool)
+                : new StandardDeckFactory(SecureDeckRandom::new, pool);
+    }
+
+    public DeckPool getPool(DeckType deckType) {
+        return pools.get(deckType);
+    }
+
+    /** Метрики запасов: размер, ёмкость, выдано, промахи */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        for (DeckPool pool : pools.values()) {
+            metrics.put(pool.getDeckType().getShortName(), Map.of(
+                    "size", pool.getSize(),
+                    "capacity", pool.getCapacity(),
+                    "produced", pool.getProduced(),
+                    "taken", pool.getTaken(),
+                    "misses", pool.getMisses()));
+        }
+        return metrics;
+    }
+}
@@ -0,0 +1,43 @@
+package com.axine.pokercasino.service;
+
+import com.axine.pokercasino.model.deck.Card;
+import com.axine.pokercasino.model.deck.DeckType;
+import com.axine.pokercasino.model.game.equity.EquityResult;
+import com.axine.pokercasino.model.game.equity.Variant;
+import com.axine.pokercasino.model.game.evaluation.IsomorphicCache;
+import com.axine.pokercasino.model.game.evaluation.SuitIsomorphism;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/** Общий для всех сессий кэш эквити по классам изоморфных ситуаций */
+@Service
+public class EquityCacheService {
+
+    @Value("${poker.equity-cache-size:65536}")
+    private int capacity;
+
+    private IsomorphicCache<EquityResult> cache;
+
+    @PostConstruct
+    void init() {
+        cache = new IsomorphicCache<>(capacity);
+    }
+
+    /** Эквити из кэша; при промахе считается через calculate */
+    public EquityResult get(Variant variant, DeckType deckType, List<Card> hole, List<Card> board, int opponents,
+                            Supplier<EquityResult> calculate) {
+        long key = SuitIsomorphism.index(hole, board)
+                | (long) opponents << 53
+                | (long) variant.ordinal() << 58
+                | (long) deckType.ordinal() << 59;
+        return cache.get(key, index -> calculate.get());
+    }
+
+    public IsomorphicCache<EquityResult> getCache() {
+        return cache;
+    }
+}
@@ -3,13 +3,25 @@ package com.axine.pokercasino.service;
 import com.axine.pokercasino.model.deck.Card;
 import com.axine.pokercasino.model.deck.Deck;
 import com.axine.pokercasino.model.deck.DeckFactory;
-import com.axine.pokercasino.model.deck.deckFactory.ShortenedDeckFactory;
-import com.axine.pokercasino.model.deck.deckFactory.StandardDeckFactory;
+import com.axine.pokercasino.model.deck.DeckType;
+import com.axine.pokercasino.model.deck.decks.ArrayDeck;
+import com.axine.pokercasino.model.deck.fair.ShuffleCommitment;
 import com.axine.pokercasino.model.game.Round;
 import com.axine.pokercasino.model.game.RoundFactory;
 import com.axine.pokercasino.model.game.Stage;
+import com.axine.pokercasino.model.game.equity.EquityResult;
+import com.axine.pokercasino.model.game.equity.ExactEquity;
+import com.axine.pokercasino.model.game.equity.MonteCarloEquity;
+import com.axine.pokercasino.model.game.equity.Variant;
+import com.axine.pokercasino.model.game.evaluation.HandState;
 import com.axine.pokercasino.model.game.gameFactory.OmahaHoldemRoundFactory;
 import com.axine.pokercasino.model.game.gameFactory.TexasHoldemRoundFactory;
+import com.axine.pokercasino.model.game.pacing.ActionPacer;
+import com.axine.pokercasino.model.game.pacing.TableEvent;
+import com.axine.pokercasino.model.game.pacing.TableSnapshot;
+import com.axine.pokercasino.model.game.replay.HandRecord;
+import com.axine.pokercasino.model.game.replay.HandRecorder;
+import com.axine.pokercasino.model.game.stats.OpponentStats;
 import com.axine.pokercasino.model.player.Player;
 import com.axine.pokercasino.model.player.PlayerAction;
 import com.axine.pokercasino.model.player.PlayerFactory;
@@ -19,18 +31,52 @@ import com.axine.pokercasino.model.player.playerFactory.HumanPlayerFactory;
 import com.axine.pokercasino.model.player.players.HumanPlayer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.context.annotation.SessionScope;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 @SessionScope
 public class GameService {
     private static final Logger logger = LoggerFactory.getLogger(GameService.class);
+    private static final long ODDS_SAMPLES = 200_000;
+    private static final long ODDS_MILLIS = 50;
+    private static final int HAND_HISTORY = 100;
+    private static final int MAX_DRIVE_STEPS = 64;
+    /** Сколько раз подряд водитель повторяет стол после сбоя шага, прежде чем сдаться */
+    private static final int MAX_DRIVE_RETRIES = 3;
+
+    @Autowired
+    private PreflopEquityService preflopEquity;
+
+    @Autowired
+    private EquityCacheService equityCache;
+
+    @Autowired
+    private DeckSupplyService deckSupply;
+
+    @Autowired
+    private PacingService pacing;
+
+    @Autowired
+    private TableDriverService driver;
+
+    @Autowired
+    private StrategyService strategy;
+
+    @Value("${poker.bot-budget-ms:5}")
+    private long botBudgetMillis;
 
     private Round round;
     private List<Player> players;
@@ -43,13 +89,26 @@ public class GameService {
     private int smallBlind;
     private int bigBlind;
     private int globalDealerPos = 0;
+    private final MonteCarloEquity equity = new MonteCarloEquity();
+    private final ExactEquity exactEquity = new ExactEquity();
+    private Map<Player, EquityResult> allInEquity = Map.of();
+    private int allInBoardSize = -1;
+    private HandRecorder recorder;
+    private ActionPacer pacer;
+    private OpponentStats opponentStats;
+    private final ArrayDeque<HandRecord> handHistory = new ArrayDeque<>();
+    private ShuffleCommitment commitment;
+    private ShuffleCommitment previousCommitment;
+    private boolean seedRevealed;
+    private final AtomicInteger drives = new AtomicInteger();
+    private int driveFailures;
 
-    public void startGame(String gameType, String deckType, List<Map<String, String>> playerConfigs, int smallBlind, int bigBlind) {
+    public synchronized void startGame(String gameType, String deckType, List<Map<String, String>> playerConfigs, int smallBlind, int bigBlind) {
         try {
             if (gameType == null || deckType == null) {
                 throw new IllegalArgumentException("Тип игры или колоды не указан");
             }
-            DeckFactory deckFactory = deckType.equals("shortened") ? new ShortenedDeckFactory() : new StandardDeckFactory();
+            DeckFactory deckFactory = deckSupply.deckFactory(deckType.equals("shortened") ? DeckType.SHORTENED : DeckType.STANDARD);
             deck = deckFactory.createDeck();
             if (deck == null) throw new IllegalStateException("Не удалось создать колоду");
 
@@ -58,12 +117,18 @@ public class GameService {
             humanPlayer = humanFactory.createPlayer("You", 1000);
             if (humanPlayer == null) throw new IllegalStateException("Не удалось создать игрока");
             players.add(humanPlayer);
+            // Статистика живёт всю игру: continueGame подключает её к каждому новому раунду
+            opponentStats = new OpponentStats(Math.max(2, playerConfigs.size() + 1));
 
             for (Map<String, String> config : playerConfigs) {
                 if (config == null) continue;
                 String type = config.getOrDefault("type", "random");
                 String name = config.getOrDefault("name", "Bot" + (players.size() + 1));
-                PlayerFactory botFactory = type.equals("random") ? new BotRandomPlayerFactory() : new BotAIPlayerFactory();
+                PlayerFactory botFactory = type.equals("random")
+                        ? new BotRandomPlayerFactory()
+                        : type.equals("cfr") && strategy.isAvailable()
+                        ? strategy.getFactory()
+                        : new BotAIPlayerFactory(preflopEquity.getTable(), botBudgetMillis, opponentStats);
                 Player bot = botFactory.createPlayer(name, 1000);
                 if (bot != null) players.add(bot);
             }
@@ -78,13 +143,21 @@ public class GameService {
             this.bigBlind = bigBlind;
             globalDealerPos = 0;
             round.setDealerPos(globalDealerPos);
+            handHistory.clear();
+            recorder = deck instanceof ArrayDeck arrayDeck
+                    ? new HandRecorder(arrayDeck, smallBlind, bigBlind, this::recordHand)
+                    : null;
+            pacer = pacing.newPacer();
+            attachListeners();
 
+            previousCommitment = null;
             roundFactory.startRound(round);
+            publishCommitment();
             roundFactory.distributeCards(round);
             gameStarted = true;
             roundEnded = false;
             message = "Игра началась! Тип: " + gameType + ", Колода: " + deckType + ", Блайнды: " + smallBlind + "/" + bigBlind;
-            advanceGame(null);
+            scheduleDrive(false);
         } catch (Exception e) {
             String errorMessage = e.getMessage() != null ? e.getMessage() : "Неизвестная ошибка при запуске игры: " + e.getClass().getSimpleName();
             logger.error("Ошибка при запуске игры: {}", errorMessage, e);
@@ -92,12 +165,71 @@ public class GameService {
         }
     }
 
-    public void advanceGame(PlayerAction humanAction) {
-        if (!gameStarted) {
-            message = "Игра не начата";
-            return;
+    /** Согласованное чтение состояния стола: водитель не меняет стол, пока идёт чтение */
+    public synchronized <T> T snapshot(Supplier<T> reader) {
+        return reader.get();
+    }
+
+    /** Стол ведётся в фоне: чтения состояния до конца хода не покажут промежуточных шагов */
+    public boolean isDriving() {
+        return drives.get() > 0;
+    }
+
+    /** paused — запуск через паузу (улица олл-ина или повтор после сбоя); иначе это новый ход, и счёт сбоев начинается заново */
+    private void scheduleDrive(boolean paused) {
+        drives.incrementAndGet();
+        if (paused) {
+            driver.submitRunout(this::drive);
+        } else {
+            driveFailures = 0;
+            driver.submit(this::drive);
+        }
+    }
+
+    /**
+     * Ходы ботов, смена улиц и вскрытие до ближайшего решения человека или конца раунда.
+     * При олл-ине останавливается после каждой улицы: точное эквити считается уже без
+     * замка стола, а следующая улица открывается через паузу. Сбой шага повторяется через
+     * ту же паузу до {@value #MAX_DRIVE_RETRIES} раз подряд, чтобы стол не замирал.
+     */
+    private void drive() {
+        try {
+            AllInSpot spot;
+            synchronized (this) {
+                spot = advance();
+            }
+            if (spot != null) {
+                publishAllInEquity(spot, allInEquity(spot));
+                scheduleDrive(true);
+            }
+        } finally {
+            drives.decrementAndGet();
         }
+    }
 
+    /** Шаги стола под замком; возвращает олл-ин, для которого пора считать эквити, или null */
+    private AllInSpot advance() {
+        for (int steps = 0; steps < MAX_DRIVE_STEPS; steps++) {
+            if (!gameStarted || roundEnded || isHumanDecision()) return null;
+            if (!step()) {
+                if (++driveFailures <= MAX_DRIVE_RETRIES) scheduleDrive(true);
+                return null;
+            }
+            driveFailures = 0;
+            AllInSpot spot = allInSpot();
+            if (spot != null) return spot;
+        }
+        logger.warn("Стол не дошёл до решения за {} шагов", MAX_DRIVE_STEPS);
+        return null;
+    }
+
+    private boolean isHumanDecision() {
+        return !roundFactory.checkRoundCompletion(round) && !roundFactory.isBettingComplete(round)
+                && roundFactory.getCurrentPlayer(round) instanceof HumanPlayer;
+    }
+
+    /** Один шаг стола: раздача банка, следующая улица или круг ставок ботов до хода человека */
+    private boolean step() {
         try {
             if (round == null) {
                 throw new IllegalStateException("Раунд не инициализирован");
@@ -105,6 +237,7 @@ public class GameService {
             if (roundFactory.checkRoundCompletion(round)) {
                 List<Player> winners = roundFactory.getWinners(round);
                 roundFactory.distributePot(winners, round);
+                seedRevealed = true;
                 message = "Раунд завершён. Победители: " + (winners.isEmpty() ? "Нет" : winners.stream().map(Player::getName).collect(Collectors.joining(", ")));
                 roundEnded = true;
             } else {
@@ -115,17 +248,107 @@ public class GameService {
                         message = "Стадия: " + round.getStage();
                     }
                 } else {
-                    roundFactory.manageBettingRound(round, humanAction);
+                    roundFactory.manageBettingRound(round, null);
                 }
             }
+            return true;
         } catch (Exception e) {
             String errorMessage = e.getMessage() != null ? e.getMessage() : "Неизвестная ошибка в ходе игры: " + e.getClass().getSimpleName();
-            logger.error("Ошибка в advanceGame: {}", errorMessage, e);
+            logger.error("Ошибка в ходе стола: {}", errorMessage, e);
             message = "Ошибка: " + errorMessage;
+            return false;
+        }
+    }
+
+    /**
+     * Если ставок больше не будет, один раз на улицу снимает руки и стол для точного эквити;
+     * прежнее эквити сбрасывается, как только улица или раунд сменились
+     */
+    private AllInSpot allInSpot() {
+        if (roundEnded || !isAllIn()) {
+            allInEquity = Map.of();
+            allInBoardSize = -1;
+            return null;
+        }
+        List<Card> board = roundFactory.getCommunityCards(round);
+        if (board.size() == allInBoardSize) return null;
+        allInEquity = Map.of();
+        allInBoardSize = board.size();
+        List<Player> active = new ArrayList<>();
+        List<List<Card>> hands = new ArrayList<>();
+        for (Player p : players) {
+            if (p.isFolded()) continue;
+            active.add(p);
+            hands.add(List.copyOf(p.getHand()));
+        }
+        return new AllInSpot(round, Variant.of(round), DeckType.of(deck), active, hands, List.copyOf(board));
+    }
+
+    /**
+     * Точное эквити олл-ина без замка стола. Префлоп Омахи пропускается: перебор всех столов
+     * для рук из четырёх карт занял бы поток водителя на секунды. Расчёт только для показа,
+     * поэтому его сбой не должен останавливать раздачу
+     */
+    private Map<Player, EquityResult> allInEquity(AllInSpot spot) {
+        if (spot.board().isEmpty() && spot.variant() == Variant.OMAHA_HOLDEM) return Map.of();
+        try {
+            List<EquityResult> results = exactEquity.calculate(spot.variant(), spot.deckType(), spot.hands(), spot.board());
+            Map<Player, EquityResult> equities = new HashMap<>();
+            for (int i = 0; i < spot.players().size(); i++) {
+                equities.put(spot.players().get(i), results.get(i));
+            }
+            return equities;
+        } catch (RuntimeException e) {
+            logger.warn("Не удалось посчитать эквити олл-ина: {}", e.getMessage(), e);
+            return Map.of();
         }
     }
 
-    public void continueGame() {
+    /** Эквити публикуется, только если стол всё ещё на той же улице того же раунда */
+    private synchronized void publishAllInEquity(AllInSpot spot, Map<Player, EquityResult> equities) {
+        if (round == spot.round() && !roundEnded && allInBoardSize == spot.board().size()) {
+            allInEquity = equities;
+        }
+    }
+
+    /** Ставок больше не будет: в раздаче минимум двое, и фишки остались не более чем у одного, уже уравнявшего */
+    private boolean isAllIn() {
+        if (roundFactory.getStage(round) == Stage.SHOWDOWN) return false;
+        Map<Player, Integer> bets = roundFactory.getPlayersBets(round);
+        int currentBet = roundFactory.getCurrentBet(round);
+        int active = 0;
+        int withChips = 0;
+        for (Player p : players) {
+            if (p.isFolded()) continue;
+            if (p.getHand() == null || p.getHand().isEmpty()) return false;
+            active++;
+            if (p.getChips() > 0) {
+                withChips++;
+                if (bets.getOrDefault(p, 0) < currentBet) return false;
+            }
+        }
+        return active >= 2 && active <= ExactEquity.MAX_HANDS && withChips <= 1;
+    }
+
+    private void attachListeners() {
+        if (recorder != null) roundFactory.addListener(round, recorder);
+        roundFactory.addListener(round, pacer);
+        roundFactory.addListener(round, opponentStats);
+    }
+
+    /** Обязательство по колоде берётся сразу после тасования, до раздачи карт; зерно скрыто до конца раунда */
+    private void publishCommitment() {
+        // Сначала прячем зерно: иначе новое обязательство на миг окажется раскрытым
+        seedRevealed = false;
+        commitment = deck instanceof ArrayDeck arrayDeck ? arrayDeck.getCommitment() : null;
+    }
+
+    private void recordHand(HandRecord record) {
+        if (handHistory.size() == HAND_HISTORY) handHistory.removeFirst();
+        handHistory.addLast(record);
+    }
+
+    public synchronized void continueGame() {
         if (!gameStarted || !roundEnded) {
             message = "Невозможно продолжить: игра не начата или раунд не завершён";
             return;
@@ -135,15 +358,18 @@ public class GameService {
                 throw new IllegalStateException("Раунд или колода не инициализированы");
             }
             globalDealerPos = (globalDealerPos + 1) % players.size();
+            // Тасует startRound: готовый порядок берётся из запаса
             deck.initialize();
-            deck.shuffle();
             round = roundFactory.createRound(players, deck, smallBlind, bigBlind);
             round.setDealerPos(globalDealerPos);
+            attachListeners();
+            previousCommitment = seedRevealed ? commitment : null;
             roundFactory.startRound(round);
+            publishCommitment();
             roundFactory.distributeCards(round);
             roundEnded = false;
             message = "Новый раунд начался.";
-            advanceGame(null);
+            scheduleDrive(false);
         } catch (Exception e) {
             String errorMessage = e.getMessage() != null ? e.getMessage() : "Неизвестная ошибка при продолжении игры: " + e.getClass().getSimpleName();
             logger.error("Ошибка в continueGame: {}", errorMessage, e);
@@ -152,7 +378,7 @@ public class GameService {
         }
     }
 
-    public void submitHumanAction(PlayerAction action) {
+    public synchronized void submitHumanAction(PlayerAction action) {
         try {
             if (action == null) throw new IllegalArgumentException("Действие не указано");
             if (round == null) throw new IllegalStateException("Раунд не инициализирован");
@@ -160,7 +386,7 @@ public class GameService {
             if (!(this.getCurrentPlayer() instanceof HumanPlayer)) throw new IllegalStateException("Не очередь человеческого игрока");
             roundFactory.submitHumanAction(round, action);
             message = "Действие выполнено: " + action;
-            advanceGame(action);
+            scheduleDrive(false);
         } catch (IllegalArgumentException e) {
             String errorMessage = e.getMessage() != null ? e.getMessage() : "Недопустимое действие: " + e.getClass().getSimpleName();
             logger.error("Ошибка в submitHumanAction: {}", errorMessage, e);
@@ -198,6 +424,10 @@ public class GameService {
         return roundFactory != null ? roundFactory.getPlayersBets(round) : Map.of();
     }
 
+    public HandState getHandState(Player player) {
+        return roundFactory != null ? roundFactory.getHandState(player, round) : null;
+    }
+
     public Player getCurrentPlayer() {
         return roundFactory != null ? roundFactory.getCurrentPlayer(round) : null;
     }
@@ -206,6 +436,77 @@ public class GameService {
         return roundFactory != null ? roundFactory.isBettingComplete(round) : true;
     }
 
+    /**
+     * Шансы человека против оставшихся в раздаче соперников; null, если считать нечего.
+     * Руку, стол и число соперников копируем под замком стола, а считаем уже без него,
+     * чтобы водитель не ждал конца розыгрыша Монте-Карло
+     */
+    public EquityResult getHumanEquity() {
+        List<Card> hand;
+        List<Card> board;
+        int opponents;
+        Variant variant;
+        DeckType deckType;
+        synchronized (this) {
+            if (!gameStarted || round == null || humanPlayer == null || humanPlayer.isFolded()) return null;
+            if (humanPlayer.getHand() == null || humanPlayer.getHand().isEmpty()) return null;
+            hand = List.copyOf(humanPlayer.getHand());
+            board = List.copyOf(round.getCommunityCards());
+            opponents = round.getActiveCount() - 1;
+            variant = Variant.of(round);
+            deckType = DeckType.of(deck);
+        }
+        if (opponents == 0) return null;
+        if (board.isEmpty() && variant == Variant.TEXAS_HOLDEM) {
+            EquityResult preflop = preflopEquity.lookup(deckType, hand, opponents);
+            if (preflop != null) return preflop;
+        }
+        return equityCache.get(variant, deckType, hand, board, opponents,
+                () -> equity.calculate(variant, deckType, hand, board, opponents, ODDS_SAMPLES, ODDS_MILLIS));
+    }
+
+    /** Точное эквити рук при олл-ине; пусто, пока ставки ещё возможны */
+    public Map<Player, EquityResult> getAllInEquity() {
+        return allInEquity;
+    }
+
+    /** Последние сыгранные раздачи, от старых к новым; по ним раздачу можно воспроизвести */
+    public synchronized List<HandRecord> getHandHistory() {
+        return new ArrayList<>(handHistory);
+    }
+
+    /** Действия, выпущенные клиенту после события с номером after */
+    public List<TableEvent> getEvents(long after) {
+        return pacer != null ? pacer.released(after) : List.of();
+    }
+
+    /** Стол, каким его видит клиент, пока действия ещё выпускаются; null — пейсер догнал раунд */
+    public TableSnapshot getShownTable() {
+        return pacer != null && !pacer.isIdle() ? pacer.shown() : null;
+    }
+
+    /** Все действия показаны клиенту */
+    public boolean isPacingIdle() {
+        return pacer == null || pacer.isIdle();
+    }
+
+    /**
+     * Хэш колоды текущей раздачи, зерно после раздачи банка и раскрытое зерно прошлой раздачи.
+     * Под замком стола: обязательство и флаг раскрытия меняет водитель
+     */
+    public synchronized Map<String, Object> getFairness() {
+        Map<String, Object> fairness = new LinkedHashMap<>();
+        if (commitment == null) return fairness;
+        fairness.put("deckType", DeckType.of(deck).getShortName());
+        fairness.put("commitment", commitment.getHashHex());
+        if (seedRevealed) fairness.put("seed", commitment.getSeedHex());
+        if (previousCommitment != null) {
+            fairness.put("previousCommitment", previousCommitment.getHashHex());
+            fairness.put("previousSeed", previousCommitment.getSeedHex());
+        }
+        return fairness;
+    }
+
     public String getMessage() {
         return message != null ? message : "";
     }
@@ -226,4 +527,9 @@ public class GameService {
         if (!checkRoundCompletion()) return List.of();
         return roundFactory != null ? roundFactory.getWinners(round) : List.of();
     }
-}
\ No newline at end of file
+
+    /** Руки и стол олл-ина, снятые под замком для расчёта вне его */
+    private record AllInSpot(Round round, Variant variant, DeckType deckType, List<Player> players,
+                             List<List<Card>> hands, List<Card> board) {
+    }
+}
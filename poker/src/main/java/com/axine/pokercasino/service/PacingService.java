@@ -0,0 +1,44 @@
+package com.axine.pokercasino.service;
+
+import com.axine.pokercasino.model.game.pacing.ActionPacer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/** Общий на все столы планировщик, который выпускает действия клиентам в заданном темпе */
+@Service
+public class PacingService {
+    private static final Logger logger = LoggerFactory.getLogger(PacingService.class);
+
+    @Value("${poker.bot-pace-ms:500}")
+    private long paceMillis;
+
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "action-pacing");
+            thread.setDaemon(true);
+            return thread;
+        });
+        logger.info("Темп показа действий: {} мс", paceMillis);
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /** Пейсер для нового стола */
+    public ActionPacer newPacer() {
+        return new ActionPacer(scheduler, paceMillis, TimeUnit.MILLISECONDS);
+    }
+}
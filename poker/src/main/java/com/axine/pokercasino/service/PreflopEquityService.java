@@ -0,0 +1,58 @@
+package com.axine.pokercasino.service;
+
+import com.axine.pokercasino.model.deck.Card;
+import com.axine.pokercasino.model.deck.DeckType;
+import com.axine.pokercasino.model.game.equity.EquityResult;
+import com.axine.pokercasino.model.game.equity.PreflopEquityTable;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/** Общая на всё приложение таблица префлоп-эквити; без файла таблицы просто недоступна */
+@Service
+public class PreflopEquityService {
+    private static final Logger logger = LoggerFactory.getLogger(PreflopEquityService.class);
+
+    @Value("${poker.preflop-table:preflop-equity.bin}")
+    private String tablePath;
+
+    private PreflopEquityTable table;
+
+    @PostConstruct
+    void load() {
+        Path path = Path.of(tablePath);
+        if (!Files.isRegularFile(path)) {
+            logger.info("Таблица префлоп-эквити {} не найдена, префлоп считается Монте-Карло", path.toAbsolutePath());
+            return;
+        }
+        try {
+            table = PreflopEquityTable.load(path);
+            logger.info("Таблица префлоп-эквити загружена из {}", path.toAbsolutePath());
+        } catch (Exception e) {
+            logger.error("Не удалось загрузить таблицу префлоп-эквити {}: {}", path, e.getMessage(), e);
+        }
+    }
+
+    public boolean isAvailable() {
+        return table != null;
+    }
+
+    /** Сама таблица для ботов; null, если её нет */
+    public PreflopEquityTable getTable() {
+        return table;
+    }
+
+    /** Эквити двух карт до флопа; null, если таблицы нет или соперников больше, чем в таблице */
+    public EquityResult lookup(DeckType deckType, List<Card> hole, int opponents) {
+        if (table == null || hole == null || hole.size() != 2 || opponents > PreflopEquityTable.MAX_OPPONENTS) {
+            return null;
+        }
+        return table.lookup(deckType, hole, opponents);
+    }
+}
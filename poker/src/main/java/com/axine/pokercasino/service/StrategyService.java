@@ -0,0 +1,56 @@
+package com.axine.pokercasino.service;
+
+import com.axine.pokercasino.model.game.cfr.CardAbstraction;
+import com.axine.pokercasino.model.game.cfr.ClusteredBuckets;
+import com.axine.pokercasino.model.game.cfr.RankBuckets;
+import com.axine.pokercasino.model.game.cfr.StrategyFile;
+import com.axine.pokercasino.model.player.PlayerFactory;
+import com.axine.pokercasino.model.player.playerFactory.CfrBotPlayerFactory;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/** Общая на всё приложение стратегия CFR, отображённая в память при старте; без файла боты CFR недоступны */
+@Service
+public class StrategyService {
+    private static final Logger logger = LoggerFactory.getLogger(StrategyService.class);
+
+    @Value("${poker.cfr-strategy:cfr-strategy.bin}")
+    private String strategyPath;
+
+    /** Каталог таблиц корзин BucketBuilder; пусто — стратегия обучена на RankBuckets */
+    @Value("${poker.cfr-buckets:}")
+    private String bucketsPath;
+
+    private PlayerFactory factory;
+
+    @PostConstruct
+    void load() {
+        Path path = Path.of(strategyPath);
+        if (!Files.isRegularFile(path)) {
+            logger.info("Стратегия CFR {} не найдена, вместо ботов CFR играют AI-боты", path.toAbsolutePath());
+            return;
+        }
+        try {
+            CardAbstraction cards = bucketsPath.isBlank() ? new RankBuckets() : ClusteredBuckets.load(Path.of(bucketsPath));
+            factory = new CfrBotPlayerFactory(StrategyFile.load(path), cards);
+            logger.info("Стратегия CFR загружена из {}", path.toAbsolutePath());
+        } catch (Exception e) {
+            logger.error("Не удалось загрузить стратегию CFR {}: {}", path, e.getMessage(), e);
+        }
+    }
+
+    public boolean isAvailable() {
+        return factory != null;
+    }
+
+    /** Фабрика ботов CFR; null, если стратегии нет */
+    public PlayerFactory getFactory() {
+        return factory;
+    }
+}
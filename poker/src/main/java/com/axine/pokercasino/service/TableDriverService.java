@@ -0,0 +1,49 @@
+package com.axine.pokercasino.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Общие потоки, которые ведут столы вне потоков запросов: после действия человека стол
+ * прогоняется до следующего его решения или конца раунда. Улицы олл-ина открываются
+ * с паузой, чтобы клиент успел показать эквити.
+ */
+@Service
+public class TableDriverService {
+
+    @Value("${poker.runout-pace-ms:1000}")
+    private long runoutPaceMillis;
+
+    private ScheduledExecutorService executor;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threads = new AtomicInteger();
+        executor = Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, "table-driver-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    public void submit(Runnable task) {
+        executor.execute(task);
+    }
+
+    /** Следующая улица олл-ина или повтор после сбоя — через паузу */
+    public void submitRunout(Runnable task) {
+        executor.schedule(task, runoutPaceMillis, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,54 @@
+package com.axine.pokercasino.model.deck;
+
+import com.axine.pokercasino.model.deck.decks.ArrayDeck;
+import com.axine.pokercasino.model.deck.decks.ShortenedDeck;
+import com.axine.pokercasino.model.deck.decks.StandardDeck;
+import com.axine.pokercasino.model.deck.random.SecureDeckRandom;
+import com.axine.pokercasino.model.deck.random.SplittableDeckRandom;
+import com.axine.pokercasino.model.game.evaluation.HandEvaluator;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ArrayDeckTest {
+
+	@Test
+	void shuffleKeepsEveryCardOnce() {
+		ArrayDeck deck = new StandardDeck(new SecureDeckRandom());
+		deck.shuffle();
+		assertEquals(HandEvaluator.mask(DeckType.STANDARD), deck.dealMask(52));
+		assertEquals(0, deck.getCardsCount());
+
+		ArrayDeck shortened = new ShortenedDeck(new SplittableDeckRandom(1));
+		shortened.shuffle();
+		assertEquals(HandEvaluator.mask(DeckType.SHORTENED), shortened.dealMask(36));
+	}
+
+	@Test
+	void sameSeedDealsSameOrder() {
+		ArrayDeck first = new StandardDeck(new SplittableDeckRandom(42));
+		ArrayDeck second = new StandardDeck(new SplittableDeckRandom(42));
+		first.shuffle();
+		second.shuffle();
+		byte[] a = new byte[52];
+		byte[] b = new byte[52];
+		first.dealCodes(a, 0, 52);
+		second.dealCodes(b, 0, 52);
+		assertArrayEquals(a, b);
+	}
+
+	@Test
+	void dealsIntoCallerBuffers() {
+		ArrayDeck deck = new StandardDeck(new SplittableDeckRandom(7));
+		Card[] hand = new Card[4];
+		deck.deal(hand, 1, 2);
+		assertEquals(50, deck.getCardsCount());
+		assertEquals(hand[1], Card.of(0));
+		assertEquals(hand[2], Card.of(1));
+		deck.initialize();
+		assertEquals(52, deck.getCardsCount());
+		assertThrows(IllegalStateException.class, () -> deck.getCards(53));
+	}
+}
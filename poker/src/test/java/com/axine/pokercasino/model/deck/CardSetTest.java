@@ -0,0 +1,49 @@
+package com.axine.pokercasino.model.deck;
+
+import com.axine.pokercasino.model.deck.card.Rank;
+import com.axine.pokercasino.model.deck.card.Suit;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.axine.pokercasino.model.deck.TestCards.cards;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CardSetTest {
+
+	@Test
+	void internsOneCardPerCode() {
+		for (int code = 0; code < Card.COUNT; code++) {
+			Card card = Card.of(code);
+			assertEquals(code, card.getCode());
+			assertSame(card, Card.of(card.getSuit(), card.getRank()));
+		}
+		assertSame(cards("AH").get(0), Card.of(Suit.HEARTS, Rank.ACE));
+		assertThrows(IllegalArgumentException.class, () -> Card.of(52));
+	}
+
+	@Test
+	void combinesCardsAsBits() {
+		CardSet hand = CardSet.of(cards("AH KH"));
+		CardSet board = CardSet.of(cards("2C 7D KS"));
+		CardSet all = hand.union(board);
+		assertEquals(5, all.size());
+		assertTrue(all.containsAll(hand));
+		assertTrue(all.contains(Card.of(Suit.SPADES, Rank.KING)));
+		assertFalse(hand.intersects(board));
+		assertEquals(board, all.without(hand));
+		assertEquals(CardSet.EMPTY, CardSet.of(List.of()));
+	}
+
+	@Test
+	void listViewFollowsMaskOrder() {
+		CardSet set = CardSet.of(cards("AS 2H KD"));
+		assertEquals(List.of(Card.of(Suit.HEARTS, Rank.TWO), Card.of(Suit.DIAMONDS, Rank.KING),
+				Card.of(Suit.SPADES, Rank.ACE)), set.asList());
+		assertEquals(set, CardSet.of(set.asList()));
+	}
+}
@@ -0,0 +1,39 @@
+package com.axine.pokercasino.model.deck;
+
+import com.axine.pokercasino.model.deck.card.Rank;
+import com.axine.pokercasino.model.deck.card.Suit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class TestCards {
+
+	private TestCards() {
+	}
+
+	/** Карты из строки вида "AH 10S 2C" */
+	public static List<Card> cards(String hand) {
+		List<Card> cards = new ArrayList<>();
+		if (hand.isBlank()) return cards;
+		for (String token : hand.trim().split("\\s+")) {
+			String rank = token.substring(0, token.length() - 1);
+			String suit = token.substring(token.length() - 1);
+			cards.add(Card.of(suitOf(suit), rankOf(rank)));
+		}
+		return cards;
+	}
+
+	private static Rank rankOf(String shortName) {
+		for (Rank rank : Rank.values()) {
+			if (rank.getShortName().equals(shortName)) return rank;
+		}
+		throw new IllegalArgumentException(shortName);
+	}
+
+	private static Suit suitOf(String shortName) {
+		for (Suit suit : Suit.values()) {
+			if (suit.getShortName().equals(shortName)) return suit;
+		}
+		throw new IllegalArgumentException(shortName);
+	}
+}
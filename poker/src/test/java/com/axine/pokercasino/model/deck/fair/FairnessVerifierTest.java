@@ -0,0 +1,47 @@
+package com.axine.pokercasino.model.deck.fair;
+
+import com.axine.pokercasino.model.deck.DeckType;
+import com.axine.pokercasino.model.deck.decks.ArrayDeck;
+import com.axine.pokercasino.model.deck.decks.ShortenedDeck;
+import com.axine.pokercasino.model.deck.decks.StandardDeck;
+import com.axine.pokercasino.model.deck.pool.DeckPool;
+import com.axine.pokercasino.model.deck.random.SecureDeckRandom;
+import com.axine.pokercasino.model.deck.random.SplittableDeckRandom;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FairnessVerifierTest {
+
+	@Test
+	void pooledShuffleVerifiesAgainstCommitment() {
+		try (DeckPool pool = new DeckPool(DeckType.STANDARD, 4, new SecureDeckRandom())) {
+			pool.start();
+			ArrayDeck deck = new StandardDeck(new SecureDeckRandom());
+			deck.setOrderSource(pool);
+			deck.shuffle();
+			ShuffleCommitment commitment = deck.getCommitment();
+			assertNotNull(commitment);
+			byte[] dealt = new byte[52];
+			deck.dealCodes(dealt, 0, 52);
+			assertArrayEquals(dealt, FairnessVerifier.order(DeckType.STANDARD, commitment.getSeed()));
+			assertTrue(FairnessVerifier.verify(DeckType.STANDARD, commitment.getSeedHex(), commitment.getHashHex()));
+
+			byte[] wrongSeed = commitment.getSeed();
+			wrongSeed[0] ^= 1;
+			assertFalse(FairnessVerifier.verify(DeckType.STANDARD, wrongSeed, commitment.getHash()));
+			assertFalse(FairnessVerifier.verify(DeckType.SHORTENED, commitment.getSeed(), commitment.getHash()));
+		}
+	}
+
+	@Test
+	void inPlaceShuffleCommitsLazily() {
+		ArrayDeck deck = new ShortenedDeck(new SplittableDeckRandom(5));
+		deck.shuffle();
+		ShuffleCommitment commitment = deck.getCommitment();
+		assertTrue(FairnessVerifier.verify(DeckType.SHORTENED, commitment.getSeed(), commitment.getHash()));
+	}
+}
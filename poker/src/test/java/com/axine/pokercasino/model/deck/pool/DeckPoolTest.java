@@ -0,0 +1,48 @@
+package com.axine.pokercasino.model.deck.pool;
+
+import com.axine.pokercasino.model.deck.DeckType;
+import com.axine.pokercasino.model.deck.decks.ArrayDeck;
+import com.axine.pokercasino.model.deck.decks.ShortenedDeck;
+import com.axine.pokercasino.model.deck.decks.StandardDeck;
+import com.axine.pokercasino.model.deck.random.SplittableDeckRandom;
+import com.axine.pokercasino.model.game.evaluation.HandEvaluator;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeckPoolTest {
+
+	@Test
+	void decksShuffleFromPool() {
+		try (DeckPool pool = new DeckPool(DeckType.STANDARD, 8, new SplittableDeckRandom(1))) {
+			pool.start();
+			assertEquals(8, pool.getSize());
+			ArrayDeck deck = new StandardDeck(new SplittableDeckRandom(2));
+			deck.setOrderSource(pool);
+			for (int i = 0; i < 100; i++) {
+				deck.shuffle();
+				assertEquals(HandEvaluator.mask(DeckType.STANDARD), deck.dealMask(52));
+			}
+			assertEquals(100, pool.getTaken() + pool.getMisses());
+			assertTrue(pool.getProduced() >= pool.getTaken());
+			assertTrue(pool.getSize() <= pool.getCapacity());
+		}
+	}
+
+	@Test
+	void reportsMissWhenEmpty() {
+		DeckPool pool = new DeckPool(DeckType.SHORTENED, 1, new SplittableDeckRandom(1));
+		byte[] order = new byte[36];
+		// Производитель не запущен: запас пуст, колода тасуется на месте
+		assertNull(pool.take(order));
+		assertEquals(1, pool.getMisses());
+		ShortenedDeck deck = new ShortenedDeck(new SplittableDeckRandom(3));
+		deck.setOrderSource(pool);
+		deck.shuffle();
+		assertEquals(HandEvaluator.mask(DeckType.SHORTENED), deck.dealMask(36));
+		assertThrows(IllegalArgumentException.class, () -> new StandardDeck(new SplittableDeckRandom()).setOrderSource(pool));
+	}
+}
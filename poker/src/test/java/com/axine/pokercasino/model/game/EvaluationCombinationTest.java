@@ -0,0 +1,66 @@
+package com.axine.pokercasino.model.game;
+
+import com.axine.pokercasino.model.game.evaluation.HandRank;
+import org.junit.jupiter.api.Test;
+
+import static com.axine.pokercasino.model.deck.TestCards.cards;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EvaluationCombinationTest {
+
+	@Test
+	void detectsEveryCombination() {
+		assertEquals(Combination.HIGHCARD, combo("AH KD 9C 7S 2H 3D 4C"));
+		assertEquals(Combination.ONEPAIR, combo("AH AD 9C 7S 2H 3D JC"));
+		assertEquals(Combination.TWOPAIRS, combo("AH AD 9C 9S 2H 3D JC"));
+		assertEquals(Combination.SET, combo("AH AD AC 9S 2H 3D JC"));
+		assertEquals(Combination.STRAIGHT, combo("AH 2D 3C 4S 5H KD KC"));
+		assertEquals(Combination.FLUSH, combo("AH 2H 9H 4H 5H KD KC"));
+		assertEquals(Combination.FULLHOUSE, combo("AH AD AC KS KH 3D 3C"));
+		assertEquals(Combination.QUADS, combo("AH AD AC AS KH 3D 3C"));
+		assertEquals(Combination.STRAIGHTFLUSH, combo("9S 8S 7S 6S 5S AD AC"));
+		assertEquals(Combination.ROYALFLUSH, combo("AS KS QS JS 10S 2D 2C"));
+	}
+
+	@Test
+	void ordersHandsInsideCategory() {
+		assertTrue(power("AH AD KC QS JH") > power("AH AD KC QS 10H"));
+		assertTrue(power("KH KD QC QS 2H") > power("KH KD JC JS AH"));
+		assertTrue(power("KH KD QC QS AH") > power("KH KD QC QS JH"));
+		assertTrue(power("6H 2D 3C 4S 5H") > power("AH 2D 3C 4S 5D"));
+		assertTrue(power("AH AD AC 2S 2H") > power("KH KD KC QS QH"));
+		assertEquals(power("AH KD QC JS 9H"), power("AD KC QS JH 9D"));
+	}
+
+	@Test
+	void picksBestFiveOfSeven() {
+		assertEquals(power("AH AD AC KS KH"), power("AH AD AC KS KH QD QC"));
+		assertEquals(power("KS QS JS 10S 9S"), power("KS QS JS 10S 9S 8S 2C"));
+	}
+
+	@Test
+	void powerIsDenseRankOfEquivalenceClass() {
+		assertEquals(1, power("7H 5D 4C 3S 2H"));
+		assertEquals(HandRank.ONE_PAIR + 1, power("2H 2D 3C 4S 5H"));
+		assertEquals(HandRank.STRAIGHT + 1, power("AH 2D 3C 4S 5H"));
+		assertEquals(HandRank.FLUSH, power("AH KD QC JS 10H"));
+		assertEquals(HandRank.QUADS, power("AH AD AC KS KH"));
+		assertEquals(HandRank.CLASSES, power("AS KS QS JS 10S"));
+		assertThrows(IllegalArgumentException.class, () -> HandRank.combination(HandRank.CLASSES + 1));
+	}
+
+	@Test
+	void rejectsTooFewCards() {
+		assertThrows(IllegalArgumentException.class, () -> power("AH KD QC JS"));
+	}
+
+	private static Combination combo(String hand) {
+		return EvaluationCombination.getCombinationFromPower(power(hand));
+	}
+
+	private static int power(String hand) {
+		return EvaluationCombination.getHandPower(cards(hand));
+	}
+}
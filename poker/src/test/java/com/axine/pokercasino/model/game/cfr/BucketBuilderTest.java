@@ -0,0 +1,131 @@
+package com.axine.pokercasino.model.game.cfr;
+
+import com.axine.pokercasino.model.deck.Card;
+import com.axine.pokercasino.model.deck.CardSet;
+import com.axine.pokercasino.model.game.Stage;
+import com.axine.pokercasino.model.game.evaluation.SuitIsomorphism;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.axine.pokercasino.model.deck.TestCards.cards;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BucketBuilderTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void boardIndexSlotsDescribeTheSameSituation() {
+		assertEquals(1, BoardIndex.boards(Stage.PREFLOP));
+		assertEquals(SuitIsomorphism.FLOPS, BoardIndex.boards(Stage.FLOP));
+		for (int pair = 0; pair < BoardIndex.HOLES; pair++) {
+			assertEquals(pair, BoardIndex.pair(BoardIndex.pairMask(pair)));
+		}
+
+		SplittableRandom random = new SplittableRandom(5);
+		for (Stage stage : List.of(Stage.FLOP, Stage.TURN)) {
+			int slots = BoardIndex.boards(stage) * BoardIndex.HOLES;
+			for (int sample = 0; sample < 2000; sample++) {
+				int[] codes = random.ints(0, Card.COUNT).distinct().limit(2 + BoardIndex.boardCards(stage)).toArray();
+				int[] suits = random.ints(0, 4).distinct().limit(4).toArray();
+				long hole = mask(codes, 0, 2, null);
+				long board = mask(codes, 2, codes.length, null);
+				long index = SuitIsomorphism.index(hole, board);
+				assertEquals(index, situation(stage, BoardIndex.slot(stage, hole, board), slots));
+				// Изоморфная ситуация может попасть в соседнюю клетку, но клетка описывает ту же ситуацию
+				assertEquals(index, situation(stage, BoardIndex.slot(stage, mask(codes, 0, 2, suits),
+						mask(codes, 2, codes.length, suits)), slots));
+			}
+		}
+		assertThrows(IllegalArgumentException.class, () -> BoardIndex.slot(Stage.FLOP,
+				CardSet.mask(cards("AH KH")), CardSet.mask(cards("2C 3C 4C 5C"))));
+	}
+
+	@Test
+	void kMeansSeparatesClustersDeterministically() {
+		byte[] points = new byte[3000 * 2];
+		SplittableRandom random = new SplittableRandom(1);
+		for (int point = 0; point < 3000; point++) {
+			int centre = point % 3 * 100 + 20;
+			points[point * 2] = (byte) (centre + random.nextInt(10));
+			points[point * 2 + 1] = (byte) (centre + random.nextInt(10));
+		}
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			KMeans kMeans = new KMeans(3, 2, 20, 1000);
+			byte[] labels = new byte[3000];
+			kMeans.assign(pool, points, kMeans.fit(pool, points, 9), labels);
+			for (int point = 3; point < 3000; point++) {
+				assertEquals(labels[point % 3], labels[point]);
+			}
+			assertTrue(labels[0] != labels[1] && labels[1] != labels[2] && labels[0] != labels[2]);
+
+			byte[] again = new byte[3000];
+			kMeans.assign(pool, points, kMeans.fit(pool, points, 9), again);
+			assertArrayEquals(labels, again);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	void preflopBucketsFollowStrengthAndSurviveReload() throws IOException {
+		ForkJoinPool pool = new ForkJoinPool(2);
+		BucketTable table;
+		try {
+			table = new BucketBuilder(64, 8).build(pool, Stage.PREFLOP, 8, 3);
+		} finally {
+			pool.shutdown();
+		}
+		assertEquals(Stage.PREFLOP, table.getStage());
+		assertEquals(7, table.bucketOf(cards("AH AS"), List.of()));
+		assertTrue(table.bucketOf(cards("7H 2S"), List.of()) <= 1);
+		assertEquals(table.bucketOf(cards("KH QH"), List.of()), table.bucketOf(cards("KC QC"), List.of()));
+
+		Path path = dir.resolve(BucketTable.fileName(Stage.PREFLOP));
+		table.write(path);
+		BucketTable loaded = BucketTable.load(path);
+		assertEquals(table.getId(), loaded.getId());
+		assertEquals(8, loaded.getBuckets());
+		for (int pair = 0; pair < BoardIndex.HOLES; pair++) {
+			long hole = BoardIndex.pairMask(pair);
+			assertEquals(table.bucketOf(hole, 0L), loaded.bucketOf(hole, 0L));
+		}
+	}
+
+	@Test
+	void riverStrengthIsPotShare() {
+		BucketBuilder builder = new BucketBuilder(1, 200);
+		SplittableRandom random = new SplittableRandom(2);
+		assertEquals(1.0, builder.strength(CardSet.mask(cards("AH KH")), CardSet.mask(cards("QH JH 10H 2C 3D")), random));
+		// Стрит-флеш на столе: любая рука делит банк
+		assertEquals(0.5, builder.strength(CardSet.mask(cards("2S 3S")), CardSet.mask(cards("AH KH QH JH 10H")), random));
+	}
+
+	/** Индекс изоморфизма ситуации, которую хранит клетка slot */
+	private static long situation(Stage stage, int slot, int slots) {
+		assertTrue(slot >= 0 && slot < slots);
+		return SuitIsomorphism.index(BoardIndex.pairMask(slot % BoardIndex.HOLES),
+				BoardIndex.representative(stage, slot / BoardIndex.HOLES));
+	}
+
+	/** Маска карт codes[from..to), масти переставлены по suits (null — как есть) */
+	private static long mask(int[] codes, int from, int to, int[] suits) {
+		long mask = 0L;
+		for (int i = from; i < to; i++) {
+			int suit = codes[i] / 13;
+			mask |= Card.of((suits == null ? suit : suits[suit]) * 13 + codes[i] % 13).getMask();
+		}
+		return mask;
+	}
+}
@@ -0,0 +1,148 @@
+package com.axine.pokercasino.model.game.cfr;
+
+import com.axine.pokercasino.model.deck.DeckType;
+import com.axine.pokercasino.model.game.Stage;
+import com.axine.pokercasino.model.game.equity.Variant;
+import com.axine.pokercasino.model.game.simulation.BotSimulation;
+import com.axine.pokercasino.model.game.simulation.SimulationReport;
+import com.axine.pokercasino.model.player.PlayerFactory;
+import com.axine.pokercasino.model.player.playerFactory.CfrBotPlayerFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CfrTrainerTest {
+
+	private static final CardAbstraction CARDS = new RankBuckets();
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void concurrentRegretUpdatesAreNotLost() throws Exception {
+		RegretTable table = new RegretTable(CARDS);
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			pool.submit(() -> java.util.stream.IntStream.range(0, 40_000).parallel()
+					.forEach(i -> table.addRegret(7, BettingAbstraction.CALL, 1f))).get();
+		} finally {
+			pool.shutdown();
+		}
+		assertEquals(40_000f, table.getRegret(7, BettingAbstraction.CALL));
+	}
+
+	@Test
+	void checkpointRoundTrip() throws IOException {
+		CfrTrainer trainer = new CfrTrainer(CARDS, new RegretTable(CARDS), 5, 10, 1000);
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			trainer.train(pool, 2000, 1);
+		} finally {
+			pool.shutdown();
+		}
+		RegretTable regrets = trainer.getRegrets();
+		Path checkpoint = dir.resolve("checkpoint.bin");
+		regrets.save(checkpoint);
+		RegretTable loaded = RegretTable.load(checkpoint, CARDS);
+		assertEquals(regrets.getIterations(), loaded.getIterations());
+		float[] expected = new float[BettingAbstraction.ACTIONS];
+		float[] actual = new float[BettingAbstraction.ACTIONS];
+		for (int infoset = 0; infoset < regrets.getInfosets(); infoset += 97) {
+			regrets.averageStrategy(infoset, expected);
+			loaded.averageStrategy(infoset, actual);
+			for (int action = 0; action < BettingAbstraction.ACTIONS; action++) {
+				assertEquals(regrets.getRegret(infoset, action), loaded.getRegret(infoset, action));
+				assertEquals(expected[action], actual[action]);
+			}
+		}
+	}
+
+	@Test
+	void exportedStrategyIsNormalisedAndPlayable() throws IOException {
+		CfrTrainer trainer = new CfrTrainer(CARDS, new RegretTable(CARDS), 5, 10, 1000);
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			trainer.train(pool, 5000, 3);
+		} finally {
+			pool.shutdown();
+		}
+		Path path = dir.resolve("strategy.bin");
+		StrategyFile.write(trainer.getRegrets(), path);
+		StrategyFile strategy = StrategyFile.load(path);
+		assertEquals(CARDS.id(), strategy.getAbstractionId());
+		assertEquals(BettingAbstraction.infosets(CARDS), strategy.getInfosets());
+
+		int visited = 0;
+		for (int infoset = 0; infoset < strategy.getInfosets(); infoset++) {
+			int sum = 0;
+			for (int action = 0; action < BettingAbstraction.ACTIONS; action++) sum += strategy.probability(infoset, action);
+			if (sum == 0) continue;
+			visited++;
+			// Вероятности округлены до 1/255 каждая
+			assertTrue(Math.abs(sum - 255) <= BettingAbstraction.ACTIONS, "infoset " + infoset + " sums to " + sum);
+		}
+		assertTrue(visited > 0);
+
+		PlayerFactory cfr = new CfrBotPlayerFactory(strategy, CARDS);
+		SimulationReport report = new BotSimulation(Variant.TEXAS_HOLDEM, DeckType.STANDARD, List.of("cfr", "cfr2"),
+				List.of(cfr, cfr), 5, 10, 1000).run(500, 2, 11);
+		assertEquals(500, report.getWins(0) + report.getWins(1), 1e-6);
+		assertEquals(0, report.getInvalidActions());
+	}
+
+	@Test
+	void betSizesRaiseAndInfosetsStayInRange() {
+		int infosets = BettingAbstraction.infosets(CARDS);
+		for (int pot = 15; pot < 2000; pot += 37) {
+			for (int currentBet = 0; currentBet < 300; currentBet += 40) {
+				int bet = currentBet / 2;
+				int stack = 1000 - bet;
+				int legal = BettingAbstraction.legalActions(pot, currentBet, bet, stack, 10, true, true);
+				for (int action = BettingAbstraction.BET_HALF_POT; action < BettingAbstraction.ACTIONS; action++) {
+					if ((legal & 1 << action) == 0) continue;
+					int total = BettingAbstraction.betTotal(action, pot, currentBet, bet, stack, 10);
+					assertTrue(total > currentBet && total <= bet + stack);
+				}
+				for (Stage stage : List.of(Stage.PREFLOP, Stage.FLOP, Stage.TURN, Stage.RIVER)) {
+					for (int bucket = 0; bucket < CARDS.buckets(stage); bucket += 7) {
+						int infoset = BettingAbstraction.infoset(CARDS, stage, bucket, pot % 2 == 0, pot,
+								currentBet - bet, stack, 10);
+						assertTrue(infoset >= 0 && infoset < infosets);
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	void factoryRejectsForeignStrategy() throws IOException {
+		CardAbstraction other = new CardAbstraction() {
+			@Override
+			public int buckets(Stage stage) {
+				return 4;
+			}
+
+			@Override
+			public int bucket(Stage stage, long hole, long board) {
+				return 0;
+			}
+
+			@Override
+			public long id() {
+				return 4;
+			}
+		};
+		Path path = dir.resolve("other.bin");
+		StrategyFile.write(new RegretTable(other), path);
+		StrategyFile strategy = StrategyFile.load(path);
+		assertThrows(IllegalArgumentException.class, () -> new CfrBotPlayerFactory(strategy, CARDS));
+	}
+}
@@ -0,0 +1,187 @@
+package com.axine.pokercasino.model.game.compact;
+
+import com.axine.pokercasino.model.deck.decks.StandardDeck;
+import com.axine.pokercasino.model.deck.random.SplittableDeckRandom;
+import com.axine.pokercasino.model.game.Round;
+import com.axine.pokercasino.model.game.games.TexasHoldemRound;
+import com.axine.pokercasino.model.player.Event;
+import com.axine.pokercasino.model.player.Player;
+import com.axine.pokercasino.model.player.PlayerAction;
+import com.axine.pokercasino.model.player.players.BotRandomPlayer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompactTableTest {
+
+	@Test
+	void followsTexasHoldemRoundRules() {
+		Random random = new Random(11);
+		for (int seats = 2; seats <= 9; seats++) {
+			List<Player> players = new ArrayList<>();
+			for (int seat = 0; seat < seats; seat++) {
+				players.add(new BotRandomPlayer("Bot" + seat, 0, new Random(random.nextLong())));
+			}
+			CompactTable table = new CompactTable(seats, 5, 10);
+			StandardDeck roundDeck = new StandardDeck(new SplittableDeckRandom(seats));
+			StandardDeck tableDeck = new StandardDeck(new SplittableDeckRandom(seats));
+			for (int hand = 0; hand < 300; hand++) {
+				for (int seat = 0; seat < seats; seat++) {
+					// Короткие стеки, чтобы чаще доходило до олл-инов и неполных коллов
+					int chips = random.nextInt(4) == 0 ? random.nextInt(12) : 1 + random.nextInt(800);
+					players.get(seat).setChips(chips - players.get(seat).getChips());
+					table.setStack(seat, chips);
+				}
+				crossCheckHand(new TexasHoldemRound(players, roundDeck, 5, 10), roundDeck, table, tableDeck, hand % seats);
+			}
+		}
+	}
+
+	@Test
+	void copyFromForksIndependentState() {
+		CompactTable table = new CompactTable(3, 5, 10);
+		StandardDeck deck = new StandardDeck(new SplittableDeckRandom(5));
+		for (int seat = 0; seat < 3; seat++) {
+			table.setStack(seat, 1000);
+		}
+		table.startHand(deck);
+		table.dealHoleCards(deck);
+
+		TableArena arena = new TableArena(2, 3, 5, 10);
+		CompactTable fork = arena.table(1).copyFrom(table);
+		assertState(table, fork);
+		fork.applyAction(Event.BET, 100);
+		assertEquals(15, table.getPot());
+		assertEquals(115, fork.getPot());
+		assertEquals(0, table.getCurrentSeat());
+		assertEquals(1, fork.getCurrentSeat());
+		assertEquals(0, arena.table(0).getPot());
+
+		fork.copyFrom(table);
+		assertState(table, fork);
+		assertThrows(IllegalArgumentException.class, () -> new CompactTable(4, 5, 10).copyFrom(table));
+	}
+
+	@Test
+	void arenaPacksManyTablesIndependently() {
+		TableArena arena = new TableArena(20_000, 6, 5, 10);
+		assertEquals(20_000L * ((9 + 12) * Integer.BYTES + (5 + 6) * Long.BYTES), arena.getFootprint());
+		StandardDeck deck = new StandardDeck(new SplittableDeckRandom(9));
+		CompactTable cursor = arena.table(0);
+		for (int index = 0; index < arena.getTables(); index++) {
+			cursor.moveTo(index);
+			for (int seat = 0; seat < 6; seat++) {
+				cursor.setStack(seat, 100 + index % 7);
+			}
+			cursor.setDealerPos(index % 6);
+			cursor.startHand(deck);
+			cursor.dealHoleCards(deck);
+			cursor.applyAction(Event.BET, 20 + index % 50);
+		}
+		for (int index = 0; index < arena.getTables(); index++) {
+			cursor.moveTo(index);
+			assertEquals(15 + 20 + index % 50, cursor.getPot());
+			assertEquals(index % 6, cursor.getDealerPos());
+			assertEquals(20 + index % 50, cursor.getCurrentBet());
+			long cards = 0L;
+			for (int seat = 0; seat < 6; seat++) {
+				assertEquals(2, Long.bitCount(cursor.getHoleMask(seat)));
+				cards |= cursor.getHoleMask(seat);
+			}
+			assertEquals(12, Long.bitCount(cards));
+		}
+		assertThrows(IllegalArgumentException.class, () -> cursor.moveTo(20_000));
+	}
+
+	// ================== ВСПОМОГАТЕЛЬНЫЕ ==================
+
+	/** Одна раздача на обоих движках одними и теми же действиями, со сверкой после каждого шага */
+	private static void crossCheckHand(Round round, StandardDeck roundDeck, CompactTable table, StandardDeck tableDeck,
+									   int dealer) {
+		round.setDealerPos(dealer);
+		table.setDealerPos(dealer);
+		roundDeck.initialize();
+		round.startRound();
+		round.distributeCards();
+		table.startHand(tableDeck);
+		table.dealHoleCards(tableDeck);
+		for (int seat = 0; seat < round.getPlayers().size(); seat++) {
+			assertEquals(round.getPlayers().get(seat).getHandMask(), table.getHoleMask(seat));
+		}
+		assertState(round, table);
+
+		int actions = 0;
+		while (!round.checkRoundCompletion()) {
+			assertTrue(actions++ < 1000);
+			if (round.isBettingComplete()) {
+				round.advanceToNextStage();
+				table.advanceToNextStage();
+				if (!round.checkRoundCompletion()) {
+					round.dealCommunityCards(round.getStage());
+					table.dealCommunityCards(tableDeck);
+				}
+				assertState(round, table);
+				continue;
+			}
+			PlayerAction action = round.getCurrentPlayer().event();
+			try {
+				round.applyAction(action);
+				table.applyAction(action);
+			} catch (IllegalArgumentException e) {
+				assertThrows(IllegalArgumentException.class, () -> table.applyAction(action));
+				PlayerAction call = new PlayerAction(Event.CHECK, 0);
+				round.applyAction(call);
+				table.applyAction(call);
+			}
+			assertState(round, table);
+		}
+		assertTrue(table.checkRoundCompletion());
+
+		List<Player> winners = round.getWinners();
+		long winnerMask = 0L;
+		for (Player winner : winners) {
+			winnerMask |= 1L << round.getSeat(winner);
+		}
+		assertEquals(winnerMask, table.getWinners());
+		round.distributePot(winners);
+		table.distributePot(table.getWinners());
+		assertState(round, table);
+		round.resetRound();
+		table.resetRound();
+	}
+
+	private static void assertState(Round round, CompactTable table) {
+		assertEquals(round.getStage(), table.getStage());
+		assertEquals(round.getPot(), table.getPot());
+		assertEquals(round.getCurrentBet(), table.getCurrentBet());
+		assertEquals(round.getActiveCount(), table.getActiveCount());
+		assertEquals(round.getCommunityMask(), table.getBoardMask());
+		assertEquals(round.isBettingComplete(), table.isBettingComplete());
+		assertEquals(round.getSeat(round.getCurrentPlayer()), table.getCurrentSeat());
+		for (int seat = 0; seat < round.getPlayers().size(); seat++) {
+			Player player = round.getPlayers().get(seat);
+			assertEquals(player.getChips(), table.getStack(seat));
+			assertEquals(round.getBet(seat), table.getBet(seat));
+			assertEquals(player.isFolded(), (table.getFoldedMask() >>> seat & 1) != 0);
+		}
+	}
+
+	private static void assertState(CompactTable expected, CompactTable actual) {
+		assertEquals(expected.getStage(), actual.getStage());
+		assertEquals(expected.getPot(), actual.getPot());
+		assertEquals(expected.getCurrentBet(), actual.getCurrentBet());
+		assertEquals(expected.getCurrentSeat(), actual.getCurrentSeat());
+		assertEquals(expected.getDealerPos(), actual.getDealerPos());
+		for (int seat = 0; seat < expected.getSeats(); seat++) {
+			assertEquals(expected.getStack(seat), actual.getStack(seat));
+			assertEquals(expected.getBet(seat), actual.getBet(seat));
+			assertEquals(expected.getHoleMask(seat), actual.getHoleMask(seat));
+		}
+	}
+}
@@ -0,0 +1,159 @@
+package com.axine.pokercasino.model.game.compact;
+
+import com.axine.pokercasino.model.deck.DeckType;
+import com.axine.pokercasino.model.deck.decks.StandardDeck;
+import com.axine.pokercasino.model.deck.random.SplittableDeckRandom;
+import com.axine.pokercasino.model.game.Round;
+import com.axine.pokercasino.model.game.Stage;
+import com.axine.pokercasino.model.game.games.TexasHoldemRound;
+import com.axine.pokercasino.model.player.Event;
+import com.axine.pokercasino.model.player.Player;
+import com.axine.pokercasino.model.player.PlayerAction;
+import com.axine.pokercasino.model.player.players.BotRandomPlayer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearchStateTest {
+
+	@Test
+	void loadsRoundWithoutChangingIt() {
+		Round round = round(4, 1000);
+		round.applyAction(new PlayerAction(Event.BET, 60));
+		round.applyAction(new PlayerAction(Event.CHECK, 0));
+
+		SearchState search = new SearchState(4, 8).load(round);
+		CompactTable state = search.getState();
+		assertEquals(round.getPot(), state.getPot());
+		assertEquals(round.getSeat(round.getCurrentPlayer()), state.getCurrentSeat());
+		assertEquals(round.getActedMask(), state.getActedMask());
+		assertEquals(10, state.getBigBlind());
+
+		search.apply(Event.FOLD, 0);
+		search.apply(Event.CHECK, 0);
+		assertTrue(state.isBettingComplete());
+		assertEquals(15 + 60 + 60, round.getPot());
+		assertEquals(15 + 60 + 60 + 50, state.getPot());
+		assertEquals(4, round.getActiveCount());
+
+		// Те же действия в самом раунде дают то же состояние
+		round.applyAction(new PlayerAction(Event.FOLD, 0));
+		round.applyAction(new PlayerAction(Event.CHECK, 0));
+		assertEquals(round.getPot(), state.getPot());
+		assertEquals(round.isBettingComplete(), state.isBettingComplete());
+		for (int seat = 0; seat < 4; seat++) {
+			assertEquals(round.getPlayers().get(seat).getChips(), state.getStack(seat));
+		}
+	}
+
+	@Test
+	void undoRestoresEveryLevel() {
+		SearchState search = new SearchState(6, 64).load(round(6, 400));
+		CompactTable[] saved = new CompactTable[65];
+		SplittableRandom random = new SplittableRandom(3);
+		long unseen = ~search.getState().deadCards() & 0x1FFF_1FFF_1FFF_1FFFL;
+		saved[0] = new CompactTable(6, 0, 0).copyFrom(search.getState());
+
+		for (int step = 0; step < 100_000; step++) {
+			CompactTable state = search.getState();
+			boolean canStep = search.getDepth() < search.getMaxDepth() && !state.checkRoundCompletion();
+			if (canStep && random.nextInt(3) != 0) {
+				if (state.isBettingComplete()) {
+					long cards = 0L;
+					for (int n = state.getStage() == Stage.PREFLOP ? 3 : 1; n > 0; n--) {
+						cards |= SeatView.randomCard(random, unseen & ~state.getBoardMask() & ~cards);
+					}
+					search.nextStreet(state.getStage() == Stage.RIVER ? 0L : cards);
+				} else {
+					int choice = random.nextInt(3);
+					try {
+						search.apply(Event.values()[choice], state.getCurrentBet() + 1 + random.nextInt(100));
+					} catch (IllegalArgumentException e) {
+						search.apply(Event.CHECK, 0);
+					}
+				}
+				int depth = search.getDepth();
+				if (saved[depth] == null) saved[depth] = new CompactTable(6, 0, 0);
+				saved[depth].copyFrom(search.getState());
+			} else if (search.getDepth() > 0) {
+				search.undo();
+				assertSame(saved[search.getDepth()], search.getState());
+			}
+		}
+		search.undoTo(0);
+		assertSame(saved[0], search.getState());
+		assertThrows(IllegalStateException.class, search::undo);
+	}
+
+	@Test
+	void invalidActionLeavesStateUnchanged() {
+		SearchState search = new SearchState(3, 4).load(round(3, 1000));
+		assertThrows(IllegalArgumentException.class, () -> search.apply(Event.BET, 10));
+		assertEquals(0, search.getDepth());
+		assertEquals(15, search.getState().getPot());
+
+		search.apply(Event.CHECK, 0);
+		search.apply(Event.CHECK, 0);
+		search.apply(Event.CHECK, 0);
+		search.apply(Event.CHECK, 0);
+		assertThrows(IllegalStateException.class, () -> search.apply(Event.CHECK, 0));
+	}
+
+	@Test
+	void seatViewHidesOpponentCards() {
+		Round round = round(5, 1000);
+		CompactTable table = new CompactTable(5, 5, 10).copyFrom(round);
+		SeatView view = new SeatView(5, DeckType.STANDARD).observe(table, 2);
+		for (int seat = 0; seat < 5; seat++) {
+			assertEquals(seat == 2 ? table.getHoleMask(2) : 0L, view.getState().getHoleMask(seat));
+		}
+		assertEquals(50, Long.bitCount(view.getUnseenMask()));
+		assertEquals(0L, view.getUnseenMask() & table.getHoleMask(2));
+
+		CompactTable sample = new CompactTable(5, 0, 0);
+		SplittableRandom random = new SplittableRandom(8);
+		boolean differs = false;
+		for (int i = 0; i < 100; i++) {
+			view.determinize(random, sample);
+			assertEquals(table.getHoleMask(2), sample.getHoleMask(2));
+			assertEquals(10, Long.bitCount(sample.deadCards()));
+			differs |= sample.getHoleMask(0) != table.getHoleMask(0);
+		}
+		assertTrue(differs);
+		assertNotEquals(0L, sample.getHoleMask(4));
+	}
+
+	// ================== ВСПОМОГАТЕЛЬНЫЕ ==================
+
+	private static Round round(int seats, int chips) {
+		List<Player> players = new ArrayList<>();
+		for (int seat = 0; seat < seats; seat++) {
+			players.add(new BotRandomPlayer("Bot" + seat, chips));
+		}
+		Round round = new TexasHoldemRound(players, new StandardDeck(new SplittableDeckRandom(seats)), 5, 10);
+		round.startRound();
+		round.distributeCards();
+		return round;
+	}
+
+	private static void assertSame(CompactTable expected, CompactTable actual) {
+		assertEquals(expected.getStage(), actual.getStage());
+		assertEquals(expected.getPot(), actual.getPot());
+		assertEquals(expected.getCurrentBet(), actual.getCurrentBet());
+		assertEquals(expected.getCurrentSeat(), actual.getCurrentSeat());
+		assertEquals(expected.getBoardMask(), actual.getBoardMask());
+		assertEquals(expected.getFoldedMask(), actual.getFoldedMask());
+		assertEquals(expected.getActedMask(), actual.getActedMask());
+		for (int seat = 0; seat < expected.getSeats(); seat++) {
+			assertEquals(expected.getStack(seat), actual.getStack(seat));
+			assertEquals(expected.getBet(seat), actual.getBet(seat));
+		}
+	}
+}
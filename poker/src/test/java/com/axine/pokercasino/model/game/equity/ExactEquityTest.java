@@ -0,0 +1,43 @@
+package com.axine.pokercasino.model.game.equity;
+
+import com.axine.pokercasino.model.deck.DeckType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.axine.pokercasino.model.deck.TestCards.cards;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExactEquityTest {
+
+	private final ExactEquity equity = new ExactEquity();
+
+	@Test
+	void enumeratesEveryPreflopRunout() {
+		List<EquityResult> results = equity.calculate(Variant.TEXAS_HOLDEM, DeckType.STANDARD,
+				List.of(cards("AH AS"), cards("KH KS")), List.of());
+		assertEquals(1_712_304, results.get(0).getSamples());
+		assertEquals(results.get(0).getWins(), results.get(1).getLosses());
+		assertEquals(results.get(0).getTies(), results.get(1).getTies());
+		assertEquals(82.36, results.get(0).getWin(), 0.01);
+	}
+
+	@Test
+	void splitsPotBetweenTiedHands() {
+		// Стрит на столе, у всех трёх рук — ничья
+		List<EquityResult> results = equity.calculate(Variant.TEXAS_HOLDEM, DeckType.STANDARD,
+				List.of(cards("2H 3H"), cards("2D 3D"), cards("2C 3C")), cards("10S JS QD KC AD"));
+		for (EquityResult result : results) {
+			assertEquals(1, result.getSamples());
+			assertEquals(1, result.getTies());
+			assertEquals(100.0 / 3, result.getEquity(), 1e-9);
+		}
+	}
+
+	@Test
+	void rejectsCardsOutsideOfDeck() {
+		assertThrows(IllegalArgumentException.class, () -> equity.calculate(Variant.TEXAS_HOLDEM, DeckType.SHORTENED,
+				List.of(cards("AH AS"), cards("2H 2S")), List.of()));
+	}
+}
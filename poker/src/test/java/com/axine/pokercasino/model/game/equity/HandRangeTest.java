@@ -0,0 +1,55 @@
+package com.axine.pokercasino.model.game.equity;
+
+import com.axine.pokercasino.model.deck.DeckType;
+import org.junit.jupiter.api.Test;
+
+import static com.axine.pokercasino.model.deck.TestCards.cards;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HandRangeTest {
+
+	@Test
+	void expandsClassesIntoCombos() {
+		assertEquals(6, size("AA"));
+		assertEquals(4, size("AKs"));
+		assertEquals(12, size("AKo"));
+		assertEquals(16, size("AK"));
+		assertEquals(30, size("TT+"));
+		assertEquals(16, size("A5s-A2s"));
+		assertEquals(24, size("22-55"));
+		assertEquals(12, size("KTs+"));
+		assertEquals(1, size("AhKh"));
+		assertEquals(4 + 30 + 16, size("AKs, TT+, A5s-A2s"));
+	}
+
+	@Test
+	void keepsWeightsAndDeckBounds() {
+		HandRange range = HandRange.parse("AKs:0.5, QQ", DeckType.STANDARD);
+		assertEquals(0.5, range.weight(cards("AH").get(0), cards("KH").get(0)));
+		assertEquals(1.0, range.weight(cards("QS").get(0), cards("QD").get(0)));
+		assertEquals(0.0, range.weight(cards("AH").get(0), cards("KS").get(0)));
+		// В короткой колоде нет карт ниже шестёрки
+		assertEquals(4, HandRange.parse("A5s-A2s, A6s", DeckType.SHORTENED).size());
+	}
+
+	@Test
+	void takesTopPercentOfAllCombos() {
+		assertEquals(6, size("top 0.4%"));
+		int top = size("top 15%");
+		assertEquals(true, top >= 199 && top < 199 + 12);
+		assertEquals(630, HandRange.parse("100%", DeckType.SHORTENED).size());
+	}
+
+	@Test
+	void rejectsMalformedTokens() {
+		assertThrows(IllegalArgumentException.class, () -> size("AAs"));
+		assertThrows(IllegalArgumentException.class, () -> size("AKs-QJs"));
+		assertThrows(IllegalArgumentException.class, () -> size("AK:2"));
+		assertThrows(IllegalArgumentException.class, () -> size("XY"));
+	}
+
+	private int size(String text) {
+		return HandRange.parse(text, DeckType.STANDARD).size();
+	}
+}
@@ -0,0 +1,143 @@
+package com.axine.pokercasino.model.game.equity;
+
+import com.axine.pokercasino.model.deck.Card;
+import com.axine.pokercasino.model.deck.CardSet;
+import com.axine.pokercasino.model.deck.DeckType;
+import com.axine.pokercasino.model.game.evaluation.HandEvaluator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.axine.pokercasino.model.deck.TestCards.cards;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MonteCarloEquityTest {
+
+	private final MonteCarloEquity exhaustive = new MonteCarloEquity(ForkJoinPool.commonPool(), 0);
+	private final ExactEquity exact = new ExactEquity();
+
+	@Test
+	void convergesToExactEquityOnTexasTurn() {
+		assertConverges(Variant.TEXAS_HOLDEM, DeckType.STANDARD, cards("AH AS"), cards("KD 7C 2S 9H"));
+	}
+
+	@Test
+	void convergesToExactEquityOnShortDeck() {
+		assertConverges(Variant.TEXAS_HOLDEM, DeckType.SHORTENED, cards("QH JH"), cards("10H 6C AS 9H"));
+	}
+
+	@Test
+	void convergesToExactEquityInOmaha() {
+		assertConverges(Variant.OMAHA_HOLDEM, DeckType.STANDARD, cards("AH KH QD JD"), cards("10H 7H 2S 9D 3C"));
+	}
+
+	@Test
+	void omahaUsesExactlyTwoHoleCards() {
+		// В Холдеме 10H даёт роял-флеш со столом; в Омахе нужны две карты руки и три стола
+		List<Card> board = cards("AH KH QH JH 2C");
+		EquityResult texas = exhaustive.calculate(Variant.TEXAS_HOLDEM, DeckType.STANDARD, cards("10H 3S"), board, 1, 5000, 0);
+		EquityResult omaha = exhaustive.calculate(Variant.OMAHA_HOLDEM, DeckType.STANDARD, cards("10H 3S 4S 5D"), board, 1, 5000, 0);
+		assertEquals(100.0, texas.getWin());
+		assertTrue(omaha.getWin() < 100.0);
+	}
+
+	@Test
+	void playsExactlyTheSampleBudget() {
+		EquityResult result = exhaustive.calculate(Variant.TEXAS_HOLDEM, DeckType.STANDARD, cards("7C 2D"), List.of(), 3, 5000, 0);
+		assertEquals(5000, result.getSamples());
+		assertEquals(result.getSamples(), result.getWins() + result.getTies() + result.getLosses());
+	}
+
+	@Test
+	void stopsOnceIntervalIsNarrowEnough() {
+		MonteCarloEquity equity = new MonteCarloEquity(ForkJoinPool.commonPool(), 0.01);
+		EquityResult result = equity.calculate(Variant.TEXAS_HOLDEM, DeckType.STANDARD, cards("AH KD"), List.of(), 1,
+				100_000_000, 0);
+		assertTrue(result.getSamples() < 100_000_000);
+		assertTrue(halfWidth(result) <= 1.0);
+	}
+
+	@Test
+	void stopsAtDeadline() {
+		long started = System.nanoTime();
+		EquityResult result = exhaustive.calculate(Variant.OMAHA_HOLDEM, DeckType.STANDARD, cards("AH AS KD QD"), List.of(), 5,
+				Long.MAX_VALUE, 50);
+		assertTrue(result.getSamples() > 0);
+		assertTrue(System.nanoTime() - started < 5_000_000_000L);
+	}
+
+	@Test
+	void rejectsDuplicateAndForeignCards() {
+		assertThrows(IllegalArgumentException.class, () -> exhaustive.calculate(Variant.TEXAS_HOLDEM, DeckType.STANDARD,
+				cards("AH KD"), cards("AH 2C 3D"), 1, 1000, 0));
+		assertThrows(IllegalArgumentException.class, () -> exhaustive.calculate(Variant.TEXAS_HOLDEM, DeckType.STANDARD,
+				cards("AH AH"), List.of(), 1, 1000, 0));
+		assertThrows(IllegalArgumentException.class, () -> exhaustive.calculate(Variant.TEXAS_HOLDEM, DeckType.SHORTENED,
+				cards("AH 2H"), List.of(), 1, 1000, 0));
+		assertThrows(IllegalArgumentException.class, () -> exhaustive.calculate(Variant.OMAHA_HOLDEM, DeckType.STANDARD,
+				cards("AH KD"), List.of(), 1, 1000, 0));
+	}
+
+	@Test
+	void rejectsMoreOpponentsThanCards() {
+		// 5 карт стола и 24 * 2 карты соперников не помещаются в 50 оставшихся
+		assertThrows(IllegalArgumentException.class, () -> exhaustive.calculate(Variant.TEXAS_HOLDEM, DeckType.STANDARD,
+				cards("AH KD"), List.of(), 24, 1000, 0));
+		EquityResult full = exhaustive.calculate(Variant.TEXAS_HOLDEM, DeckType.STANDARD, cards("AH KD"), List.of(), 22, 1000, 0);
+		assertEquals(1000, full.getSamples());
+	}
+
+	// ================== ВСПОМОГАТЕЛЬНЫЕ ==================
+
+	/**
+	 * Оценка против одной случайной руки сравнивается с точной: средним ExactEquity по всем
+	 * рукам соперника (у каждой одинаковое число докладок). Допуск — удвоенная полуширина
+	 * 95% интервала, чтобы тест без фиксированного зерна не падал по случайности
+	 */
+	private void assertConverges(Variant variant, DeckType deckType, List<Card> hero, List<Card> board) {
+		long unseen = HandEvaluator.mask(deckType) & ~(HandEvaluator.mask(hero) | HandEvaluator.mask(board));
+		List<Card> live = new ArrayList<>();
+		for (long rest = unseen; rest != 0; rest &= rest - 1) {
+			live.add(CardSet.lowest(rest));
+		}
+		double sum = 0;
+		int hands = 0;
+		for (List<Card> opponent : combinations(live, variant.getMinHoleCards())) {
+			sum += exact.calculate(variant, deckType, List.of(hero, opponent), board).get(0).getEquity();
+			hands++;
+		}
+		double expected = sum / hands;
+
+		EquityResult estimate = exhaustive.calculate(variant, deckType, hero, board, 1, 200_000, 0);
+		assertEquals(200_000, estimate.getSamples());
+		assertEquals(expected, estimate.getEquity(), 2 * halfWidth(estimate), variant + " " + deckType.getShortName());
+	}
+
+	/** Полуширина 95% интервала доли банка в процентах, как её считает {@link Tally} */
+	private static double halfWidth(EquityResult result) {
+		double equity = result.getEquity() / 100;
+		return 196 * Math.sqrt(equity * (1 - equity) / result.getSamples());
+	}
+
+	private static List<List<Card>> combinations(List<Card> cards, int size) {
+		List<List<Card>> result = new ArrayList<>();
+		collect(cards, size, 0, new ArrayList<>(), result);
+		return result;
+	}
+
+	private static void collect(List<Card> cards, int size, int from, List<Card> current, List<List<Card>> result) {
+		if (current.size() == size) {
+			result.add(List.copyOf(current));
+			return;
+		}
+		for (int i = from; i < cards.size(); i++) {
+			current.add(cards.get(i));
+			collect(cards, size, i + 1, current, result);
+			current.remove(current.size() - 1);
+		}
+	}
+}
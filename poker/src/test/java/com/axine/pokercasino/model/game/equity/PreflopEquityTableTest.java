@@ -0,0 +1,92 @@
+package com.axine.pokercasino.model.game.equity;
+
+import com.axine.pokercasino.model.deck.DeckType;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.axine.pokercasino.model.deck.TestCards.cards;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PreflopEquityTableTest {
+
+	/** Раздач на клетку: грубо, но таблица строится за секунды */
+	private static final int SAMPLES = 2000;
+
+	@TempDir
+	static Path dir;
+
+	private static Path file;
+	private static PreflopEquityTable table;
+
+	@BeforeAll
+	static void generate() throws IOException {
+		file = dir.resolve("preflop-equity.bin");
+		PreflopEquityGenerator.generate(file, SAMPLES);
+		table = PreflopEquityTable.load(file);
+	}
+
+	@Test
+	void writesAndMapsTheWholeTable() throws IOException {
+		assertEquals(PreflopEquityTable.size(), Files.size(file));
+		ByteBuffer header = ByteBuffer.wrap(Files.readAllBytes(file));
+		assertEquals(PreflopEquityTable.MAGIC, header.getInt(0));
+		assertEquals(StartingHand.COUNT, header.getInt(12));
+
+		for (DeckType deckType : DeckType.values()) {
+			for (int opponents = 1; opponents <= PreflopEquityTable.MAX_OPPONENTS; opponents++) {
+				EquityResult result = table.lookup(deckType, cards("7H 6D"), opponents);
+				assertEquals(PreflopEquityTable.SCALE, result.getSamples());
+				assertTrue(result.getEquity() > 0 && result.getEquity() < 100);
+				assertTrue(result.getWin() <= result.getEquity());
+			}
+		}
+	}
+
+	@Test
+	void sameClassGivesSameCell() {
+		for (int opponents = 1; opponents <= PreflopEquityTable.MAX_OPPONENTS; opponents++) {
+			assertEquals(table.lookup(DeckType.STANDARD, cards("AH KH"), opponents).getEquity(),
+					table.lookup(DeckType.STANDARD, cards("KS AS"), opponents).getEquity());
+			assertEquals(table.lookup(DeckType.SHORTENED, cards("9C 9D"), opponents).getEquity(),
+					table.lookup(DeckType.SHORTENED, cards("9H 9S"), opponents).getEquity());
+		}
+	}
+
+	@Test
+	void agreesWithMonteCarlo() {
+		MonteCarloEquity equity = new MonteCarloEquity(ForkJoinPool.commonPool(), 0);
+		for (DeckType deckType : DeckType.values()) {
+			for (int opponents : new int[]{1, 4}) {
+				EquityResult reference = equity.calculate(Variant.TEXAS_HOLDEM, deckType, cards("AH AS"), List.of(),
+						opponents, 200_000, 0);
+				EquityResult lookup = table.lookup(deckType, cards("AD AC"), opponents);
+				// Четыре сигмы выборки таблицы: клетки посчитаны всего по SAMPLES раздачам
+				double p = reference.getEquity() / 100;
+				double tolerance = 400 * Math.sqrt(p * (1 - p) / SAMPLES);
+				assertEquals(reference.getEquity(), lookup.getEquity(), tolerance, deckType + " vs " + opponents);
+			}
+		}
+	}
+
+	@Test
+	void rejectsCardsOutsideOfDeckAndOtherFiles() throws IOException {
+		assertThrows(IllegalArgumentException.class, () -> table.lookup(DeckType.SHORTENED, cards("AH 2H"), 1));
+		assertThrows(IllegalArgumentException.class, () -> table.lookup(DeckType.STANDARD, cards("AH KH"), 0));
+		assertThrows(IllegalArgumentException.class,
+				() -> table.lookup(DeckType.STANDARD, cards("AH KH"), PreflopEquityTable.MAX_OPPONENTS + 1));
+
+		Path truncated = dir.resolve("truncated.bin");
+		Files.write(truncated, new byte[PreflopEquityTable.HEADER_BYTES]);
+		assertThrows(IOException.class, () -> PreflopEquityTable.load(truncated));
+	}
+}
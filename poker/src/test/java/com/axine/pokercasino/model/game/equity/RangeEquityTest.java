@@ -0,0 +1,65 @@
+package com.axine.pokercasino.model.game.equity;
+
+import com.axine.pokercasino.model.deck.Card;
+import com.axine.pokercasino.model.deck.DeckType;
+import com.axine.pokercasino.model.game.evaluation.HandEvaluator;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.axine.pokercasino.model.deck.TestCards.cards;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RangeEquityTest {
+
+	private final RangeEquity equity = new RangeEquity();
+
+	@Test
+	void singleCombosMatchExactEnumeration() {
+		List<EquityResult> exact = new ExactEquity().calculate(Variant.TEXAS_HOLDEM, DeckType.STANDARD,
+				List.of(cards("AH KH"), cards("QS QD")), cards("2H 7H QC"));
+		EquityResult result = equity.calculate(range("AhKh"), range("QsQd"), cards("2H 7H QC"), List.of());
+		assertEquals(exact.get(0).getEquity(), result.getEquity(), 1e-9);
+		assertEquals(exact.get(0).getWin(), result.getWin(), 1e-9);
+	}
+
+	@Test
+	void reusesMatrixForFixedBoard() {
+		List<Card> board = cards("2H 7H QC 9S");
+		EquityResult first = equity.calculate(range("AKs, TT+"), range("top 15%"), board, cards("3D"));
+		RangeEquity.BoardMatrix matrix = equity.matrix(DeckType.STANDARD, mask(board), mask(cards("3D")));
+		EquityResult second = equity.calculate(range("AKs, TT+"), range("top 15%"), board, cards("3D"));
+		assertSame(matrix, equity.matrix(DeckType.STANDARD, mask(board), mask(cards("3D"))));
+		assertEquals(first.getEquity(), second.getEquity(), 1e-12);
+		// Эквити сторон в сумме дают 100%
+		EquityResult other = equity.calculate(range("top 15%"), range("AKs, TT+"), board, cards("3D"));
+		assertEquals(100.0, first.getEquity() + other.getEquity(), 1e-9);
+	}
+
+	@Test
+	void samplesPreflopRanges() {
+		EquityResult result = equity.calculate(range("AA"), range("KK"), List.of(), List.of(), 400_000);
+		assertEquals(82.0, result.getEquity(), 0.6);
+		EquityResult shortDeck = equity.calculate(HandRange.parse("AA", DeckType.SHORTENED),
+				HandRange.parse("KK", DeckType.SHORTENED), List.of(), List.of(), 50_000);
+		assertEquals(50_000, shortDeck.getSamples());
+	}
+
+	@Test
+	void removesDeadCards() {
+		assertThrows(IllegalArgumentException.class,
+				() -> equity.calculate(range("AhKh"), range("QQ"), cards("AH 7H QC"), List.of()));
+		assertThrows(IllegalArgumentException.class,
+				() -> equity.calculate(range("AA"), HandRange.parse("KK", DeckType.SHORTENED), List.of(), List.of()));
+	}
+
+	private HandRange range(String text) {
+		return HandRange.parse(text, DeckType.STANDARD);
+	}
+
+	private long mask(List<Card> cards) {
+		return HandEvaluator.mask(cards);
+	}
+}
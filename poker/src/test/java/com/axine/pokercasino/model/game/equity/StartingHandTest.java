@@ -0,0 +1,76 @@
+package com.axine.pokercasino.model.game.equity;
+
+import com.axine.pokercasino.model.deck.Card;
+import com.axine.pokercasino.model.deck.DeckType;
+import com.axine.pokercasino.model.deck.card.Rank;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.axine.pokercasino.model.deck.TestCards.cards;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StartingHandTest {
+
+	@Test
+	void everyPairOfCardsFallsIntoOneOf169Classes() {
+		int[] combos = new int[StartingHand.COUNT];
+		for (int first = 0; first < Card.COUNT; first++) {
+			for (int second = first + 1; second < Card.COUNT; second++) {
+				Card a = Card.of(first);
+				Card b = Card.of(second);
+				int index = StartingHand.index(a, b);
+				assertEquals(index, StartingHand.index(b, a));
+				assertEquals(index, StartingHand.index(a.getMask() | b.getMask()));
+				combos[index]++;
+			}
+		}
+		int pairs = 0;
+		int suited = 0;
+		for (int index = 0; index < StartingHand.COUNT; index++) {
+			assertEquals(StartingHand.combos(index), combos[index], StartingHand.name(index));
+			assertEquals(index, StartingHand.index(StartingHand.representative(index)));
+			if (StartingHand.isPair(index)) pairs++;
+			if (StartingHand.isSuited(index)) suited++;
+		}
+		assertEquals(13, pairs);
+		assertEquals(78, suited);
+	}
+
+	@Test
+	void shortDeckHas81Classes() {
+		Set<Integer> classes = new HashSet<>();
+		int lowest = DeckType.SHORTENED.getLowestRank().getValue();
+		for (int index = 0; index < StartingHand.COUNT; index++) {
+			if (StartingHand.lowRank(index).getValue() >= lowest) classes.add(index);
+		}
+		assertEquals(81, classes.size());
+	}
+
+	@Test
+	void classifiesPairsSuitedAndOffsuitHands() {
+		int aces = StartingHand.index(cards("AH AS"));
+		assertTrue(StartingHand.isPair(aces));
+		assertFalse(StartingHand.isSuited(aces));
+		assertEquals("AA", StartingHand.name(aces));
+
+		int suited = StartingHand.index(cards("KD AD"));
+		assertTrue(StartingHand.isSuited(suited));
+		assertEquals(Rank.ACE, StartingHand.highRank(suited));
+		assertEquals(Rank.KING, StartingHand.lowRank(suited));
+		assertEquals("AKs", StartingHand.name(suited));
+
+		int offsuit = StartingHand.index(cards("10C 9H"));
+		assertFalse(StartingHand.isPair(offsuit) || StartingHand.isSuited(offsuit));
+		assertEquals("T9o", StartingHand.name(offsuit));
+		assertEquals(12, StartingHand.combos(offsuit));
+
+		assertThrows(IllegalArgumentException.class, () -> StartingHand.index(Rank.ACE, Rank.ACE, true));
+		assertThrows(IllegalArgumentException.class, () -> StartingHand.index(List.of(Card.of(0))));
+	}
+}
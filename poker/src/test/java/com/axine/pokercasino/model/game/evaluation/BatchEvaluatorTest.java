@@ -0,0 +1,57 @@
+package com.axine.pokercasino.model.game.evaluation;
+
+import com.axine.pokercasino.model.deck.DeckType;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static com.axine.pokercasino.model.deck.TestCards.cards;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BatchEvaluatorTest {
+
+	@Test
+	void matchesScalarEvaluatorOnRandomHands() {
+		SplittableRandom random = new SplittableRandom(42);
+		long deck = HandEvaluator.mask(DeckType.STANDARD);
+		for (int size = 5; size <= 9; size++) {
+			long[] hands = new long[1003];
+			for (int i = 0; i < hands.length; i++) {
+				hands[i] = randomHand(random, deck, size);
+			}
+			short[] batch = new short[hands.length];
+			short[] scalar = new short[hands.length];
+			for (int i = 0; i < hands.length; i++) {
+				scalar[i] = (short) HandEvaluator.evaluate(hands[i]);
+			}
+			BatchEvaluator.evaluateBatch(hands, batch);
+			assertArrayEquals(scalar, batch, "size " + size);
+		}
+	}
+
+	@Test
+	void evaluatesOnlyRequestedRange() {
+		long[] hands = {
+				HandEvaluator.mask(cards("AH KH QH JH 10H 2C 3D")),
+				HandEvaluator.mask(cards("AS AD AC KS KD 2C 3D")),
+				HandEvaluator.mask(cards("7S 5D 4C 3S 2D"))
+		};
+		short[] out = new short[3];
+		BatchEvaluator.evaluateBatch(hands, out, 1, 3);
+		assertEquals(0, out[0]);
+		assertEquals(HandEvaluator.evaluate(hands[1]), out[1]);
+		assertEquals(1, out[2]);
+		assertThrows(IllegalArgumentException.class, () -> BatchEvaluator.evaluateBatch(hands, new short[2]));
+	}
+
+	private long randomHand(SplittableRandom random, long deck, int size) {
+		long hand = 0L;
+		while (Long.bitCount(hand) < size) {
+			long card = 1L << random.nextInt(64);
+			if ((deck & card) != 0) hand |= card;
+		}
+		return hand;
+	}
+}
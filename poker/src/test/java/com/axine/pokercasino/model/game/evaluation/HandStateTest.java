@@ -0,0 +1,56 @@
+package com.axine.pokercasino.model.game.evaluation;
+
+import com.axine.pokercasino.model.deck.card.Rank;
+import com.axine.pokercasino.model.deck.card.Suit;
+import com.axine.pokercasino.model.game.Combination;
+import org.junit.jupiter.api.Test;
+
+import static com.axine.pokercasino.model.deck.TestCards.cards;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HandStateTest {
+
+	@Test
+	void updatesStreetByStreet() {
+		HandState state = HandState.texasHoldem();
+		state.addHole(cards("AH KH"));
+		assertFalse(state.isMade());
+		assertNull(state.getCombination());
+
+		state.addBoard(cards("QH 7H 2C"));
+		assertEquals(Combination.HIGHCARD, state.getCombination());
+		assertTrue(state.hasDraw(Draw.FLUSH_DRAW));
+		assertEquals(4, state.getSuitCount(Suit.HEARTS));
+
+		state.addBoard(cards("JD"));
+		assertTrue(state.hasDraw(Draw.GUTSHOT));
+
+		state.addBoard(cards("3H"));
+		assertEquals(Combination.FLUSH, state.getCombination());
+		assertEquals(HandEvaluator.evaluate(cards("AH KH QH 7H 2C JD 3H")), state.getBestRank());
+		assertFalse(state.hasAnyDraw());
+	}
+
+	@Test
+	void findsOpenEndedStraightDraw() {
+		HandState state = HandState.texasHoldem();
+		state.addHole(cards("9S 8D"));
+		state.addBoard(cards("7C 6H 2D"));
+		assertTrue(state.hasDraw(Draw.OPEN_ENDED));
+		assertFalse(state.hasDraw(Draw.FLUSH_DRAW));
+		assertEquals(1, state.getRankCount(Rank.SEVEN));
+	}
+
+	@Test
+	void omahaDrawsUseTwoHoleCards() {
+		HandState state = HandState.omahaHoldem();
+		state.addHole(cards("AH 2D 9C 9S"));
+		state.addBoard(cards("KH QH 5H"));
+		// одна черва в руке: флеш-дро в Омахе нет
+		assertFalse(state.hasDraw(Draw.FLUSH_DRAW));
+		assertEquals(Combination.ONEPAIR, state.getCombination());
+	}
+}
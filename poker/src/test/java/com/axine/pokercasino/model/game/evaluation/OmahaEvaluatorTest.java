@@ -0,0 +1,66 @@
+package com.axine.pokercasino.model.game.evaluation;
+
+import com.axine.pokercasino.model.game.Combination;
+import org.junit.jupiter.api.Test;
+
+import static com.axine.pokercasino.model.deck.TestCards.cards;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OmahaEvaluatorTest {
+
+	private final OmahaEvaluator evaluator = new OmahaEvaluator();
+
+	@Test
+	void usesExactlyTwoHoleCards() {
+		// Четыре черви на столе и одна в руке — флеша в Омахе нет
+		assertEquals(Combination.HIGHCARD, combo("AH KS 7D 8C", "2H 5H 9H JH 3C"));
+		assertEquals(Combination.FLUSH, combo("AH KH 7D 8C", "2H 5H 9H JS 3C"));
+		// Каре на столе не играет: с руки берутся ровно две карты
+		assertEquals(Combination.FULLHOUSE, combo("KS KD 2C 3D", "QH QD QC QS 7H"));
+	}
+
+	@Test
+	void matchesBruteForceOverHoldemEvaluator() {
+		String hole = "AH KH QD JC 10S 9S";
+		String board = "2H 8H 7S 6C KD";
+		assertEquals(bruteForce(hole, board, 4), evaluate("AH KH QD JC", board));
+		assertEquals(bruteForce(hole, board, 6), evaluate(hole, board));
+		assertEquals(bruteForce(hole, "2H 8H 7S", 5), evaluate("AH KH QD JC 10S", "2H 8H 7S"));
+	}
+
+	@Test
+	void rejectsWrongCardCounts() {
+		assertThrows(IllegalArgumentException.class, () -> evaluate("AH KH QD", "2H 8H 7S 6C KD"));
+		assertThrows(IllegalArgumentException.class, () -> evaluate("AH KH QD JC", "2H 8H"));
+	}
+
+	private Combination combo(String hole, String board) {
+		return HandRank.combination(evaluate(hole, board));
+	}
+
+	private int evaluate(String hole, String board) {
+		return evaluator.evaluate(HandEvaluator.mask(cards(hole)), HandEvaluator.mask(cards(board)));
+	}
+
+	private static int bruteForce(String hole, String board, int holeCount) {
+		long[] h = masks(hole, holeCount);
+		long[] b = masks(board, cards(board).size());
+		int best = 0;
+		for (int i = 0; i < h.length; i++)
+			for (int j = i + 1; j < h.length; j++)
+				for (int x = 0; x < b.length; x++)
+					for (int y = x + 1; y < b.length; y++)
+						for (int z = y + 1; z < b.length; z++)
+							best = Math.max(best, HandEvaluator.evaluate(h[i] | h[j] | b[x] | b[y] | b[z]));
+		return best;
+	}
+
+	private static long[] masks(String hand, int count) {
+		long[] masks = new long[count];
+		for (int i = 0; i < count; i++) {
+			masks[i] = HandEvaluator.mask(cards(hand).get(i));
+		}
+		return masks;
+	}
+}
@@ -0,0 +1,74 @@
+package com.axine.pokercasino.model.game.evaluation;
+
+import com.axine.pokercasino.model.deck.Card;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.axine.pokercasino.model.deck.TestCards.cards;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SuitIsomorphismTest {
+
+	@Test
+	void countsDistinctFlops() {
+		Set<Integer> flops = new HashSet<>();
+		Set<Long> indexes = new HashSet<>();
+		for (int a = 0; a < 52; a++) {
+			for (int b = a + 1; b < 52; b++) {
+				for (int c = b + 1; c < 52; c++) {
+					long flop = card(a) | card(b) | card(c);
+					flops.add(SuitIsomorphism.flopIndex(flop));
+					indexes.add(SuitIsomorphism.index(0L, flop));
+				}
+			}
+		}
+		assertEquals(SuitIsomorphism.FLOPS, flops.size());
+		assertEquals(SuitIsomorphism.FLOPS, indexes.size());
+	}
+
+	@Test
+	void countsDistinctStartingHands() {
+		Set<Long> hands = new HashSet<>();
+		for (int a = 0; a < 52; a++) {
+			for (int b = a + 1; b < 52; b++) {
+				hands.add(SuitIsomorphism.index(card(a) | card(b), 0L));
+			}
+		}
+		assertEquals(169, hands.size());
+	}
+
+	@Test
+	void matchesSituationsUpToSuitPermutation() {
+		// Черви <-> пики, бубны <-> трефы
+		assertEquals(SuitIsomorphism.index(cards("AH KH"), cards("2H 7D 9C")),
+				SuitIsomorphism.index(cards("AS KS"), cards("2S 7C 9D")));
+		// Одномастная рука со стола другой масти — не то же, что в масть стола
+		assertNotEquals(SuitIsomorphism.index(cards("AH KH"), cards("2H 7H 9C")),
+				SuitIsomorphism.index(cards("AH KH"), cards("2D 7D 9C")));
+		// Карты руки и стола не смешиваются
+		assertNotEquals(SuitIsomorphism.index(cards("AH KH"), cards("2H 7D 9C")),
+				SuitIsomorphism.index(cards("AH 2H"), cards("KH 7D 9C")));
+	}
+
+	@Test
+	void cacheEvictsBeyondCapacity() {
+		IsomorphicCache<String> cache = new IsomorphicCache<>(64);
+		assertEquals("a", cache.get(1L, index -> "a"));
+		assertEquals("a", cache.get(1L, index -> "b"));
+		assertEquals(1, cache.getHits());
+		for (long i = 2; i < 10_000; i++) {
+			cache.put(i, "x");
+		}
+		assertTrue(cache.size() <= 64);
+		assertNull(cache.getIfPresent(1L));
+	}
+
+	private long card(int index) {
+		return Card.of(index).getMask();
+	}
+}
@@ -0,0 +1,83 @@
+package com.axine.pokercasino.model.game.games;
+
+import com.axine.pokercasino.model.deck.decks.StandardDeck;
+import com.axine.pokercasino.model.deck.random.SplittableDeckRandom;
+import com.axine.pokercasino.model.game.Round;
+import com.axine.pokercasino.model.game.Stage;
+import com.axine.pokercasino.model.player.Event;
+import com.axine.pokercasino.model.player.Player;
+import com.axine.pokercasino.model.player.PlayerAction;
+import com.axine.pokercasino.model.player.players.BotRandomPlayer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HoldemRoundTest {
+
+	@Test
+	void bettingStateIsTrackedBySeat() {
+		List<Player> players = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			players.add(new BotRandomPlayer("Bot" + i, 1000));
+		}
+		Round round = new TexasHoldemRound(players, new StandardDeck(new SplittableDeckRandom(1)), 5, 10);
+		round.startRound();
+		round.distributeCards();
+
+		Map<Player, Integer> bets = round.getPlayersBets();
+		assertSame(bets, round.getPlayersBets());
+		assertSame(round.getPlayers(), round.getPlayers());
+		assertThrows(UnsupportedOperationException.class, () -> round.getPlayers().clear());
+		assertEquals(5, bets.get(players.get(1)));
+		assertEquals(10, round.getBet(2));
+		assertEquals(0, bets.getOrDefault(players.get(3), 0));
+		assertSame(players.get(3), round.getCurrentPlayer());
+
+		round.applyAction(new PlayerAction(Event.BET, 40));
+		assertEquals(40, bets.get(players.get(3)));
+		round.applyAction(new PlayerAction(Event.FOLD, 0));
+		assertEquals(3, round.getActiveCount());
+		assertSame(players.get(1), round.getCurrentPlayer());
+		round.applyAction(new PlayerAction(Event.CHECK, 0));
+		assertFalse(round.isBettingComplete());
+		round.applyAction(new PlayerAction(Event.CHECK, 0));
+		assertTrue(round.isBettingComplete());
+		assertEquals(40 * 3, round.getPot());
+
+		round.advanceToNextStage();
+		assertEquals(Stage.FLOP, round.getStage());
+		assertEquals(0, bets.get(players.get(3)));
+		// После дилера первым ходит место 1, сбросивший на месте 0 пропускается
+		assertSame(players.get(1), round.getCurrentPlayer());
+		assertEquals(-1, round.getSeat(new BotRandomPlayer("Other", 0)));
+	}
+
+	@Test
+	void invalidBotBetBecomesCallThenFold() {
+		List<Player> players = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			players.add(new BotRandomPlayer("Bot" + i, 1000) {
+				@Override
+				public PlayerAction event() {
+					return new PlayerAction(Event.BET, 1);  // ниже большого блайнда
+				}
+			});
+		}
+		Round round = new TexasHoldemRound(players, new StandardDeck(new SplittableDeckRandom(2)), 5, 10);
+		round.startRound();
+		round.distributeCards();
+
+		round.performBotAction();
+		assertEquals(10, round.getBet(0));
+		assertFalse(players.get(0).isFolded());
+		assertSame(players.get(1), round.getCurrentPlayer());
+	}
+}
@@ -0,0 +1,73 @@
+package com.axine.pokercasino.model.game.pacing;
+
+import com.axine.pokercasino.model.deck.decks.StandardDeck;
+import com.axine.pokercasino.model.deck.random.SplittableDeckRandom;
+import com.axine.pokercasino.model.game.Round;
+import com.axine.pokercasino.model.game.gameFactory.TexasHoldemRoundFactory;
+import com.axine.pokercasino.model.player.Event;
+import com.axine.pokercasino.model.player.Player;
+import com.axine.pokercasino.model.player.PlayerAction;
+import com.axine.pokercasino.model.player.players.BotRandomPlayer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ActionPacerTest {
+
+	@Test
+	void releasesActionsAtCadenceWithoutBlockingTheRound() throws InterruptedException {
+		ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+		try {
+			ActionPacer pacer = new ActionPacer(scheduler, 50, TimeUnit.MILLISECONDS);
+			List<Player> players = new ArrayList<>();
+			for (int i = 0; i < 6; i++) {
+				players.add(new BotRandomPlayer("Bot" + i, 1000));
+			}
+			Round round = new TexasHoldemRoundFactory().createRound(players, new StandardDeck(new SplittableDeckRandom(1)), 5, 10);
+			round.addListener(pacer);
+			round.startRound();
+			round.distributeCards();
+
+			long started = System.nanoTime();
+			for (int i = 0; i < 5; i++) {
+				round.applyAction(new PlayerAction(Event.CHECK, 0));
+			}
+			// Раунд применил все действия сразу, выпуск ещё идёт
+			assertTrue(System.nanoTime() - started < TimeUnit.MILLISECONDS.toNanos(50));
+			assertTrue(pacer.released(0).size() < 5);
+
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+			while (!pacer.isIdle() && System.nanoTime() < deadline) {
+				Thread.sleep(10);
+			}
+			List<TableEvent> events = pacer.released(0);
+			assertEquals(5, events.size());
+			assertTrue(System.nanoTime() - started >= TimeUnit.MILLISECONDS.toNanos(200));
+			for (int i = 0; i < events.size(); i++) {
+				assertEquals(i + 1, events.get(i).getSequence());
+				assertEquals((3 + i) % 6, events.get(i).getSeat());
+			}
+			assertEquals(2, pacer.released(3).size());
+
+			// Каждое событие несёт стол после своего действия: последний выпущенный снимок совпадает с раундом
+			TableSnapshot shown = pacer.shown();
+			assertEquals(events.get(4).getSnapshot(), shown);
+			assertEquals(round.getPot(), shown.getPot());
+			for (int seat = 0; seat < players.size(); seat++) {
+				assertEquals(players.get(seat).getChips(), shown.getChips(seat));
+				assertEquals(round.getBet(seat), shown.getBet(seat));
+			}
+			assertEquals(10, events.get(0).getSnapshot().getBet(3));
+			assertTrue(events.get(0).getPot() < shown.getPot());
+		} finally {
+			scheduler.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package com.axine.pokercasino.model.game.replay;
+
+import com.axine.pokercasino.model.deck.decks.ArrayDeck;
+import com.axine.pokercasino.model.deck.decks.ShortenedDeck;
+import com.axine.pokercasino.model.deck.decks.StandardDeck;
+import com.axine.pokercasino.model.deck.random.SplittableDeckRandom;
+import com.axine.pokercasino.model.game.Round;
+import com.axine.pokercasino.model.game.gameFactory.OmahaHoldemRoundFactory;
+import com.axine.pokercasino.model.game.gameFactory.TexasHoldemRoundFactory;
+import com.axine.pokercasino.model.player.Event;
+import com.axine.pokercasino.model.player.Player;
+import com.axine.pokercasino.model.player.PlayerAction;
+import com.axine.pokercasino.model.player.players.BotRandomPlayer;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplayEngineTest {
+
+	@Test
+	void recordedHandsReplayFromLog() throws IOException {
+		List<HandRecord> records = new ArrayList<>();
+		records.addAll(play(new StandardDeck(new SplittableDeckRandom(1)), false, 6, 100));
+		records.addAll(play(new ShortenedDeck(new SplittableDeckRandom(2)), false, 4, 50));
+		records.addAll(play(new StandardDeck(new SplittableDeckRandom(3)), true, 5, 50));
+		assertEquals(200, records.size());
+
+		ByteArrayOutputStream log = new ByteArrayOutputStream();
+		for (HandRecord record : records) {
+			record.writeTo(log);
+		}
+		ByteArrayInputStream in = new ByteArrayInputStream(log.toByteArray());
+		List<HandRecord> read = new ArrayList<>();
+		for (HandRecord record = HandRecord.readFrom(in); record != null; record = HandRecord.readFrom(in)) {
+			read.add(record);
+		}
+		assertNull(HandRecord.readFrom(in));
+		assertEquals(records, read);
+		assertEquals(records.size(), ReplayEngine.verifyAll(read));
+	}
+
+	@Test
+	void replayDetectsTamperedRecord() {
+		HandRecord record = play(new StandardDeck(new SplittableDeckRandom(4)), false, 3, 1).get(0);
+		assertArrayEquals(record.getEndChips(), ReplayEngine.replay(record));
+
+		byte[] bytes = record.toBytes();
+		bytes[bytes.length - 1] ^= 1;
+		assertFalse(ReplayEngine.verify(HandRecord.fromBytes(bytes)));
+		assertTrue(ReplayEngine.verify(HandRecord.fromBytes(record.toBytes())));
+	}
+
+	/** Играет hands раздач ботами без задержек, как GameService, и пишет их */
+	private static List<HandRecord> play(ArrayDeck deck, boolean omaha, int seats, int hands) {
+		List<Player> players = new ArrayList<>();
+		for (int i = 0; i < seats; i++) {
+			players.add(new BotRandomPlayer("Bot" + i, 1000));
+		}
+		List<HandRecord> records = new ArrayList<>();
+		HandRecorder recorder = new HandRecorder(deck, 5, 10, records::add);
+		for (int hand = 0; hand < hands; hand++) {
+			Round round = omaha
+					? new OmahaHoldemRoundFactory().createRound(players, deck, 5, 10)
+					: new TexasHoldemRoundFactory().createRound(players, deck, 5, 10);
+			round.addListener(recorder);
+			round.setDealerPos(hand % seats);
+			deck.initialize();
+			round.startRound();
+			round.distributeCards();
+			while (!round.checkRoundCompletion()) {
+				if (round.isBettingComplete()) {
+					round.advanceToNextStage();
+					if (!round.checkRoundCompletion()) round.dealCommunityCards(round.getStage());
+					continue;
+				}
+				try {
+					round.applyAction(round.getCurrentPlayer().event());
+				} catch (IllegalArgumentException e) {
+					round.applyAction(new PlayerAction(Event.CHECK, 0));
+				}
+			}
+			round.distributePot(round.getWinners());
+			round.resetRound();
+		}
+		return records;
+	}
+}
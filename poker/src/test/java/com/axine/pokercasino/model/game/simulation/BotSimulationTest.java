@@ -0,0 +1,64 @@
+package com.axine.pokercasino.model.game.simulation;
+
+import com.axine.pokercasino.model.deck.DeckType;
+import com.axine.pokercasino.model.game.equity.Variant;
+import com.axine.pokercasino.model.player.PlayerFactory;
+import com.axine.pokercasino.model.player.decision.EquityDecision;
+import com.axine.pokercasino.model.player.playerFactory.BotAIPlayerFactory;
+import com.axine.pokercasino.model.player.playerFactory.BotRandomPlayerFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BotSimulationTest {
+
+	private static final List<String> NAMES = List.of("random", "ai", "ai2");
+	private static final List<PlayerFactory> BOTS =
+			List.of(new BotRandomPlayerFactory(), new BotAIPlayerFactory(), new BotAIPlayerFactory());
+
+	@Test
+	void everyHandHasWinnersAndNoChipsAreCreated() {
+		SimulationReport report = new BotSimulation(Variant.TEXAS_HOLDEM, DeckType.STANDARD, NAMES, BOTS, 10, 20, 1000)
+				.run(3001, 4, 7);
+		assertEquals(3001, report.getHands());
+		assertEquals(4, report.getTables());
+
+		double wins = 0;
+		long net = 0;
+		for (int seat = 0; seat < NAMES.size(); seat++) {
+			wins += report.getWins(seat);
+			net += report.getNetChips(seat);
+			assertTrue(report.getWinRateHalfWidth(seat) > 0);
+			assertTrue(report.getBbPer100HalfWidth(seat) > 0);
+		}
+		assertEquals(3001, wins, 1e-6);
+		// Остаток от дележа банка пропадает, но фишки из ниоткуда не появляются
+		assertTrue(net <= 0 && net > -3001L * NAMES.size());
+		assertTrue(report.getActions() > 0);
+	}
+
+	@Test
+	void sameSeedGivesSameResults() {
+		PlayerFactory unhurried = new BotAIPlayerFactory(null, EquityDecision.NO_BUDGET);
+		BotSimulation simulation = new BotSimulation(Variant.OMAHA_HOLDEM, DeckType.SHORTENED, NAMES,
+				List.of(new BotRandomPlayerFactory(), unhurried, unhurried), 5, 10, 500);
+		SimulationReport first = simulation.run(300, 3, 42);
+		SimulationReport second = simulation.run(300, 3, 42);
+		for (int seat = 0; seat < NAMES.size(); seat++) {
+			assertEquals(first.getWins(seat), second.getWins(seat));
+			assertEquals(first.getNetChips(seat), second.getNetChips(seat));
+		}
+		assertEquals(first.getActions(), second.getActions());
+		assertEquals(first.getInvalidActions(), second.getInvalidActions());
+	}
+
+	@Test
+	void rejectsSingleBot() {
+		assertThrows(IllegalArgumentException.class, () -> new BotSimulation(Variant.TEXAS_HOLDEM, DeckType.STANDARD,
+				List.of("solo"), List.of(new BotRandomPlayerFactory()), 10, 20, 1000));
+	}
+}
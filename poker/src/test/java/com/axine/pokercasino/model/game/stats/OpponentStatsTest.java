@@ -0,0 +1,167 @@
+package com.axine.pokercasino.model.game.stats;
+
+import com.axine.pokercasino.model.deck.decks.StandardDeck;
+import com.axine.pokercasino.model.deck.random.SplittableDeckRandom;
+import com.axine.pokercasino.model.game.Round;
+import com.axine.pokercasino.model.game.Stage;
+import com.axine.pokercasino.model.game.games.TexasHoldemRound;
+import com.axine.pokercasino.model.player.Event;
+import com.axine.pokercasino.model.player.Player;
+import com.axine.pokercasino.model.player.PlayerAction;
+import com.axine.pokercasino.model.player.players.BotRandomPlayer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OpponentStatsTest {
+
+	@Test
+	void countsEveryStatFromOneHand() {
+		List<Player> players = players(3);
+		OpponentStats stats = new OpponentStats(3);
+		Round round = start(players, stats, 0);
+		// Баттон 0, блайнды 1 и 2: первым ходит место 0
+		act(round, Event.BET, 40);
+		act(round, Event.FOLD, 0);
+		act(round, Event.CHECK, 0);
+		nextStreet(round);
+		act(round, Event.BET, 60);   // место 2
+		act(round, Event.CHECK, 0);  // место 0 отвечает
+		nextStreet(round);
+		act(round, Event.CHECK, 0);  // место 2
+		act(round, Event.BET, 100);  // место 0
+		act(round, Event.FOLD, 0);   // место 2
+		round.distributePot(round.getWinners());
+
+		assertEquals(1.0, stats.getHands(0));
+		assertEquals(1.0, stats.getVpip(0));
+		assertEquals(1.0, stats.getPfr(0));
+		assertEquals(0.0, stats.getVpip(1));
+		assertEquals(1.0, stats.getVpip(2));
+		assertEquals(0.0, stats.getPfr(2));
+
+		assertEquals(0.0, stats.getFoldToBet(0, Stage.PREFLOP));
+		assertEquals(1.0, stats.getFoldToBet(1, Stage.PREFLOP));
+		assertEquals(0.0, stats.getFoldToBet(2, Stage.PREFLOP));
+		assertEquals(0.0, stats.getFoldToBet(0, Stage.FLOP));
+		assertEquals(1.0, stats.getFoldToBet(2, Stage.TURN));
+		assertTrue(Double.isNaN(stats.getFoldToBet(0, Stage.RIVER)));
+
+		assertEquals(1.0, stats.getAggression(0));  // ставка на тёрне на колл на флопе
+		assertEquals(1.0, stats.getAggression(2));  // одна ставка без коллов
+		assertTrue(Double.isNaN(stats.getAggression(1)));
+
+		assertEquals(0.0, stats.getShowdownRate(0));
+		assertTrue(Double.isNaN(stats.getShowdownRate(1)));  // флоп не видел
+	}
+
+	@Test
+	void countsShowdownsAfterCheckDown() {
+		List<Player> players = players(2);
+		OpponentStats stats = new OpponentStats(2);
+		Round round = start(players, stats, 0);
+		act(round, Event.CHECK, 0);  // малый блайнд доплачивает
+		act(round, Event.CHECK, 0);
+		for (int street = 0; street < 3; street++) {
+			nextStreet(round);
+			act(round, Event.CHECK, 0);
+			act(round, Event.CHECK, 0);
+		}
+		nextStreet(round);
+		List<Player> winners = round.getWinners();
+		round.distributePot(winners);
+
+		assertEquals(1.0, stats.getVpip(1));
+		assertEquals(0.0, stats.getVpip(0));
+		for (int seat = 0; seat < 2; seat++) {
+			assertEquals(1.0, stats.getShowdownRate(seat));
+			assertEquals(winners.contains(players.get(seat)) ? 1.0 : 0.0, stats.getShowdownWinRate(seat));
+		}
+	}
+
+	@Test
+	void decaysPerWindowAndSurvivesNewRounds() {
+		List<Player> players = players(3);
+		OpponentStats stats = new OpponentStats(3, 1, 1000);
+
+		Round first = start(players, stats, 0);
+		act(first, Event.BET, 40);
+		act(first, Event.FOLD, 0);
+		act(first, Event.FOLD, 0);
+		first.distributePot(first.getWinners());
+		first.resetRound();
+
+		// Новый раунд с теми же игроками, как в continueGame
+		Round second = start(players, stats, 2);
+		// Баттон 2: блайнды 0 и 1, первым ходит место 2
+		act(second, Event.CHECK, 0);
+		act(second, Event.FOLD, 0);
+		act(second, Event.CHECK, 0);
+
+		assertEquals(1.0 / 3, stats.getVpip(0, 0), 1e-6);
+		assertEquals(0.5, stats.getVpip(0, 1), 0.001);
+		assertEquals(2.0 / 3, stats.getVpip(2, 0), 1e-6);  // в первой раздаче сбросило, во второй зашло
+		assertEquals(0.0, stats.getVpip(1, 0));  // чек на большом блайнде не добровольный
+		assertEquals(2.0, stats.getHands(2, 1), 0.001);
+		assertEquals(1.5, stats.getHands(2, 0), 1e-6);
+		assertThrows(IllegalArgumentException.class, () -> stats.getVpip(0, 2));
+	}
+
+	@Test
+	void roundThatCannotStartIsNotCounted() {
+		List<Player> players = players(24);  // 24 * 2 + 5 карт не хватает в колоде из 52
+		OpponentStats stats = new OpponentStats(24);
+		Round round = new TexasHoldemRound(players, new StandardDeck(new SplittableDeckRandom(1)), 5, 10);
+		round.addListener(stats);
+		assertThrows(IllegalStateException.class, round::startRound);
+		assertEquals(0.0, stats.getHands(0));
+	}
+
+	@Test
+	void callIsTakenFromTheEngineNotFromBlindRules() {
+		List<Player> players = players(3);
+		players.get(1).setChips(-997);  // малый блайнд ставит олл-ин 3 вместо 5
+		OpponentStats stats = new OpponentStats(3);
+		Round round = start(players, stats, 0);
+		act(round, Event.CHECK, 0);  // место 0 уравнивает 10
+		act(round, Event.CHECK, 0);  // место 2 на большом блайнде: доплачивать нечего
+		assertEquals(1.0, stats.getVpip(0));
+		assertEquals(0.0, stats.getVpip(2));
+		assertEquals(0.0, stats.getFoldToBet(0, Stage.PREFLOP));
+		assertTrue(Double.isNaN(stats.getFoldToBet(2, Stage.PREFLOP)));
+	}
+
+	// ================== ВСПОМОГАТЕЛЬНЫЕ ==================
+
+	private static List<Player> players(int count) {
+		List<Player> players = new ArrayList<>();
+		for (int seat = 0; seat < count; seat++) {
+			players.add(new BotRandomPlayer("p" + seat, 1000));
+		}
+		return players;
+	}
+
+	private static Round start(List<Player> players, OpponentStats stats, int dealer) {
+		Round round = new TexasHoldemRound(players, new StandardDeck(new SplittableDeckRandom(dealer + 11)), 5, 10);
+		round.addListener(stats);
+		round.setDealerPos(dealer);
+		round.startRound();
+		round.distributeCards();
+		return round;
+	}
+
+	private static void act(Round round, Event event, int amount) {
+		round.applyAction(new PlayerAction(event, amount));
+	}
+
+	private static void nextStreet(Round round) {
+		assertTrue(round.isBettingComplete());
+		round.advanceToNextStage();
+		if (round.getStage() != Stage.SHOWDOWN) round.dealCommunityCards(round.getStage());
+	}
+}
@@ -0,0 +1,156 @@
+package com.axine.pokercasino.model.player.decision;
+
+import com.axine.pokercasino.model.deck.Card;
+import com.axine.pokercasino.model.deck.DeckType;
+import com.axine.pokercasino.model.deck.card.Rank;
+import com.axine.pokercasino.model.deck.card.Suit;
+import com.axine.pokercasino.model.deck.decks.StandardDeck;
+import com.axine.pokercasino.model.deck.random.SplittableDeckRandom;
+import com.axine.pokercasino.model.game.Round;
+import com.axine.pokercasino.model.game.Stage;
+import com.axine.pokercasino.model.game.equity.QuickEquity;
+import com.axine.pokercasino.model.game.equity.Variant;
+import com.axine.pokercasino.model.game.evaluation.IsomorphicCache;
+import com.axine.pokercasino.model.game.games.TexasHoldemRound;
+import com.axine.pokercasino.model.game.stats.OpponentStats;
+import com.axine.pokercasino.model.player.Event;
+import com.axine.pokercasino.model.player.Player;
+import com.axine.pokercasino.model.player.PlayerAction;
+import com.axine.pokercasino.model.player.players.BotAIPlayer;
+import com.axine.pokercasino.model.player.players.BotRandomPlayer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+import static com.axine.pokercasino.model.deck.TestCards.cards;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EquityDecisionTest {
+
+	@Test
+	void raisesStrongHandByBigBlindOfTheRound() {
+		BotAIPlayer hero = new BotAIPlayer("hero", 5000, new Random(1));
+		Round round = headsUp(new BotRandomPlayer("villain", 5000), hero, 50, 100);
+		hero.setHand(cards("AH AS"));
+
+		PlayerAction action = hero.event(round);
+		assertEquals(Event.BET, action.getEvent());
+		assertTrue(action.getAmount() >= 200, "raise by at least one big blind: " + action);
+		round.applyAction(action);
+	}
+
+	@Test
+	void foldsWeakHandAgainstBadPotOdds() {
+		BotAIPlayer hero = new BotAIPlayer("hero", 1000, new Random(2));
+		Round round = headsUp(hero, new BotRandomPlayer("villain", 1000), 5, 10);
+		round.applyAction(new PlayerAction(Event.BET, 1000));
+		hero.setHand(cards("7C 2D"));
+
+		assertEquals(Event.FOLD, hero.event(round).getEvent());
+	}
+
+	@Test
+	void neverFoldsWhenThereIsNothingToPay() {
+		BotAIPlayer hero = new BotAIPlayer("hero", 1000, new Random(3));
+		Round round = headsUp(hero, new BotRandomPlayer("villain", 1000), 5, 10);
+		round.applyAction(new PlayerAction(Event.CHECK, 0));
+		hero.setHand(cards("7C 2D"));
+
+		// Платить нечего: слабая рука чекует, разве что изредка блефует
+		assertTrue(hero.event(round).getEvent() != Event.FOLD);
+	}
+
+	@Test
+	void expiredBudgetGivesEstimateButIsNotCached() {
+		QuickEquity equity = new QuickEquity(null, new IsomorphicCache<>(64), 2000);
+		SplittableRandom random = new SplittableRandom(4);
+		double rushed = equity.estimate(Variant.OMAHA_HOLDEM, DeckType.STANDARD, cards("AH AS KD QD"), List.of(), 3,
+				System.nanoTime() - 1, random);
+		assertTrue(rushed > 0.2 && rushed < 0.7, "rushed estimate " + rushed);
+		assertEquals(0, equity.getCache().size());
+
+		double full = equity.estimate(Variant.TEXAS_HOLDEM, DeckType.STANDARD, cards("AH AS"), cards("2C 7D 9S"), 1,
+				Long.MAX_VALUE, random);
+		assertEquals(0.88, full, 0.04);
+		assertEquals(1, equity.getCache().size());
+		assertEquals(full, equity.estimate(Variant.TEXAS_HOLDEM, DeckType.STANDARD, cards("AD AC"),
+				cards("2H 7S 9C"), 1, Long.MAX_VALUE, random));
+	}
+
+	@Test
+	void bluffsMoreAgainstOpponentWhoFoldsToBets() {
+		Player villain = new BotRandomPlayer("villain", 100_000);
+		BotAIPlayer hero = new BotAIPlayer("hero", 100_000, new Random(5));
+		OpponentStats stats = new OpponentStats(2);
+		for (int hand = 0; hand < 30; hand++) {
+			// Соперник на первом месте доплачивает блайнд, чекает флоп и сбрасывает на ставку
+			Round round = flop(villain, hero, stats);
+			round.applyAction(new PlayerAction(Event.BET, 20));
+			round.applyAction(new PlayerAction(Event.FOLD, 0));
+			round.distributePot(round.getWinners());
+		}
+		assertEquals(1.0, stats.getFoldToBet(1, Stage.FLOP));
+
+		QuickEquity equity = new QuickEquity(null, new IsomorphicCache<>(64), 2000);
+		BotAIPlayer reader = new BotAIPlayer("hero", 100_000, new Random(6), new EquityDecision(equity, 60_000, stats));
+		BotAIPlayer blind = new BotAIPlayer("hero", 100_000, new Random(6), new EquityDecision(equity, 60_000));
+		int reads = bets(reader, villain, stats);
+		int plain = bets(blind, villain, null);
+		assertTrue(reads > plain + 40, "bets with stats " + reads + ", without " + plain);
+	}
+
+	// ================== ВСПОМОГАТЕЛЬНЫЕ ==================
+
+	/** Сколько раз из 200 бот ставит слабой рукой на флопе, когда соперник прочекал */
+	private static int bets(BotAIPlayer hero, Player villain, OpponentStats stats) {
+		Round round = flop(villain, hero, stats);
+		hero.setHand(weakHand(round));
+		int bets = 0;
+		for (int decision = 0; decision < 200; decision++) {
+			if (hero.event(round).getEvent() == Event.BET) bets++;
+		}
+		return bets;
+	}
+
+	/** Раздача один на один, баттон у hero: доплата, чек, флоп, чек соперника */
+	private static Round flop(Player villain, Player hero, OpponentStats stats) {
+		villain.setFolded(false);
+		hero.setFolded(false);
+		Round round = new TexasHoldemRound(List.of(hero, villain), new StandardDeck(new SplittableDeckRandom(8)), 5, 10);
+		if (stats != null) round.addListener(stats);
+		round.startRound();
+		round.distributeCards();
+		round.applyAction(new PlayerAction(Event.CHECK, 0));
+		round.applyAction(new PlayerAction(Event.CHECK, 0));
+		round.advanceToNextStage();
+		round.dealCommunityCards(Stage.FLOP);
+		round.applyAction(new PlayerAction(Event.CHECK, 0));
+		return round;
+	}
+
+	/** Семь-двойка разных мастей, не пересекающаяся со столом */
+	private static List<Card> weakHand(Round round) {
+		long board = round.getCommunityMask();
+		for (Suit first : Suit.values()) {
+			for (Suit second : Suit.values()) {
+				Card seven = Card.of(first, Rank.SEVEN);
+				Card two = Card.of(second, Rank.TWO);
+				if (first != second && (board & (seven.getMask() | two.getMask())) == 0) return List.of(seven, two);
+			}
+		}
+		throw new IllegalStateException("No weak hand left");
+	}
+
+
+	/** Два места, баттон на нулевом: первым ходит малый блайнд на первом месте */
+	private static Round headsUp(Player first, Player second, int smallBlind, int bigBlind) {
+		Round round = new TexasHoldemRound(List.of(first, second), new StandardDeck(new SplittableDeckRandom(7)),
+				smallBlind, bigBlind);
+		round.startRound();
+		round.distributeCards();
+		return round;
+	}
+}
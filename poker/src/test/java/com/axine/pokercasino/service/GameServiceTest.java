@@ -0,0 +1,81 @@
+package com.axine.pokercasino.service;
+
+import com.axine.pokercasino.model.player.Event;
+import com.axine.pokercasino.model.player.PlayerAction;
+import com.axine.pokercasino.model.player.players.HumanPlayer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+@SpringBootTest(properties = "poker.runout-pace-ms=1")
+class GameServiceTest {
+
+	private static final long IDLE_TIMEOUT_MILLIS = 30_000;
+
+	@Autowired
+	private GameService gameService;
+
+	@BeforeEach
+	void openSession() {
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+	}
+
+	@AfterEach
+	void closeSession() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	void driverPlaysRandomBotsUpToHumanDecisionOrRoundEnd() throws InterruptedException {
+		// Случайные боты часто ставят не выше текущей ставки: стол не должен на этом замирать
+		play("texas");
+	}
+
+	@Test
+	void omahaAllInsDoNotStopTheTable() throws InterruptedException {
+		// Случайные боты часто идут олл-ин: эквити считается вне замка и не мешает раздаче
+		play("omaha");
+	}
+
+	// ================== ВСПОМОГАТЕЛЬНЫЕ ==================
+
+	private void play(String gameType) throws InterruptedException {
+		List<Map<String, String>> bots = List.of(
+				Map.of("type", "random", "name", "r1"),
+				Map.of("type", "random", "name", "r2"),
+				Map.of("type", "random", "name", "r3"));
+		gameService.startGame(gameType, "standard", bots, 10, 20);
+
+		for (int decisions = 0; decisions < 40; decisions++) {
+			awaitIdle();
+			assertFalse(gameService.getMessage().startsWith("Ошибка"), gameService.getMessage());
+			if (gameService.checkRoundCompletion()) {
+				if (!gameService.getMessage().startsWith("Раунд завершён")) fail("Round is complete but was not settled");
+				gameService.continueGame();
+			} else {
+				assertTrue(gameService.getCurrentPlayer() instanceof HumanPlayer, "Table stopped on a bot's turn");
+				gameService.submitHumanAction(new PlayerAction(Event.CHECK, 0));
+			}
+		}
+	}
+
+	private void awaitIdle() throws InterruptedException {
+		long deadline = System.currentTimeMillis() + IDLE_TIMEOUT_MILLIS;
+		while (gameService.isDriving()) {
+			if (System.currentTimeMillis() > deadline) fail("Table driver did not stop");
+			Thread.sleep(5);
+		}
+	}
+}